@@ -199,6 +199,47 @@ public final class HexGridArea implements IMapArea {
 
 	}
 
+	/**
+	 * Gets the position of the offset (dx|dy) in the iteration order of a {@link HexGridArea} starting at radius 0. The center has index 0, the
+	 * positions of radius r follow after all positions of smaller radii.
+	 *
+	 * @param dx
+	 *            x offset to the center
+	 * @param dy
+	 *            y offset to the center
+	 * @return index of the offset in the iteration order
+	 */
+	public static int getIterationIndex(int dx, int dy) {
+		int radius = ShortPoint2D.getOnGridDist(dx, dy);
+		if (radius == 0) {
+			return 0;
+		}
+
+		int side;
+		int step;
+		if (dx > 0 && dy <= 0) {
+			side = 0;
+			step = dx;
+		} else if (dx == radius && dy > 0) {
+			side = 1;
+			step = dy;
+		} else if (dy == radius && dx >= 0) {
+			side = 2;
+			step = radius - dx;
+		} else if (dx < 0 && dy >= 0) {
+			side = 3;
+			step = -dx;
+		} else if (dx == -radius) {
+			side = 4;
+			step = -dy;
+		} else {
+			side = 5;
+			step = dx + radius;
+		}
+
+		return 1 + 3 * radius * (radius - 1) + side * radius + step - 1;
+	}
+
 	public CoordinateStream streamBorder() {
 		return streamBorder(cX, cY, maxRadius);
 	}
@@ -100,6 +100,15 @@ public class HexGridAreaTest {
 		assertEquals(expectedCount, count);
 	}
 
+	@Test
+	public void testIterationIndex() {
+		HexGridAreaIterator iter = new HexGridArea(50, 50, 0, 40).iterator();
+
+		for (int index = 0; iter.hasNext(); index++, iter.nextPoint()) {
+			assertEquals(index, HexGridArea.getIterationIndex(iter.currX() - 50, iter.currY() - 50));
+		}
+	}
+
 	@Test
 	public void testIterateSinglePoint() {
 		MutableInt counter = new MutableInt(0);
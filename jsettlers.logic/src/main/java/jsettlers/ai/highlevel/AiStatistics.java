@@ -36,6 +36,7 @@ import java8.util.Sets2;
 import java8.util.stream.Collectors;
 import jsettlers.ai.highlevel.AiPositions.AiPositionFilter;
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
+import jsettlers.algorithms.fogofwar.TeamVisibility;
 import jsettlers.common.CommonConstants;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.buildings.EBuildingType;
@@ -156,6 +157,11 @@ public class AiStatistics {
 			xCoordinatesMap.clear();
 		}
 
+		TeamVisibility teamVisibility = mainGrid.getTeamVisibility();
+		if (teamVisibility != null) {
+			teamVisibility.update();
+		}
+
 		updateBuildingStatistics();
 		updateMapStatistics();
 	}
@@ -296,7 +302,8 @@ public class AiStatistics {
 			if (movableType == BEARER && movable.getAction() == EMovableAction.NO_ACTION) {
 				playerStatistics[movablePlayerId].joblessBearerPositions.add(movable.getPosition());
 			}
-			if (player != null && player.playerId != movablePlayerId && movableType.isSoldier() && getEnemiesOf(player).contains(movablePlayer)) {
+			if (player != null && player.playerId != movablePlayerId && movableType.isSoldier() && getEnemiesOf(player).contains(movablePlayer)
+					&& isVisibleForTeam(player.getTeamId(), movablePosition)) {
 				playerStatistics[player.playerId].enemyTroopsInTown.addNoCollission(movablePosition.x, movablePosition.y);
 			}
 		}
@@ -753,6 +760,20 @@ public class AiStatistics {
 		return new ShortPoint2D(averageX / points.size(), averageY / points.size());
 	}
 
+	/**
+	 * @return true if the team sees the position. If {@link jsettlers.logic.constants.MatchConstants#ENABLE_TEAM_VISIBILITY} is not set, the AI
+	 *         sees the whole map.
+	 */
+	private boolean isVisibleForTeam(byte teamId, ShortPoint2D position) {
+		TeamVisibility teamVisibility = mainGrid.getTeamVisibility();
+		return teamVisibility == null || teamVisibility.isVisible(teamId, position.x, position.y);
+	}
+
+	/**
+	 * @return the positions of the enemy soldiers in the town of the player. If
+	 *         {@link jsettlers.logic.constants.MatchConstants#ENABLE_TEAM_VISIBILITY} is set, only the soldiers seen by the team of the player are
+	 *         contained.
+	 */
 	public AiPositions getEnemiesInTownOf(byte playerId) {
 		return playerStatistics[playerId].enemyTroopsInTown;
 	}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.distances;
+
+import java.util.Arrays;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The walking distances of the positions around one root position, calculated with a breadth first search over the positions that aren't blocked.
+ * <p>
+ * The search stops at the radius of the field, so a field covers a square of 2 * radius + 1 positions around the root, whatever the size of the map
+ * is. A position that is further away than the radius on the shortest way has the distance {@link #UNREACHABLE}, just as a position that can't be
+ * reached at all. All other distances are exact, because a way that is not longer than the radius can't leave the square.
+ * <p>
+ * Blocked positions next to reached ones get a distance too, but the search doesn't continue from them. So targets and offers on blocked positions
+ * can still be ranked. The root is never treated as blocked.
+ * <p>
+ * Unblocked positions are applied incrementally by lowering the distances around them. A blocked position only invalidates the field if a neighbor
+ * loses its only shortest way, the field is then calculated again on its next use.
+ */
+public final class DistanceField {
+	/**
+	 * The distance of positions that can't be reached from the root within the radius.
+	 */
+	public static final short UNREACHABLE = Short.MAX_VALUE;
+
+	private final short             width;
+	private final short             height;
+	private final IBlockingProvider blockingProvider;
+	private final int               radius;
+	private final int               size;
+	private final ShortPoint2D      root;
+	private final int               minX;
+	private final int               minY;
+	private final int               rootIndex;
+
+	private final short[] distances;
+	private int[]         queue;
+	private boolean       dirty = true;
+
+	DistanceField(short width, short height, IBlockingProvider blockingProvider, int radius, ShortPoint2D root) {
+		this.width = width;
+		this.height = height;
+		this.blockingProvider = blockingProvider;
+		this.radius = radius;
+		this.size = 2 * radius + 1;
+		this.root = root;
+		this.minX = root.x - radius;
+		this.minY = root.y - radius;
+		this.rootIndex = radius + radius * size;
+		this.distances = new short[size * size];
+		this.queue = new int[256];
+	}
+
+	/**
+	 * Creates a field for the given root that reuses the arrays of a field that isn't used anymore.
+	 */
+	DistanceField(DistanceField unused, ShortPoint2D root) {
+		this.width = unused.width;
+		this.height = unused.height;
+		this.blockingProvider = unused.blockingProvider;
+		this.radius = unused.radius;
+		this.size = unused.size;
+		this.root = root;
+		this.minX = root.x - radius;
+		this.minY = root.y - radius;
+		this.rootIndex = unused.rootIndex;
+		this.distances = unused.distances;
+		this.queue = unused.queue;
+	}
+
+	public ShortPoint2D getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return the maximum distance the field knows.
+	 */
+	public int getRadius() {
+		return radius;
+	}
+
+	/**
+	 * @return the walking distance between the root and the given position or {@link #UNREACHABLE}.
+	 */
+	public short getDistance(int x, int y) {
+		return isInField(x, y) ? distances[getIndex(x, y)] : UNREACHABLE;
+	}
+
+	/**
+	 * @return the walking distance between the root and the given position or a lower bound of it, if the field doesn't know the distance. A way to
+	 *         such a position is longer than the radius, because it has to reach the border of the field first or is too long for the field. And no
+	 *         way is shorter than the straight distance.
+	 */
+	public int getMinimumDistance(int x, int y) {
+		short distance = getDistance(x, y);
+		if (distance != UNREACHABLE) {
+			return distance;
+		}
+		return Math.max(radius + 1, root.getOnGridDistTo(x, y));
+	}
+
+	boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Calculates all distances again.
+	 *
+	 * @return the number of reached positions.
+	 */
+	int recalculate() {
+		Arrays.fill(distances, UNREACHABLE);
+		distances[rootIndex] = 0;
+		dirty = false;
+
+		queue[0] = rootIndex;
+		return propagate(1) + 1;
+	}
+
+	/**
+	 * @return the number of positions that got a shorter distance.
+	 */
+	int positionUnblocked(int x, int y) {
+		if (dirty || !isInField(x, y)) {
+			return 0;
+		}
+
+		int index = getIndex(x, y);
+		int distance = distances[index];
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = x + direction.gridDeltaX;
+			int neighborY = y + direction.gridDeltaY;
+			if (isInField(neighborX, neighborY)) {
+				int neighbor = getIndex(neighborX, neighborY);
+				if (distances[neighbor] != UNREACHABLE && isExpanding(neighbor)) {
+					distance = Math.min(distance, distances[neighbor] + 1);
+				}
+			}
+		}
+
+		if (distance > radius) {
+			return 0;
+		}
+
+		int changed = distance < distances[index] ? 1 : 0;
+		distances[index] = (short) distance;
+		queue[0] = index;
+		return propagate(1) + changed;
+	}
+
+	/**
+	 * Marks the field as dirty if a neighbor of the blocked position has no other neighbor it can be reached through with the same distance.
+	 */
+	void positionBlocked(int x, int y) {
+		if (dirty || !isInField(x, y)) {
+			return;
+		}
+
+		int index = getIndex(x, y);
+		int distance = distances[index];
+		if (index == rootIndex || distance == UNREACHABLE) {
+			return;
+		}
+
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = x + direction.gridDeltaX;
+			int neighborY = y + direction.gridDeltaY;
+			if (isInField(neighborX, neighborY) && distances[getIndex(neighborX, neighborY)] == distance + 1
+					&& !hasOtherPredecessor(neighborX, neighborY, index, distance)) {
+				dirty = true;
+				return;
+			}
+		}
+	}
+
+	private boolean hasOtherPredecessor(int x, int y, int excluded, int distance) {
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = x + direction.gridDeltaX;
+			int neighborY = y + direction.gridDeltaY;
+			if (isInField(neighborX, neighborY)) {
+				int neighbor = getIndex(neighborX, neighborY);
+				if (neighbor != excluded && distances[neighbor] == distance && isExpanding(neighbor)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lowers the distances around the queued positions until nothing changes anymore. No distance above the radius is set.
+	 *
+	 * @return the number of positions that got a shorter distance.
+	 */
+	private int propagate(int queueSize) {
+		int changed = 0;
+		int head = 0;
+		int tail = queueSize;
+
+		while (head != tail) {
+			int index = queue[head];
+			head = (head + 1) % queue.length;
+
+			int nextDistance = distances[index] + 1;
+			if (nextDistance > radius) {
+				continue;
+			}
+
+			int x = minX + index % size;
+			int y = minY + index / size;
+
+			for (EDirection direction : EDirection.VALUES) {
+				int neighborX = x + direction.gridDeltaX;
+				int neighborY = y + direction.gridDeltaY;
+				if (!isInField(neighborX, neighborY)) {
+					continue;
+				}
+
+				int neighbor = getIndex(neighborX, neighborY);
+				if (nextDistance < distances[neighbor]) {
+					distances[neighbor] = (short) nextDistance;
+					changed++;
+
+					if (isExpanding(neighbor)) {
+						queue[tail] = neighbor;
+						tail = (tail + 1) % queue.length;
+						if (tail == head) {
+							head = growQueue(head);
+							tail = head + queue.length / 2;
+						}
+					}
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Doubles the size of the full ring buffer.
+	 *
+	 * @return the new head of the queue.
+	 */
+	private int growQueue(int head) {
+		int[] newQueue = new int[queue.length * 2];
+		System.arraycopy(queue, head, newQueue, 0, queue.length - head);
+		System.arraycopy(queue, 0, newQueue, queue.length - head, head);
+		queue = newQueue;
+		return 0;
+	}
+
+	private boolean isExpanding(int index) {
+		return index == rootIndex || !blockingProvider.isBlocked(minX + index % size, minY + index / size);
+	}
+
+	/**
+	 * @return true if the position is on the map and inside the square of the field.
+	 */
+	private boolean isInField(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height && x >= minX && y >= minY && x < minX + size && y < minY + size;
+	}
+
+	private int getIndex(int x, int y) {
+		return (x - minX) + (y - minY) * size;
+	}
+
+	/**
+	 * @return the number of bytes used by the distances.
+	 */
+	long getMemoryBytes() {
+		return distances.length * 2L + queue.length * 4L;
+	}
+}
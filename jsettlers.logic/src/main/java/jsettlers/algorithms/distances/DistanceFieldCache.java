@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.distances;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * LRU cache of {@link DistanceField}s rooted at frequently used targets.
+ * <p>
+ * All fields have the same radius, so they all have arrays of the same size, independent of the size of the map. The arrays of a dropped field are
+ * kept and used for the next new field, so the cache allocates at most capacity fields.
+ * <p>
+ * Every change of the blocking must be reported with {@link #blockedChanged(int, int, boolean)}. The fields apply unblocked positions directly and
+ * are calculated again on their next lookup if a blocked position made them invalid. As the fields always hold the exact distances, the cache is not
+ * part of the game state and is created again after loading.
+ * <p>
+ * A field returned by {@link #get(ShortPoint2D)} may only be used until the next call, as its arrays may be taken over by a new field.
+ */
+public final class DistanceFieldCache {
+	private final short             width;
+	private final short             height;
+	private final IBlockingProvider blockingProvider;
+	private final int               radius;
+	private final int               capacity;
+
+	private final LinkedHashMap<ShortPoint2D, DistanceField> fields;
+	private final ArrayDeque<DistanceField>                  unusedFields = new ArrayDeque<>();
+
+	private long hits;
+	private long misses;
+	private long fullRefreshes;
+	private long incrementalRefreshes;
+	private long refreshedPositions;
+	private long refreshNanos;
+
+	public DistanceFieldCache(short width, short height, IBlockingProvider blockingProvider, int radius, int capacity) {
+		this.width = width;
+		this.height = height;
+		this.blockingProvider = blockingProvider;
+		this.radius = radius;
+		this.capacity = capacity;
+		this.fields = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+	}
+
+	/**
+	 * Returns the up to date field of the given root. If the cache doesn't contain it yet, it's calculated. If the cache is full, the least recently
+	 * used field is dropped and its arrays are used for the new one.
+	 */
+	public DistanceField get(ShortPoint2D root) {
+		DistanceField field = fields.get(root);
+		if (field == null) {
+			misses++;
+			if (fields.size() >= capacity) {
+				Iterator<Map.Entry<ShortPoint2D, DistanceField>> iterator = fields.entrySet().iterator();
+				unusedFields.push(iterator.next().getValue());
+				iterator.remove();
+			}
+			if (unusedFields.isEmpty()) {
+				field = new DistanceField(width, height, blockingProvider, radius, root);
+			} else {
+				field = new DistanceField(unusedFields.pop(), root);
+			}
+			fields.put(root, field);
+		} else {
+			hits++;
+		}
+
+		if (field.isDirty()) {
+			long start = System.nanoTime();
+			refreshedPositions += field.recalculate();
+			fullRefreshes++;
+			refreshNanos += System.nanoTime() - start;
+		}
+		return field;
+	}
+
+	/**
+	 * Updates the fields after the blocked state of the given position changed.
+	 */
+	public void blockedChanged(int x, int y, boolean newBlocked) {
+		if (fields.isEmpty()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		for (DistanceField field : fields.values()) {
+			if (newBlocked) {
+				field.positionBlocked(x, y);
+			} else {
+				int changed = field.positionUnblocked(x, y);
+				if (changed > 0) {
+					refreshedPositions += changed;
+					incrementalRefreshes++;
+				}
+			}
+		}
+		refreshNanos += System.nanoTime() - start;
+	}
+
+	public void clear() {
+		unusedFields.addAll(fields.values());
+		fields.clear();
+	}
+
+	public int size() {
+		return fields.size();
+	}
+
+	/**
+	 * @return the number of bytes used by the cached and the unused fields.
+	 */
+	public long getMemoryBytes() {
+		long bytes = 0;
+		for (DistanceField field : fields.values()) {
+			bytes += field.getMemoryBytes();
+		}
+		for (DistanceField field : unusedFields) {
+			bytes += field.getMemoryBytes();
+		}
+		return bytes;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return the number of fields that have been calculated completely.
+	 */
+	public long getFullRefreshes() {
+		return fullRefreshes;
+	}
+
+	/**
+	 * @return the number of unblocked positions that lowered distances of a field.
+	 */
+	public long getIncrementalRefreshes() {
+		return incrementalRefreshes;
+	}
+
+	/**
+	 * @return the number of distances set by full and incremental refreshes.
+	 */
+	public long getRefreshedPositions() {
+		return refreshedPositions;
+	}
+
+	/**
+	 * @return the time spent in full and incremental refreshes in nanoseconds.
+	 */
+	public long getRefreshNanos() {
+		return refreshNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ENGLISH, "DistanceFieldCache{radius=%d, size=%d/%d, memory=%dkB, hits=%d, misses=%d, fullRefreshes=%d, incrementalRefreshes=%d, "
+				+ "refreshedPositions=%d, refreshTime=%dms}", radius, fields.size(), capacity, getMemoryBytes() / 1024, hits, misses, fullRefreshes,
+			incrementalRefreshes, refreshedPositions, refreshNanos / 1000000);
+	}
+}
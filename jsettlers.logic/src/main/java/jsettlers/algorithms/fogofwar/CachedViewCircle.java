@@ -14,8 +14,11 @@
  *******************************************************************************/
 package jsettlers.algorithms.fogofwar;
 
+import java.util.Arrays;
+
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.map.shapes.MapCircleIterator;
+import jsettlers.common.movable.EDirection;
 
 /**
  * Caches a {@link MapCircle} and the calculated view distances of the circles positions.
@@ -30,6 +33,8 @@ public final class CachedViewCircle {
 	final byte[] refIndex;
 	final int size;
 
+	private final StepDelta[] stepDeltas = new StepDelta[EDirection.NUMBER_OF_DIRECTIONS];
+
 	public CachedViewCircle(int radius) {
 		radius += FogOfWar.PADDING / 2; // radius+0.5p
 		MapCircle circle = new MapCircle(0, 0, radius+FogOfWar.PADDING); // *radius+1.5p*
@@ -70,6 +75,18 @@ public final class CachedViewCircle {
 		return counter;
 	}
 
+	/**
+	 * @return the positions whose reference index changes if the center of the circle moves one step into the given direction.
+	 */
+	public StepDelta getStepDelta(EDirection direction) {
+		StepDelta delta = stepDeltas[direction.ordinal];
+		if (delta == null) {
+			delta = new StepDelta(direction);
+			stepDeltas[direction.ordinal] = delta;
+		}
+		return delta;
+	}
+
 	public CachedViewCircleIterator iterator(int xOffset, int yOffset) {
 		return new CachedViewCircleIterator(xOffset, yOffset);
 	}
@@ -105,4 +122,62 @@ public final class CachedViewCircle {
 			return refIndex[idx];
 		}
 	}
+
+	/**
+	 * The difference between the circle and the same circle moved one step. The positions are relative to the new center. The reference index of
+	 * the old circle is given by {@link #removedRefIndex}, the one of the new circle by {@link #addedRefIndex}. -1 means that the position is not part
+	 * of the circle.
+	 */
+	public final class StepDelta {
+		private static final int OFFSET_RANGE = 256;
+
+		final short[] x;
+		final short[] y;
+		final byte[]  removedRefIndex;
+		final byte[]  addedRefIndex;
+		final int     size;
+
+		StepDelta(EDirection direction) {
+			byte[] oldRefIndexes = createRefIndexTable(-direction.gridDeltaX, -direction.gridDeltaY);
+			byte[] newRefIndexes = createRefIndexTable(0, 0);
+
+			int count = 0;
+			for (int i = 0; i < oldRefIndexes.length; i++) {
+				if (oldRefIndexes[i] != newRefIndexes[i]) {
+					count++;
+				}
+			}
+
+			size = count;
+			x = new short[count];
+			y = new short[count];
+			removedRefIndex = new byte[count];
+			addedRefIndex = new byte[count];
+
+			int index = 0;
+			for (int i = 0; i < oldRefIndexes.length; i++) {
+				if (oldRefIndexes[i] != newRefIndexes[i]) {
+					x[index] = (short) (i / OFFSET_RANGE - OFFSET_RANGE / 2);
+					y[index] = (short) (i % OFFSET_RANGE - OFFSET_RANGE / 2);
+					removedRefIndex[index] = oldRefIndexes[i];
+					addedRefIndex[index] = newRefIndexes[i];
+					index++;
+				}
+			}
+		}
+
+		/**
+		 * Uses the positions visited by {@link CachedViewCircleIterator}, which doesn't visit the first position.
+		 */
+		private byte[] createRefIndexTable(int xOffset, int yOffset) {
+			byte[] table = new byte[OFFSET_RANGE * OFFSET_RANGE];
+			Arrays.fill(table, (byte) -1);
+			for (int i = 1; i < CachedViewCircle.this.size; i++) {
+				int tableX = CachedViewCircle.this.x[i] + xOffset + OFFSET_RANGE / 2;
+				int tableY = CachedViewCircle.this.y[i] + yOffset + OFFSET_RANGE / 2;
+				table[tableX * OFFSET_RANGE + tableY] = refIndex[i];
+			}
+			return table;
+		}
+	}
 }
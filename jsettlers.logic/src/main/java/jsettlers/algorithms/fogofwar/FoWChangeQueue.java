@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock free queue of the movables whose position changed since the reference thread looked at them the last time. Any thread may offer
+ * movables, only the reference thread polls them.<br>
+ * The movables are kept in a ring buffer, if it is full they go to an unbounded overflow queue. The order of the movables is not preserved,
+ * as the reference thread only looks at the current position of a movable.
+ */
+final class FoWChangeQueue {
+	private final AtomicReferenceArray<MovableFoWTask> slots;
+	private final int                                  mask;
+
+	private final AtomicLong                                tail     = new AtomicLong();
+	private volatile long                                   head     = 0;
+	private final ConcurrentLinkedQueue<MovableFoWTask> overflow = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param capacity
+	 * 		size of the ring buffer, this needs to be a power of two.
+	 */
+	FoWChangeQueue(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity needs to be a power of two: " + capacity);
+		}
+		slots = new AtomicReferenceArray<>(capacity);
+		mask = capacity - 1;
+	}
+
+	void offer(MovableFoWTask task) {
+		while (true) {
+			long currentTail = tail.get();
+			if (currentTail - head >= slots.length()) {
+				overflow.add(task);
+				return;
+			}
+			if (tail.compareAndSet(currentTail, currentTail + 1)) {
+				slots.set((int) currentTail & mask, task);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * May only be called by the consuming thread.
+	 *
+	 * @return the next movable or null if the queue is empty or the next slot has been claimed but not yet written by a producer.
+	 */
+	MovableFoWTask poll() {
+		int index = (int) head & mask;
+		MovableFoWTask task = slots.get(index);
+		if (task != null) {
+			slots.set(index, null);
+			head++; // only this thread writes the head
+			return task;
+		}
+		return overflow.poll();
+	}
+
+	/**
+	 * @return the number of movables waiting in the queue. This is only an estimate while other threads offer movables.
+	 */
+	int size() {
+		return (int) (tail.get() - head) + overflow.size();
+	}
+}
@@ -16,16 +16,20 @@ package jsettlers.algorithms.fogofwar;
 
 import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import jsettlers.common.CommonConstants;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.map.IGraphicsBackgroundListener;
 import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 import go.graphics.FramerateComputer;
 import jsettlers.logic.buildings.Building;
@@ -33,7 +37,6 @@ import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
-import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
 import jsettlers.logic.movable.MovableManager;
 
@@ -49,6 +52,16 @@ public final class FogOfWar implements Serializable {
 	 */
 	public static final byte MAX_VIEW_DISTANCE = 65;
 	public static final int PADDING = 10;
+	/**
+	 * Number of reference levels counted per position. A reference of level i makes a position visible with {@link CommonConstants#FOG_OF_WAR_VISIBLE}
+	 * - i * {@link #SIGHT_PER_REF_LEVEL}. References of higher levels don't change the sight and are not counted.
+	 */
+	private static final int REF_LEVELS          = 10;
+	private static final int SIGHT_PER_REF_LEVEL = 10;
+	/**
+	 * Number of snapshots of hidden map objects that are shared before the {@link HiddenMapObjectStore} is emptied.
+	 */
+	private static final int HIDDEN_OBJECT_STORE_SIZE = 1 << 15;
 
 	public final byte team;
 
@@ -58,13 +71,22 @@ public final class FogOfWar implements Serializable {
 	public final ELandscapeType[][] hiddenLandscape;
 	public final byte[][] hiddenHeight;
 	public final IMapObject[][] hiddenMapObjects;
-	public final short[][][] visibleRefs;
+	/**
+	 * The reference counters of all positions. The {@link #REF_LEVELS} counters of a position are stored one after another.
+	 */
+	private short[] refCounts;
+	/**
+	 * Only set in savegames of the legacy format, which stored the counters of every position in an array of its own.
+	 */
+	private short[][][] visibleRefs;
 	public final HashMap<Byte, LinkedList<Object>>[][] namedRefs;
 	public transient FowDimThread dimThread;
 	public transient FoWRefThread refThread;
 	private final LandscapeGrid landscapeGrid;
 	private final ObjectsGrid objectsGrid;
 
+	private transient HiddenMapObjectStore hiddenObjectStore;
+
 	public transient CircleDrawer circleDrawer;
 	private transient IGraphicsBackgroundListener backgroundListener;
 	public transient boolean enabled;
@@ -78,7 +100,7 @@ public final class FogOfWar implements Serializable {
 		this.hiddenLandscape = new ELandscapeType[width][height];
 		this.hiddenHeight = new byte[width][height];
 		this.hiddenMapObjects = new IMapObject[width][height];
-		this.visibleRefs = new short[width][height][0];
+		this.refCounts = new short[width * height * REF_LEVELS];
 		this.landscapeGrid = root.getLandscapeGrid();
 		this.objectsGrid = root.getObjectsGrid();
 
@@ -127,6 +149,18 @@ public final class FogOfWar implements Serializable {
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
+
+			if (refCounts == null) {
+				readOldVisibleRefs();
+			}
+		}
+		hiddenObjectStore = new HiddenMapObjectStore(HIDDEN_OBJECT_STORE_SIZE);
+		if (ois != null) {
+			for (IMapObject[] column : hiddenMapObjects) {
+				for (IMapObject objects : column) {
+					hiddenObjectStore.addShared(objects);
+				}
+			}
 		}
 		refThread = new FoWRefThread();
 		dimThread = new FowDimThread();
@@ -136,6 +170,23 @@ public final class FogOfWar implements Serializable {
 		backgroundListener = new MainGrid.NullBackgroundListener();
 	}
 
+	private void readOldVisibleRefs() {
+		refCounts = new short[width * height * REF_LEVELS];
+		if (visibleRefs != null) {
+			for (int x = 0; x < width; x++) {
+				for (int y = 0; y < height; y++) {
+					short[] refs = visibleRefs[x][y];
+					System.arraycopy(refs, 0, refCounts, getRefOffset(x, y), Math.min(refs.length, REF_LEVELS));
+				}
+			}
+			visibleRefs = null;
+		}
+	}
+
+	private int getRefOffset(int x, int y) {
+		return (y * width + x) * REF_LEVELS;
+	}
+
 	public boolean isHidden(int x, int y) {
 		return enabled && hiddenLandscape[x][y] != null;
 	}
@@ -204,8 +255,28 @@ public final class FogOfWar implements Serializable {
 	public static final int CIRCLE_ADD = 2;
 	public static final int CIRCLE_DIM = 8;
 
+	/**
+	 * Size of the ring buffer of {@link FoWRefThread#changedMovables}. More movables changing their position in one frame go to the overflow queue.
+	 */
+	private static final int CHANGED_MOVABLES_CAPACITY = 4096;
+
+	/**
+	 * Tells the reference thread that the position, the visibility or the live state of a movable changed. Movables of other teams must not be
+	 * queued.
+	 */
+	public static void queueMovableChange(MovableFoWTask movable) {
+		FogOfWar fogOfWar = instance;
+		if (fogOfWar != null) {
+			fogOfWar.refThread.changedMovables.offer(movable);
+		}
+	}
+
 	public class FoWRefThread extends FoWThread {
 		public final ConcurrentLinkedQueue<FoWTask> nextTasks = new ConcurrentLinkedQueue<>();
+		/**
+		 * Movables are only looked at again after they queued a change, so the work of this thread depends on the moving units only.
+		 */
+		final FoWChangeQueue changedMovables = new FoWChangeQueue(CHANGED_MOVABLES_CAPACITY);
 
 		FoWRefThread() {
 			super("FOW-reference-updater");
@@ -222,6 +293,11 @@ public final class FogOfWar implements Serializable {
 		@Override
 		public void taskProcessor() {
 			if (enabled) {
+				MovableFoWTask movable;
+				while((movable = changedMovables.poll()) != null) {
+					runTask(movable);
+				}
+
 				while(true) {
 					FoWTask task = nextTasks.poll();
 					if(task == null) return;
@@ -235,6 +311,16 @@ public final class FogOfWar implements Serializable {
 			}
 		}
 
+		/**
+		 * @return the number of tasks and changed movables waiting for this thread. This is only an estimate while other threads queue tasks.
+		 */
+		public int getQueueDepth() {
+			return changedMovables.size() + nextTasks.size();
+		}
+
+		/**
+		 * @return true if the task is done, false if it needs to be run again in the next frame.
+		 */
 		boolean runTask(FoWTask task) {
 			if(task instanceof BuildingFoWTask) {
 				BuildingFoWTask bFOW = (BuildingFoWTask) task;
@@ -250,19 +336,22 @@ public final class FogOfWar implements Serializable {
 				MovableFoWTask mFOW = (MovableFoWTask) task;
 				ShortPoint2D currentPos = mFOW.getFoWPosition();
 				ShortPoint2D oldPos = mFOW.getOldFoWPosition();
-				boolean removeMovable = !mFOW.continueFoW();
-
-				if(removeMovable) {
+				if(!mFOW.continueFoW()) {
 					currentPos = null;
 				}
 
 				int vd = mFOW.getViewDistance();
 				if(!Objects.equals(oldPos, currentPos)) {
-					if(currentPos != null) circleDrawer.drawCircleToBuffer(currentPos, vd, CIRCLE_ADD|CIRCLE_DIM, mFOW);
-					if(oldPos != null) circleDrawer.drawCircleToBuffer(oldPos, vd, CIRCLE_REMOVE|CIRCLE_DIM, mFOW);
+					EDirection step = getStepDirection(oldPos, currentPos);
+					if(step != null) {
+						circleDrawer.drawStepToBuffer(currentPos, step, vd);
+					} else {
+						if(currentPos != null) circleDrawer.drawCircleToBuffer(currentPos, vd, CIRCLE_ADD|CIRCLE_DIM, mFOW);
+						if(oldPos != null) circleDrawer.drawCircleToBuffer(oldPos, vd, CIRCLE_REMOVE|CIRCLE_DIM, mFOW);
+					}
 					mFOW.setOldFoWPosition(currentPos);
 				}
-				return removeMovable;
+				return true; // the movable queues itself again when it changes
 			} else if(task instanceof WaitFoWTask) {
 				return false;
 			} else {
@@ -272,63 +361,211 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
+	/**
+	 * @return the direction of a single step from the old to the new position or null if the view circle needs to be redrawn completely.
+	 */
+	private static EDirection getStepDirection(ShortPoint2D oldPos, ShortPoint2D newPos) {
+		if(oldPos == null || newPos == null || CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) { // the named references need the complete circles
+			return null;
+		}
+		return EDirection.getDirection(newPos.x - oldPos.x, newPos.y - oldPos.y);
+	}
+
 	public boolean isEnabled() {
 		return enabled;
 	}
 
+	/**
+	 * Number of map lines in one stripe of the {@link FowDimThread}.
+	 */
+	private static final int DIM_STRIPE_HEIGHT = 16;
+
+	private static ForkJoinPool dimPool;
+
+	private static synchronized ForkJoinPool getDimPool() {
+		if (dimPool == null) {
+			dimPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return dimPool;
+	}
+
+	/**
+	 * The dimmer splits the map into horizontal stripes of {@link #DIM_STRIPE_HEIGHT} lines. Positions are marked in the stripes without locking and
+	 * the stripes with work are dimmed in parallel. The changed lines are sent to the {@link IGraphicsBackgroundListener} by this thread after all
+	 * stripes are done, so the listener is never called concurrently.
+	 */
 	public class FowDimThread extends FoWThread {
+		private final DimStripe[] stripes;
+		private final DimStripe[] pendingStripes;
+		private byte dim;
+
 		FowDimThread() {
 			super("FOW-dimmer");
-			size = width*height;
-			nextUpdate = new BitSet(size);
-			update = new BitSet(size);
+			stripes = new DimStripe[(height + DIM_STRIPE_HEIGHT - 1) / DIM_STRIPE_HEIGHT];
+			for (int i = 0; i < stripes.length; i++) {
+				stripes[i] = new DimStripe(i * DIM_STRIPE_HEIGHT, Math.min((i + 1) * DIM_STRIPE_HEIGHT, height));
+			}
+			pendingStripes = new DimStripe[stripes.length];
 		}
 
-		public final BitSet nextUpdate;
-		public final BitSet update;
-		private final int size;
+		/**
+		 * Marks a position to be dimmed in the next frame. This may be called from any thread.
+		 */
+		public void markForDimming(int x, int y) {
+			stripes[y / DIM_STRIPE_HEIGHT].mark(x, y);
+		}
 
 		@Override
 		public void taskProcessor() {
-			synchronized (nextUpdate) {
-				update.or(nextUpdate);
-				nextUpdate.clear();
-			}
-
 			double sync_factor = fc.getTime();
 			if (sync_factor == 0) sync_factor = 1.0 / CommonConstants.FOG_OF_WAR_DIM_FRAMERATE;
-			byte dim = 0;
+			dim = 0;
 			if(MatchConstants.clock() != null) {
 				dim = (byte) Math.round(sync_factor * CommonConstants.FOG_OF_WAR_DIM * MatchConstants.clock().getGameSpeed());
 			}
 
+			int pending = 0;
+			for (DimStripe stripe : stripes) {
+				if (stripe.takeNextUpdate()) {
+					pendingStripes[pending++] = stripe;
+				}
+			}
+
+			if (pending == 1) {
+				pendingStripes[0].dimStripe();
+			} else if (pending > 1) {
+				getDimPool().invoke(new DimStripesTask(pendingStripes, 0, pending));
+			}
+
+			for (int i = 0; i < pending; i++) {
+				pendingStripes[i].notifyChangedLines();
+				pendingStripes[i] = null;
+			}
+
+			if(MatchConstants.clock() != null) {
+				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
+
+				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
+					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+				}
+			} else {
+				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+			}
+		}
+
+		private final class DimStripesTask extends RecursiveAction {
+			private static final long serialVersionUID = -3476201959263713208L;
+
+			private final DimStripe[] stripes;
+			private final int         from;
+			private final int         to;
+
+			DimStripesTask(DimStripe[] stripes, int from, int to) {
+				this.stripes = stripes;
+				this.from = from;
+				this.to = to;
+			}
+
+			@Override
+			protected void compute() {
+				if (to - from == 1) {
+					stripes[from].dimStripe();
+				} else {
+					int middle = (from + to) >>> 1;
+					invokeAll(new DimStripesTask(stripes, from, middle), new DimStripesTask(stripes, middle, to));
+				}
+			}
+		}
+
+		/**
+		 * The positions of the lines firstY to endY - 1. Bit (y - firstY) * width + x stands for the position (x|y).
+		 */
+		private final class DimStripe {
+			private final int firstY;
+			private final int endY;
+
+			/**
+			 * Positions marked since the last frame.
+			 */
+			private final AtomicLongArray nextUpdate;
+			private volatile boolean      hasNextUpdate;
+
+			/**
+			 * Positions that still need to be dimmed. Only accessed by the thread dimming this stripe.
+			 */
+			private final long[] update;
+			private boolean      hasUpdate;
+
+			/**
+			 * The runs of changed positions in the last frame. Every run takes three entries: the line, the first x and the length.
+			 */
+			private int[] changedRuns = new int[3 * 16];
+			private int   changedRunsLength;
+
+			DimStripe(int firstY, int endY) {
+				this.firstY = firstY;
+				this.endY = endY;
+				int words = ((endY - firstY) * width + 63) / 64;
+				nextUpdate = new AtomicLongArray(words);
+				update = new long[words];
+			}
+
+			void mark(int x, int y) {
+				int index = (y - firstY) * width + x;
+				int word = index >>> 6;
+				long bit = 1L << index;
 
-			int last = 0;
-			do {
-				int first = update.nextSetBit(last);
-				if (first == -1) break;
+				long current;
+				do {
+					current = nextUpdate.get(word);
+					if ((current & bit) != 0) {
+						return;
+					}
+				} while (!nextUpdate.compareAndSet(word, current, current | bit));
+				hasNextUpdate = true;
+			}
 
-				last = update.nextClearBit(first);
-				if (last == -1) last = size;
+			/**
+			 * Moves the marked positions to the positions to be dimmed.
+			 *
+			 * @return true if the stripe has positions to be dimmed.
+			 */
+			boolean takeNextUpdate() {
+				if (hasNextUpdate) {
+					hasNextUpdate = false;
+					for (int word = 0; word < update.length; word++) {
+						if (nextUpdate.get(word) != 0) {
+							update[word] |= nextUpdate.getAndSet(word, 0);
+						}
+					}
+					hasUpdate = true;
+				}
+				return hasUpdate;
+			}
 
-				int beginX = first % width;
-				int beginY = (first - beginX) / width;
+			void dimStripe() {
+				changedRunsLength = 0;
+				int runLine = -1;
+				int runFrom = 0;
+				int runTo = 0;
+				boolean remaining = false;
 
-				int endX = last % width;
-				int endY = (last - endX) / width;
+				for (int word = 0; word < update.length; word++) {
+					long bits = update[word];
+					while (bits != 0) {
+						long bit = Long.lowestOneBit(bits);
+						bits &= ~bit;
 
-				for (int y = beginY; y <= endY; y++) {
-					int firstUpdate = -1;
-					int lastUpdate = -1;
+						int index = (word << 6) + Long.numberOfTrailingZeros(bit);
+						int line = index / width;
+						int x = index - line * width;
+						int y = firstY + line;
 
-					int x = y == beginY ? beginX : 0;
-					int x2 = y == endY ? endX : width;
-					for(; x < x2; x++) {
 						final byte refSight = refSight(x, y);
 						final byte dimTo = targetSight(x, y, refSight);
 						final byte oldSight = sight[x][y];
 
-						final byte newSight = dim(sight[x][y], dimTo, dim);
+						final byte newSight = dim(oldSight, dimTo, dim);
 
 						if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
 							clearHidden(x, y);
@@ -340,37 +577,42 @@ public final class FogOfWar implements Serializable {
 						sight[x][y] = newSight;
 
 						if(dimTo != oldSight) {
-							if(lastUpdate + 1 != x) {
-								if(firstUpdate != -1) update(y, firstUpdate, lastUpdate);
-								firstUpdate = lastUpdate = x;
+							if (line == runLine && x == runTo + 1) {
+								runTo = x;
 							} else {
-								if(firstUpdate == -1) firstUpdate = x;
-								lastUpdate = x;
+								if (runLine != -1) {
+									addChangedRun(runLine, runFrom, runTo);
+								}
+								runLine = line;
+								runFrom = runTo = x;
 							}
-
-							if(sight[x][y] == dimTo) update.clear(y * width + x);
-						} else {
-							update.set(y * width + x, false);
+						}
+						if(newSight == dimTo) {
+							update[word] &= ~bit;
 						}
 					}
-					if (firstUpdate != -1) {
-						update(y, firstUpdate, lastUpdate);
-					}
+					remaining |= update[word] != 0;
 				}
-			} while (last < size);
-			if(MatchConstants.clock() != null) {
-				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
+				if (runLine != -1) {
+					addChangedRun(runLine, runFrom, runTo);
+				}
+				hasUpdate = remaining;
+			}
 
-				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
-					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+			private void addChangedRun(int line, int from, int to) {
+				if (changedRunsLength == changedRuns.length) {
+					changedRuns = Arrays.copyOf(changedRuns, changedRunsLength * 2);
 				}
-			} else {
-				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+				changedRuns[changedRunsLength++] = line;
+				changedRuns[changedRunsLength++] = from;
+				changedRuns[changedRunsLength++] = to - from + 1;
 			}
-		}
 
-		private void update(int y, int from, int to) {
-			backgroundListener.backgroundLineChangedAt(from, y, to-from);
+			void notifyChangedLines() {
+				for (int i = 0; i < changedRunsLength; i += 3) {
+					backgroundListener.backgroundLineChangedAt(changedRuns[i + 1], firstY + changedRuns[i], changedRuns[i + 2]);
+				}
+			}
 		}
 	}
 
@@ -383,30 +625,7 @@ public final class FogOfWar implements Serializable {
 	private void recordHidden(int x, int y) {
 		hiddenLandscape[x][y] = landscapeGrid.getLandscapeTypeAt(x, y);
 		hiddenHeight[x][y] = landscapeGrid.getHeightAt(x, y);
-		hiddenMapObjects[x][y] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
-	}
-
-	private IMapObject recordMapObjects(AbstractHexMapObject objects) {
-		HiddenMapObject outHead = null;
-		HiddenMapObject outTail = null;
-		AbstractHexMapObject inHead = objects;
-
-		while(inHead != null) {
-			HiddenMapObject localObject = HiddenMapObjectCreator.create(inHead);
-
-			if(localObject != null) {
-				if (outTail == null) {
-					outHead = localObject;
-					outTail = localObject;
-				} else {
-					outTail.setNextObject(localObject);
-					outTail = localObject;
-				}
-			}
-
-			inHead = inHead.getNextObject();
-		}
-		return outHead;
+		hiddenMapObjects[x][y] = HiddenMapObjectCreator.createAll(objectsGrid.getObjectsAt(x, y), hiddenObjectStore);
 	}
 
 
@@ -435,17 +654,15 @@ public final class FogOfWar implements Serializable {
 	}
 
 	final byte refSight(int x, int y) {
-		short[] refs = instance.visibleRefs[x][y];
-		if(refs.length == 0) return 0;
-
-		byte value = CommonConstants.FOG_OF_WAR_VISIBLE;
+		short[] refs = instance.refCounts;
+		int offset = instance.getRefOffset(x, y);
 
-		for(int i = 0;i != refs.length;i++) {
-			if(refs[i] > 0) break;
-			value -= 10;
+		for(int level = 0; level < REF_LEVELS; level++) {
+			if(refs[offset + level] > 0) {
+				return (byte) (CommonConstants.FOG_OF_WAR_VISIBLE - level * SIGHT_PER_REF_LEVEL);
+			}
 		}
-
-		return value;
+		return 0;
 	}
 
 	public abstract class FoWThread extends Thread {
@@ -453,6 +670,14 @@ public final class FogOfWar implements Serializable {
 
 		final FramerateComputer fc = new FramerateComputer();
 
+		private volatile long lastBusyTime;
+		private volatile long totalBusyTime;
+
+		private final Object pauseLock = new Object();
+		private boolean      pauseRequested;
+		private boolean      paused;
+		private boolean      stopped;
+
 		FoWThread(String name) {
 			super(name);
 		}
@@ -461,16 +686,79 @@ public final class FogOfWar implements Serializable {
 		public final void run() {
 			init();
 
-			while (!canceled) {
+			try {
+				while (!canceled && awaitResume()) {
+					long startTime = System.nanoTime();
+					try {
+						taskProcessor();
+					} catch(Throwable ex) {
+						ex.printStackTrace();
+					}
+					lastBusyTime = System.nanoTime() - startTime;
+					totalBusyTime += lastBusyTime;
+					fc.nextFrame(framerate);
+				}
+			} finally {
+				synchronized (pauseLock) {
+					stopped = true;
+					pauseLock.notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * @return false if the thread was interrupted while it was paused.
+		 */
+		private boolean awaitResume() {
+			synchronized (pauseLock) {
 				try {
-					taskProcessor();
-				} catch(Throwable ex) {
-					ex.printStackTrace();
+					while (pauseRequested && !canceled) {
+						paused = true;
+						pauseLock.notifyAll();
+						pauseLock.wait();
+					}
+					return true;
+				} catch (InterruptedException e) {
+					return false;
+				} finally {
+					paused = false;
+				}
+			}
+		}
+
+		/**
+		 * Lets the thread stop after its current frame and waits until it did. A thread that isn't running is not waited for.
+		 */
+		void pauseFrames() throws InterruptedException {
+			synchronized (pauseLock) {
+				pauseRequested = true;
+				while (!paused && !stopped && isAlive()) {
+					pauseLock.wait();
 				}
-				fc.nextFrame(framerate);
 			}
 		}
 
+		void resumeFrames() {
+			synchronized (pauseLock) {
+				pauseRequested = false;
+				pauseLock.notifyAll();
+			}
+		}
+
+		/**
+		 * @return the time in nanoseconds the last frame of this thread spent working.
+		 */
+		public long getLastBusyTime() {
+			return lastBusyTime;
+		}
+
+		/**
+		 * @return the time in nanoseconds this thread spent working since it has been started.
+		 */
+		public long getTotalBusyTime() {
+			return totalBusyTime;
+		}
+
 		public void init() {}
 
 		public abstract void taskProcessor();
@@ -480,16 +768,32 @@ public final class FogOfWar implements Serializable {
 
 	public void cancel() {
 		canceled = true;
+		resumeThreads();
 	}
 
-	public int maxIndex(int x, int y) {
-		short[] array = instance.visibleRefs[x][y];
-		int lastEntry = array.length-1;
+	/**
+	 * Stops the threads of the fog of war after their current frame and waits until they did. So the state of the fog of war doesn't change until
+	 * {@link #resumeThreads()} is called.
+	 *
+	 * @throws InterruptedException
+	 * 		If the calling thread is interrupted while waiting.
+	 */
+	public void pauseThreads() throws InterruptedException {
+		refThread.pauseFrames();
+		dimThread.pauseFrames();
+	}
 
-		if(array.length == 0) return 0;
+	public void resumeThreads() {
+		refThread.resumeFrames();
+		dimThread.resumeFrames();
+	}
+
+	public int maxIndex(int x, int y) {
+		short[] refs = instance.refCounts;
+		int offset = instance.getRefOffset(x, y);
 
-		for(int i = lastEntry;i >= 0;i--) {
-			if(array[i] > 0) return i+1;
+		for(int level = REF_LEVELS - 1; level >= 0; level--) {
+			if(refs[offset + level] > 0) return level + 1;
 		}
 		return 0;
 	}
@@ -561,37 +865,51 @@ public final class FogOfWar implements Serializable {
 				if (x >= 0 && x < width && y > 0 && y < height) {
 					byte tmpIndex = iterator.getRefIndex();
 
-					if((state&CIRCLE_ADD) > 0) {
-						if(instance.visibleRefs[x][y].length <= tmpIndex) { // enlarge ref index array
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[tmpIndex+1];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, tmpRef.length);
-						}
+					int refIndex = tmpIndex < REF_LEVELS ? instance.getRefOffset(x, y) + tmpIndex : -1;
 
+					if((state&CIRCLE_ADD) > 0) {
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
 							getNamedRefList(x, y, tmpIndex).add(reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]++;
+						if(refIndex != -1) instance.refCounts[refIndex]++;
 					}
 					if((state&CIRCLE_REMOVE) > 0) {
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
 								!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
 							System.err.println("Fog of war reference error on " + reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]--;
-						if(instance.visibleRefs[x][y][tmpIndex] == 0 && instance.visibleRefs[x][y].length == tmpIndex+1) { // minimize ref index array size
-							int newLength = maxIndex(x, y);
-
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[newLength];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, newLength);
-						}
+						if(refIndex != -1) instance.refCounts[refIndex]--;
 					}
 
 					if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
-						synchronized (instance.dimThread.nextUpdate) {
-							instance.dimThread.nextUpdate.set(y*width+x);
-						}
+						instance.dimThread.markForDimming(x, y);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Moves a circle drawn with {@link #drawCircleToBuffer(ShortPoint2D, int, int, Object)} one step. This has the same result as adding the new
+		 * circle and removing the old one, but only the positions whose reference index changes are updated.
+		 */
+		final void drawStepToBuffer(ShortPoint2D to, EDirection direction, int viewDistance) {
+			CachedViewCircle.StepDelta delta = getCachedCircle(viewDistance).getStepDelta(direction);
+
+			for (int i = 0; i < delta.size; i++) {
+				final int x = delta.x[i] + to.x;
+				final int y = delta.y[i] + to.y;
+
+				if (x >= 0 && x < width && y > 0 && y < height) {
+					int offset = instance.getRefOffset(x, y);
+
+					byte addedRefIndex = delta.addedRefIndex[i];
+					if(addedRefIndex >= 0 && addedRefIndex < REF_LEVELS) instance.refCounts[offset + addedRefIndex]++;
+
+					byte removedRefIndex = delta.removedRefIndex[i];
+					if(removedRefIndex >= 0 && removedRefIndex < REF_LEVELS) instance.refCounts[offset + removedRefIndex]--;
+
+					if(sight[x][y] != refSight(x, y)) {
+						instance.dimThread.markForDimming(x, y);
 					}
 				}
 			}
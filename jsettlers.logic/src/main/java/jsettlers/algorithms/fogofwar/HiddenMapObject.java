@@ -21,6 +21,10 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 
+/**
+ * The snapshot of a map object that is hidden by the fog of war. Snapshots are immutable, so snapshots that are created by the
+ * {@link HiddenMapObjectStore} of a fog of war are shared by all its positions with the same objects.
+ */
 public class HiddenMapObject implements IMapObject, Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -28,11 +32,28 @@ public class HiddenMapObject implements IMapObject, Serializable {
 	private final float progress;
 	private final EMapObjectType type;
 
-	private IMapObject nextObject;
+	private final IMapObject nextObject;
+	/**
+	 * true if this snapshot and all following ones are kept in the {@link HiddenMapObjectStore}.
+	 */
+	private final boolean shared;
 
-	public HiddenMapObject(AbstractHexMapObject original) {
+	public HiddenMapObject(AbstractHexMapObject original, IMapObject nextObject, boolean shared) {
 		this.progress = original.getStateProgress();
 		this.type = original.getObjectType();
+		this.nextObject = nextObject;
+		this.shared = shared;
+	}
+
+	boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * @return the key of this snapshot in the {@link HiddenMapObjectStore}.
+	 */
+	long getSnapshotKey() {
+		return HiddenMapObjectStore.getKey(type, progress);
 	}
 
 	@Override
@@ -50,10 +71,6 @@ public class HiddenMapObject implements IMapObject, Serializable {
 		return nextObject;
 	}
 
-	public void setNextObject(IMapObject nextObject) {
-		this.nextObject = nextObject;
-	}
-
 	@Override
 	public IMapObject getMapObject(EMapObjectType type) {
 		if(this.type.equals(type)) return this;
@@ -70,13 +87,18 @@ public class HiddenMapObject implements IMapObject, Serializable {
 		private final EMaterialType type;
 		private final byte size;
 
-		public HiddenStackMapObject(AbstractHexMapObject original) {
-			super(original);
+		public HiddenStackMapObject(AbstractHexMapObject original, IMapObject nextObject, boolean shared) {
+			super(original, nextObject, shared);
 			IStackMapObject originalStack = (IStackMapObject) original;
 			this.type = originalStack.getMaterialType();
 			this.size = originalStack.getSize();
 		}
 
+		@Override
+		long getSnapshotKey() {
+			return HiddenMapObjectStore.getKey(getObjectType(), getStateProgress(), type, size);
+		}
+
 		@Override
 		public EMaterialType getMaterialType() {
 			return type;
@@ -100,8 +122,8 @@ public class HiddenMapObject implements IMapObject, Serializable {
 
 		private final EDirection direction;
 
-		HiddenArrowMapObject(AbstractHexMapObject original) {
-			super(original);
+		HiddenArrowMapObject(AbstractHexMapObject original, IMapObject nextObject) {
+			super(original, nextObject, false);
 
 			IArrowMapObject originalArrow = (IArrowMapObject) original;
 
@@ -150,8 +172,8 @@ public class HiddenMapObject implements IMapObject, Serializable {
 		private final IPlayer player;
 		private final ShortPoint2D position;
 
-		public HiddenBuilding(AbstractHexMapObject original) {
-			super(original);
+		public HiddenBuilding(AbstractHexMapObject original, IMapObject nextObject) {
+			super(original, nextObject, false);
 
 			IBuilding originalBuilding = (IBuilding) original;
 			type = originalBuilding.getBuildingVariant().getType();
@@ -1,10 +1,29 @@
 package jsettlers.algorithms.fogofwar;
 
 import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.mapobject.IStackMapObject;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 
 public class HiddenMapObjectCreator {
-	public static HiddenMapObject create(AbstractHexMapObject object) {
+	/**
+	 * The snapshots are immutable, so the chain is created from its end. There are only a few objects on a position.
+	 *
+	 * @return the snapshots of the objects or null if none of them is shown in the fog of war.
+	 */
+	static IMapObject createAll(AbstractHexMapObject objects, HiddenMapObjectStore store) {
+		if(objects == null) return null;
+
+		IMapObject nextObjects = createAll(objects.getNextObject(), store);
+		HiddenMapObject localObject = create(objects, nextObjects, store);
+		return localObject != null ? localObject : nextObjects;
+	}
+
+	/**
+	 * @return the snapshot of the object followed by the given snapshots or null if the object isn't shown in the fog of war. Equal snapshots are
+	 *         shared through the given store.
+	 */
+	static HiddenMapObject create(AbstractHexMapObject object, IMapObject nextObject, HiddenMapObjectStore store) {
 		EMapObjectType type = object.getObjectType();
 		if(!type.persistent) return null;
 
@@ -22,13 +41,36 @@ public class HiddenMapObjectCreator {
 			case SPELL_EFFECT:
 				return null;
 			case BUILDING:
-				return new HiddenMapObject.HiddenBuilding(object);
-			case STACK_OBJECT:
-				return new HiddenMapObject.HiddenStackMapObject(object);
+				return new HiddenMapObject.HiddenBuilding(object, nextObject);
 			case ARROW:
-				return new HiddenMapObject.HiddenArrowMapObject(object);
+				return new HiddenMapObject.HiddenArrowMapObject(object, nextObject);
+		}
+
+		boolean shareable = nextObject == null || (nextObject instanceof HiddenMapObject && ((HiddenMapObject) nextObject).isShared());
+
+		if (type == EMapObjectType.STACK_OBJECT) {
+			if (!shareable) {
+				return new HiddenMapObject.HiddenStackMapObject(object, nextObject, false);
+			}
+
+			IStackMapObject stack = (IStackMapObject) object;
+			long key = HiddenMapObjectStore.getKey(type, object.getStateProgress(), stack.getMaterialType(), stack.getSize());
+			HiddenMapObject snapshot = store.get(key, nextObject);
+			if (snapshot == null) {
+				snapshot = store.put(key, nextObject, new HiddenMapObject.HiddenStackMapObject(object, nextObject, true));
+			}
+			return snapshot;
 		}
 
-		return new HiddenMapObject(object);
+		if (!shareable) {
+			return new HiddenMapObject(object, nextObject, false);
+		}
+
+		long key = HiddenMapObjectStore.getKey(type, object.getStateProgress());
+		HiddenMapObject snapshot = store.get(key, nextObject);
+		if (snapshot == null) {
+			snapshot = store.put(key, nextObject, new HiddenMapObject(object, nextObject, true));
+		}
+		return snapshot;
 	}
 }
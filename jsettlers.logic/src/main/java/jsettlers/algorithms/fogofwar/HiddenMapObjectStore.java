@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.material.EMaterialType;
+
+/**
+ * Interns the shared {@link HiddenMapObject}s of one {@link FogOfWar}. A snapshot is identified by the key of its own state and the identity of the
+ * following snapshot, which is shared too. So equal chains of snapshots are only stored once.
+ * <p>
+ * The stripes of the {@link FogOfWar.FowDimThread} use the store in parallel without locking. The entries are immutable and added to free slots of
+ * the table with compare and set. If two threads add equal snapshots at the same time, both get the snapshot that was added first.
+ * <p>
+ * Objects with a continuous progress, like growing trees, create many different keys. If the store gets too big, it is replaced by an empty one and
+ * forgets all snapshots. The forgotten snapshots stay valid, they are just no longer shared with new ones.
+ */
+final class HiddenMapObjectStore {
+	private static final int NO_MATERIAL = 0xFF;
+
+	private final int maxSize;
+	private final int capacity;
+
+	private final AtomicReference<Table> table;
+
+	HiddenMapObjectStore(int maxSize) {
+		this.maxSize = maxSize;
+		// the table has room for the entries added concurrently while it is replaced
+		this.capacity = Integer.highestOneBit(maxSize) * 4;
+		this.table = new AtomicReference<>(new Table(capacity));
+	}
+
+	static long getKey(EMapObjectType type, float progress) {
+		return getKey(type, progress, NO_MATERIAL, (byte) 0);
+	}
+
+	static long getKey(EMapObjectType type, float progress, EMaterialType material, byte stackSize) {
+		return getKey(type, progress, material.ordinal & 0xFF, stackSize);
+	}
+
+	private static long getKey(EMapObjectType type, float progress, int material, byte stackSize) {
+		return (long) (type.ordinal & 0xFF) << 48 | (long) material << 40 | (long) (stackSize & 0xFF) << 32
+				| (Float.floatToIntBits(progress) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return the snapshot with the given key and following snapshot or null if there is none.
+	 */
+	HiddenMapObject get(long key, IMapObject nextObject) {
+		AtomicReferenceArray<Entry> entries = table.get().entries;
+		int mask = capacity - 1;
+
+		for (int index = getHomeIndex(key, nextObject); ; index = (index + 1) & mask) {
+			Entry entry = entries.get(index);
+			if (entry == null) {
+				return null;
+			} else if (entry.matches(key, nextObject)) {
+				return entry.snapshot;
+			}
+		}
+	}
+
+	/**
+	 * Adds the snapshot if the store doesn't contain an equal one.
+	 *
+	 * @return the snapshot in the store.
+	 */
+	HiddenMapObject put(long key, IMapObject nextObject, HiddenMapObject snapshot) {
+		Entry newEntry = new Entry(key, nextObject, snapshot);
+		int mask = capacity - 1;
+
+		while (true) {
+			Table currentTable = table.get();
+			if (currentTable.size.get() >= maxSize) {
+				table.compareAndSet(currentTable, new Table(capacity));
+				continue;
+			}
+
+			AtomicReferenceArray<Entry> entries = currentTable.entries;
+			int index = getHomeIndex(key, nextObject);
+			while (true) {
+				Entry entry = entries.get(index);
+				if (entry == null) {
+					if (entries.compareAndSet(index, null, newEntry)) {
+						currentTable.size.incrementAndGet();
+						return snapshot;
+					}
+					// another thread took the slot, so it is checked again
+				} else if (entry.matches(key, nextObject)) {
+					return entry.snapshot;
+				} else {
+					index = (index + 1) & mask;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the shared snapshots of the given chain, starting at its end. The chains of a savegame keep their identities, so the snapshots read from
+	 * it are shared with the ones created later.
+	 */
+	void addShared(IMapObject objects) {
+		if (!(objects instanceof HiddenMapObject)) {
+			return;
+		}
+
+		HiddenMapObject snapshot = (HiddenMapObject) objects;
+		addShared(snapshot.getNextObject());
+		if (snapshot.isShared()) {
+			put(snapshot.getSnapshotKey(), snapshot.getNextObject(), snapshot);
+		}
+	}
+
+	int size() {
+		return table.get().size.get();
+	}
+
+	void clear() {
+		table.set(new Table(capacity));
+	}
+
+	private int getHomeIndex(long key, IMapObject nextObject) {
+		long hash = key * 0x9E3779B97F4A7C15L ^ System.identityHashCode(nextObject);
+		return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+	}
+
+	private static final class Table {
+		final AtomicReferenceArray<Entry> entries;
+		final AtomicInteger               size = new AtomicInteger();
+
+		Table(int capacity) {
+			entries = new AtomicReferenceArray<>(capacity);
+		}
+	}
+
+	private static final class Entry {
+		final long            key;
+		final IMapObject      nextObject;
+		final HiddenMapObject snapshot;
+
+		Entry(long key, IMapObject nextObject, HiddenMapObject snapshot) {
+			this.key = key;
+			this.nextObject = nextObject;
+			this.snapshot = snapshot;
+		}
+
+		boolean matches(long key, IMapObject nextObject) {
+			return this.key == key && this.nextObject == nextObject;
+		}
+	}
+}
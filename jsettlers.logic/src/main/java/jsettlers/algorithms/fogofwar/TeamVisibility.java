@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The visibility of the map for all teams at once. Unlike the {@link FogOfWar}, which dims the sight of the local team for the graphics, this only
+ * knows whether a position is inside the view distance of a unit or building of a team.
+ * <p>
+ * Every movable and building sees through a {@link Source}. The game thread changes the sources, {@link #update()} applies the changes. The
+ * counters of all teams are kept in one array, the visibility of a team in a bit plane that can be read by any thread with
+ * {@link #isVisible(byte, int, int)}. The teams are updated in parallel on one fork join pool shared by all instances.
+ */
+public final class TeamVisibility {
+	private static final long NO_CIRCLE = -1;
+
+	private static ForkJoinPool updatePool;
+
+	private final short width;
+	private final short height;
+	private final int   numberOfTeams;
+	private final int   size;
+	private final int   wordsPerTeam;
+
+	/**
+	 * The number of sources of team t seeing position i is stored at t * size + i.
+	 */
+	private final short[]         refCounts;
+	/**
+	 * Bit i of the plane of team t is set if the counter of position i of team t is greater than zero.
+	 */
+	private final AtomicLongArray visiblePlanes;
+
+	private final ConcurrentLinkedQueue<Source> changedSources = new ConcurrentLinkedQueue<>();
+
+	private final short[][] circleX = new short[FogOfWar.MAX_VIEW_DISTANCE][];
+	private final short[][] circleY = new short[FogOfWar.MAX_VIEW_DISTANCE][];
+
+	private final CircleList[] changes;
+
+	public TeamVisibility(short width, short height, int numberOfTeams) {
+		this.width = width;
+		this.height = height;
+		this.numberOfTeams = numberOfTeams;
+		this.size = width * height;
+		this.wordsPerTeam = (size + 63) / 64;
+		this.refCounts = new short[numberOfTeams * size];
+		this.visiblePlanes = new AtomicLongArray(numberOfTeams * wordsPerTeam);
+
+		changes = new CircleList[numberOfTeams];
+		for (int team = 0; team < numberOfTeams; team++) {
+			changes[team] = new CircleList();
+		}
+	}
+
+	private static synchronized ForkJoinPool getUpdatePool() {
+		if (updatePool == null) {
+			updatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return updatePool;
+	}
+
+	/**
+	 * @return true if the position is seen by a unit or a building of the team. The result is the state of the last {@link #update()}.
+	 */
+	public boolean isVisible(byte team, int x, int y) {
+		if (team < 0 || team >= numberOfTeams || x < 0 || x >= width || y < 0 || y >= height) {
+			return false;
+		}
+		int index = y * width + x;
+		return (visiblePlanes.get(team * wordsPerTeam + (index >>> 6)) & (1L << index)) != 0;
+	}
+
+	public int getNumberOfTeams() {
+		return numberOfTeams;
+	}
+
+	/**
+	 * @return the number of bytes used by the counters and the bit plane of one team.
+	 */
+	public long getBytesPerTeam() {
+		return size * 2L + wordsPerTeam * 8L;
+	}
+
+	/**
+	 * Changes what a source sees. May be called by any thread, the change is applied by the next {@link #update()}.
+	 *
+	 * @param position
+	 * 		The center of the view or null if the source doesn't see anything.
+	 */
+	public void setSource(Source source, byte team, ShortPoint2D position, int viewDistance) {
+		if (position == null || viewDistance <= 0 || team < 0 || team >= numberOfTeams) {
+			source.state = NO_CIRCLE;
+		} else {
+			source.state = packCircle(team, position.x, position.y, Math.min(viewDistance, FogOfWar.MAX_VIEW_DISTANCE - 1));
+		}
+
+		if (source.queued.compareAndSet(false, true)) {
+			changedSources.add(source);
+		}
+	}
+
+	public void removeSource(Source source) {
+		setSource(source, (byte) -1, null, 0);
+	}
+
+	/**
+	 * Applies all changes of the sources since the last call. Only one thread may call this at a time.
+	 */
+	public synchronized void update() {
+		int teamsWithChanges = 0;
+
+		Source source;
+		while ((source = changedSources.poll()) != null) {
+			source.queued.set(false);
+			long state = source.state;
+			if (state == source.appliedState) {
+				continue;
+			}
+
+			if (source.appliedState != NO_CIRCLE) {
+				teamsWithChanges += addChange(source.appliedState, -1);
+			}
+			if (state != NO_CIRCLE) {
+				teamsWithChanges += addChange(state, 1);
+			}
+			source.appliedState = state;
+		}
+
+		if (teamsWithChanges == 1) {
+			for (int team = 0; team < numberOfTeams; team++) {
+				applyChanges(team);
+			}
+		} else if (teamsWithChanges > 1) {
+			getUpdatePool().invoke(new UpdateTeamsTask(0, numberOfTeams));
+		}
+	}
+
+	/**
+	 * @return 1 if this is the first change of the team in this update, 0 otherwise.
+	 */
+	private int addChange(long circle, int delta) {
+		int radius = (int) (circle >>> 32) & 0xFF;
+		if (circleX[radius] == null) {
+			createCircle(radius);
+		}
+
+		CircleList teamChanges = changes[(int) (circle >>> 40) & 0xFF];
+		teamChanges.add(circle, delta);
+		return teamChanges.size == 1 ? 1 : 0;
+	}
+
+	/**
+	 * Uses the positions inside the view distance of a {@link CachedViewCircle}, which are the positions with the full sight.
+	 */
+	private void createCircle(int radius) {
+		CachedViewCircle circle = new CachedViewCircle(radius);
+		int count = 0;
+		for (int i = 0; i < circle.size; i++) {
+			if (circle.refIndex[i] == 0) {
+				count++;
+			}
+		}
+
+		short[] x = new short[count];
+		short[] y = new short[count];
+		int index = 0;
+		for (int i = 0; i < circle.size; i++) {
+			if (circle.refIndex[i] == 0) {
+				x[index] = circle.x[i];
+				y[index] = circle.y[i];
+				index++;
+			}
+		}
+		circleX[radius] = x;
+		circleY[radius] = y;
+	}
+
+	private void applyChanges(int team) {
+		CircleList teamChanges = changes[team];
+		int teamOffset = team * size;
+		int planeOffset = team * wordsPerTeam;
+
+		for (int i = 0; i < teamChanges.size; i++) {
+			long circle = teamChanges.circles[i];
+			int delta = teamChanges.deltas[i];
+			int centerX = (int) (circle >>> 16) & 0xFFFF;
+			int centerY = (int) circle & 0xFFFF;
+			short[] x = circleX[(int) (circle >>> 32) & 0xFF];
+			short[] y = circleY[(int) (circle >>> 32) & 0xFF];
+
+			for (int j = 0; j < x.length; j++) {
+				int currX = centerX + x[j];
+				int currY = centerY + y[j];
+				if (currX < 0 || currX >= width || currY < 0 || currY >= height) {
+					continue;
+				}
+
+				int index = currY * width + currX;
+				int count = refCounts[teamOffset + index] += delta;
+				if (count == 0 || (count == 1 && delta > 0)) {
+					int word = planeOffset + (index >>> 6);
+					visiblePlanes.set(word, visiblePlanes.get(word) ^ (1L << index)); // only the thread of this team writes the plane
+				}
+			}
+		}
+		teamChanges.clear();
+	}
+
+	private static long packCircle(byte team, int x, int y, int radius) {
+		return ((long) team & 0xFF) << 40 | ((long) radius & 0xFF) << 32 | ((long) x & 0xFFFF) << 16 | ((long) y & 0xFFFF);
+	}
+
+	/**
+	 * The view of one movable or building. It is only used by the {@link TeamVisibility}.
+	 */
+	public static final class Source {
+		private volatile long state        = NO_CIRCLE;
+		private long          appliedState = NO_CIRCLE;
+
+		private final AtomicBoolean queued = new AtomicBoolean();
+	}
+
+	private static final class CircleList {
+		private long[] circles = new long[16];
+		private int[]  deltas  = new int[16];
+		private int    size;
+
+		void add(long circle, int delta) {
+			if (size == circles.length) {
+				circles = Arrays.copyOf(circles, size * 2);
+				deltas = Arrays.copyOf(deltas, size * 2);
+			}
+			circles[size] = circle;
+			deltas[size] = delta;
+			size++;
+		}
+
+		void clear() {
+			size = 0;
+		}
+	}
+
+	private final class UpdateTeamsTask extends RecursiveAction {
+		private static final long serialVersionUID = 6160185853146526812L;
+
+		private final int from;
+		private final int to;
+
+		UpdateTeamsTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				applyChanges(from);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new UpdateTeamsTask(from, middle), new UpdateTeamsTask(middle, to));
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+import java.util.Locale;
+
+/**
+ * Simple {@link IPathSearchStatisticsSink} summing up the measurements of all searches.
+ */
+public class PathSearchStatistics implements IPathSearchStatisticsSink {
+	private long searches;
+	private long failedSearches;
+	private long expandedNodes;
+	private long pathLengths;
+	private long durationNanos;
+
+	@Override
+	public synchronized void searchFinished(int expandedNodes, int pathLength, long durationNanos) {
+		this.searches++;
+		if (pathLength == 0) {
+			this.failedSearches++;
+		}
+		this.expandedNodes += expandedNodes;
+		this.pathLengths += pathLength;
+		this.durationNanos += durationNanos;
+	}
+
+	public synchronized void reset() {
+		searches = 0;
+		failedSearches = 0;
+		expandedNodes = 0;
+		pathLengths = 0;
+		durationNanos = 0;
+	}
+
+	public synchronized long getSearches() {
+		return searches;
+	}
+
+	public synchronized long getFailedSearches() {
+		return failedSearches;
+	}
+
+	public synchronized long getExpandedNodes() {
+		return expandedNodes;
+	}
+
+	public synchronized long getPathLengths() {
+		return pathLengths;
+	}
+
+	public synchronized long getDurationNanos() {
+		return durationNanos;
+	}
+
+	@Override
+	public synchronized String toString() {
+		long divisor = Math.max(1, searches);
+		return String.format(Locale.ENGLISH, "PathSearchStatistics{searches=%d, failed=%d, avgExpandedNodes=%.1f, avgPathLength=%.1f, avgDuration=%.1fus}",
+			searches, failedSearches, (double) expandedNodes / divisor, (double) pathLengths / divisor, durationNanos / 1000d / divisor);
+	}
+}
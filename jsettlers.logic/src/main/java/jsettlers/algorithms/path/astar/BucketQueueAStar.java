@@ -14,9 +14,10 @@
  *******************************************************************************/
 package jsettlers.algorithms.path.astar;
 
-import java.util.BitSet;
+import java.util.Arrays;
 
 import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.IPathSearchStatisticsSink;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
@@ -26,6 +27,8 @@ import jsettlers.common.position.ShortPoint2D;
 
 /**
  * AStar algorithm to find paths from A to B on a hex grid
+ * <p>
+ * The open and closed state of the positions is stored as a search generation stamp. Therefore, no per search reset over the whole map is needed.
  *
  * @author Andreas Eberle
  *
@@ -39,14 +42,19 @@ public final class BucketQueueAStar extends AbstractAStar {
 	private final short height;
 	private final short width;
 
-	private final BitSet openBitSet;
-	private final BitSet closedBitSet;
+	/**
+	 * A position is open if its state equals {@link #openState} and closed if it equals {@link #openState} + 1. All other values are from older searches.
+	 */
+	private final int[] searchStates;
+	private int         openState = 0;
 
 	private final float[] costs;
 	private final int[]   depthParentHeap;
 
 	private final AbstractBucketQueue open;
 
+	private IPathSearchStatisticsSink statisticsSink = null;
+
 	public BucketQueueAStar(IAStarPathMap map, short width, short height) {
 		this.map = map;
 		this.width = width;
@@ -54,13 +62,22 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 		this.open = new ListMinBucketQueue(width * height);
 
-		this.openBitSet = new BitSet(width * height);
-		this.closedBitSet = new BitSet(width * height);
+		this.searchStates = new int[width * height];
 		this.costs = new float[width * height];
 
 		this.depthParentHeap = new int[width * height * 2];
 	}
 
+	/**
+	 * Sets the sink receiving the statistics of every search.
+	 *
+	 * @param statisticsSink
+	 *            the new sink or null to disable the measurements.
+	 */
+	public void setStatisticsSink(IPathSearchStatisticsSink statisticsSink) {
+		this.statisticsSink = statisticsSink;
+	}
+
 	@Override
 	public final Path findPath(IPathCalculatable requester, ShortPoint2D target) {
 		ShortPoint2D pos = requester.getPosition();
@@ -87,10 +104,13 @@ public final class BucketQueueAStar extends AbstractAStar {
 			blockedAtStartPartition = -1;
 		}
 
+		final IPathSearchStatisticsSink statisticsSink = this.statisticsSink;
+		final long startTime = statisticsSink != null ? System.nanoTime() : 0;
+		int expandedNodes = 0;
+
 		final int targetFlatIdx = getFlatIdx(tx, ty);
 
-		closedBitSet.clear();
-		openBitSet.clear();
+		startNewSearch();
 
 		open.clear();
 		boolean found = false;
@@ -98,6 +118,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 		while (!open.isEmpty()) {
 			int currFlatIdx = open.deleteMin();
+			expandedNodes++;
 
 			final int x = getX(currFlatIdx);
 			final int y = getY(currFlatIdx);
@@ -118,10 +139,11 @@ public final class BucketQueueAStar extends AbstractAStar {
 				if (isValidPosition(requester, x, y, neighborX, neighborY, blockedAtStartPartition)) {
 					final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
 
-					if (!closedBitSet.get(flatNeighborIdx)) {
+					final int neighborState = searchStates[flatNeighborIdx];
+					if (neighborState != openState + 1) { // not closed
 						final float newCosts = currPositionCosts + map.getCost(requester, x, y, neighborX, neighborY);
 
-						if (openBitSet.get(flatNeighborIdx)) {
+						if (neighborState == openState) {
 							final float oldCosts = costs[flatNeighborIdx];
 
 							if (oldCosts > newCosts) {
@@ -137,7 +159,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 							costs[flatNeighborIdx] = newCosts;
 							depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
 							depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
-							openBitSet.set(flatNeighborIdx);
+							searchStates[flatNeighborIdx] = openState;
 							open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty));
 
 							map.markAsOpen(neighborX, neighborY);
@@ -147,23 +169,39 @@ public final class BucketQueueAStar extends AbstractAStar {
 			}
 		}
 
-		if (found) {
-			int pathlength = depthParentHeap[getDepthIdx(getFlatIdx(tx, ty))];
-			Path path = new Path(pathlength);
+		Path path = found ? createPath(targetFlatIdx) : null;
 
-			int idx = pathlength;
-			int parentFlatIdx = targetFlatIdx;
+		if (statisticsSink != null) {
+			statisticsSink.searchFinished(expandedNodes, path != null ? path.getLength() : 0, System.nanoTime() - startTime);
+		}
+		return path;
+	}
 
-			while (idx > 0) {
-				idx--;
-				path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
-				parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
-			}
+	private Path createPath(int targetFlatIdx) {
+		int pathlength = depthParentHeap[getDepthIdx(targetFlatIdx)];
+		Path path = new Path(pathlength);
+
+		int idx = pathlength;
+		int parentFlatIdx = targetFlatIdx;
 
-			return path;
+		while (idx > 0) {
+			idx--;
+			path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
+			parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
 		}
 
-		return null;
+		return path;
+	}
+
+	/**
+	 * Invalidates the open and closed states of all positions by switching to the next generation. Only on an overflow, the states are reset.
+	 */
+	private void startNewSearch() {
+		if (openState >= Integer.MAX_VALUE - 2) {
+			Arrays.fill(searchStates, 0);
+			openState = 0;
+		}
+		openState += 2;
 	}
 
 	private static int getDepthIdx(int flatIdx) {
@@ -175,7 +213,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 	}
 
 	private void setClosed(int x, int y) {
-		closedBitSet.set(getFlatIdx(x, y));
+		searchStates[getFlatIdx(x, y)] = openState + 1;
 		map.markAsClosed(x, y);
 	}
 
@@ -186,7 +224,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 		costs[flatIdx] = 0;
 
 		open.insert(flatIdx, getHeuristicCost(sx, sy, tx, ty));
-		openBitSet.set(flatIdx);
+		searchStates[flatIdx] = openState;
 	}
 
 	private boolean isValidPosition(IPathCalculatable requester, int fromX, int fromY, int toX, int toY, short blockedAtStartPartition) {
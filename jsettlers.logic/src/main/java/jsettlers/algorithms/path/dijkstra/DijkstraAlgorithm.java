@@ -15,6 +15,7 @@
 package jsettlers.algorithms.path.dijkstra;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -22,12 +23,16 @@ import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
 
 /**
  * this class implements a strict dijkstra algorithm
+ * <p>
+ * The positions are checked ring by ring around the center. The reachability of the fitting positions is decided by a single {@link UniformCostFlood}
+ * from the requester, that is shared by all candidates of a search. Only the path to the chosen position is searched with the A* algorithm.
  * 
  * @author Andreas Eberle
  * 
@@ -40,10 +45,17 @@ public final class DijkstraAlgorithm {
 	private final IDijkstraPathMap map;
 	private final short height, width;
 	private final AbstractAStar aStar;
+	private final UniformCostFlood flood;
 
-	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
+	private boolean floodStarted;
+
+	private long[] candidates = new long[64];
+	private int    numberOfCandidates;
+
+	public DijkstraAlgorithm(IDijkstraPathMap map, IAStarPathMap pathMap, AbstractAStar aStar, short width, short height) {
 		this.map = map;
 		this.aStar = aStar;
+		this.flood = new UniformCostFlood(pathMap, width, height);
 		this.width = width;
 		this.height = height;
 	}
@@ -54,6 +66,13 @@ public final class DijkstraAlgorithm {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", cX, cY);
 		}
 
+		floodStarted = false;
+
+		ISearchTypeIndex index = map.getSearchTypeIndex(type);
+		if (index != null) {
+			return findIndexed(index, requester, cX, cY, minRadius, maxRadius, type);
+		}
+
 		// check center position (special case for minRadius <= 0
 		if (minRadius <= 0) {
 			map.setDijkstraSearched(cX, cY);
@@ -88,8 +107,72 @@ public final class DijkstraAlgorithm {
 		return null;
 	}
 
+	/**
+	 * Checks the candidates of the index in the same order as the ring scan would visit them. Only the candidates are marked as searched, not the
+	 * positions between them.
+	 */
+	private Path findIndexed(ISearchTypeIndex index, final IPathCalculatable requester, final short cX, final short cY, final short minRadius,
+		final short maxRadius, final ESearchType type) {
+		int searchRadius = Math.max(0, maxRadius - 1);
+		numberOfCandidates = 0;
+		index.forEachCandidate(Math.max(0, cX - searchRadius), Math.max(0, cY - searchRadius), Math.min(width - 1, cX + searchRadius),
+			Math.min(height - 1, cY + searchRadius), (x, y) -> addCandidate(x, y, cX, cY, minRadius, maxRadius));
+		Arrays.sort(candidates, 0, numberOfCandidates);
+
+		for (int i = 0; i < numberOfCandidates; i++) {
+			short x = (short) (candidates[i] >>> 16 & 0xFFFF);
+			short y = (short) (candidates[i] & 0xFFFF);
+
+			map.setDijkstraSearched(x, y);
+			if (map.fitsSearchType(x, y, type, requester)) {
+				Path path = findPathTo(requester, x, y);
+				if (path != null) {
+					return path;
+				}
+			}
+		}
+		return null;
+	}
+
+	private void addCandidate(int x, int y, short cX, short cY, short minRadius, short maxRadius) {
+		int dx = x - cX;
+		int dy = y - cY;
+		int radius = ShortPoint2D.getOnGridDist(dx, dy);
+		if (radius == 0 ? minRadius > 0 : (radius < minRadius || radius >= maxRadius)) {
+			return;
+		}
+
+		if (numberOfCandidates == candidates.length) {
+			candidates = Arrays.copyOf(candidates, 2 * candidates.length);
+		}
+		candidates[numberOfCandidates++] = (long) radius << 48 | (long) getRingIndex(dx, dy, radius) << 32 | x << 16 | y;
+	}
+
+	/**
+	 * @return the index of the position with the given offset to the center in the ring of the given radius. The ring starts with the position west
+	 *         of (0, -radius).
+	 */
+	private static int getRingIndex(int dx, int dy, int radius) {
+		if (dy == -radius && dx < 0) {
+			return -dx - 1;
+		} else if ((dx == -radius && dy <= 0) || (dy > 0 && dx - dy == -radius)) {
+			return 2 * radius + dy - 1;
+		} else if (dy == radius && dx > 0) {
+			return 3 * radius + dx - 1;
+		} else {
+			return 5 * radius - dy - 1;
+		}
+	}
+
 	private final Path findPathTo(IPathCalculatable requester, short tx, short ty) {
 		ShortPoint2D pos = requester.getPosition();
+		if (!floodStarted) { // the flood is only started when the first candidate is found
+			flood.start(requester, pos.x, pos.y);
+			floodStarted = true;
+		}
+		if (!flood.canReach(tx, ty)) {
+			return null;
+		}
 		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
 	}
 
@@ -145,6 +228,8 @@ public final class DijkstraAlgorithm {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", request.cX, request.cY);
 		}
 
+		floodStarted = false;
+
 		MapCircle circle = new MapCircle(request.cX, request.cY, request.maxRadius * MAX_RADIUS_MULTIPLIER);
 
 		short radiusSteps = request.getRadiusSteps();
@@ -25,5 +25,15 @@ public interface IDijkstraPathMap {
 
 	boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester);
 
+	/**
+	 * Marks a position the search looked at, for debugging. A search with a {@link #getSearchTypeIndex(ESearchType) search type index} only looks at
+	 * the positions of the index, so it doesn't mark the whole area it searched.
+	 */
 	void setDijkstraSearched(int x, int y);
+
+	/**
+	 * @return the index of the positions that may fit the given search type or null if the search type isn't indexed. In that case, every position
+	 *         needs to be checked.
+	 */
+	ISearchTypeIndex getSearchTypeIndex(ESearchType type);
 }
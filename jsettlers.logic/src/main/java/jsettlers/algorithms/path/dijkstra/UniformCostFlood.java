@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Arrays;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.InvalidStartPositionException;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
+import jsettlers.algorithms.path.astar.queues.bucket.ListMinBucketQueue;
+import jsettlers.common.movable.EDirection;
+
+/**
+ * Uniform cost flood starting at the position of a requester.
+ * <p>
+ * The flood is only expanded as far as needed to decide if a given target can be reached. All positions reached so far are reused for the next
+ * target, so a whole {@link DijkstraAlgorithm} search expands every position at most once.
+ * <p>
+ * The rules for valid positions and targets are the same as the ones of the A* algorithms.
+ */
+final class UniformCostFlood {
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IAStarPathMap map;
+	private final short         width;
+	private final short         height;
+
+	/**
+	 * A position is open if its state equals {@link #openState} and closed if it equals {@link #openState} + 1. All other values are from older floods.
+	 */
+	private final int[] searchStates;
+	private int         openState = 0;
+
+	private final float[] costs;
+
+	private final AbstractBucketQueue open;
+
+	private IPathCalculatable requester;
+	private int               sx;
+	private int               sy;
+	private short             blockedAtStartPartition;
+
+	UniformCostFlood(IAStarPathMap map, short width, short height) {
+		this.map = map;
+		this.width = width;
+		this.height = height;
+
+		this.open = new ListMinBucketQueue(width * height);
+
+		this.searchStates = new int[width * height];
+		this.costs = new float[width * height];
+	}
+
+	/**
+	 * Starts a new flood at the given position. No position is expanded until the first call of {@link #canReach(int, int)}.
+	 */
+	void start(IPathCalculatable requester, int sx, int sy) {
+		if (!isInBounds(sx, sy)) {
+			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
+		}
+
+		this.requester = requester;
+		this.sx = sx;
+		this.sy = sy;
+		this.blockedAtStartPartition = isBlocked(sx, sy) ? map.getBlockedPartition(sx, sy) : -1;
+
+		if (openState >= Integer.MAX_VALUE - 2) {
+			Arrays.fill(searchStates, 0);
+			openState = 0;
+		}
+		openState += 2;
+
+		open.clear();
+
+		int flatIdx = getFlatIdx(sx, sy);
+		costs[flatIdx] = 0;
+		searchStates[flatIdx] = openState;
+		open.insert(flatIdx, 0);
+	}
+
+	/**
+	 * Expands the flood until the given target is reached or no more positions can be reached.
+	 *
+	 * @return true if the A* algorithms find a path from the start to the target.
+	 */
+	boolean canReach(int tx, int ty) {
+		if (!isInBounds(tx, ty) || isBlocked(tx, ty) || (!requester.isShip() && map.getBlockedPartition(sx, sy) != map.getBlockedPartition(tx, ty))
+			|| (sx == tx && sy == ty)) {
+			return false; // same rules as for the A*
+		}
+
+		int targetFlatIdx = getFlatIdx(tx, ty);
+		while (searchStates[targetFlatIdx] < openState) { // neither open nor closed
+			if (open.isEmpty()) {
+				return false;
+			}
+			expand(open.deleteMin());
+		}
+		return true;
+	}
+
+	private void expand(int currFlatIdx) {
+		final int x = getX(currFlatIdx);
+		final int y = getY(currFlatIdx);
+
+		searchStates[currFlatIdx] = openState + 1;
+		map.markAsClosed(x, y);
+
+		final float currPositionCosts = costs[currFlatIdx];
+
+		for (int i = 0; i < EDirection.NUMBER_OF_DIRECTIONS; i++) {
+			final int neighborX = x + xDeltaArray[i];
+			final int neighborY = y + yDeltaArray[i];
+
+			if (isValidPosition(x, y, neighborX, neighborY)) {
+				final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
+
+				final int neighborState = searchStates[flatNeighborIdx];
+				if (neighborState != openState + 1) { // not closed
+					final float newCosts = currPositionCosts + map.getCost(requester, x, y, neighborX, neighborY);
+
+					if (neighborState == openState) {
+						final float oldCosts = costs[flatNeighborIdx];
+
+						if (oldCosts > newCosts) {
+							costs[flatNeighborIdx] = newCosts;
+							open.increasedPriority(flatNeighborIdx, oldCosts, newCosts);
+						}
+
+					} else {
+						costs[flatNeighborIdx] = newCosts;
+						searchStates[flatNeighborIdx] = openState;
+						open.insert(flatNeighborIdx, newCosts);
+
+						map.markAsOpen(neighborX, neighborY);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isValidPosition(int fromX, int fromY, int toX, int toY) {
+		return isInBounds(toX, toY)
+			&& (
+			!isBlocked(toX, toY)
+				|| (
+				blockedAtStartPartition >= 0 // if the start position was blocked, we can use blocked positions on the same island until
+					&& map.getBlockedPartition(toX, toY) == blockedAtStartPartition // we leave the blocked area
+					&& isBlocked(fromX, fromY) // prevent reentering blocked positions when we left them already
+			)
+		);
+	}
+
+	private boolean isBlocked(int x, int y) {
+		return map.isBlocked(requester, x, y);
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private int getFlatIdx(int x, int y) {
+		return y * width + x;
+	}
+
+	private int getX(int flatIdx) {
+		return flatIdx % width;
+	}
+
+	private int getY(int flatIdx) {
+		return flatIdx / width;
+	}
+}
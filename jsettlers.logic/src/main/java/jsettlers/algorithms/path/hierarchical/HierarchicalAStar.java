@@ -0,0 +1,361 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.InvalidStartPositionException;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Hierarchical path finding (HPA*) for long distances.
+ * <p>
+ * First, a path is searched on the abstract {@link SectorGraph}. Afterwards, the positions where this path enters a new sector are used as waypoints
+ * and the corridor between them is refined with the given flat {@link AbstractAStar}.
+ * <p>
+ * The abstraction only knows the requester independent blocking. Therefore ships, requesters that need the player's ground, blocked start positions
+ * and searches within a single sector are delegated to the flat {@link AbstractAStar}. If the abstract search fails, the flat search is used as
+ * well, so this algorithm never misses a path the flat search would find.
+ *
+ */
+public final class HierarchicalAStar extends AbstractAStar {
+	private static final int NO_PARENT = -1;
+
+	private final IAStarPathMap map;
+	private final AbstractAStar aStar;
+	private final SectorGraph   sectorGraph;
+
+	private final short width;
+	private final short height;
+
+	private final int   goalId;
+	private final int[] costs;
+	private final int[] parents;
+	private final int[] openSearchIds;
+	private final int[] closedSearchIds;
+	private int         searchId = 0;
+
+	private long[] open     = new long[256];
+	private int    openSize = 0;
+
+	private final int[] startDistances  = new int[SectorGraph.MAX_NODES_PER_SECTOR];
+	private final int[] targetDistances = new int[SectorGraph.MAX_NODES_PER_SECTOR];
+
+	/**
+	 * Creates a new hierarchical path finder.
+	 *
+	 * @param map
+	 *            The map used for the requester specific checks.
+	 * @param blockingProvider
+	 *            The requester independent blocking used to build the abstract graph. Changes must be reported with {@link #invalidate(int, int)}.
+	 * @param aStar
+	 *            The flat path finder used for refinement and as fallback.
+	 * @param width
+	 *            width of the map
+	 * @param height
+	 *            height of the map
+	 */
+	public HierarchicalAStar(IAStarPathMap map, IBlockingProvider blockingProvider, AbstractAStar aStar, short width, short height) {
+		this.map = map;
+		this.aStar = aStar;
+		this.width = width;
+		this.height = height;
+		this.sectorGraph = new SectorGraph(blockingProvider, width, height);
+
+		this.goalId = sectorGraph.getNumberOfSectors() * SectorGraph.MAX_NODES_PER_SECTOR;
+		this.costs = new int[goalId + 1];
+		this.parents = new int[goalId + 1];
+		this.openSearchIds = new int[goalId + 1];
+		this.closedSearchIds = new int[goalId + 1];
+	}
+
+	/**
+	 * Informs the abstract graph that the blocking of the given position has changed.
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 */
+	public void invalidate(int x, int y) {
+		sectorGraph.invalidate(x, y);
+	}
+
+	/**
+	 * @return The number of sector calculations done since the creation of this path finder.
+	 */
+	public int getCalculatedSectors() {
+		return sectorGraph.getCalculatedSectors();
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target, ShortPoint2D start) {
+		return findPath(requester, start.x, start.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		if (!isInBounds(sx, sy)) {
+			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
+		}
+
+		if (requester.isShip()
+			|| requester.needsPlayersGround()
+			|| !isInBounds(tx, ty)
+			|| map.isBlocked(requester, sx, sy)
+			|| map.isBlocked(requester, tx, ty)
+			|| map.getBlockedPartition(sx, sy) != map.getBlockedPartition(tx, ty)
+			|| sectorGraph.getSector(sx, sy) == sectorGraph.getSector(tx, ty)) {
+			return aStar.findPath(requester, sx, sy, tx, ty);
+		}
+
+		int[] waypoints = findWaypoints(sx, sy, tx, ty);
+		if (waypoints != null) {
+			Path path = refine(requester, sx, sy, waypoints);
+			if (path != null) {
+				return path;
+			}
+		}
+
+		return aStar.findPath(requester, sx, sy, tx, ty);
+	}
+
+	private Path refine(IPathCalculatable requester, short sx, short sy, int[] waypoints) {
+		ArrayList<Path> segments = new ArrayList<>(waypoints.length);
+		int length = 0;
+
+		short fromX = sx;
+		short fromY = sy;
+		for (int waypoint : waypoints) {
+			short toX = (short) (waypoint % width);
+			short toY = (short) (waypoint / width);
+			if (toX == fromX && toY == fromY) {
+				continue;
+			}
+
+			Path segment = aStar.findPath(requester, fromX, fromY, toX, toY);
+			if (segment == null) {
+				return null;
+			}
+			segments.add(segment);
+			length += segment.getLength();
+
+			fromX = toX;
+			fromY = toY;
+		}
+
+		Path path = new Path(length);
+		int idx = 0;
+		for (Path segment : segments) {
+			while (segment.hasNextStep()) {
+				path.insertAt(idx++, segment.nextX(), segment.nextY());
+				segment.goToNextStep();
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Searches the abstract graph.
+	 *
+	 * @return The flat indexes of the positions where the path enters a new sector followed by the target or null if no path has been found.
+	 */
+	private int[] findWaypoints(int sx, int sy, int tx, int ty) {
+		startSearch();
+
+		int startSector = sectorGraph.getSector(sx, sy);
+		int targetSector = sectorGraph.getSector(tx, ty);
+		sectorGraph.calculateDistancesToNodes(sx, sy, startDistances);
+		sectorGraph.calculateDistancesToNodes(tx, ty, targetDistances);
+
+		int startNodes = sectorGraph.getNumberOfNodes(startSector);
+		for (int node = 0; node < startNodes; node++) {
+			if (startDistances[node] != SectorGraph.UNREACHABLE) {
+				relax(getNodeId(startSector, node), NO_PARENT, startDistances[node], tx, ty);
+			}
+		}
+
+		while (openSize > 0) {
+			int id = popMin();
+			if (closedSearchIds[id] == searchId) {
+				continue;
+			}
+			closedSearchIds[id] = searchId;
+
+			if (id == goalId) {
+				return reconstructWaypoints(tx, ty);
+			}
+
+			int sector = id / SectorGraph.MAX_NODES_PER_SECTOR;
+			int node = id % SectorGraph.MAX_NODES_PER_SECTOR;
+			int cost = costs[id];
+
+			if (sector == targetSector && targetDistances[node] != SectorGraph.UNREACHABLE) {
+				relax(goalId, id, cost + targetDistances[node], tx, ty);
+			}
+
+			int nodes = sectorGraph.getNumberOfNodes(sector);
+			for (int otherNode = 0; otherNode < nodes; otherNode++) {
+				int distance = sectorGraph.getDistance(sector, node, otherNode);
+				if (otherNode != node && distance != SectorGraph.UNREACHABLE) {
+					relax(getNodeId(sector, otherNode), id, cost + distance, tx, ty);
+				}
+			}
+
+			int entrances = sectorGraph.getNumberOfEntrances(sector);
+			for (int entrance = 0; entrance < entrances; entrance++) {
+				if (sectorGraph.getEntranceNode(sector, entrance) == node) {
+					int targetPosition = sectorGraph.getEntranceTarget(sector, entrance);
+					int neighborSector = sectorGraph.getSectorOfFlatIdx(targetPosition);
+					int neighborNode = sectorGraph.getNodeIndex(neighborSector, targetPosition);
+					if (neighborNode >= 0) {
+						relax(getNodeId(neighborSector, neighborNode), id, cost + 1, tx, ty);
+					}
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private int[] reconstructWaypoints(int tx, int ty) {
+		int count = 1;
+		for (int id = parents[goalId]; parents[id] != NO_PARENT; id = parents[id]) {
+			if (isSectorEntry(id)) {
+				count++;
+			}
+		}
+
+		int[] waypoints = new int[count];
+		waypoints[--count] = tx + ty * width;
+		for (int id = parents[goalId]; parents[id] != NO_PARENT; id = parents[id]) {
+			if (isSectorEntry(id)) {
+				waypoints[--count] = getPosition(id);
+			}
+		}
+		return waypoints;
+	}
+
+	private boolean isSectorEntry(int id) {
+		return id / SectorGraph.MAX_NODES_PER_SECTOR != parents[id] / SectorGraph.MAX_NODES_PER_SECTOR;
+	}
+
+	private void relax(int id, int parent, int newCost, int tx, int ty) {
+		if (closedSearchIds[id] == searchId || (openSearchIds[id] == searchId && costs[id] <= newCost)) {
+			return;
+		}
+
+		openSearchIds[id] = searchId;
+		costs[id] = newCost;
+		parents[id] = parent;
+
+		int heuristic = 0;
+		if (id != goalId) {
+			int position = getPosition(id);
+			heuristic = getHeuristicCost(position % width, position / width, tx, ty);
+		}
+		push(id, newCost + heuristic);
+	}
+
+	private int getPosition(int id) {
+		return sectorGraph.getNodePosition(id / SectorGraph.MAX_NODES_PER_SECTOR, id % SectorGraph.MAX_NODES_PER_SECTOR);
+	}
+
+	private static int getNodeId(int sector, int node) {
+		return sector * SectorGraph.MAX_NODES_PER_SECTOR + node;
+	}
+
+	private void startSearch() {
+		openSize = 0;
+		searchId++;
+		if (searchId == Integer.MAX_VALUE) {
+			Arrays.fill(openSearchIds, 0);
+			Arrays.fill(closedSearchIds, 0);
+			searchId = 1;
+		}
+	}
+
+	private void push(int id, int rank) {
+		if (openSize == open.length) {
+			open = Arrays.copyOf(open, 2 * open.length);
+		}
+
+		long element = ((long) rank << 32) | id;
+		int idx = openSize++;
+		while (idx > 0) {
+			int parentIdx = (idx - 1) / 2;
+			if (open[parentIdx] <= element) {
+				break;
+			}
+			open[idx] = open[parentIdx];
+			idx = parentIdx;
+		}
+		open[idx] = element;
+	}
+
+	private int popMin() {
+		int result = (int) open[0];
+		long last = open[--openSize];
+
+		int idx = 0;
+		while (true) {
+			int childIdx = 2 * idx + 1;
+			if (childIdx >= openSize) {
+				break;
+			}
+			if (childIdx + 1 < openSize && open[childIdx + 1] < open[childIdx]) {
+				childIdx++;
+			}
+			if (last <= open[childIdx]) {
+				break;
+			}
+			open[idx] = open[childIdx];
+			idx = childIdx;
+		}
+		if (openSize > 0) {
+			open[idx] = last;
+		}
+		return result;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private static int getHeuristicCost(int sx, int sy, int tx, int ty) {
+		final int dx = (tx - sx);
+		final int dy = (ty - sy);
+		final int absDx = Math.abs(dx);
+		final int absDy = Math.abs(dy);
+
+		if (dx * dy > 0) { // dx and dy go in the same direction
+			return Math.max(absDx, absDy);
+		} else {
+			return absDx + absDy;
+		}
+	}
+}
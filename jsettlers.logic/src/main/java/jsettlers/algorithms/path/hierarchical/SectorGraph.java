@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.movable.EDirection;
+
+/**
+ * Abstract graph used by the {@link HierarchicalAStar}.
+ * <p>
+ * The grid is divided into square sectors of {@link #SECTOR_SIZE} x {@link #SECTOR_SIZE} positions. Two neighboring sectors are connected by entrances:
+ * Along a sector border, the pairs of positions that are neighbors across the border are walked in a zig-zag order. Every run of free pairs forms an
+ * entrance and its middle pair (or both end pairs for long runs) becomes a node on each side. The {@link EDirection#SOUTH_EAST} step across the
+ * corner of two sectors connects them with the diagonal neighbor sector, so a free corner pair forms an entrance on its own. Inside a sector, the
+ * walking distances between all its nodes are precomputed.
+ * <p>
+ * A sector is only calculated when it's needed after it has been invalidated. The data of a sector only depends on the blocked state of its positions
+ * and the positions directly across its borders. Therefore, the graph is always the same regardless of when the sectors are calculated.
+ *
+ */
+final class SectorGraph {
+	static final int SECTOR_SIZE          = 16;
+	static final int MAX_NODES_PER_SECTOR = 4 * SECTOR_SIZE + 2; // four borders and two corners
+	static final int UNREACHABLE          = Integer.MAX_VALUE;
+
+	/**
+	 * Runs with more pairs than this get an entrance on both ends instead of one in the middle.
+	 */
+	private static final int LONG_ENTRANCE_PAIRS = 12;
+
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IBlockingProvider blockingProvider;
+	private final short             width;
+	private final short             height;
+	private final int               sectorsX;
+	private final int               sectorsY;
+
+	private final BitSet validSectors;
+	private final int[]  numberOfNodes;
+	private final int[][] nodePositions;
+	private final int[][] distances;
+	private final int[]  numberOfEntrances;
+	private final int[][] entranceNodes;
+	private final int[][] entranceTargets;
+
+	private final int[] bfsQueue     = new int[SECTOR_SIZE * SECTOR_SIZE];
+	private final int[] bfsDistances = new int[SECTOR_SIZE * SECTOR_SIZE];
+
+	private int calculatedSectors = 0;
+
+	SectorGraph(IBlockingProvider blockingProvider, short width, short height) {
+		this.blockingProvider = blockingProvider;
+		this.width = width;
+		this.height = height;
+		this.sectorsX = (width + SECTOR_SIZE - 1) / SECTOR_SIZE;
+		this.sectorsY = (height + SECTOR_SIZE - 1) / SECTOR_SIZE;
+
+		int numberOfSectors = sectorsX * sectorsY;
+		this.validSectors = new BitSet(numberOfSectors);
+		this.numberOfNodes = new int[numberOfSectors];
+		this.nodePositions = new int[numberOfSectors][];
+		this.distances = new int[numberOfSectors][];
+		this.numberOfEntrances = new int[numberOfSectors];
+		this.entranceNodes = new int[numberOfSectors][];
+		this.entranceTargets = new int[numberOfSectors][];
+	}
+
+	int getNumberOfSectors() {
+		return sectorsX * sectorsY;
+	}
+
+	int getSector(int x, int y) {
+		return x / SECTOR_SIZE + (y / SECTOR_SIZE) * sectorsX;
+	}
+
+	int getSectorOfFlatIdx(int flatIdx) {
+		return getSector(flatIdx % width, flatIdx / width);
+	}
+
+	/**
+	 * Marks all sectors depending on the given position as invalid. They will be recalculated the next time they are needed.
+	 *
+	 * @param x
+	 *            x coordinate of the changed position
+	 * @param y
+	 *            y coordinate of the changed position
+	 */
+	void invalidate(int x, int y) {
+		int sectorX = x / SECTOR_SIZE;
+		int sectorY = y / SECTOR_SIZE;
+		int localX = x % SECTOR_SIZE;
+		int localY = y % SECTOR_SIZE;
+
+		invalidateSector(sectorX, sectorY);
+		if (localX == 0) {
+			invalidateSector(sectorX - 1, sectorY);
+		} else if (localX == SECTOR_SIZE - 1) {
+			invalidateSector(sectorX + 1, sectorY);
+		}
+		if (localY == 0) {
+			invalidateSector(sectorX, sectorY - 1);
+		} else if (localY == SECTOR_SIZE - 1) {
+			invalidateSector(sectorX, sectorY + 1);
+		}
+		if (localX == 0 && localY == 0) {
+			invalidateSector(sectorX - 1, sectorY - 1);
+		} else if (localX == SECTOR_SIZE - 1 && localY == SECTOR_SIZE - 1) {
+			invalidateSector(sectorX + 1, sectorY + 1);
+		}
+	}
+
+	private void invalidateSector(int sectorX, int sectorY) {
+		if (0 <= sectorX && sectorX < sectorsX && 0 <= sectorY && sectorY < sectorsY) {
+			validSectors.clear(sectorX + sectorY * sectorsX);
+		}
+	}
+
+	/**
+	 * @return The number of sector calculations done since the creation of this graph.
+	 */
+	int getCalculatedSectors() {
+		return calculatedSectors;
+	}
+
+	int getNumberOfNodes(int sector) {
+		ensureCalculated(sector);
+		return numberOfNodes[sector];
+	}
+
+	int getNodePosition(int sector, int node) {
+		return nodePositions[sector][node];
+	}
+
+	int getNodeIndex(int sector, int flatIdx) {
+		ensureCalculated(sector);
+		int[] positions = nodePositions[sector];
+		for (int node = 0; node < numberOfNodes[sector]; node++) {
+			if (positions[node] == flatIdx) {
+				return node;
+			}
+		}
+		return -1;
+	}
+
+	int getDistance(int sector, int fromNode, int toNode) {
+		return distances[sector][fromNode * numberOfNodes[sector] + toNode];
+	}
+
+	int getNumberOfEntrances(int sector) {
+		ensureCalculated(sector);
+		return numberOfEntrances[sector];
+	}
+
+	int getEntranceNode(int sector, int entrance) {
+		return entranceNodes[sector][entrance];
+	}
+
+	int getEntranceTarget(int sector, int entrance) {
+		return entranceTargets[sector][entrance];
+	}
+
+	/**
+	 * Calculates the walking distances from the given position to all nodes of its sector without leaving the sector.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 * @param result
+	 *            Array receiving the distance of every node or {@link #UNREACHABLE}.
+	 */
+	void calculateDistancesToNodes(int x, int y, int[] result) {
+		int sector = getSector(x, y);
+		ensureCalculated(sector);
+		fillDistances(sector, x, y, result, 0);
+	}
+
+	private void ensureCalculated(int sector) {
+		if (!validSectors.get(sector)) {
+			calculateSector(sector);
+			validSectors.set(sector);
+		}
+	}
+
+	private void calculateSector(int sector) {
+		calculatedSectors++;
+		numberOfNodes[sector] = 0;
+		numberOfEntrances[sector] = 0;
+		if (nodePositions[sector] == null) {
+			nodePositions[sector] = new int[MAX_NODES_PER_SECTOR];
+			entranceNodes[sector] = new int[2 * MAX_NODES_PER_SECTOR];
+			entranceTargets[sector] = new int[2 * MAX_NODES_PER_SECTOR];
+		}
+
+		int minX = getMinX(sector);
+		int maxX = getMaxX(sector);
+		int minY = getMinY(sector);
+		int maxY = getMaxY(sector);
+
+		if (minX > 0) {
+			addEntrances(sector, true, minX, minY, maxY, false);
+		}
+		if (maxX < width) {
+			addEntrances(sector, true, maxX, minY, maxY, true);
+		}
+		if (minY > 0) {
+			addEntrances(sector, false, minY, minX, maxX, false);
+		}
+		if (maxY < height) {
+			addEntrances(sector, false, maxY, minX, maxX, true);
+		}
+		if (minX > 0 && minY > 0) {
+			addCornerEntrance(sector, getFlatIdx(minX, minY), getFlatIdx(minX - 1, minY - 1));
+		}
+		if (maxX < width && maxY < height) {
+			addCornerEntrance(sector, getFlatIdx(maxX - 1, maxY - 1), getFlatIdx(maxX, maxY));
+		}
+
+		int nodes = numberOfNodes[sector];
+		if (distances[sector] == null || distances[sector].length < nodes * nodes) {
+			distances[sector] = new int[nodes * nodes];
+		}
+		for (int node = 0; node < nodes; node++) {
+			int position = nodePositions[sector][node];
+			fillDistances(sector, position % width, position / width, distances[sector], node * nodes);
+		}
+	}
+
+	/**
+	 * Adds the entrances of one border of the given sector.
+	 *
+	 * @param vertical
+	 *            true if the border is a column border, false if it is a row border.
+	 * @param border
+	 *            The first column / row behind the border.
+	 * @param from
+	 *            first row / column of the border segment (inclusive).
+	 * @param to
+	 *            last row / column of the border segment (exclusive).
+	 * @param sectorIsLowSide
+	 *            true if the sector lies before the border.
+	 */
+	private void addEntrances(int sector, boolean vertical, int border, int from, int to, boolean sectorIsLowSide) {
+		int numberOfPairs = 2 * (to - from) - 1;
+		int runStart = -1;
+
+		for (int pair = 0; pair <= numberOfPairs; pair++) {
+			boolean free = pair < numberOfPairs && !isBlocked(getLowSide(vertical, border, from, pair)) && !isBlocked(getHighSide(vertical, border, from, pair));
+
+			if (free && runStart < 0) {
+				runStart = pair;
+			} else if (!free && runStart >= 0) {
+				int runEnd = pair - 1;
+				if (runEnd - runStart + 1 > LONG_ENTRANCE_PAIRS) {
+					addEntrance(sector, vertical, border, from, runStart, sectorIsLowSide);
+					addEntrance(sector, vertical, border, from, runEnd, sectorIsLowSide);
+				} else {
+					addEntrance(sector, vertical, border, from, (runStart + runEnd) / 2, sectorIsLowSide);
+				}
+				runStart = -1;
+			}
+		}
+	}
+
+	private void addEntrance(int sector, boolean vertical, int border, int from, int pair, boolean sectorIsLowSide) {
+		int lowSide = getLowSide(vertical, border, from, pair);
+		int highSide = getHighSide(vertical, border, from, pair);
+		addEntrance(sector, sectorIsLowSide ? lowSide : highSide, sectorIsLowSide ? highSide : lowSide);
+	}
+
+	private void addCornerEntrance(int sector, int ownPosition, int otherPosition) {
+		if (!isBlocked(ownPosition) && !isBlocked(otherPosition)) {
+			addEntrance(sector, ownPosition, otherPosition);
+		}
+	}
+
+	private void addEntrance(int sector, int ownPosition, int otherPosition) {
+		int node = findOrAddNode(sector, ownPosition);
+		int entrance = numberOfEntrances[sector]++;
+		entranceNodes[sector][entrance] = node;
+		entranceTargets[sector][entrance] = otherPosition;
+	}
+
+	private int findOrAddNode(int sector, int position) {
+		int[] positions = nodePositions[sector];
+		for (int node = 0; node < numberOfNodes[sector]; node++) {
+			if (positions[node] == position) {
+				return node;
+			}
+		}
+		int node = numberOfNodes[sector]++;
+		positions[node] = position;
+		return node;
+	}
+
+	private int getLowSide(boolean vertical, int border, int from, int pair) {
+		int offset = from + pair / 2;
+		return vertical ? getFlatIdx(border - 1, offset) : getFlatIdx(offset, border - 1);
+	}
+
+	private int getHighSide(boolean vertical, int border, int from, int pair) {
+		int offset = from + pair / 2 + pair % 2;
+		return vertical ? getFlatIdx(border, offset) : getFlatIdx(offset, border);
+	}
+
+	/**
+	 * Breadth first search from the given position to all nodes of the sector. The search doesn't leave the sector.
+	 */
+	private void fillDistances(int sector, int startX, int startY, int[] result, int resultOffset) {
+		int minX = getMinX(sector);
+		int maxX = getMaxX(sector);
+		int minY = getMinY(sector);
+		int maxY = getMaxY(sector);
+
+		Arrays.fill(bfsDistances, UNREACHABLE);
+		int queueHead = 0;
+		int queueTail = 0;
+
+		int startIdx = getLocalIdx(startX - minX, startY - minY);
+		bfsDistances[startIdx] = 0;
+		bfsQueue[queueTail++] = startIdx;
+
+		while (queueHead < queueTail) {
+			int localIdx = bfsQueue[queueHead++];
+			int x = minX + localIdx % SECTOR_SIZE;
+			int y = minY + localIdx / SECTOR_SIZE;
+			int nextDistance = bfsDistances[localIdx] + 1;
+
+			for (int i = 0; i < EDirection.NUMBER_OF_DIRECTIONS; i++) {
+				int neighborX = x + xDeltaArray[i];
+				int neighborY = y + yDeltaArray[i];
+
+				if (minX <= neighborX && neighborX < maxX && minY <= neighborY && neighborY < maxY) {
+					int neighborIdx = getLocalIdx(neighborX - minX, neighborY - minY);
+					if (bfsDistances[neighborIdx] == UNREACHABLE && !blockingProvider.isBlocked(neighborX, neighborY)) {
+						bfsDistances[neighborIdx] = nextDistance;
+						bfsQueue[queueTail++] = neighborIdx;
+					}
+				}
+			}
+		}
+
+		int[] positions = nodePositions[sector];
+		for (int node = 0; node < numberOfNodes[sector]; node++) {
+			int position = positions[node];
+			result[resultOffset + node] = bfsDistances[getLocalIdx(position % width - minX, position / width - minY)];
+		}
+	}
+
+	private boolean isBlocked(int flatIdx) {
+		return blockingProvider.isBlocked(flatIdx % width, flatIdx / width);
+	}
+
+	private int getMinX(int sector) {
+		return (sector % sectorsX) * SECTOR_SIZE;
+	}
+
+	private int getMaxX(int sector) {
+		return Math.min(getMinX(sector) + SECTOR_SIZE, width);
+	}
+
+	private int getMinY(int sector) {
+		return (sector / sectorsX) * SECTOR_SIZE;
+	}
+
+	private int getMaxY(int sector) {
+		return Math.min(getMinY(sector) + SECTOR_SIZE, height);
+	}
+
+	private static int getLocalIdx(int localX, int localY) {
+		return localX + localY * SECTOR_SIZE;
+	}
+
+	private int getFlatIdx(int x, int y) {
+		return x + y * width;
+	}
+}
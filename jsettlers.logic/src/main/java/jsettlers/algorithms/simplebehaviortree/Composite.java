@@ -24,6 +24,15 @@ public abstract class Composite<T> extends Node<T> {
 		return maxId;
 	}
 
+	@Override
+	void register(Node<T>[] nodes) {
+		super.register(nodes);
+
+		for (Node<T> child : children) {
+			child.register(nodes);
+		}
+	}
+
 	@Override
 	public Node<T> findNode(int id) {
 		if(getId() == id) {
@@ -18,6 +18,15 @@ public abstract class Decorator<T> extends Node<T> {
 		return maxId;
 	}
 
+	@Override
+	void register(Node<T>[] nodes) {
+		super.register(nodes);
+
+		if(child != null) {
+			child.register(nodes);
+		}
+	}
+
 	@Override
 	public Node<T> findNode(int id) {
 		if (getId() == id) {
@@ -57,12 +57,23 @@ public abstract class Node<T> implements Serializable {
 
 	protected void onExit(Tick<T> tick) { }
 
+	/**
+	 * @return the kind of value this node keeps with {@link Tick#setIntProperty(int, int)} or {@link Tick#setProperty(int, Object)}.
+	 */
+	protected NodeProperty getPropertyKind() {
+		return NodeProperty.NONE;
+	}
+
 	int initiate(int maxId) {
 		assert id == -1;
 
 		return this.id = ++maxId;
 	}
 
+	void register(Node<T>[] nodes) {
+		nodes[id] = this;
+	}
+
 	public abstract Node<T> findNode(int id);
 
 }
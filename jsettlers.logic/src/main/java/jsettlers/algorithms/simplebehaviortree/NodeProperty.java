@@ -0,0 +1,10 @@
+package jsettlers.algorithms.simplebehaviortree;
+
+/**
+ * The kind of value a {@link Node} keeps in the {@link Tick} under its id.
+ */
+public enum NodeProperty {
+	NONE,
+	INT,
+	OBJECT
+}
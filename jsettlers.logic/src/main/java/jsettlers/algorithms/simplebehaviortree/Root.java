@@ -1,18 +1,51 @@
 package jsettlers.algorithms.simplebehaviortree;
 
+/**
+ * The root of a behaviour tree.
+ * <p>
+ * The nodes of the tree have dense ids, which are used as indexes of the open node bitset of the {@link Tick}s. The properties of the nodes are
+ * mapped to slots in an int and an object array, depending on their {@link NodeProperty}.
+ */
 public class Root<T> extends Decorator<T> {
 	private static final long serialVersionUID = 4857616270171506110L;
 
 	private         int     maxID = -1;
 	private int invocationDelay = 0;
 
+	private final Node<T>[]      nodes;
+	private final NodeProperty[] propertyKinds;
+	private final int[]          propertySlots;
+	private       int            numberOfIntProperties;
+	private       int            numberOfObjectProperties;
+
 	public int getChildrenCount() {
 		return maxID + 1;
 	}
 
+	@SuppressWarnings("unchecked")
 	public Root(Node<T> child) {
 		super(child);
 		maxID = initiate(-1);
+
+		nodes = (Node<T>[]) new Node<?>[maxID + 1];
+		register(nodes);
+
+		propertyKinds = new NodeProperty[maxID + 1];
+		propertySlots = new int[maxID + 1];
+		for (int id = 0; id <= maxID; id++) {
+			propertyKinds[id] = nodes[id].getPropertyKind();
+			switch (propertyKinds[id]) {
+			case INT:
+				propertySlots[id] = numberOfIntProperties++;
+				break;
+			case OBJECT:
+				propertySlots[id] = numberOfObjectProperties++;
+				break;
+			default:
+				propertySlots[id] = -1;
+				break;
+			}
+		}
 	}
 
 	public void setInvocationDelay(int invocationDelay) {
@@ -27,4 +60,25 @@ public class Root<T> extends Decorator<T> {
 	protected NodeStatus onTick(Tick<T> tick) {
 		return child.execute(tick);
 	}
+
+	@Override
+	public Node<T> findNode(int id) {
+		return id >= 0 && id <= maxID ? nodes[id] : null;
+	}
+
+	NodeProperty getPropertyKind(int id) {
+		return propertyKinds[id];
+	}
+
+	int getPropertySlot(int id) {
+		return propertySlots[id];
+	}
+
+	int getNumberOfIntProperties() {
+		return numberOfIntProperties;
+	}
+
+	int getNumberOfObjectProperties() {
+		return numberOfObjectProperties;
+	}
 }
@@ -3,9 +3,7 @@ package jsettlers.algorithms.simplebehaviortree;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 
 public class Tick<T> {
@@ -13,12 +11,20 @@ public class Tick<T> {
 	public final Root<T> root;
 	public final T       target;
 
-	private final Set<Node<T>> openNodes = new HashSet<>();
-	private final Map<Integer, Object> properties = new TreeMap<>();
+	private final long[]   openNodes;
+	private final long[]   setProperties;
+	private final int[]    intProperties;
+	private final Object[] objectProperties;
 
 	public Tick(T target, Root<T> root) {
 		this.root = root;
 		this.target = target;
+
+		int words = (root.getChildrenCount() + 63) >>> 6;
+		openNodes = new long[words];
+		setProperties = new long[words];
+		intProperties = new int[root.getNumberOfIntProperties()];
+		objectProperties = new Object[root.getNumberOfObjectProperties()];
 	}
 
 	public NodeStatus tick() {
@@ -30,35 +36,64 @@ public class Tick<T> {
 	}
 
 	public boolean isOpen(Node<T> node) {
-		return openNodes.contains(node);
+		int id = node.getId();
+		return (openNodes[id >>> 6] & (1L << id)) != 0;
 	}
 
 	public void visitNode(Node<T> node) {
-		openNodes.add(node);
+		int id = node.getId();
+		openNodes[id >>> 6] |= 1L << id;
 	}
 
 	public void tickNode(Node<T> node) {
 	}
 
 	public void leaveNode(Node<T> node) {
-		openNodes.remove(node);
+		int id = node.getId();
+		openNodes[id >>> 6] &= ~(1L << id);
 	}
 
 	public <I> I getProperty(int id) {
-		return (I) properties.get(id);
+		assert root.getPropertyKind(id) == NodeProperty.OBJECT;
+		return (I) objectProperties[root.getPropertySlot(id)];
 	}
 
 	public void setProperty(int id, Object value) {
-		properties.put(id, value);
+		assert root.getPropertyKind(id) == NodeProperty.OBJECT;
+		objectProperties[root.getPropertySlot(id)] = value;
+		setProperties[id >>> 6] |= 1L << id;
+	}
+
+	public int getIntProperty(int id) {
+		assert root.getPropertyKind(id) == NodeProperty.INT;
+		return intProperties[root.getPropertySlot(id)];
 	}
 
+	public void setIntProperty(int id, int value) {
+		assert root.getPropertyKind(id) == NodeProperty.INT;
+		intProperties[root.getPropertySlot(id)] = value;
+		setProperties[id >>> 6] |= 1L << id;
+	}
+
+	/**
+	 * Writes the properties as map from node id to value and the ids of the open nodes in ascending order.
+	 */
 	public void serialize(ObjectOutputStream oos) throws IOException {
+		Map<Integer, Object> properties = new TreeMap<>();
+		for (int id = nextSetBit(setProperties, 0); id >= 0; id = nextSetBit(setProperties, id + 1)) {
+			int slot = root.getPropertySlot(id);
+			properties.put(id, root.getPropertyKind(id) == NodeProperty.INT ? Integer.valueOf(intProperties[slot]) : objectProperties[slot]);
+		}
 		oos.writeObject(properties);
 
-		oos.writeInt(openNodes.size());
+		int openNodeCount = 0;
+		for (long word : openNodes) {
+			openNodeCount += Long.bitCount(word);
+		}
+		oos.writeInt(openNodeCount);
 
-		for(int openNode : openNodes.stream().map(Node::getId).sorted().toArray(Integer[]::new)) {
-			oos.writeInt(openNode);
+		for (int id = nextSetBit(openNodes, 0); id >= 0; id = nextSetBit(openNodes, id + 1)) {
+			oos.writeInt(id);
 		}
 	}
 
@@ -66,16 +101,48 @@ public class Tick<T> {
 			throws IOException, ClassNotFoundException {
 		Tick<T> out = new Tick<>(target, root);
 
-		out.properties.putAll((Map<Integer, Object>) ois.readObject());
+		Map<Integer, Object> properties = (Map<Integer, Object>) ois.readObject();
+		for (Map.Entry<Integer, Object> property : properties.entrySet()) {
+			int id = property.getKey();
+			if(root.findNode(id) == null) throw new Error("Unknown property!");
+
+			switch (root.getPropertyKind(id)) {
+			case INT:
+				out.setIntProperty(id, (Integer) property.getValue());
+				break;
+			case OBJECT:
+				out.setProperty(id, property.getValue());
+				break;
+			default:
+				throw new Error("Unknown property!");
+			}
+		}
+
 		int openNodeCount = ois.readInt();
 		for(int i = 0; i < openNodeCount; i++) {
 			Node<T> openNode = root.findNode(ois.readInt());
 
 			if(openNode == null) throw new Error("Unknown open node!");
 
-			out.openNodes.add(openNode);
+			out.visitNode(openNode);
 		}
 
 		return out;
 	}
+
+	private static int nextSetBit(long[] bits, int fromIndex) {
+		int wordIndex = fromIndex >>> 6;
+		if (wordIndex >= bits.length) {
+			return -1;
+		}
+
+		long word = bits[wordIndex] & (-1L << fromIndex);
+		while (word == 0) {
+			if (++wordIndex == bits.length) {
+				return -1;
+			}
+			word = bits[wordIndex];
+		}
+		return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+	}
 }
@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import jsettlers.algorithms.simplebehaviortree.Composite;
 import jsettlers.algorithms.simplebehaviortree.Node;
+import jsettlers.algorithms.simplebehaviortree.NodeProperty;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
 
@@ -90,4 +91,9 @@ public class Parallel<T> extends Composite<T> {
 			}
 		}
 	}
+
+	@Override
+	protected NodeProperty getPropertyKind() {
+		return NodeProperty.OBJECT;
+	}
 }
@@ -2,6 +2,7 @@ package jsettlers.algorithms.simplebehaviortree.nodes;
 
 import jsettlers.algorithms.simplebehaviortree.Decorator;
 import jsettlers.algorithms.simplebehaviortree.Node;
+import jsettlers.algorithms.simplebehaviortree.NodeProperty;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
 
@@ -37,4 +38,9 @@ public class Property<T, PropertyType extends Serializable> extends Decorator<T>
 	protected NodeStatus onTick(Tick<T> tick) {
 		return child.execute(tick);
 	}
+
+	@Override
+	protected NodeProperty getPropertyKind() {
+		return NodeProperty.OBJECT;
+	}
 }
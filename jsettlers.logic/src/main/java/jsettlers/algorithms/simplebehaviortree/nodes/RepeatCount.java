@@ -3,6 +3,7 @@ package jsettlers.algorithms.simplebehaviortree.nodes;
 import jsettlers.algorithms.simplebehaviortree.Decorator;
 import jsettlers.algorithms.simplebehaviortree.IIntegerSupplier;
 import jsettlers.algorithms.simplebehaviortree.Node;
+import jsettlers.algorithms.simplebehaviortree.NodeProperty;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
 
@@ -19,12 +20,12 @@ public class RepeatCount<T> extends Decorator<T> {
 
 	@Override
 	protected void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), iterationsSupplier.apply(tick.target));
+		tick.setIntProperty(getId(), iterationsSupplier.apply(tick.target));
 	}
 
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
-		int iterations = tick.getProperty(getId());
+		int iterations = tick.getIntProperty(getId());
 
 		// zero iterations -> do nothing and return SUCCESS
 		for(int i = iterations; i > 0; i--) {
@@ -32,7 +33,7 @@ public class RepeatCount<T> extends Decorator<T> {
 			switch (newStatus) {
 				// try again next time
 				case RUNNING:
-					tick.setProperty(getId(), i);
+					tick.setIntProperty(getId(), i);
 					// stop on failure
 				case FAILURE:
 					return newStatus;
@@ -44,4 +45,9 @@ public class RepeatCount<T> extends Decorator<T> {
 
 		return NodeStatus.SUCCESS;
 	}
-}
\ No newline at end of file
+
+	@Override
+	protected NodeProperty getPropertyKind() {
+		return NodeProperty.INT;
+	}
+}
@@ -1,6 +1,7 @@
 package jsettlers.algorithms.simplebehaviortree.nodes;
 
 import jsettlers.algorithms.simplebehaviortree.IIntegerSupplier;
+import jsettlers.algorithms.simplebehaviortree.NodeProperty;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Leaf;
 import jsettlers.algorithms.simplebehaviortree.Tick;
@@ -18,7 +19,7 @@ public final class Sleep<T> extends Leaf<T> {
 
 	@Override
 	public NodeStatus onTick(Tick<T> tick) {
-		int endTime = tick.getProperty(getId());
+		int endTime = tick.getIntProperty(getId());
 		int remaining = (endTime - MatchConstants.clock().getTime());
 		if (remaining <= 0) {
 			return NodeStatus.SUCCESS;
@@ -31,6 +32,11 @@ public final class Sleep<T> extends Leaf<T> {
 
 	@Override
 	public void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), MatchConstants.clock().getTime() + delaySupplier.apply(tick.target));
+		tick.setIntProperty(getId(), MatchConstants.clock().getTime() + delaySupplier.apply(tick.target));
+	}
+
+	@Override
+	protected NodeProperty getPropertyKind() {
+		return NodeProperty.INT;
 	}
 }
@@ -1,14 +1,17 @@
 package jsettlers.logic;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class SerializationUtils {
+	private static final int MAX_RUN_LENGTH = 0xFFFF + 1;
 
 	public static <T> void writeSparseArray(ObjectOutputStream oos, T[] data) throws IOException {
 		oos.writeInt(data.length);
@@ -44,4 +47,132 @@ public class SerializationUtils {
 		}
 		return data;
 	}
+
+	/**
+	 * Writes a byte array of a grid. Most grids consist of large areas with the same value, so the array is run length encoded if this makes it
+	 * smaller. Otherwise it is written as is.
+	 */
+	public static void writeBytes(ObjectOutputStream oos, byte[] data) throws IOException {
+		oos.writeInt(data.length);
+
+		int runs = countRuns(data);
+		boolean encoded = runs * 3L < data.length;
+		oos.writeBoolean(encoded);
+
+		if (!encoded) {
+			oos.write(data);
+			return;
+		}
+
+		for (int start = 0; start < data.length;) {
+			byte value = data[start];
+			int end = start + 1;
+			while (end < data.length && data[end] == value && end - start < MAX_RUN_LENGTH) {
+				end++;
+			}
+			oos.writeByte(value);
+			oos.writeShort(end - start - 1);
+			start = end;
+		}
+	}
+
+	public static byte[] readBytes(ObjectInputStream ois) throws IOException {
+		byte[] data = new byte[ois.readInt()];
+
+		if (!ois.readBoolean()) {
+			ois.readFully(data);
+			return data;
+		}
+
+		for (int start = 0; start < data.length;) {
+			byte value = ois.readByte();
+			int end = start + ois.readUnsignedShort() + 1;
+			if (end > data.length) {
+				throw new InvalidObjectException("Run exceeds the array length " + data.length);
+			}
+			Arrays.fill(data, start, end, value);
+			start = end;
+		}
+		return data;
+	}
+
+	/**
+	 * Writes a short array of a grid like {@link #writeBytes(ObjectOutputStream, byte[])}.
+	 */
+	public static void writeShorts(ObjectOutputStream oos, short[] data) throws IOException {
+		oos.writeInt(data.length);
+
+		int runs = countRuns(data);
+		boolean encoded = runs * 2L < data.length;
+		oos.writeBoolean(encoded);
+
+		if (!encoded) {
+			for (short value : data) {
+				oos.writeShort(value);
+			}
+			return;
+		}
+
+		for (int start = 0; start < data.length;) {
+			short value = data[start];
+			int end = start + 1;
+			while (end < data.length && data[end] == value && end - start < MAX_RUN_LENGTH) {
+				end++;
+			}
+			oos.writeShort(value);
+			oos.writeShort(end - start - 1);
+			start = end;
+		}
+	}
+
+	public static short[] readShorts(ObjectInputStream ois) throws IOException {
+		short[] data = new short[ois.readInt()];
+
+		if (!ois.readBoolean()) {
+			for (int i = 0; i < data.length; i++) {
+				data[i] = ois.readShort();
+			}
+			return data;
+		}
+
+		for (int start = 0; start < data.length;) {
+			short value = ois.readShort();
+			int end = start + ois.readUnsignedShort() + 1;
+			if (end > data.length) {
+				throw new InvalidObjectException("Run exceeds the array length " + data.length);
+			}
+			Arrays.fill(data, start, end, value);
+			start = end;
+		}
+		return data;
+	}
+
+	/**
+	 * @return the number of runs of the encoding, a run holds up to {@link #MAX_RUN_LENGTH} equal values.
+	 */
+	private static int countRuns(byte[] data) {
+		int runs = 0;
+		for (int start = 0; start < data.length;) {
+			int end = start + 1;
+			while (end < data.length && data[end] == data[start] && end - start < MAX_RUN_LENGTH) {
+				end++;
+			}
+			runs++;
+			start = end;
+		}
+		return runs;
+	}
+
+	private static int countRuns(short[] data) {
+		int runs = 0;
+		for (int start = 0; start < data.length;) {
+			int end = start + 1;
+			while (end < data.length && data[end] == data[start] && end - start < MAX_RUN_LENGTH) {
+				end++;
+			}
+			runs++;
+			start = end;
+		}
+		return runs;
+	}
 }
@@ -26,6 +26,7 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
+import jsettlers.algorithms.fogofwar.TeamVisibility;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.buildings.IBuilding;
@@ -87,8 +88,10 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 	private static final Queue<Building> allBuildings = new ConcurrentLinkedQueue<>();
 	private static byte fowTeam = -1;
+	private static TeamVisibility teamVisibility;
 	private boolean occupied;
 	private transient boolean fow = false;
+	private transient TeamVisibility.Source visionSource;
 
 	protected final EBuildingType type;
 	protected final ShortPoint2D pos;
@@ -129,6 +132,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		if(fow && oldVD != newVD) {
 			queueNewViewDistance(oldVD, newVD);
 		}
+		updateVisibility();
 	}
 
 	void setState(EBuildingState newState) {
@@ -138,6 +142,22 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		if(fow && oldVD != newVD) {
 			queueNewViewDistance(oldVD, newVD);
 		}
+		updateVisibility();
+	}
+
+	private void updateVisibility() {
+		if (teamVisibility == null || player == null) {
+			return;
+		}
+
+		if (visionSource == null) {
+			visionSource = new TeamVisibility.Source();
+		}
+		if (state == EBuildingState.DESTROYED) {
+			teamVisibility.removeSource(visionSource);
+		} else {
+			teamVisibility.setSource(visionSource, player.getTeamId(), getPosition(), getVD());
+		}
 	}
 
 	private void queueNewViewDistance(short oldVD, short newVD) {
@@ -154,6 +174,13 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		}
 	}
 
+	public static void initTeamVisibility(TeamVisibility visibility) {
+		teamVisibility = visibility;
+		for (Building building : allBuildings) {
+			building.updateVisibility();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		allBuildings.clear();
@@ -396,6 +423,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 		fow = newFow;
 		player = newPlayer;
+		updateVisibility();
 	}
 
 	@Override
@@ -634,6 +662,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	public static void clearState() {
 		allBuildings.clear();
 		fowTeam = -1;
+		teamVisibility = null;
 	}
 
 	public final short getVD() {
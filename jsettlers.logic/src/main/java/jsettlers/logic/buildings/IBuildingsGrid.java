@@ -28,6 +28,7 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.DockPosition;
 import jsettlers.logic.buildings.stack.IRequestsStackGrid;
 import jsettlers.logic.buildings.workers.WorkerBuilding;
+import jsettlers.logic.map.grid.InfluenceGrid;
 import jsettlers.logic.map.grid.objects.MapObjectsManager;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IBarrack;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IDiggerRequester;
@@ -80,6 +81,8 @@ public interface IBuildingsGrid {
 
 	MapObjectsManager getMapObjectsManager();
 
+	InfluenceGrid getInfluenceGrid();
+
 	AbstractMovableGrid getMovableGrid();
 
 	void requestDiggers(IDiggerRequester requester, byte amount);
@@ -46,6 +46,7 @@ import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.IBuildingsGrid;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.InfluenceGrid;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
@@ -188,6 +189,7 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 			if (movableAtDoor == null) {
 				TowerOccupier releasedOccupier = toBeReleasedOccupiers.pop();
 				sortedOccupiers.remove(releasedOccupier);
+				changeInfluence(releasedOccupier, false);
 				emptyPlaces.add(releasedOccupier.place);
 				ISoldierMovable soldier = releasedOccupier.soldier;
 				soldier.leaveTower(super.getDoor());
@@ -231,6 +233,7 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 			FreeMapArea buildingArea = super.getBuildingArea();
 			for (TowerOccupier curr : sortedOccupiers) {
 				addInformableMapObject(curr, false);// if curr is a bowman, this removes the informable map object.
+				changeInfluence(curr, false);
 
 				curr.getMovable().leaveTower(buildingArea.get(idx));
 				idx++;
@@ -287,6 +290,25 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 		if(sortedOccupiers.isEmpty()) setOccupied(true);
 		sortedOccupiers.add(towerOccupier);
 		Collections.sort(sortedOccupiers, Comparators.comparingInt(occupier -> occupier.place.getSoldierClass().ordinal));
+		changeInfluence(towerOccupier, true);
+	}
+
+	/**
+	 * Adds the occupiers to the given grid. This is needed after the {@link InfluenceGrid} was created for a loaded game.
+	 */
+	public void addOccupiersToInfluence(InfluenceGrid influenceGrid) {
+		for (TowerOccupier occupier : sortedOccupiers) {
+			influenceGrid.addSoldier(super.pos.x, super.pos.y, occupier.soldier.getPlayer());
+		}
+	}
+
+	private void changeInfluence(TowerOccupier occupier, boolean add) {
+		InfluenceGrid influenceGrid = super.grid.getInfluenceGrid();
+		if (add) {
+			influenceGrid.addSoldier(super.pos.x, super.pos.y, occupier.soldier.getPlayer());
+		} else {
+			influenceGrid.removeSoldier(super.pos.x, super.pos.y, occupier.soldier.getPlayer());
+		}
 	}
 
 	@Override
@@ -306,6 +328,7 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 
 		// removeOne the soldier and dijkstraRequest a new one
 		sortedOccupiers.remove(occupier);
+		changeInfluence(occupier, false);
 		if(sortedOccupiers.isEmpty() && !inFight) setOccupied(false);
 		emptyPlaces.add(occupier.place);
 		requestSoldier(occupier.place.getSoldierClass());
@@ -313,6 +336,7 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 
 	private TowerOccupier removeSoldier() {
 		TowerOccupier removedSoldier = sortedOccupiers.removeFirst();
+		changeInfluence(removedSoldier, false);
 
 		addInformableMapObject(removedSoldier, false);
 
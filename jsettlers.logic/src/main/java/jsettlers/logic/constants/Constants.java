@@ -46,6 +46,23 @@ public final class Constants {
 
 	public static final short MOVABLE_FLOCK_TO_DECENTRALIZE_MAX_RADIUS = 2;
 
+	/**
+	 * Paths to targets at least this far away (on grid distance) are searched with the hierarchical path finder, if it is enabled by
+	 * {@link MatchConstants#ENABLE_HIERARCHICAL_PATHFINDING}.
+	 */
+	public static final short HIERARCHICAL_PATHFINDING_MIN_DISTANCE = 64;
+
+	/**
+	 * Maximum number of walking distance fields kept for the targets of material deliveries.
+	 */
+	public static final int DISTANCE_FIELD_CACHE_SIZE = 64;
+
+	/**
+	 * Radius of the walking distance fields. A field needs two bytes per position of its (2 * radius + 1)^2 window, independent of the map size.
+	 * Offers further away are ranked by a lower bound of their walking distance.
+	 */
+	public static final int DISTANCE_FIELD_RADIUS = 64;
+
 	/**
 	 * The radius within a tower can request soldiers to enter the building.
 	 */
@@ -116,6 +133,12 @@ public final class Constants {
 
 	public static int BUILDING_PLACEMENT_MAX_SEARCH_RADIUS = 3;
 
+	/**
+	 * The maximum number of material deliveries a partition assigns to its jobless bearers at once, if
+	 * {@link MatchConstants#ENABLE_BATCH_MATERIAL_DISTRIBUTION} is set.
+	 */
+	public static final int MATERIAL_DISTRIBUTION_BUDGET = 32;
+
 	public static final int MAGE_CAST_DISTANCE = 10;
 	public static final int SPELL_EFFECT_RADIUS = 10;
 }
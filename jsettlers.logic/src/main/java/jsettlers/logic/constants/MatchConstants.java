@@ -41,6 +41,43 @@ public final class MatchConstants {
 
 	public static final boolean ENABLE_PRODUCTION_LOG = false;
 
+	/**
+	 * if true, the movables of a time slot search their targets in parallel before they are updated one after the other. A prepared target is only
+	 * used if nothing it depends on changed in the meantime, so the course of the game is the same as without the parallel search.
+	 */
+	public static boolean ENABLE_PARALLEL_MOVABLE_UPDATE = false;
+
+	/**
+	 * if true, the partitions match the material deliveries with their jobless bearers in batches, see
+	 * {@link jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager#distributeJobs()}. Otherwise every material type gets at most
+	 * one delivery at a time, which takes the jobless closest to the offer.<br>
+	 * NOTE: This changes the course of the game, so it must be the same for all clients of a match and for replays.
+	 */
+	public static boolean ENABLE_BATCH_MATERIAL_DISTRIBUTION = false;
+
+	/**
+	 * if true, the paths to targets at least {@link jsettlers.logic.constants.Constants#HIERARCHICAL_PATHFINDING_MIN_DISTANCE} away are searched
+	 * with the {@link jsettlers.algorithms.path.hierarchical.HierarchicalAStar}. Its paths can be a little longer than the ones of the flat
+	 * search.<br>
+	 * NOTE: This changes the course of the game, so it must be the same for all clients of a match and for replays.
+	 */
+	public static boolean ENABLE_HIERARCHICAL_PATHFINDING = false;
+
+	/**
+	 * if true, the offers of materials within {@link jsettlers.logic.constants.Constants#DISTANCE_FIELD_RADIUS} of a request are ranked by the
+	 * walking distance to it, see {@link jsettlers.algorithms.distances.DistanceFieldCache}. Otherwise the offer with the shortest straight
+	 * distance is taken.<br>
+	 * NOTE: This changes the course of the game, so it must be the same for all clients of a match and for replays.
+	 */
+	public static boolean ENABLE_WALKING_DISTANCE_RANKING = false;
+
+	/**
+	 * if true, the visibility of the map is computed for all teams, see {@link jsettlers.algorithms.fogofwar.TeamVisibility}. The AI then only
+	 * notices the enemy soldiers in its town that its team sees, so this changes the course of games with AI players.<br>
+	 * NOTE: this value has only an effect if it's changed before the threads of the MainGrid are started.
+	 */
+	public static boolean ENABLE_TEAM_VISIBILITY = false;
+
 	/**
 	 * NOTE: this value has only an effect if it's changed before the MainGrid is created! IT MUSTN'T BE CHANGED AFTER A MAIN GRID HAS BEEN CREATED <br>
 	 * if false, no debug coloring is possible (but saves memory) <br>
@@ -92,7 +129,14 @@ public final class MatchConstants {
 	}
 
 	public static void deserialize(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		clock.setTime(ois.readInt());
+		deserialize(ois.readInt(), ois);
+	}
+
+	/**
+	 * Reads the state written by {@link #serialize(ObjectOutputStream)}, after its time was already read by the caller.
+	 */
+	public static void deserialize(int time, ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		clock.setTime(time);
 		gameRandom = (ExtendedRandom) ois.readObject();
 		aiRandom = (ExtendedRandom) ois.readObject();
 	}
@@ -18,14 +18,26 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
+import jsettlers.common.logging.MilliStopWatch;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
+import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.movable.MovableManager;
 
 /**
  * This class serializes and deserializes the {@link MainGrid} and therefore the complete game state.
+ * <p>
+ * A savegame starts with a format version, see {@link #writeFormatVersion(ObjectOutputStream)}. It has to be the first thing in the stream,
+ * because the player states written before the grid already reference parts of it. The state consists of named sections, which are checked while
+ * loading. So a savegame of an other format is rejected with a clear message instead of failing somewhere inside of the object graph.
+ * <p>
+ * Savegames written before the format was versioned have no format version and no sections. They are still loaded, see
+ * {@link #LEGACY_FORMAT_VERSION}. The classes of the game state that changed their serialized form read the legacy form too.
+ * <p>
+ * The large byte and short arrays of the grids are written in a compact form by the stream, see
+ * {@link jsettlers.logic.map.loading.savegame.SavegameOutputStream}.
  *
  * @author Andreas Eberle
  */
@@ -34,6 +46,62 @@ public class GameSerializer {
 	private static final long SAVE_STACK_SIZE = 1024 * 1024; // size of the save thread's stack
 	private static final long LOAD_STACK_SIZE = 1024 * 1024; // size of the load thread's stack
 
+	/**
+	 * The version of savegames written before the format was versioned. They start with the {@link MatchConstants} instead of a format.
+	 */
+	public static final short LEGACY_FORMAT_VERSION = 0;
+
+	private static final int   FORMAT_MAGIC   = 0x4A534756;
+	private static final short FORMAT_VERSION = 1;
+
+	private static final String SECTION_BUILDINGS = "buildings";
+	private static final String SECTION_MARKETS   = "markets";
+	private static final String SECTION_HARBORS   = "harbors";
+	private static final String SECTION_MOVABLES  = "movables";
+	private static final String SECTION_GRID      = "grid";
+
+	/**
+	 * Writes the format of the savegame. Call this before anything else is written to the stream.
+	 *
+	 * @param oos
+	 * 		The output stream of the savegame.
+	 * @throws IOException
+	 * 		If writing fails.
+	 */
+	public static void writeFormatVersion(ObjectOutputStream oos) throws IOException {
+		oos.writeInt(FORMAT_MAGIC);
+		oos.writeShort(FORMAT_VERSION);
+	}
+
+	/**
+	 * Reads the format written by {@link #writeFormatVersion(ObjectOutputStream)} and the {@link MatchConstants} following it. A savegame of the
+	 * legacy format starts with the time of the clock instead of the magic number of the format, see {@link MatchConstants#serialize(ObjectOutputStream)}.
+	 *
+	 * @param ois
+	 * 		The input stream of the savegame.
+	 * @return the format version of the savegame or {@link #LEGACY_FORMAT_VERSION}.
+	 * @throws MapLoadException
+	 * 		If the savegame has an unknown format.
+	 * @throws IOException
+	 * 		If reading fails.
+	 * @throws ClassNotFoundException
+	 * 		If the {@link MatchConstants} can't be read.
+	 */
+	public static short readFormatAndMatchConstants(ObjectInputStream ois) throws MapLoadException, IOException, ClassNotFoundException {
+		int magicOrTime = ois.readInt();
+		if (magicOrTime != FORMAT_MAGIC) {
+			MatchConstants.deserialize(magicOrTime, ois);
+			return LEGACY_FORMAT_VERSION;
+		}
+
+		short version = ois.readShort();
+		if (version != FORMAT_VERSION) {
+			throw new MapLoadException("Unsupported savegame format version " + version + ", expected " + FORMAT_VERSION + ".");
+		}
+		MatchConstants.deserialize(ois);
+		return version;
+	}
+
 	/**
 	 * Saves the grid to the given output file.
 	 *
@@ -61,18 +129,33 @@ public class GameSerializer {
 		oos.flush();
 	}
 
-	public MainGrid load(final ObjectInputStream ois) throws MapLoadException {
+	/**
+	 * Loads the grid from the given stream.
+	 *
+	 * @param ois
+	 * 		The input stream of the savegame.
+	 * @param formatVersion
+	 * 		The version returned by {@link #readFormatAndMatchConstants(ObjectInputStream)}.
+	 * @return the loaded grid.
+	 * @throws MapLoadException
+	 * 		If loading fails.
+	 */
+	public MainGrid load(final ObjectInputStream ois, short formatVersion) throws MapLoadException {
 		try {
-			LoadRunnable runnable = new LoadRunnable(ois);
+			LoadRunnable runnable = new LoadRunnable(ois, formatVersion);
 			Thread t = new Thread(null, runnable, "LoadThread", LOAD_STACK_SIZE);
 			t.start();
 			t.join();
 
 			if (runnable.grid != null) {
 				return runnable.grid;
+			} else if (runnable.exception instanceof MapLoadException) {
+				throw (MapLoadException) runnable.exception;
 			} else {
 				throw new MapLoadException("Error loading map.", runnable.exception);
 			}
+		} catch (MapLoadException e) {
+			throw e;
 		} catch (Throwable t) {
 			throw new MapLoadException(t);
 		}
@@ -91,39 +174,64 @@ public class GameSerializer {
 		@Override
 		public void run() {
 			try {
-				Building.writeStaticState(oos);
-				MarketBuilding.writeStaticState(oos);
-				HarborBuilding.writeStaticState(oos);
-				MovableManager.writeStaticState(oos);
-				oos.writeObject(grid);
+				writeSection(SECTION_BUILDINGS, () -> Building.writeStaticState(oos));
+				writeSection(SECTION_MARKETS, () -> MarketBuilding.writeStaticState(oos));
+				writeSection(SECTION_HARBORS, () -> HarborBuilding.writeStaticState(oos));
+				writeSection(SECTION_MOVABLES, () -> MovableManager.writeStaticState(oos));
+				writeSection(SECTION_GRID, () -> oos.writeObject(grid));
 			} catch (Throwable t) {
 				t.printStackTrace();
 				this.exception = t;
 			}
 		}
+
+		private void writeSection(String name, ISection section) throws IOException, ClassNotFoundException {
+			MilliStopWatch watch = new MilliStopWatch();
+			oos.writeUTF(name);
+			section.run();
+			watch.stop("Writing section '" + name + "' required");
+		}
 	}
 
 	private static final class LoadRunnable implements Runnable {
 		private final ObjectInputStream ois;
+		private final short             formatVersion;
 		MainGrid  grid      = null;
 		Throwable exception = null;
 
-		private LoadRunnable(ObjectInputStream ois) {
+		private LoadRunnable(ObjectInputStream ois, short formatVersion) {
 			this.ois = ois;
+			this.formatVersion = formatVersion;
 		}
 
 		@Override
 		public void run() {
 			try {
-				Building.readStaticState(ois);
-				MarketBuilding.readStaticState(ois);
-				HarborBuilding.readStaticState(ois);
-				MovableManager.readStaticState(ois);
-				grid = (MainGrid) ois.readObject();
+				readSection(SECTION_BUILDINGS, () -> Building.readStaticState(ois));
+				readSection(SECTION_MARKETS, () -> MarketBuilding.readStaticState(ois));
+				readSection(SECTION_HARBORS, () -> HarborBuilding.readStaticState(ois));
+				readSection(SECTION_MOVABLES, () -> MovableManager.readStaticState(ois, formatVersion));
+				readSection(SECTION_GRID, () -> grid = (MainGrid) ois.readObject());
 			} catch (Throwable t) {
 				t.printStackTrace();
 				this.exception = t;
 			}
 		}
+
+		private void readSection(String name, ISection section) throws IOException, ClassNotFoundException, MapLoadException {
+			MilliStopWatch watch = new MilliStopWatch();
+			if (formatVersion != LEGACY_FORMAT_VERSION) { // the legacy format has no sections
+				String readName = ois.readUTF();
+				if (!name.equals(readName)) {
+					throw new MapLoadException("Expected section '" + name + "' of the savegame but found '" + readName + "'.");
+				}
+			}
+			section.run();
+			watch.stop("Reading section '" + name + "' required");
+		}
+	}
+
+	private interface ISection {
+		void run() throws IOException, ClassNotFoundException;
 	}
 }
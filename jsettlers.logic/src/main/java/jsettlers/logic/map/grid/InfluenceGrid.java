@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import java.util.Arrays;
+
+import jsettlers.logic.player.Player;
+
+/**
+ * The number of soldiers of every team in cells of 8x8 positions. Soldiers on the map count at their position, soldiers in a tower at the position
+ * of the tower.
+ * <p>
+ * The grid is changed by the game thread whenever a soldier enters or leaves a position or a tower. Queries look at all cells touching the
+ * square around a position, so they are independent of the number of positions in the area.
+ */
+public final class InfluenceGrid {
+	public static final int CELL_SHIFT = 3;
+
+	private final short width;
+	private final short height;
+	private final int   cellsPerRow;
+	private final int   numberOfCells;
+
+	private final int[] totalSoldiers;
+	private int[][]     teamSoldiers = new int[0][];
+
+	public InfluenceGrid(short width, short height) {
+		this.width = width;
+		this.height = height;
+		this.cellsPerRow = (width + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT;
+		this.numberOfCells = cellsPerRow * ((height + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT);
+		this.totalSoldiers = new int[numberOfCells];
+	}
+
+	public void addSoldier(int x, int y, Player player) {
+		changeSoldiers(x, y, player.getTeamId(), 1);
+	}
+
+	public void removeSoldier(int x, int y, Player player) {
+		changeSoldiers(x, y, player.getTeamId(), -1);
+	}
+
+	/**
+	 * @return true if there are soldiers of other teams in the cells touching the square of the given radius around the position.
+	 */
+	public boolean hasEnemies(byte teamId, int x, int y, int radius) {
+		int minCellX = Math.max(0, x - radius) >> CELL_SHIFT;
+		int maxCellX = Math.min(width - 1, x + radius) >> CELL_SHIFT;
+		int minCellY = Math.max(0, y - radius) >> CELL_SHIFT;
+		int maxCellY = Math.min(height - 1, y + radius) >> CELL_SHIFT;
+		int[] ownSoldiers = teamId < teamSoldiers.length ? teamSoldiers[teamId] : null;
+
+		for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				int cell = cellY * cellsPerRow + cellX;
+				if (totalSoldiers[cell] > (ownSoldiers != null ? ownSoldiers[cell] : 0)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public void clear() {
+		Arrays.fill(totalSoldiers, 0);
+		for (int[] soldiers : teamSoldiers) {
+			Arrays.fill(soldiers, 0);
+		}
+	}
+
+	private void changeSoldiers(int x, int y, byte teamId, int delta) {
+		int cell = (y >> CELL_SHIFT) * cellsPerRow + (x >> CELL_SHIFT);
+
+		if (teamId >= teamSoldiers.length) {
+			int oldLength = teamSoldiers.length;
+			teamSoldiers = Arrays.copyOf(teamSoldiers, teamId + 1);
+			for (int i = oldLength; i <= teamId; i++) {
+				teamSoldiers[i] = new int[numberOfCells];
+			}
+		}
+
+		totalSoldiers[cell] += delta;
+		teamSoldiers[teamId][cell] += delta;
+	}
+}
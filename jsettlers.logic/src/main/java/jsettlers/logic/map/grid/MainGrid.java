@@ -18,7 +18,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.Locale;
 import java.util.Set;
 
@@ -26,10 +28,13 @@ import java8.util.Optional;
 import jsettlers.algorithms.borders.BordersThread;
 import jsettlers.algorithms.borders.IBordersThreadGrid;
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
+import jsettlers.algorithms.distances.DistanceFieldCache;
 import jsettlers.algorithms.fogofwar.FogOfWar;
+import jsettlers.algorithms.fogofwar.TeamVisibility;
 import jsettlers.algorithms.landmarks.EnclosedBlockedAreaFinderAlgorithm;
 import jsettlers.algorithms.landmarks.IEnclosedBlockedAreaFinderGrid;
 import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.IPathSearchStatisticsSink;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.area.IInAreaFinderMap;
 import jsettlers.algorithms.path.area.InAreaFinder;
@@ -37,7 +42,9 @@ import jsettlers.algorithms.path.astar.AbstractAStar;
 import jsettlers.algorithms.path.astar.BucketQueueAStar;
 import jsettlers.algorithms.path.astar.IAStarPathMap;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
+import jsettlers.algorithms.path.dijkstra.ISearchTypeIndex;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
+import jsettlers.algorithms.path.hierarchical.HierarchicalAStar;
 import jsettlers.algorithms.previewimage.PreviewImageCreator;
 import jsettlers.algorithms.traversing.area.IAreaVisitor;
 import jsettlers.common.Color;
@@ -89,6 +96,7 @@ import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.movable.AttackableBuckets;
 import jsettlers.logic.map.grid.movable.MovableGrid;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.IMapObjectsManagerGrid;
@@ -122,6 +130,7 @@ import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.movable.Movable;
+import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
@@ -141,6 +150,16 @@ import jsettlers.logic.player.PlayerSetting;
 public final class MainGrid implements Serializable {
 	private static final long serialVersionUID = 3824511313693431423L;
 
+	private static final ESearchType[] INDEXED_SEARCH_TYPES = {
+		ESearchType.CUTTABLE_TREE,
+		ESearchType.CUTTABLE_STONE,
+		ESearchType.CUTTABLE_CORN,
+		ESearchType.HARVESTABLE_WINE,
+		ESearchType.HARVESTABLE_RICE,
+		ESearchType.HARVESTABLE_HIVE,
+		ESearchType.FISHABLE
+	};
+
 	final String mapId;
 	final String mapName;
 
@@ -158,11 +177,15 @@ public final class MainGrid implements Serializable {
 	final BuildingsGrid         buildingsGrid;
 
 	transient         FogOfWar                       fogOfWar;
+	private transient TeamVisibility                 teamVisibility;
 	transient         GraphicsGrid                   graphicsGrid;
 	transient         ConstructionMarksGrid          constructionMarksGrid;
 	transient         BordersThread                  bordersThread;
 	transient         IGuiInputGrid                  guiInputGrid;
 	private transient IEnclosedBlockedAreaFinderGrid enclosedBlockedAreaFinderGrid;
+	transient         ResourceIndex                  resourceIndex;
+	transient         InfluenceGrid                  influenceGrid;
+	private transient DistanceFieldCache             distanceFields;
 
 	public MainGrid(String mapId, String mapName, short width, short height, PlayerSetting[] playerSettings) {
 		this.mapId = mapId;
@@ -210,7 +233,66 @@ public final class MainGrid implements Serializable {
 		this.guiInputGrid = new GuiInputGrid();
 
 		this.partitionsGrid.setPlayerChangedListener(new PlayerChangedListener());
+		this.distanceFields = MatchConstants.ENABLE_WALKING_DISTANCE_RANKING
+				? new DistanceFieldCache(width, height, flagsGrid, Constants.DISTANCE_FIELD_RADIUS, Constants.DISTANCE_FIELD_CACHE_SIZE) : null;
+		this.partitionsGrid.setDistanceFields(distanceFields);
 		this.enclosedBlockedAreaFinderGrid = new EnclosedBlockedAreaFinderGrid();
+		this.resourceIndex = new ResourceIndex(width, height, INDEXED_SEARCH_TYPES);
+		this.influenceGrid = new InfluenceGrid(width, height);
+		this.movableGrid.setInfluenceGrid(influenceGrid);
+	}
+
+	/**
+	 * Adds the soldiers in the towers to the {@link InfluenceGrid}. The soldiers on the map are added by the {@link MovableGrid}.
+	 */
+	private void rebuildTowerInfluence() {
+		Set<Building> towers = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Building building = objectsGrid.getBuildingAt(x, y);
+				if (building instanceof OccupyingBuilding && towers.add(building)) {
+					((OccupyingBuilding) building).addOccupiersToInfluence(influenceGrid);
+				}
+			}
+		}
+	}
+
+	private void rebuildResourceIndex() {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				updateResourceIndexForObjectsAt(x, y);
+				resourceIndex.setCandidate(ESearchType.FISHABLE, x, y, movablePathfinderGrid.pathfinderGrid.hasNeighbourLandscape(x, y, ELandscapeType.WATER1));
+			}
+		}
+	}
+
+	/**
+	 * Updates the {@link ResourceIndex} for the objects at the given position. The index contains the growing objects too, because they change
+	 * their state without being added or removed.
+	 */
+	private void updateResourceIndexForObjectsAt(int x, int y) {
+		resourceIndex.setCandidate(ESearchType.CUTTABLE_TREE, x + 1, y + 1,
+			objectsGrid.hasMapObjectType(x, y, EMapObjectType.TREE_GROWING, EMapObjectType.TREE_ADULT));
+		resourceIndex.setCandidate(ESearchType.CUTTABLE_STONE, x + 1, y - 1, objectsGrid.hasMapObjectType(x, y, EMapObjectType.STONE));
+		resourceIndex.setCandidate(ESearchType.CUTTABLE_CORN, x, y, objectsGrid.hasMapObjectType(x, y, EMapObjectType.CORN_GROWING, EMapObjectType.CORN_ADULT));
+		resourceIndex.setCandidate(ESearchType.HARVESTABLE_WINE, x, y,
+			objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE));
+		resourceIndex.setCandidate(ESearchType.HARVESTABLE_RICE, x, y,
+			objectsGrid.hasMapObjectType(x, y, EMapObjectType.RICE_GROWING, EMapObjectType.RICE_HARVESTABLE));
+		resourceIndex.setCandidate(ESearchType.HARVESTABLE_HIVE, x, y,
+			objectsGrid.hasMapObjectType(x, y, EMapObjectType.HIVE_EMPTY, EMapObjectType.HIVE_GROWING, EMapObjectType.HIVE_HARVESTABLE));
+	}
+
+	private void updateResourceIndexForLandscapeAt(int x, int y) {
+		PathfinderGrid pathfinderGrid = movablePathfinderGrid.pathfinderGrid;
+		resourceIndex.setCandidate(ESearchType.FISHABLE, x, y, pathfinderGrid.hasNeighbourLandscape(x, y, ELandscapeType.WATER1));
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = direction.getNextTileX(x);
+			int neighborY = direction.getNextTileY(y);
+			if (isInBounds(neighborX, neighborY)) {
+				resourceIndex.setCandidate(ESearchType.FISHABLE, neighborX, neighborY, pathfinderGrid.hasNeighbourLandscape(neighborX, neighborY, ELandscapeType.WATER1));
+			}
+		}
 	}
 
 	public final short getHeight() {
@@ -234,6 +316,8 @@ public final class MainGrid implements Serializable {
 		initAdditional();
 		this.bordersThread.checkArea(0, 0, width, height);
 		movablePathfinderGrid.initPathfinders();
+		ois.registerValidation(this::rebuildResourceIndex, 0); // the objects grid may not be completely read yet
+		ois.registerValidation(this::rebuildTowerInfluence, 0);
 	}
 
 	public void startThreads() {
@@ -241,6 +325,31 @@ public final class MainGrid implements Serializable {
 		if (fogOfWar != null) {
 			fogOfWar.start();
 		}
+		if (MatchConstants.ENABLE_TEAM_VISIBILITY) {
+			initTeamVisibility();
+		}
+	}
+
+	private void initTeamVisibility() {
+		int numberOfTeams = 0;
+		for (Player player : partitionsGrid.getPlayers()) {
+			if (player != null) {
+				numberOfTeams = Math.max(numberOfTeams, player.getTeamId() + 1);
+			}
+		}
+
+		teamVisibility = new TeamVisibility(width, height, numberOfTeams);
+		MovableManager.initTeamVisibility(teamVisibility);
+		Building.initTeamVisibility(teamVisibility);
+		teamVisibility.update();
+	}
+
+	/**
+	 * @return the visibility of all teams or null if {@link MatchConstants#ENABLE_TEAM_VISIBILITY} is not set. The
+	 *         {@link jsettlers.ai.highlevel.AiStatistics} call {@link TeamVisibility#update()} to apply the changes since their last update.
+	 */
+	public TeamVisibility getTeamVisibility() {
+		return teamVisibility;
 	}
 
 	public void stopThreads() {
@@ -351,21 +460,31 @@ public final class MainGrid implements Serializable {
 		}
 	}
 
+	/**
+	 * Saves the game. The clock and the threads of the fog of war are paused and waited for before the game state is written, so it doesn't change
+	 * while it is saved.
+	 */
 	public void save(Byte playerId, UIState uiState) throws IOException {
 		boolean savedPausingState = MatchConstants.clock().isPausing();
 		MatchConstants.clock().setPausing(true);
 		try {
-			Thread.sleep(300L); // FIXME @Andreas serializer should wait until threads did their work!
+			MatchConstants.clock().awaitPause();
+			if (fogOfWar != null) {
+				fogOfWar.pauseThreads();
+			}
+
+			PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
+			MapFileHeader header = generateSaveHeader(playerId);
+			MapList list = MapList.getDefaultList();
+			list.saveMap(playerStates, header, MainGrid.this);
 		} catch (InterruptedException e) {
-			e.printStackTrace();
+			throw new IOException(e);
+		} finally {
+			if (fogOfWar != null) {
+				fogOfWar.resumeThreads();
+			}
+			MatchConstants.clock().setPausing(savedPausingState);
 		}
-
-		PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
-		MapFileHeader header = generateSaveHeader(playerId);
-		MapList list = MapList.getDefaultList();
-		list.saveMap(playerStates, header, MainGrid.this);
-
-		MatchConstants.clock().setPausing(savedPausingState);
 	}
 
 	private PlayerState[] calculatePlayerStates(Byte playerId, UIState uiState) {
@@ -456,6 +575,10 @@ public final class MainGrid implements Serializable {
 		return movableGrid;
 	}
 
+	public InfluenceGrid getInfluenceGrid() {
+		return influenceGrid;
+	}
+
 	public final boolean isInBounds(int x, int y) {
 		return x >= 0 && x < width && y >= 0 && y < height;
 	}
@@ -497,6 +620,7 @@ public final class MainGrid implements Serializable {
 			}
 		}
 		landscapeGrid.setLandscapeTypeAt(x, y, newType, checked);
+		updateResourceIndexForLandscapeAt(x, y);
 	}
 
 	final void checkPositionThatChangedPlayer(int x, int y) {
@@ -531,6 +655,24 @@ public final class MainGrid implements Serializable {
 		partitionsGrid.initWithPlayerSettings(playerSettings);
 	}
 
+	/**
+	 * Sets the sink receiving the statistics of every A* search done for the movables.
+	 *
+	 * @param statisticsSink
+	 *            the new sink or null to disable the measurements.
+	 */
+	public void setPathSearchStatisticsSink(IPathSearchStatisticsSink statisticsSink) {
+		movablePathfinderGrid.aStar.setStatisticsSink(statisticsSink);
+	}
+
+	/**
+	 * @return the walking distance fields of the material requests or null if {@link MatchConstants#ENABLE_WALKING_DISTANCE_RANKING} is not set.
+	 *         It can be used to read the cache's hit, miss and refresh counters.
+	 */
+	public DistanceFieldCache getDistanceFields() {
+		return distanceFields;
+	}
+
 	public final void disableFogOfWar() {
 		if(fogOfWar == null) return;
 
@@ -577,6 +719,11 @@ public final class MainGrid implements Serializable {
 			markAsOpen(x, y);
 		}
 
+		@Override
+		public ISearchTypeIndex getSearchTypeIndex(ESearchType type) {
+			return resourceIndex.getIndex(type);
+		}
+
 		@Override
 		public final boolean fitsSearchType(int x, int y, ESearchType searchType, IPathCalculatable pathCalculable) {
 			switch (searchType) {
@@ -718,7 +865,7 @@ public final class MainGrid implements Serializable {
 			return false;
 		}
 
-		private boolean hasNeighbourLandscape(int x, int y, ELandscapeType landscape) {
+		boolean hasNeighbourLandscape(int x, int y, ELandscapeType landscape) {
 			for (ShortPoint2D pos : new MapNeighboursArea(new ShortPoint2D(x, y))) {
 				if (isInBounds(pos.x, pos.y) && landscapeGrid.getLandscapeTypeAt(pos.x, pos.y) == landscape) {
 					return true;
@@ -992,7 +1139,9 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
-			return objectsGrid.removeMapObject(x, y, mapObject);
+			boolean removed = objectsGrid.removeMapObject(x, y, mapObject);
+			updateResourceIndexForObjectsAt(x, y);
+			return removed;
 		}
 
 		@Override
@@ -1003,6 +1152,7 @@ public final class MainGrid implements Serializable {
 		@Override
 		public final void addMapObject(int x, int y, AbstractHexMapObject mapObject) {
 			objectsGrid.addMapObjectAt(x, y, mapObject);
+			updateResourceIndexForObjectsAt(x, y);
 		}
 
 		@Override
@@ -1229,7 +1379,8 @@ public final class MainGrid implements Serializable {
 		private static final long serialVersionUID = 4006228724969442801L;
 
 		private transient PathfinderGrid    pathfinderGrid;
-		private transient AbstractAStar     aStar;
+		private transient BucketQueueAStar  aStar;
+		private transient HierarchicalAStar hierarchicalAStar;
 		transient         DijkstraAlgorithm dijkstra; // not private, because it's used by BuildingsGrid
 		private transient InAreaFinder      inAreaFinder;
 
@@ -1241,8 +1392,29 @@ public final class MainGrid implements Serializable {
 			pathfinderGrid = new PathfinderGrid();
 
 			aStar = new BucketQueueAStar(pathfinderGrid, width, height);
-			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
+			hierarchicalAStar = MatchConstants.ENABLE_HIERARCHICAL_PATHFINDING
+					? new HierarchicalAStar(pathfinderGrid, flagsGrid, aStar, width, height) : null;
+			dijkstra = new DijkstraAlgorithm(pathfinderGrid, pathfinderGrid, aStar, width, height);
 			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height);
+
+			flagsGrid.setBlockedChangedListener(this::blockedChanged);
+		}
+
+		private void blockedChanged(int x, int y, boolean newBlocked) {
+			if (hierarchicalAStar != null) {
+				hierarchicalAStar.invalidate(x, y);
+			}
+			if (distanceFields != null) {
+				distanceFields.blockedChanged(x, y, newBlocked);
+			}
+		}
+
+		private AbstractAStar getAStar(ShortPoint2D startPos, ShortPoint2D targetPos) {
+			if (hierarchicalAStar != null && startPos.getOnGridDistTo(targetPos) >= Constants.HIERARCHICAL_PATHFINDING_MIN_DISTANCE) {
+				return hierarchicalAStar;
+			} else {
+				return aStar;
+			}
 		}
 
 		@Override
@@ -1435,6 +1607,7 @@ public final class MainGrid implements Serializable {
 		public void changeHeightTowards(int x, int y, byte targetHeight) {
 			landscapeGrid.flattenAndChangeHeightTowards(x, y, targetHeight);
 			objectsGrid.removeMapObjectTypes(x, y, EMapObjectType.TO_BE_REMOVED_WHEN_FLATTENED);
+			updateResourceIndexForObjectsAt(x, y);
 		}
 
 		@Override
@@ -1455,17 +1628,28 @@ public final class MainGrid implements Serializable {
 		@Override
 		public void leavePosition(ShortPoint2D position, ILogicMovable movable) {
 			movableGrid.movableLeft(position, movable);
+			towerDoorChanged(position);
 		}
 
 		@Override
 		public void enterPosition(ShortPoint2D position, ILogicMovable movable, boolean informFullArea) {
 			movableGrid.movableEntered(position, movable);
+			towerDoorChanged(position);
 
 			if(movable instanceof IAttackableMovable) {
 				notifyAttackers(position, (IAttackableMovable)movable, informFullArea);
 			}
 		}
 
+		/**
+		 * The search for enemies doesn't see a tower while a movable stands on its door.
+		 */
+		private void towerDoorChanged(ShortPoint2D position) {
+			if (objectsGrid.getMapObjectAt(position.x, position.y, EMapObjectType.ATTACKABLE_TOWER) != null) {
+				objectsGrid.getTowerBuckets().modified(position.x, position.y);
+			}
+		}
+
 		public void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea) {
 			if (movable.isAttackable()) {
 				movableGrid.informMovables(movable, position.x, position.y, informFullArea);
@@ -1475,12 +1659,12 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos) {
-			return aStar.findPath(pathRequester, targetPos);
+			return getAStar(pathRequester.getPosition(), targetPos).findPath(pathRequester, targetPos);
 		}
 
 		@Override
 		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos, ShortPoint2D startPos) {
-			return aStar.findPath(pathRequester, targetPos, startPos);
+			return getAStar(startPos, targetPos).findPath(pathRequester, targetPos, startPos);
 		}
 
 		@Override
@@ -1561,36 +1745,82 @@ public final class MainGrid implements Serializable {
 			return enemy;
 		}
 
-		private IAttackable searchEnemyInArea(final ShortPoint2D position, final IPlayer searchingPlayer, final short minSearchRadius, final short maxSearchRadius, boolean isBowman, boolean includeTowers) {
-			int minDistance = Integer.MAX_VALUE;
-			IAttackable result = null;
-
-			HexGridArea.HexGridAreaIterator area = new HexGridArea(position.x, position.y, minSearchRadius, maxSearchRadius).iterator();
+		@Override
+		public int getEnemySearchModifications(ShortPoint2D position, IAttackable searchingAttackable, short maxSearchRadius, boolean includeTowers) {
+			boolean searchTowers = includeTowers && !searchingAttackable.getMovableType().isBowman();
+			int searchRadius = searchTowers ? Math.max(maxSearchRadius, Constants.TOWER_ATTACKABLE_SEARCH_RADIUS) : maxSearchRadius;
 
-			for(; area.hasNext(); area.nextPoint()) {
-				short x = area.currX();
-				short y = area.currY();
+			int minX = Math.max(0, position.x - searchRadius);
+			int maxX = Math.min(width - 1, position.x + searchRadius);
+			int minY = Math.max(0, position.y - searchRadius);
+			int maxY = Math.min(height - 1, position.y + searchRadius);
 
-				if(x == position.x && y == position.y || !isInBounds(x, y)) continue;
+			int modifications = movableGrid.getAttackableBuckets().getModifications(minX, minY, maxX, maxY);
+			if (searchTowers) {
+				modifications += objectsGrid.getTowerBuckets().getModifications(minX, minY, maxX, maxY);
+			}
+			return modifications;
+		}
 
-				ILogicMovable currMovable = movableGrid.getMovableAt(x, y);
-				IAttackable attackable = null;
+		/**
+		 * Finds the closest enemy with a distance of minSearchRadius to maxSearchRadius. Only the buckets containing attackables of other teams are
+		 * visited. If several enemies have the same distance, the first one in the iteration order of a {@link HexGridArea} is chosen.
+		 */
+		private IAttackable searchEnemyInArea(final ShortPoint2D position, final IPlayer searchingPlayer, final short minSearchRadius, final short maxSearchRadius, boolean isBowman, boolean includeTowers) {
+			byte searchingTeam = searchingPlayer.getTeamId();
+			boolean searchTowers = includeTowers && !isBowman;
+			AttackableBuckets movableBuckets = movableGrid.getAttackableBuckets();
+			AttackableBuckets towerBuckets = objectsGrid.getTowerBuckets();
 
-				if(includeTowers && !isBowman && currMovable == null) {
-					attackable = (IAttackable) objectsGrid.getMapObjectAt(x, y, EMapObjectType.ATTACKABLE_TOWER);
-				} else if(currMovable instanceof IAttackableMovable) {
-					attackable = (IAttackable) currMovable;
-				}
+			int minX = Math.max(0, position.x - maxSearchRadius);
+			int maxX = Math.min(width - 1, position.x + maxSearchRadius);
+			int minY = Math.max(0, position.y - maxSearchRadius);
+			int maxY = Math.min(height - 1, position.y + maxSearchRadius);
 
-				if(attackable == null || !MovableGrid.isEnemy(searchingPlayer, attackable)) {
-					continue;
-				}
+			int minDistance = Integer.MAX_VALUE;
+			int minIterationIndex = Integer.MAX_VALUE;
+			IAttackable result = null;
 
+			for (int bucketY = minY >> AttackableBuckets.BUCKET_SHIFT; bucketY <= maxY >> AttackableBuckets.BUCKET_SHIFT; bucketY++) {
+				for (int bucketX = minX >> AttackableBuckets.BUCKET_SHIFT; bucketX <= maxX >> AttackableBuckets.BUCKET_SHIFT; bucketX++) {
+					if (!movableBuckets.hasEnemies(bucketX, bucketY, searchingTeam) && !(searchTowers && towerBuckets.hasEnemies(bucketX, bucketY, searchingTeam))) {
+						continue;
+					}
 
-				int attackDistance = attackable.getPosition().getOnGridDistTo(position);
-				if(attackDistance < minDistance) {
-					minDistance = attackDistance;
-					result = attackable;
+					int startX = Math.max(minX, bucketX << AttackableBuckets.BUCKET_SHIFT);
+					int endX = Math.min(maxX, (bucketX << AttackableBuckets.BUCKET_SHIFT) + AttackableBuckets.BUCKET_SIZE - 1);
+					int startY = Math.max(minY, bucketY << AttackableBuckets.BUCKET_SHIFT);
+					int endY = Math.min(maxY, (bucketY << AttackableBuckets.BUCKET_SHIFT) + AttackableBuckets.BUCKET_SIZE - 1);
+
+					for (int y = startY; y <= endY; y++) {
+						for (int x = startX; x <= endX; x++) {
+							int radius = ShortPoint2D.getOnGridDist(x - position.x, y - position.y);
+							if (radius == 0 || radius < minSearchRadius || radius > maxSearchRadius) {
+								continue;
+							}
+
+							ILogicMovable currMovable = movableGrid.getMovableAt(x, y);
+							IAttackable attackable = null;
+
+							if (searchTowers && currMovable == null) {
+								attackable = (IAttackable) objectsGrid.getMapObjectAt(x, y, EMapObjectType.ATTACKABLE_TOWER);
+							} else if (currMovable instanceof IAttackableMovable) {
+								attackable = (IAttackable) currMovable;
+							}
+
+							if (attackable == null || !MovableGrid.isEnemy(searchingPlayer, attackable)) {
+								continue;
+							}
+
+							int attackDistance = attackable.getPosition().getOnGridDistTo(position);
+							int iterationIndex = HexGridArea.getIterationIndex(x - position.x, y - position.y);
+							if (attackDistance < minDistance || attackDistance == minDistance && iterationIndex < minIterationIndex) {
+								minDistance = attackDistance;
+								minIterationIndex = iterationIndex;
+								result = attackable;
+							}
+						}
+					}
 				}
 			}
 
@@ -1845,6 +2075,11 @@ public final class MainGrid implements Serializable {
 			return mapObjectsManager;
 		}
 
+		@Override
+		public final InfluenceGrid getInfluenceGrid() {
+			return influenceGrid;
+		}
+
 		@Override
 		public final AbstractMovableGrid getMovableGrid() {
 			return movablePathfinderGrid;
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+
+import jsettlers.algorithms.path.dijkstra.ISearchTypeIndex;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.utils.coordinates.ICoordinateConsumer;
+
+/**
+ * Spatial index of the positions that may fit a search type.
+ * <p>
+ * For every indexed search type, the candidate positions are stored in a bit set. Additionally, the number of candidates is counted per coarse cell
+ * of {@link #CELL_SIZE} x {@link #CELL_SIZE} positions, so that queries can skip empty cells.
+ * <p>
+ * The index is not serialized. It is rebuilt from the grids when a game is loaded.
+ */
+public final class ResourceIndex {
+	private static final int CELL_SIZE = 8;
+
+	private final short width;
+	private final short height;
+	private final int   cellsX;
+
+	private final EnumMap<ESearchType, TypeIndex> indexes = new EnumMap<>(ESearchType.class);
+
+	public ResourceIndex(short width, short height, ESearchType... searchTypes) {
+		this.width = width;
+		this.height = height;
+		this.cellsX = (width + CELL_SIZE - 1) / CELL_SIZE;
+
+		int cellsY = (height + CELL_SIZE - 1) / CELL_SIZE;
+		for (ESearchType searchType : searchTypes) {
+			indexes.put(searchType, new TypeIndex(cellsX * cellsY));
+		}
+	}
+
+	/**
+	 * @return the index of the given search type or null if it's not indexed.
+	 */
+	public ISearchTypeIndex getIndex(ESearchType searchType) {
+		return indexes.get(searchType);
+	}
+
+	/**
+	 * Adds or removes the given position from the index of the given search type. Positions out of bounds are ignored.
+	 */
+	public void setCandidate(ESearchType searchType, int x, int y, boolean candidate) {
+		if (0 <= x && x < width && 0 <= y && y < height) {
+			indexes.get(searchType).set(x, y, candidate);
+		}
+	}
+
+	public boolean isCandidate(ESearchType searchType, int x, int y) {
+		return indexes.get(searchType).positions.get(x + y * width);
+	}
+
+	public int getNumberOfCandidates(ESearchType searchType) {
+		return indexes.get(searchType).numberOfCandidates;
+	}
+
+	private int getCell(int x, int y) {
+		return x / CELL_SIZE + (y / CELL_SIZE) * cellsX;
+	}
+
+	private final class TypeIndex implements ISearchTypeIndex {
+		private final BitSet positions;
+		private final int[]  cellCounts;
+		private int          numberOfCandidates;
+
+		TypeIndex(int numberOfCells) {
+			this.positions = new BitSet(width * height);
+			this.cellCounts = new int[numberOfCells];
+		}
+
+		void set(int x, int y, boolean candidate) {
+			int index = x + y * width;
+			if (positions.get(index) != candidate) {
+				positions.set(index, candidate);
+				int delta = candidate ? 1 : -1;
+				cellCounts[getCell(x, y)] += delta;
+				numberOfCandidates += delta;
+			}
+		}
+
+		@Override
+		public void forEachCandidate(int minX, int minY, int maxX, int maxY, ICoordinateConsumer consumer) {
+			if (numberOfCandidates == 0) {
+				return;
+			}
+
+			for (int cellY = minY / CELL_SIZE; cellY <= maxY / CELL_SIZE; cellY++) {
+				for (int cellX = minX / CELL_SIZE; cellX <= maxX / CELL_SIZE; cellX++) {
+					if (cellCounts[cellX + cellY * cellsX] == 0) {
+						continue;
+					}
+
+					int startX = Math.max(minX, cellX * CELL_SIZE);
+					int endX = Math.min(maxX, cellX * CELL_SIZE + CELL_SIZE - 1);
+					int endY = Math.min(maxY, cellY * CELL_SIZE + CELL_SIZE - 1);
+					for (int y = Math.max(minY, cellY * CELL_SIZE); y <= endY; y++) {
+						int rowOffset = y * width;
+						for (int index = positions.nextSetBit(rowOffset + startX); index >= 0 && index <= rowOffset + endX;
+							 index = positions.nextSetBit(index + 1)) {
+							consumer.accept(index - rowOffset, y);
+						}
+					}
+				}
+			}
+		}
+	}
+}
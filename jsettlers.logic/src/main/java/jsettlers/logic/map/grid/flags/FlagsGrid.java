@@ -35,6 +35,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	private final BitSet protectedGrid;
 
 	private IProtectedChangedListener protectedChangedListener = null;
+	private transient IBlockedChangedListener blockedChangedListener = null;
 
 	public FlagsGrid(final short width, final short height) {
 		this.width = width;
@@ -78,11 +79,15 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	 */
 	public void setBlockedAndProtected(int x, int y, boolean newBlocked, boolean newProtected) {
 		final int idx = x + y * width;
+		boolean oldBlocked = this.blockedGrid.get(idx);
 		boolean oldProtected = this.protectedGrid.get(idx);
 
 		this.blockedGrid.set(idx, newBlocked);
 		this.protectedGrid.set(idx, newProtected);
 
+		if (blockedChangedListener != null && oldBlocked != newBlocked) {
+			this.blockedChangedListener.blockedChanged(x, y, newBlocked);
+		}
 		if (protectedChangedListener != null && oldProtected != newProtected) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
@@ -114,6 +119,16 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		return blockedGrid.get(index) || protectedGrid.get(index);
 	}
 
+	/**
+	 * Sets the listener informed about changes of the blocked state. The listener is not serialized and needs to be set again after loading.
+	 *
+	 * @param blockedChangedListener
+	 *            the new listener or null
+	 */
+	public void setBlockedChangedListener(IBlockedChangedListener blockedChangedListener) {
+		this.blockedChangedListener = blockedChangedListener;
+	}
+
 	@Override
 	public void setProtectedChangedListener(IProtectedChangedListener protectedChangedListener) {
 		this.protectedChangedListener = protectedChangedListener;
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.movable;
+
+import java.util.Arrays;
+
+/**
+ * Counts the attackables in square buckets of the map. A search for enemies only needs to look at the positions of the buckets that contain
+ * attackables of another team.
+ * <p>
+ * The counts are only changed by the game thread. Other threads may read outdated counts, so they have to check the positions of the buckets
+ * they visit anyway.
+ * <p>
+ * Additionally, every bucket counts its modifications. A search that only depends on the attackables of some buckets still has the same result if
+ * the modifications of these buckets didn't change.
+ */
+public final class AttackableBuckets {
+	public static final int BUCKET_SHIFT = 3;
+	public static final int BUCKET_SIZE  = 1 << BUCKET_SHIFT;
+
+	private final int bucketsPerRow;
+	private final int bucketsPerColumn;
+
+	private final short[] totalCounts;
+	private short[][]     teamCounts = new short[0][];
+	private final int[]   modifications;
+
+	public AttackableBuckets(short width, short height) {
+		this.bucketsPerRow = (width + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+		this.bucketsPerColumn = (height + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+		this.totalCounts = new short[bucketsPerRow * bucketsPerColumn];
+		this.modifications = new int[bucketsPerRow * bucketsPerColumn];
+	}
+
+	public int getBucketsPerRow() {
+		return bucketsPerRow;
+	}
+
+	public int getBucketsPerColumn() {
+		return bucketsPerColumn;
+	}
+
+	public void add(int x, int y, byte team) {
+		int bucket = getBucket(x, y);
+		totalCounts[bucket]++;
+		getTeamCounts(team)[bucket]++;
+		modifications[bucket]++;
+	}
+
+	public void remove(int x, int y, byte team) {
+		int bucket = getBucket(x, y);
+		totalCounts[bucket]--;
+		getTeamCounts(team)[bucket]--;
+		modifications[bucket]++;
+	}
+
+	/**
+	 * Counts a modification of the given position that changes the result of searches without adding or removing an attackable.
+	 */
+	public void modified(int x, int y) {
+		modifications[getBucket(x, y)]++;
+	}
+
+	/**
+	 * @return true if the bucket contains any attackable.
+	 */
+	public boolean hasAttackables(int bucketX, int bucketY) {
+		return totalCounts[bucketY * bucketsPerRow + bucketX] > 0;
+	}
+
+	/**
+	 * @return true if the bucket contains attackables that don't belong to the given team.
+	 */
+	public boolean hasEnemies(int bucketX, int bucketY, byte team) {
+		int bucket = bucketY * bucketsPerRow + bucketX;
+		short[][] teamCounts = this.teamCounts;
+		int ownCount = team >= 0 && team < teamCounts.length ? teamCounts[team][bucket] : 0;
+		return totalCounts[bucket] > ownCount;
+	}
+
+	/**
+	 * @return The sum of the modifications of all buckets containing positions of the given area. It changes whenever an attackable is added to or
+	 *         removed from the area.
+	 */
+	public int getModifications(int minX, int minY, int maxX, int maxY) {
+		int sum = 0;
+		for (int bucketY = minY >> BUCKET_SHIFT; bucketY <= maxY >> BUCKET_SHIFT; bucketY++) {
+			for (int bucketX = minX >> BUCKET_SHIFT; bucketX <= maxX >> BUCKET_SHIFT; bucketX++) {
+				sum += modifications[bucketY * bucketsPerRow + bucketX];
+			}
+		}
+		return sum;
+	}
+
+	public void clear() {
+		Arrays.fill(totalCounts, (short) 0);
+		for (short[] counts : teamCounts) {
+			Arrays.fill(counts, (short) 0);
+		}
+		for (int bucket = 0; bucket < modifications.length; bucket++) {
+			modifications[bucket]++;
+		}
+	}
+
+	private int getBucket(int x, int y) {
+		return (y >> BUCKET_SHIFT) * bucketsPerRow + (x >> BUCKET_SHIFT);
+	}
+
+	private short[] getTeamCounts(byte team) {
+		if (team >= teamCounts.length) {
+			short[][] newTeamCounts = Arrays.copyOf(teamCounts, team + 1);
+			for (int i = teamCounts.length; i < newTeamCounts.length; i++) {
+				newTeamCounts[i] = new short[totalCounts.length];
+			}
+			teamCounts = newTeamCounts;
+		}
+		return teamCounts[team];
+	}
+}
@@ -28,6 +28,7 @@ import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableBoolean;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.InfluenceGrid;
 import jsettlers.logic.map.grid.landscape.IWalkableGround;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
@@ -42,6 +43,8 @@ public final class MovableGrid implements Serializable {
 	private static final long serialVersionUID = 7003522358013103962L;
 
 	private transient ILogicMovable[] movableGrid;
+	private transient AttackableBuckets attackableBuckets;
+	private transient InfluenceGrid     influenceGrid;
 	private final IWalkableGround ground;
 	private final short width;
 
@@ -52,6 +55,7 @@ public final class MovableGrid implements Serializable {
 		this.height = height;
 		this.ground = ground;
 		this.movableGrid = new ILogicMovable[width * height];
+		this.attackableBuckets = new AttackableBuckets(width, height);
 	}
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -62,6 +66,19 @@ public final class MovableGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException {
 		ois.defaultReadObject();
 		movableGrid = SerializationUtils.readSparseArray(ois, ILogicMovable.class);
+
+		attackableBuckets = new AttackableBuckets(width, height);
+		ois.registerValidation(this::rebuildAttackables, 0); // the movables may not be completely read yet
+	}
+
+	/**
+	 * Adds the loaded movables to the buckets and the influence grid, which is set by the {@link jsettlers.logic.map.grid.MainGrid} while it is
+	 * read.
+	 */
+	private void rebuildAttackables() {
+		for (int idx = 0; idx < movableGrid.length; idx++) {
+			addAttackable(idx % width, idx / width, movableGrid[idx]);
+		}
 	}
 
 	public final ILogicMovable getMovableAt(int x, int y) {
@@ -72,10 +89,25 @@ public final class MovableGrid implements Serializable {
 		return movableGrid;
 	}
 
+	/**
+	 * Sets the grid the strength of the soldiers entering and leaving positions is added to.
+	 */
+	public void setInfluenceGrid(InfluenceGrid influenceGrid) {
+		this.influenceGrid = influenceGrid;
+	}
+
+	/**
+	 * @return the buckets counting the {@link IAttackableMovable}s of every team.
+	 */
+	public AttackableBuckets getAttackableBuckets() {
+		return attackableBuckets;
+	}
+
 	public final void movableLeft(ShortPoint2D position, ILogicMovable movable) {
 		int idx = position.x + position.y * width;
 		if (this.movableGrid[idx] == movable) {
 			this.movableGrid[idx] = null;
+			removeAttackable(position.x, position.y, movable);
 		}
 	}
 
@@ -91,12 +123,36 @@ public final class MovableGrid implements Serializable {
 		final short x = position.x;
 		final short y = position.y;
 
-		this.movableGrid[x + y * width] = movable;
+		int idx = x + y * width;
+		if (this.movableGrid[idx] != movable) {
+			removeAttackable(x, y, this.movableGrid[idx]);
+			this.movableGrid[idx] = movable;
+			addAttackable(x, y, movable);
+		}
+
 		if (movable != null && movable.getMovableType() == EMovableType.BEARER) {
 			ground.walkOn(x, y);
 		}
 	}
 
+	private void addAttackable(int x, int y, ILogicMovable movable) {
+		if (movable instanceof IAttackableMovable) {
+			attackableBuckets.add(x, y, movable.getPlayer().getTeamId());
+			if (influenceGrid != null && movable.getMovableType().isSoldier()) {
+				influenceGrid.addSoldier(x, y, movable.getPlayer());
+			}
+		}
+	}
+
+	private void removeAttackable(int x, int y, ILogicMovable movable) {
+		if (movable instanceof IAttackableMovable) {
+			attackableBuckets.remove(x, y, movable.getPlayer().getTeamId());
+			if (influenceGrid != null && movable.getMovableType().isSoldier()) {
+				influenceGrid.removeSoldier(x, y, movable.getPlayer());
+			}
+		}
+	}
+
 	/**
 	 * 
 	 * @param movable
@@ -110,6 +166,13 @@ public final class MovableGrid implements Serializable {
 	 *            If false, only a circle is informed if the given movable is attackable.
 	 */
 	public void informMovables(IAttackableMovable movable, short x, short y, boolean informFullArea) {
+		// only soldiers react to being informed. If the given movable isn't one and there are no soldiers of other teams around, nobody needs to be
+		// informed.
+		if (influenceGrid != null && !movable.getMovableType().isSoldier()
+				&& !influenceGrid.hasEnemies(movable.getPlayer().getTeamId(), x, y, Constants.SOLDIER_SEARCH_RADIUS)) {
+			return;
+		}
+
 		// inform all movables of the given movable
 		CoordinateStream area;
 		if (informFullArea) {
@@ -30,6 +30,7 @@ import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.movable.AttackableBuckets;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IInformable;
 
@@ -47,12 +48,14 @@ public final class ObjectsGrid implements Serializable {
 
 	private transient AbstractHexMapObject[] objectsGrid;
 	private transient Building[] buildingsGrid;
+	private transient AttackableBuckets towerBuckets;
 
 	public ObjectsGrid(short width, short height) {
 		this.width = width;
 		this.height = height;
 		this.objectsGrid = new AbstractHexMapObject[width * height];
 		this.buildingsGrid = new Building[width * height];
+		this.towerBuckets = new AttackableBuckets(width, height);
 	}
 
 	private final void writeObject(ObjectOutputStream oos) throws IOException {
@@ -87,6 +90,7 @@ public final class ObjectsGrid implements Serializable {
 
 		int length = ois.readInt();
 		objectsGrid = new AbstractHexMapObject[length];
+		towerBuckets = new AttackableBuckets(width, height);
 
 		int index = ois.readInt();
 		while (index >= 0) {
@@ -101,6 +105,17 @@ public final class ObjectsGrid implements Serializable {
 
 			index = ois.readInt();
 		}
+
+		ois.registerValidation(this::rebuildTowerBuckets, 0); // the players of the towers may not be completely read yet
+	}
+
+	private void rebuildTowerBuckets() {
+		for (int idx = 0; idx < objectsGrid.length; idx++) {
+			AbstractHexMapObject tower = objectsGrid[idx] != null ? objectsGrid[idx].getMapObject(EMapObjectType.ATTACKABLE_TOWER) : null;
+			if (tower != null) {
+				addTower(idx % width, idx / width, tower);
+			}
+		}
 	}
 
 	public final AbstractHexMapObject getObjectsAt(int x, int y) {
@@ -117,7 +132,18 @@ public final class ObjectsGrid implements Serializable {
 		return mapObjectHead != null ? mapObjectHead.getMapObject(mapObjectType) : null;
 	}
 
+	/**
+	 * @return the buckets counting the {@link EMapObjectType#ATTACKABLE_TOWER} objects of every team.
+	 */
+	public final AttackableBuckets getTowerBuckets() {
+		return towerBuckets;
+	}
+
 	public final void removeMapObjectTypes(int x, int y, Set<EMapObjectType> mapObjectTypes) {
+		if (mapObjectTypes.contains(EMapObjectType.ATTACKABLE_TOWER)) {
+			removeTower(x, y, getMapObjectAt(x, y, EMapObjectType.ATTACKABLE_TOWER));
+		}
+
 		final int idx = x + y * width;
 		AbstractHexMapObject mapObjectHead = objectsGrid[idx];
 
@@ -143,6 +169,9 @@ public final class ObjectsGrid implements Serializable {
 				removed = mapObjectHead.removeMapObject(mapObject);
 			}
 
+			if (removed) {
+				removeTower(x, y, mapObject);
+			}
 			return removed;
 		} else
 			return false;
@@ -158,6 +187,19 @@ public final class ObjectsGrid implements Serializable {
 		} else {
 			mapObjectHead.addMapObject(mapObject);
 		}
+		addTower(x, y, mapObject);
+	}
+
+	private void addTower(int x, int y, AbstractHexMapObject mapObject) {
+		if (mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+			towerBuckets.add(x, y, ((IAttackable) mapObject).getPlayer().getTeamId());
+		}
+	}
+
+	private void removeTower(int x, int y, AbstractHexMapObject mapObject) {
+		if (mapObject != null && mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+			towerBuckets.remove(x, y, ((IAttackable) mapObject).getPlayer().getTeamId());
+		}
 	}
 
 	public final boolean hasCuttableObject(int x, int y, EMapObjectType mapObjectType) {
@@ -16,6 +16,8 @@ package jsettlers.logic.map.grid.partition;
 
 import java.io.Serializable;
 
+import jsettlers.algorithms.distances.DistanceField;
+import jsettlers.algorithms.distances.DistanceFieldCache;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.partition.data.PartitionDataSupplier;
@@ -112,4 +114,10 @@ public final class Partition extends PartitionManager implements Serializable {
 		ShortPoint2D pos = mov.getPosition();
 		return grid.getPartitionAt(pos.x, pos.y) == this;
 	}
+
+	@Override
+	protected DistanceField getWalkingDistancesTo(ShortPoint2D target) {
+		DistanceFieldCache distanceFields = grid.getDistanceFields();
+		return distanceFields != null ? distanceFields.get(target) : null;
+	}
 }
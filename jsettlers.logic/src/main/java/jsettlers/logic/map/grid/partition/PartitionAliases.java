@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition;
+
+import java.util.Arrays;
+
+/**
+ * Lists the partition ids that have been merged into a partition. Every merged id must resolve to the object of its representative in the
+ * partition objects of the {@link PartitionsGrid}. With these lists a merge only redirects the ids of the merged partition instead of scanning
+ * all partition objects.
+ * <p>
+ * The ids of a representative are a linked list in primitive arrays, so two lists are joined in constant time.
+ */
+final class PartitionAliases {
+	static final short NONE = -1;
+
+	private short[] next;
+	/**
+	 * The last id of the list of a representative. Only valid for representatives.
+	 */
+	private short[] last;
+
+	PartitionAliases(int capacity) {
+		next = new short[0];
+		last = new short[0];
+		ensureCapacity(capacity);
+	}
+
+	void ensureCapacity(int capacity) {
+		int oldCapacity = next.length;
+		if (capacity <= oldCapacity) {
+			return;
+		}
+
+		next = Arrays.copyOf(next, capacity);
+		last = Arrays.copyOf(last, capacity);
+		for (int id = oldCapacity; id < capacity; id++) {
+			reset(id);
+		}
+	}
+
+	/**
+	 * Makes the given id a representative without any merged ids.
+	 */
+	void reset(int id) {
+		next[id] = NONE;
+		last[id] = (short) id;
+	}
+
+	/**
+	 * Appends the list of the merged representative to the list of the given representative.
+	 */
+	void join(short representative, short merged) {
+		next[last[representative]] = merged;
+		last[representative] = last[merged];
+	}
+
+	/**
+	 * @return the id following the given one in the list of its representative or {@link #NONE}. The list of a representative starts with the
+	 *         representative itself.
+	 */
+	short getNext(short id) {
+		return next[id];
+	}
+
+	/**
+	 * Recreates the lists from the given partition objects.
+	 */
+	void rebuild(Partition[] partitionObjects) {
+		ensureCapacity(partitionObjects.length);
+		for (int id = 0; id < next.length; id++) {
+			reset(id);
+		}
+		for (int id = 0; id < partitionObjects.length; id++) {
+			Partition partitionObject = partitionObjects[id];
+			if (partitionObject != null && partitionObject.partitionId != id) {
+				join(partitionObject.partitionId, (short) id);
+			}
+		}
+	}
+}
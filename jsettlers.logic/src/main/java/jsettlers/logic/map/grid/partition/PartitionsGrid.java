@@ -15,16 +15,17 @@
 package jsettlers.logic.map.grid.partition;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import java8.util.Lists;
 import java8.util.Maps;
+import jsettlers.algorithms.distances.DistanceFieldCache;
 import jsettlers.algorithms.interfaces.IContainingProvider;
 import jsettlers.algorithms.partitions.IBlockingProvider;
 import jsettlers.algorithms.partitions.PartitionCalculatorAlgorithm;
@@ -37,6 +38,7 @@ import jsettlers.common.map.shapes.IMapArea;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.map.shapes.MapShapeFilter;
 import jsettlers.common.movable.EDirection;
+import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.SRectangle;
 import jsettlers.common.position.ShortPoint2D;
@@ -48,7 +50,7 @@ import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderP
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
 import jsettlers.logic.movable.MovableManager;
-import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.movable.MovableStore;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.player.Team;
@@ -86,7 +88,14 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private final short[] blockedPartitionsForPlayers;
 	Partition[] partitionObjects = new Partition[NUMBER_OF_START_PARTITION_OBJECTS];
 
+	private transient PartitionAliases      partitionAliases = new PartitionAliases(NUMBER_OF_START_PARTITION_OBJECTS);
+	/**
+	 * The first border info of every partition found while checking a border for divides. Only set during the check.
+	 */
+	private transient BorderPartitionInfo[] borderInfosOfPartitions;
+
 	private transient IPlayerChangedListener playerChangedListener = IPlayerChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient DistanceFieldCache     distanceFields;
 
 	public PartitionsGrid(short width, short height, PlayerSetting[] playerSettings, IBlockingProvider blockingProvider) {
 		this.width = width;
@@ -140,6 +149,13 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		oos.defaultWriteObject();
 	}
 
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+
+		partitionAliases = new PartitionAliases(partitionObjects.length);
+		partitionAliases.rebuild(partitionObjects);
+	}
+
 	public boolean isDefaultPartition(short partitionId) {
 		return partitionId == NO_PLAYER_PARTITION_ID;
 	}
@@ -405,18 +421,23 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
-	private void checkMergesAndDividesOnPartitionsList(byte playerId, final short innerPartition, LinkedList<BorderPartitionInfo> partitionsList) {
+	private void checkMergesAndDividesOnPartitionsList(byte playerId, final short innerPartition, List<BorderPartitionInfo> partitionsList) {
 		if (partitionsList.isEmpty()) {
 			return; // nothing to do
 		}
 
-		// check for divides
-		HashMap<Short, BorderPartitionInfo> foundPartitionsSet = new HashMap<>();
+		// check for divides, a partition can only be divided if it touches the border more than once
+		if (borderInfosOfPartitions == null || borderInfosOfPartitions.length < partitionObjects.length) {
+			borderInfosOfPartitions = new BorderPartitionInfo[partitionObjects.length];
+		}
+		BorderPartitionInfo[] foundPartitions = borderInfosOfPartitions;
+
 		for (BorderPartitionInfo currPartitionInfo : partitionsList) {
-			Short currPartitionId = currPartitionInfo.partitionId;
-			BorderPartitionInfo existingPartitionInfo = foundPartitionsSet.get(currPartitionId);
+			short currPartitionId = currPartitionInfo.partitionId;
+			BorderPartitionInfo existingPartitionInfo = foundPartitions[currPartitionId];
 			if (existingPartitionInfo != null) {
-				if (partitionObjects[currPartitionId].playerId != playerId) { // the player cannot divide its own partitions => only check other player's positions
+				// the player cannot divide its own partitions => only check other player's positions
+				if (currPartitionId != NO_PLAYER_PARTITION_ID && partitionObjects[currPartitionId].playerId != playerId) {
 					checkIfDividePartition(currPartitionInfo, existingPartitionInfo);
 
 					// if the entry of the set changed its partition, replace that entry with the one of the old partition. Further divides can only
@@ -424,17 +445,19 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 					short newPartitionIdOfExistingPartition = getPartitionIdAt(existingPartitionInfo.positionOfPartition.x,
 							existingPartitionInfo.positionOfPartition.y);
 					if (newPartitionIdOfExistingPartition != currPartitionId) {
-						foundPartitionsSet.put(currPartitionId, currPartitionInfo);
+						foundPartitions[currPartitionId] = currPartitionInfo;
 					}
 				}
 			} else {
-				foundPartitionsSet.put(currPartitionId, currPartitionInfo);
+				foundPartitions[currPartitionId] = currPartitionInfo;
 			}
 		}
 
-		// check if partitions need to be merged
-		partitionsList.addLast(partitionsList.getFirst()); // add first at the end
+		for (BorderPartitionInfo currPartitionInfo : partitionsList) {
+			foundPartitions[currPartitionInfo.partitionId] = null;
+		}
 
+		// check if partitions need to be merged
 		for (BorderPartitionInfo currPartition : partitionsList) {
 			Partition currPartitionObject = partitionObjects[currPartition.partitionId];
 			if (currPartitionObject.playerId == playerId && partitionObjects[currPartition.partitionId] != partitionObjects[innerPartition]) {
@@ -540,20 +563,16 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		smallerPartitionObject.mergeInto(biggerPartitionObject);
 		smallerPartitionObject.stopManager();
 
-		partitionObjects[smallerPartition] = biggerPartitionObject;
-
 		/**
 		 * Flatten all hierarchies: <br>
 		 * start situation: 1 <- 2 and 3 <- 4 <br>
 		 * merge of 4 and 2 leads to a merge of 1 and 3. Say 1 is the resulting partition. Then we get: <br>
 		 * 1 <- 2, 1 <- 3 <- 4 <br>
-		 * The chain 1 <- 3 <- 4 will be cut to 1 <- 3 and 1 <- 4 by the following code. <br>
+		 * The chain 1 <- 3 <- 4 will be cut to 1 <- 3 and 1 <- 4 by redirecting all ids merged into 3. <br>
 		 */
-		int numberOfPartitions = partitionObjects.length;
-		for (int i = 1; i < numberOfPartitions; i++) {
-			if (partitionObjects[i] == smallerPartitionObject) {
-				partitionObjects[i] = biggerPartitionObject;
-			}
+		partitionAliases.join(biggerPartition, smallerPartition);
+		for (short id = smallerPartition; id != PartitionAliases.NONE; id = partitionAliases.getNext(id)) {
+			partitionObjects[id] = biggerPartitionObject;
 		}
 
 		return biggerPartition;
@@ -656,6 +675,8 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 				}
 			}
 		}
+		partitionAliases.ensureCapacity(partitionObjects.length);
+		partitionAliases.reset(newPartitionId);
 
 		Partition newPartitionObject = new Partition(this, newPartitionId, players[playerId], players[playerId]);
 		newPartitionObject.startManager();
@@ -685,6 +706,21 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
+	/**
+	 * Sets the walking distances used by the partitions to rank the offers of materials. The cache is not serialized and needs to be set again after
+	 * loading.
+	 *
+	 * @param distanceFields
+	 *            The cache or null if the partitions should use the straight distances.
+	 */
+	public void setDistanceFields(DistanceFieldCache distanceFields) {
+		this.distanceFields = distanceFields;
+	}
+
+	public DistanceFieldCache getDistanceFields() {
+		return distanceFields;
+	}
+
 	public byte getNumberOfPlayers() {
 		return (byte) players.length;
 	}
@@ -726,6 +762,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 				}
 			}
 		}
+		partitionAliases.rebuild(partitionObjects);
 
 		return counter;
 	}
@@ -743,15 +780,16 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 			partition.getPartitionSettings().getProfessionSettings().resetCount();
 		}
 
-		for(ILogicMovable movable : MovableManager.getAllMovables()) {
-			if(movable.getMovableType().isPlayerControllable()) continue;
+		MovableStore store = MovableManager.getMovableStore();
+		for(int slot = 0, size = store.size(); slot < size; slot++) {
+			EMovableType movableType = store.getMovableType(slot);
+			if(movableType.isPlayerControllable() || store.getX(slot) == MovableStore.NO_POSITION) continue;
 
-			ShortPoint2D position = movable.getPosition();
-			Partition partition = getPartitionAt(position.x, position.y);
+			Partition partition = getPartitionAt(store.getX(slot), store.getY(slot));
 
-			if(partition.playerId != movable.getPlayer().getPlayerId()) continue;
+			if(partition.playerId != store.getPlayerId(slot)) continue;
 
-			partition.getPartitionSettings().getProfessionSettings().increment(movable.getMovableType());
+			partition.getPartitionSettings().getProfessionSettings().increment(movableType);
 		}
 
 		for(Partition partition : partitionObjects) {
@@ -14,7 +14,8 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
 import jsettlers.algorithms.traversing.borders.IBorderVisitor;
@@ -31,7 +32,7 @@ final class PartitionsListingBorderVisitor implements IBorderVisitor {
 
 	private final PartitionsGrid grid;
 	private final IBlockingProvider blockingProvider;
-	private final LinkedList<BorderPartitionInfo> partitionsList = new LinkedList<>();
+	private final ArrayList<BorderPartitionInfo> partitionsList = new ArrayList<>();
 
 	private short lastPartition = -1;
 
@@ -48,7 +49,7 @@ final class PartitionsListingBorderVisitor implements IBorderVisitor {
 			short currPartition = grid.partitionObjects[grid.partitions[outsideX + outsideY * grid.width]].partitionId;
 
 			if (currPartition != lastPartition) {
-				partitionsList.addLast(new BorderPartitionInfo(currPartition, new ShortPoint2D(outsideX, outsideY),
+				partitionsList.add(new BorderPartitionInfo(currPartition, new ShortPoint2D(outsideX, outsideY),
 						new ShortPoint2D(insideX, insideY)));
 			}
 
@@ -57,15 +58,17 @@ final class PartitionsListingBorderVisitor implements IBorderVisitor {
 		return true;
 	}
 
-	public LinkedList<BorderPartitionInfo> getPartitionsList() {
-		LinkedList<BorderPartitionInfo> resultList = new LinkedList<>();
-		resultList.addAll(partitionsList);
-
-		if (resultList.size() >= 2 && resultList.getFirst().partitionId == resultList.getLast().partitionId && lastPartition != -1) {
-			resultList.removeFirst();
+	/**
+	 * @return the partitions along the border in the order of the traversal. If the border ends in the partition it started with, the partition is
+	 *         only listed once at the end.
+	 */
+	public List<BorderPartitionInfo> getPartitionsList() {
+		int size = partitionsList.size();
+		if (size >= 2 && partitionsList.get(0).partitionId == partitionsList.get(size - 1).partitionId && lastPartition != -1) {
+			return partitionsList.subList(1, size);
+		} else {
+			return partitionsList;
 		}
-
-		return resultList;
 	}
 
 	public static class BorderPartitionInfo {
@@ -14,10 +14,12 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.Iterator;
 import java.util.LinkedList;
 
+import jsettlers.algorithms.distances.DistanceField;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.EMovableType;
@@ -27,8 +29,10 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.workers.WorkerBuilding;
 import jsettlers.logic.map.grid.partition.data.MaterialCounts;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionIndexedQueue;
 import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 import jsettlers.logic.map.grid.partition.manager.datastructures.PredicatedPositionableList;
+import jsettlers.logic.map.grid.partition.manager.datastructures.WorkerCreationRequestQueue;
 import jsettlers.logic.map.grid.partition.manager.manageables.IManageableBearer;
 import jsettlers.logic.map.grid.partition.manager.manageables.IManageableBearer.IWorkerRequester;
 import jsettlers.logic.map.grid.partition.manager.manageables.IManageableBricklayer;
@@ -36,10 +40,12 @@ import jsettlers.logic.map.grid.partition.manager.manageables.IManageableDigger;
 import jsettlers.logic.map.grid.partition.manager.manageables.IManageableWorker;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IBarrack;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IDiggerRequester;
+import jsettlers.logic.map.grid.partition.manager.materials.MaterialDistributionStatistics;
 import jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IJoblessSupplier;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IManagerBearer;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IOfferEmptiedListener;
+import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IWalkingDistances;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.IOffersCountListener;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.MaterialOffer;
@@ -87,17 +93,26 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 
 	private final MaterialsManager materialsManager;
 
-	private final LinkedList<WorkerRequest> workerRequests = new LinkedList<>();
+	private PositionIndexedQueue<WorkerRequest> workerRequestQueue = new PositionIndexedQueue<>();
 	private final PredicatedPositionableList<IManageableWorker> joblessWorkers = new PredicatedPositionableList<>();
 
-	private final LinkedList<DiggerRequest> diggerRequests = new LinkedList<>();
+	private PositionIndexedQueue<DiggerRequest> diggerRequestQueue = new PositionIndexedQueue<>();
 	private final PositionableList<IManageableDigger> joblessDiggers = new PositionableList<>();
 
-	private final LinkedList<BricklayerRequest> bricklayerRequests = new LinkedList<>();
+	private PositionIndexedQueue<BricklayerRequest> bricklayerRequestQueue = new PositionIndexedQueue<>();
 	private final PositionableList<IManageableBricklayer> joblessBricklayers = new PositionableList<>();
 
-	private final LinkedList<WorkerCreationRequest> workerCreationRequests = new LinkedList<>();
-	private final LinkedList<SoldierCreationRequest> soldierCreationRequests = new LinkedList<>();
+	private WorkerCreationRequestQueue workerCreationRequestQueue = new WorkerCreationRequestQueue();
+	private PositionIndexedQueue<SoldierCreationRequest> soldierCreationRequestQueue = new PositionIndexedQueue<>();
+
+	/*
+	 * The requests were stored in these lists by the legacy savegame format. They are only read and put into the queues by readObject.
+	 */
+	private LinkedList<WorkerRequest>          workerRequests;
+	private LinkedList<DiggerRequest>          diggerRequests;
+	private LinkedList<BricklayerRequest>      bricklayerRequests;
+	private LinkedList<WorkerCreationRequest>  workerCreationRequests;
+	private LinkedList<SoldierCreationRequest> soldierCreationRequests;
 
 	private boolean stopped = true;
 
@@ -108,15 +123,36 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 			private static final long serialVersionUID = -113397265091126902L;
 
 			@Override
-			public IManagerBearer removeJoblessCloseTo(ShortPoint2D position) {
-				return joblessBearer.removeObjectNextTo(position);
+			public int getNumberOfJobless() {
+				return joblessBearer.size();
+			}
+
+			@Override
+			public IManagerBearer getJoblessCloseTo(ShortPoint2D position) {
+				return joblessBearer.getObjectCloseTo(position);
+			}
+
+			@Override
+			public void removeJobless(IManagerBearer jobless) {
+				joblessBearer.remove((IManageableBearer) jobless);
 			}
 
 			@Override
 			public boolean isEmpty() {
 				return joblessBearer.isEmpty();
 			}
-		}, materialOffers, settings);
+		}, materialOffers, createWalkingDistances(), settings);
+	}
+
+	private IWalkingDistances createWalkingDistances() {
+		return new IWalkingDistances() {
+			private static final long serialVersionUID = 4683215527938214387L;
+
+			@Override
+			public DistanceField getDistancesTo(ShortPoint2D target) {
+				return getWalkingDistancesTo(target);
+			}
+		};
 	}
 
 	public void startManager() {
@@ -153,19 +189,19 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 	}
 
 	public void requestDiggers(IDiggerRequester requester, byte amount) {
-		diggerRequests.offer(new DiggerRequest(requester, amount));
+		diggerRequestQueue.offer(new DiggerRequest(requester, amount));
 	}
 
 	public void requestBricklayer(Building building, ShortPoint2D bricklayerTargetPos, EDirection direction) {
-		bricklayerRequests.offer(new BricklayerRequest(building, bricklayerTargetPos, direction));
+		bricklayerRequestQueue.offer(new BricklayerRequest(building, bricklayerTargetPos, direction));
 	}
 
 	public void requestBuildingWorker(EMovableType workerType, WorkerBuilding workerBuilding) {
-		workerRequests.offer(new WorkerRequest(workerType, workerBuilding));
+		workerRequestQueue.offer(new WorkerRequest(workerType, workerBuilding));
 	}
 
 	public void requestSoldierable(IBarrack barrack) {
-		soldierCreationRequests.offer(new SoldierCreationRequest(barrack));
+		soldierCreationRequestQueue.offer(new SoldierCreationRequest(barrack));
 	}
 
 	public void addJobless(IManageableBearer bearer) {
@@ -237,38 +273,31 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 			}
 		}
 
-		removePositionTo(position, this.workerCreationRequests, newManager.workerCreationRequests, newHasSamePlayer);
-		removePositionTo(position, this.bricklayerRequests, newManager.bricklayerRequests, newHasSamePlayer);
-		removePositionTo(position, this.diggerRequests, newManager.diggerRequests, newHasSamePlayer);
-		removePositionTo(position, this.workerRequests, newManager.workerRequests, newHasSamePlayer);
-		removePositionTo(position, this.soldierCreationRequests, newManager.soldierCreationRequests, newHasSamePlayer);
-	}
-
-	private <T extends ILocatable> void removePositionTo(ShortPoint2D pos, LinkedList<T> fromList, LinkedList<T> toList, boolean newHasSamePlayer) {
-		Iterator<T> iter = fromList.iterator();
-		while (iter.hasNext()) {
-			T curr = iter.next();
-			if (curr.getPosition().equals(pos)) {
-				iter.remove();
-				if (newHasSamePlayer) {
-					toList.offer(curr);
-				}
-			}
+		workerCreationRequestQueue.moveObjectsAtPositionTo(position, newHasSamePlayer ? newManager.workerCreationRequestQueue : null);
+		removePositionTo(position, this.bricklayerRequestQueue, newManager.bricklayerRequestQueue, newHasSamePlayer);
+		removePositionTo(position, this.diggerRequestQueue, newManager.diggerRequestQueue, newHasSamePlayer);
+		removePositionTo(position, this.workerRequestQueue, newManager.workerRequestQueue, newHasSamePlayer);
+		removePositionTo(position, this.soldierCreationRequestQueue, newManager.soldierCreationRequestQueue, newHasSamePlayer);
+	}
+
+	private <T extends ILocatable> void removePositionTo(ShortPoint2D pos, PositionIndexedQueue<T> fromQueue, PositionIndexedQueue<T> toQueue, boolean newHasSamePlayer) {
+		if (!fromQueue.isEmpty()) {
+			fromQueue.moveObjectsAtPositionTo(pos, newHasSamePlayer ? toQueue : null);
 		}
 	}
 
 	public final void mergeInto(PartitionManager newManager) {
-		newManager.bricklayerRequests.addAll(this.bricklayerRequests);
-		newManager.diggerRequests.addAll(this.diggerRequests);
+		newManager.bricklayerRequestQueue.moveAll(this.bricklayerRequestQueue);
+		newManager.diggerRequestQueue.moveAll(this.diggerRequestQueue);
 		newManager.joblessBearer.moveAll(this.joblessBearer);
 		newManager.joblessBricklayers.moveAll(this.joblessBricklayers);
 		newManager.joblessDiggers.moveAll(this.joblessDiggers);
 		newManager.joblessWorkers.moveAll(this.joblessWorkers);
 		newManager.materialOffers.moveAll(this.materialOffers);
 		this.materialsManager.mergeInto(newManager.materialsManager);
-		newManager.soldierCreationRequests.addAll(this.soldierCreationRequests);
-		newManager.workerCreationRequests.addAll(this.workerCreationRequests);
-		newManager.workerRequests.addAll(this.workerRequests);
+		newManager.soldierCreationRequestQueue.moveAll(this.soldierCreationRequestQueue);
+		newManager.workerCreationRequestQueue.moveAll(this.workerCreationRequestQueue);
+		newManager.workerRequestQueue.moveAll(this.workerRequestQueue);
 	}
 
 	@Override
@@ -291,7 +320,7 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 	}
 
 	private void handleWorkerRequest() {
-		WorkerRequest workerRequest = workerRequests.poll();
+		WorkerRequest workerRequest = workerRequestQueue.poll();
 		if (workerRequest != null) {
 			IManageableWorker worker = joblessWorkers.removeObjectNextTo(workerRequest.getPosition(), currentWorker -> currentWorker.getMovableType() == workerRequest.movableType);
 
@@ -302,43 +331,54 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 					workerRequest.creationRequested = true;
 					createNewToolUser(workerRequest);
 				}
-				workerRequests.offerLast(workerRequest);
+				workerRequestQueue.offer(workerRequest);
 			}
 		}
 	}
 
 	private void createNewToolUser(WorkerCreationRequest workerCreationRequest) {
-		workerCreationRequests.offer(workerCreationRequest);
+		workerCreationRequestQueue.offer(workerCreationRequest);
 	}
 
 	private void handleWorkerCreationRequests() {
-		Iterator<WorkerCreationRequest> iterator = workerCreationRequests.iterator();
+		WorkerCreationRequestQueue.RequestIterator iterator = workerCreationRequestQueue.iterator();
 
 		while(iterator.hasNext() && !joblessBearer.isEmpty()) {
 			WorkerCreationRequest workerCreationRequest = iterator.next();
-			if (!workerCreationRequest.isRequestAlive() || tryToCreateWorker(workerCreationRequest)) {
+			if (!workerCreationRequest.isRequestAlive()) {
+				iterator.remove();
+			} else if (!canCreateWorker(workerCreationRequest.requestedMovableType())) {
+				iterator.skipRemainingOfSameType(); // the other requests of this type can't be served either
+			} else if (tryToCreateWorker(workerCreationRequest)) {
 				iterator.remove();
 			}
 		}
 	}
 
+	/**
+	 * Checks the conditions that are the same for all requests of a type.
+	 */
+	private boolean canCreateWorker(EMovableType movableType) {
+		if(!settings.getProfessionSettings().isBearerConversionAllowed(movableType)) {
+			return false;
+		}
+
+		EMaterialType tool = movableType.getTool();
+		if(tool != EMaterialType.NO_MATERIAL && materialOffers.isEmpty(tool, EOfferPriority.LOWEST)) { // no tool found => cannot create worker
+			workerCreationRequestQueue.setToolProductionRequired(movableType);
+			return false;
+		}
+		return true;
+	}
+
 	private boolean tryToCreateWorker(WorkerCreationRequest workerCreationRequest) {
 		EMovableType movableType = workerCreationRequest.requestedMovableType();
 		ProfessionSettings professionSettings = settings.getProfessionSettings();
 
-		if(!professionSettings.isBearerConversionAllowed(movableType)) {
-			return false;
-		}
-		
 		EMaterialType tool = movableType.getTool();
 		MaterialOffer offer = null;
 		if(tool != EMaterialType.NO_MATERIAL) { // try to create a worker with a tool
 			offer = materialOffers.getOfferCloseTo(tool, EOfferPriority.LOWEST, workerCreationRequest.getPosition());
-
-			if(offer == null) { // no tool found => cannot create worker
-				workerCreationRequest.setToolProductionRequired(true);
-				return false;
-			}
 		}
 
 		IManageableBearer manageableBearer = joblessBearer.removeObjectNextTo(workerCreationRequest.getPosition());
@@ -353,7 +393,7 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 
 	@Override
 	public void workerCreationRequestFailed(WorkerCreationRequest failedRequest) {
-		workerCreationRequests.offer(failedRequest);
+		workerCreationRequestQueue.offer(failedRequest);
 
 		settings.getProfessionSettings().abortBearerConversion(failedRequest.requestedMovableType());
 	}
@@ -364,17 +404,17 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 	}
 
 	private void handleSoldierCreationRequest() {
-		SoldierCreationRequest soilderRequest = soldierCreationRequests.poll();
+		SoldierCreationRequest soilderRequest = soldierCreationRequestQueue.poll();
 		if (soilderRequest != null) {
 			IManageableBearer manageableBearer = joblessBearer.removeObjectNextTo(soilderRequest.getPosition());
 			if (manageableBearer == null || !manageableBearer.becomeSoldier(soilderRequest.getBarrack())) {
-				soldierCreationRequests.addLast(soilderRequest);
+				soldierCreationRequestQueue.offer(soilderRequest);
 			}
 		}
 	}
 
 	private void handleDiggerRequest() {
-		DiggerRequest request = diggerRequests.peek();
+		DiggerRequest request = diggerRequestQueue.peek();
 		if (request == null) {
 			return;
 		}
@@ -396,29 +436,29 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 			}
 
 			if (request.amount <= 0) {
-				diggerRequests.poll();
+				diggerRequestQueue.poll();
 			}
 		} else {
-			diggerRequests.poll();
+			diggerRequestQueue.poll();
 		}
 	}
 
 	private void handleBricklayerRequest() {
-		BricklayerRequest bricklayerRequest = bricklayerRequests.poll();
+		BricklayerRequest bricklayerRequest = bricklayerRequestQueue.poll();
 		if (bricklayerRequest != null && bricklayerRequest.isRequestAlive()) {
 			IManageableBricklayer bricklayer = joblessBricklayers.removeObjectNextTo(bricklayerRequest.getPosition());
 			if (bricklayer != null) {
 				if (!bricklayer.setBricklayerJob(bricklayerRequest.building, bricklayerRequest.bricklayerTargetPos, bricklayerRequest.direction)) {
-					bricklayerRequests.add(bricklayerRequest);
+					bricklayerRequestQueue.offer(bricklayerRequest);
 				}
 
 			} else if (!bricklayerRequest.isCreationRequested()) { // if the creation hasn't been requested yet => request it.
 				createNewToolUser(bricklayerRequest);
 				bricklayerRequest.setCreationRequested();
-				bricklayerRequests.offerLast(bricklayerRequest);
+				bricklayerRequestQueue.offer(bricklayerRequest);
 
 			} else { // no bricklayer available and creation already requested => nothing to do.
-				bricklayerRequests.offerLast(bricklayerRequest);
+				bricklayerRequestQueue.offer(bricklayerRequest);
 			}
 		}
 	}
@@ -427,14 +467,8 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 		byte bestPrio = 0;
 		EMaterialType bestTool = null;
 
-		for (WorkerCreationRequest request : workerCreationRequests) { // go through all requests and select the best one
-			if (!request.isRequestAlive() || !request.isToolProductionRequired()) {
-				continue; // skip inactive requests and requests not needing a tool production
-			}
-
-			request.setToolProductionRequired(false); // FIXME @andreas-eberle: Investigate if this is correct! And why it doesn't break the system
-
-			EMaterialType tool = request.requestedMovableType().getTool();
+		for (EMovableType movableType : workerCreationRequestQueue.popTypesRequiringToolProduction()) { // go through all types missing a tool and select the best one
+			EMaterialType tool = movableType.getTool();
 			byte prio = priorityForTool[tool.ordinal];
 
 			if (prio > bestPrio) {
@@ -451,6 +485,41 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 		throw new UnsupportedOperationException("CAN'T KILL PARTITION MANAGER!! THIS REALLY SHOULD NOT HAPPEN!");
 	}
 
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+
+		if (workerRequestQueue == null) { // savegame of the legacy format
+			workerRequestQueue = toQueue(workerRequests);
+			diggerRequestQueue = toQueue(diggerRequests);
+			bricklayerRequestQueue = toQueue(bricklayerRequests);
+			soldierCreationRequestQueue = toQueue(soldierCreationRequests);
+
+			workerCreationRequestQueue = new WorkerCreationRequestQueue();
+			for (WorkerCreationRequest request : workerCreationRequests) {
+				workerCreationRequestQueue.offer(request);
+				if (request.isRequestAlive() && request.isToolProductionRequired()) {
+					workerCreationRequestQueue.setToolProductionRequired(request.requestedMovableType());
+				}
+			}
+
+			workerRequests = null;
+			diggerRequests = null;
+			bricklayerRequests = null;
+			workerCreationRequests = null;
+			soldierCreationRequests = null;
+
+			materialsManager.setWalkingDistances(createWalkingDistances());
+		}
+	}
+
+	private static <T extends ILocatable> PositionIndexedQueue<T> toQueue(LinkedList<T> list) {
+		PositionIndexedQueue<T> queue = new PositionIndexedQueue<>();
+		for (T object : list) {
+			queue.offer(object);
+		}
+		return queue;
+	}
+
 	/**
 	 * FOR TESTS ONLY!
 	 *
@@ -470,6 +539,24 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 		return settings;
 	}
 
+	public MaterialDistributionStatistics getMaterialDistributionStatistics() {
+		return materialsManager.getStatistics();
+	}
+
+	/**
+	 * @return Returns the number of material deliveries per second assigned since the game was started or loaded.
+	 */
+	public float getMaterialAssignmentsPerSecond() {
+		return materialsManager.getStatistics().getAssignmentsPerDistribution() * 1000 / SCHEDULING_PERIOD;
+	}
+
+	/**
+	 * @return Returns the number of material deliveries the requests of this partition could accept right now.
+	 */
+	public int getMaterialBacklog() {
+		return materialsManager.getNumberOfOpenDeliveries();
+	}
+
 	public MaterialCounts getMaterialCounts() {
 		return materialOffers.getMaterialCounts();
 	}
@@ -484,6 +571,13 @@ public abstract class PartitionManager implements IScheduledTimerable, Serializa
 	 */
 	public abstract boolean contains(ILogicMovable mov);
 
+	/**
+	 * @param target
+	 * 		The target of material deliveries.
+	 * @return the walking distances to the target or null if they aren't available.
+	 */
+	protected abstract DistanceField getWalkingDistancesTo(ShortPoint2D target);
+
 	public void convertWorkers() {
 		SingleProfessionLimit bearerSettings = settings.getProfessionSettings().getSettings(EMovableType.BEARER);
 		SingleProfessionLimit bricklayerSettings = settings.getProfessionSettings().getSettings(EMovableType.BRICKLAYER);
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * A first in first out queue of objects at fixed positions. Besides the queue, the objects are linked by their positions, so the objects at a
+ * position can be moved to another queue without looking at all of them.
+ * <p>
+ * The position of an object is read when it's added, it must not change while the object is in the queue. An object may be in the queue more than
+ * once.
+ *
+ * @param <T>
+ * 		Type of the objects.
+ */
+public final class PositionIndexedQueue<T extends ILocatable> implements Serializable, Iterable<T> {
+	private static final long serialVersionUID = -6124407392236604725L;
+
+	private transient Node<T>                         first;
+	private transient Node<T>                         last;
+	private transient HashMap<ShortPoint2D, Chain<T>> chains;
+	private transient int                             size;
+
+	public PositionIndexedQueue() {
+		chains = new HashMap<>();
+	}
+
+	/**
+	 * Adds the object at the end of the queue.
+	 */
+	public void offer(T object) {
+		offer(object, object.getPosition());
+	}
+
+	private void offer(T object, ShortPoint2D position) {
+		Node<T> node = new Node<>(object, position);
+
+		node.previous = last;
+		if (last != null) {
+			last.next = node;
+		} else {
+			first = node;
+		}
+		last = node;
+
+		Chain<T> chain = chains.get(node.position);
+		if (chain == null) {
+			chain = new Chain<>();
+			chains.put(node.position, chain);
+		}
+		node.previousAtPosition = chain.last;
+		if (chain.last != null) {
+			chain.last.nextAtPosition = node;
+		} else {
+			chain.first = node;
+		}
+		chain.last = node;
+
+		size++;
+	}
+
+	/**
+	 * @return the first object of the queue or null if the queue is empty.
+	 */
+	public T peek() {
+		return first != null ? first.object : null;
+	}
+
+	/**
+	 * Removes the first object of the queue.
+	 *
+	 * @return the removed object or null if the queue is empty.
+	 */
+	public T poll() {
+		if (first == null) {
+			return null;
+		}
+		T object = first.object;
+		unlink(first);
+		return object;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes the objects at the given position and adds them to the end of the other queue, in the order they had in this queue.
+	 *
+	 * @param newQueue
+	 * 		The queue that gets the objects or null if they should just be removed.
+	 */
+	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionIndexedQueue<T> newQueue) {
+		Chain<T> chain = chains.get(position);
+		if (chain == null) {
+			return;
+		}
+
+		for (Node<T> node = chain.first; node != null; node = node.nextAtPosition) {
+			unlink(node);
+			if (newQueue != null) {
+				newQueue.offer(node.object, node.position);
+			}
+		}
+	}
+
+	/**
+	 * Removes the objects at the given position.
+	 *
+	 * @return the removed objects in the order they had in this queue.
+	 */
+	public List<T> removeObjectsAt(ShortPoint2D position) {
+		Chain<T> chain = chains.get(position);
+		if (chain == null) {
+			return Collections.emptyList();
+		}
+
+		List<T> removed = new ArrayList<>();
+		for (Node<T> node = chain.first; node != null; node = node.nextAtPosition) {
+			unlink(node);
+			removed.add(node.object);
+		}
+		return removed;
+	}
+
+	/**
+	 * Moves all objects of the other queue to the end of this queue.
+	 */
+	public void moveAll(PositionIndexedQueue<T> otherQueue) {
+		for (Node<T> node = otherQueue.first; node != null; node = node.next) {
+			offer(node.object, node.position);
+		}
+		otherQueue.clear();
+	}
+
+	public void clear() {
+		first = null;
+		last = null;
+		chains.clear();
+		size = 0;
+	}
+
+	/**
+	 * @return an iterator over the objects in the order of the queue. It supports {@link Iterator#remove()}.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private Node<T> next = first;
+			private Node<T> lastReturned;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public T next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				lastReturned = next;
+				next = next.next;
+				return lastReturned.object;
+			}
+
+			@Override
+			public void remove() {
+				if (lastReturned == null) {
+					throw new IllegalStateException();
+				}
+				unlink(lastReturned);
+				lastReturned = null;
+			}
+		};
+	}
+
+	/**
+	 * Removes the node from the queue and from the chain of its position. The links of the node itself stay untouched, so iterations over it can
+	 * continue.
+	 */
+	private void unlink(Node<T> node) {
+		if (node.previous != null) {
+			node.previous.next = node.next;
+		} else {
+			first = node.next;
+		}
+		if (node.next != null) {
+			node.next.previous = node.previous;
+		} else {
+			last = node.previous;
+		}
+
+		Chain<T> chain = chains.get(node.position);
+		if (node.previousAtPosition != null) {
+			node.previousAtPosition.nextAtPosition = node.nextAtPosition;
+		} else {
+			chain.first = node.nextAtPosition;
+		}
+		if (node.nextAtPosition != null) {
+			node.nextAtPosition.previousAtPosition = node.previousAtPosition;
+		} else {
+			chain.last = node.previousAtPosition;
+		}
+		if (chain.first == null) {
+			chains.remove(node.position);
+		}
+
+		size--;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		for (Node<T> node = first; node != null; node = node.next) {
+			builder.append(node.object);
+			if (node.next != null) {
+				builder.append(", ");
+			}
+		}
+		return builder.append(']').toString();
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeInt(size);
+		for (Node<T> node = first; node != null; node = node.next) {
+			oos.writeObject(node.object);
+			oos.writeObject(node.position); // the objects may not be completely read when they are added again
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		chains = new HashMap<>();
+		int size = ois.readInt();
+		for (int i = 0; i < size; i++) {
+			T object = (T) ois.readObject();
+			offer(object, (ShortPoint2D) ois.readObject());
+		}
+	}
+
+	private static final class Node<T> {
+		private final T            object;
+		private final ShortPoint2D position;
+
+		private Node<T> previous;
+		private Node<T> next;
+		private Node<T> previousAtPosition;
+		private Node<T> nextAtPosition;
+
+		Node(T object, ShortPoint2D position) {
+			this.object = object;
+			this.position = position;
+		}
+	}
+
+	private static final class Chain<T> {
+		private Node<T> first;
+		private Node<T> last;
+	}
+}
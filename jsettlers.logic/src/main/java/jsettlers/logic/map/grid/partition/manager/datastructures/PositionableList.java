@@ -14,8 +14,13 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.datastructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 
 import java8.util.function.Consumer;
@@ -26,24 +31,25 @@ import jsettlers.common.utils.MathUtils;
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * The objects are kept in the order of their insertion, an object that's already in the list isn't inserted again. The positions of the objects may
+ * change while they are in the list, so the nearest object is searched by looking at all of them.
  *
  * @param <T>
  * @author Andreas Eberle
  */
 public class PositionableList<T extends ILocatable> implements Serializable {
 	private static final long serialVersionUID = 414099060331344505L;
+	private static final ObjectStreamField[] serialPersistentFields = { new ObjectStreamField("data", LinkedList.class) };
 
-	protected final LinkedList<T> data;
+	protected transient LinkedHashSet<T> data;
 
 	public PositionableList() {
-		data = new LinkedList<>();
+		data = new LinkedHashSet<>();
 	}
 
 	public void insert(T object) {
-		if(!data.contains(object)) {
-			// TODO fix double inserts from the root
-			data.add(object);
-		}
+		data.add(object);
 	}
 
 	public T removeObjectAt(ShortPoint2D position) {
@@ -79,7 +85,7 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns any object in this list or null if this list is empty
 	 */
 	public T getAnyObject() {
-		return data.peekFirst();
+		return data.isEmpty() ? null : data.iterator().next();
 	}
 
 	/**
@@ -99,7 +105,15 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 		return currBest;
 	}
 
-	protected T getObjectCloseTo(ShortPoint2D position) {
+	/**
+	 * Finds the object that's closest to the given position.
+	 *
+	 * @param position
+	 * 		position to be used to find the nearest neighbor around it.
+	 * @return the object that's nearest to position or null if this list is empty. Of objects with the same distance, the first one inserted is
+	 * returned.
+	 */
+	public T getObjectCloseTo(ShortPoint2D position) {
 		int bestDistance = Integer.MAX_VALUE;
 		T currBest = null;
 
@@ -120,13 +134,13 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	}
 
 	public void moveAll(PositionableList<T> otherList) {
-		LinkedList<T> othersData = otherList.data;
+		LinkedHashSet<T> othersData = otherList.data;
 		data.addAll(othersData);
 		othersData.clear();
 	}
 
 	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
-		LinkedList<T> othersData = otherList.data;
+		LinkedHashSet<T> othersData = otherList.data;
 		for (T othersDatum : othersData) {
 			movedVisitor.accept(othersDatum);
 			data.add(othersDatum);
@@ -159,4 +173,19 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	public int size() {
 		return data.size();
 	}
+
+	/**
+	 * The objects are written as a list, which is the serialized form of the former version of this class.
+	 */
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("data", new LinkedList<>(data));
+		oos.writeFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		data = new LinkedHashSet<>((LinkedList<T>) fields.get("data", null));
+	}
 }
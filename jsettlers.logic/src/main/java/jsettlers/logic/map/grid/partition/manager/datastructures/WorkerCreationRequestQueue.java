@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.partition.manager.objects.WorkerCreationRequest;
+
+/**
+ * The {@link WorkerCreationRequest}s of a partition, kept in one {@link PositionIndexedQueue} per requested {@link EMovableType}.
+ * <p>
+ * Every request gets a sequence number when it's added. The {@link RequestIterator} visits the requests of all types in the order of their sequence
+ * numbers by merging the queues of the types with a heap, and it can skip the remaining requests of a type. So requests of a type that can't be
+ * served at the moment aren't looked at one by one.
+ */
+public final class WorkerCreationRequestQueue implements Serializable {
+	private static final long serialVersionUID = 2591437412208345719L;
+
+	private final PositionIndexedQueue<Entry>[] queues;
+	private final boolean[]                     toolProductionRequired = new boolean[EMovableType.NUMBER_OF_MOVABLETYPES];
+	private long                                nextSequence;
+
+	public WorkerCreationRequestQueue() {
+		queues = newQueueArray(EMovableType.NUMBER_OF_MOVABLETYPES);
+		for (int i = 0; i < queues.length; i++) {
+			queues[i] = new PositionIndexedQueue<>();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PositionIndexedQueue<Entry>[] newQueueArray(int length) {
+		return (PositionIndexedQueue<Entry>[]) new PositionIndexedQueue<?>[length];
+	}
+
+	/**
+	 * Adds the request after all other requests.
+	 */
+	public void offer(WorkerCreationRequest request) {
+		queues[request.requestedMovableType().ordinal()].offer(new Entry(request, nextSequence++));
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public int size() {
+		int size = 0;
+		for (PositionIndexedQueue<Entry> queue : queues) {
+			size += queue.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the number of requests for the given type.
+	 */
+	public int size(EMovableType movableType) {
+		return queues[movableType.ordinal()].size();
+	}
+
+	/**
+	 * Removes the requests at the given position and adds them to the end of the other queue, in the order they had in this queue.
+	 *
+	 * @param newQueue
+	 * 		The queue that gets the requests or null if they should just be removed.
+	 */
+	public void moveObjectsAtPositionTo(ShortPoint2D position, WorkerCreationRequestQueue newQueue) {
+		List<Entry> moved = new ArrayList<>();
+		for (PositionIndexedQueue<Entry> queue : queues) {
+			if (!queue.isEmpty()) {
+				moved.addAll(queue.removeObjectsAt(position));
+			}
+		}
+
+		if (newQueue != null && !moved.isEmpty()) {
+			newQueue.offerInOrder(moved);
+		}
+	}
+
+	/**
+	 * Moves all requests of the other queue to the end of this queue.
+	 */
+	public void moveAll(WorkerCreationRequestQueue otherQueue) {
+		List<Entry> moved = new ArrayList<>(otherQueue.size());
+		for (PositionIndexedQueue<Entry> queue : otherQueue.queues) {
+			for (Entry entry : queue) {
+				moved.add(entry);
+			}
+			queue.clear();
+		}
+		offerInOrder(moved);
+
+		for (int i = 0; i < toolProductionRequired.length; i++) {
+			toolProductionRequired[i] |= otherQueue.toolProductionRequired[i];
+			otherQueue.toolProductionRequired[i] = false;
+		}
+	}
+
+	/**
+	 * Remembers that a request of the given type couldn't be served because the tool is missing.
+	 */
+	public void setToolProductionRequired(EMovableType movableType) {
+		toolProductionRequired[movableType.ordinal()] = true;
+	}
+
+	/**
+	 * @return the types that are still requested and needed a tool since the last call. The marks of all types are reset.
+	 */
+	public List<EMovableType> popTypesRequiringToolProduction() {
+		List<EMovableType> movableTypes = new ArrayList<>();
+		for (int i = 0; i < toolProductionRequired.length; i++) {
+			if (toolProductionRequired[i] && !queues[i].isEmpty()) {
+				movableTypes.add(EMovableType.VALUES[i]);
+			}
+			toolProductionRequired[i] = false;
+		}
+		return movableTypes;
+	}
+
+	/**
+	 * @return an iterator over the requests in the order they were added.
+	 */
+	public RequestIterator iterator() {
+		return new RequestIterator();
+	}
+
+	private void offerInOrder(List<Entry> entries) {
+		Collections.sort(entries, (first, second) -> Long.compare(first.sequence, second.sequence));
+		for (Entry entry : entries) {
+			offer(entry.request);
+		}
+	}
+
+	/**
+	 * Visits the requests of all types in the order they were added. Requests that are added while iterating may or may not be visited.
+	 */
+	public final class RequestIterator implements Iterator<WorkerCreationRequest> {
+		private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(8, (first, second) -> Long.compare(first.current.sequence, second.current.sequence));
+		private Cursor                      lastReturned;
+
+		private RequestIterator() {
+			for (PositionIndexedQueue<Entry> queue : queues) {
+				if (!queue.isEmpty()) {
+					Iterator<Entry> iterator = queue.iterator();
+					cursors.add(new Cursor(iterator, iterator.next()));
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			advanceLastReturned();
+			return !cursors.isEmpty();
+		}
+
+		@Override
+		public WorkerCreationRequest next() {
+			advanceLastReturned();
+			lastReturned = cursors.poll();
+			if (lastReturned == null) {
+				throw new NoSuchElementException();
+			}
+			return lastReturned.current.request;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			lastReturned.iterator.remove();
+		}
+
+		/**
+		 * Skips the other requests of the type of the last returned request.
+		 */
+		public void skipRemainingOfSameType() {
+			lastReturned = null;
+		}
+
+		private void advanceLastReturned() {
+			if (lastReturned != null) {
+				if (lastReturned.iterator.hasNext()) {
+					lastReturned.current = lastReturned.iterator.next();
+					cursors.add(lastReturned);
+				}
+				lastReturned = null;
+			}
+		}
+	}
+
+	private static final class Cursor {
+		private final Iterator<Entry> iterator;
+		private Entry                 current;
+
+		Cursor(Iterator<Entry> iterator, Entry current) {
+			this.iterator = iterator;
+			this.current = current;
+		}
+	}
+
+	private static final class Entry implements ILocatable, Serializable {
+		private static final long serialVersionUID = -7818457346010536213L;
+
+		private final WorkerCreationRequest request;
+		private final long                  sequence;
+
+		Entry(WorkerCreationRequest request, long sequence) {
+			this.request = request;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return request.getPosition();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials;
+
+/**
+ * Counts the deliveries assigned by a {@link MaterialsManager} since the game was started or loaded.
+ */
+public final class MaterialDistributionStatistics {
+	private long distributions;
+	private long assignments;
+	private long walkDistance;
+
+	void distributionDone() {
+		distributions++;
+	}
+
+	/**
+	 * @param walkDistance
+	 * 		The on grid distance from the bearer to the offer plus the distance from the offer to the request.
+	 */
+	void deliveryAssigned(int walkDistance) {
+		assignments++;
+		this.walkDistance += walkDistance;
+	}
+
+	/**
+	 * @return the number of times the jobs have been distributed.
+	 */
+	public long getDistributions() {
+		return distributions;
+	}
+
+	public long getAssignments() {
+		return assignments;
+	}
+
+	public float getAssignmentsPerDistribution() {
+		return distributions > 0 ? (float) assignments / distributions : 0;
+	}
+
+	public float getAverageWalkDistance() {
+		return assignments > 0 ? (float) walkDistance / assignments : 0;
+	}
+}
@@ -14,16 +14,26 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
+import jsettlers.algorithms.distances.DistanceField;
 import jsettlers.common.map.partition.IPartitionSettings;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IJoblessSupplier;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IManagerBearer;
+import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IWalkingDistances;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.MaterialOffer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.OffersList;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.list.ICostFunction;
 import jsettlers.logic.map.grid.partition.manager.materials.requests.AbstractMaterialRequestPriorityQueue;
 import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialRequestObject;
 import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialsForBuildingsRequestPriorityQueue;
@@ -42,9 +52,12 @@ public final class MaterialsManager implements Serializable {
 	private final OffersList offersList;
 	private final AbstractMaterialRequestPriorityQueue[] requestQueues;
 	private final IJoblessSupplier joblessSupplier;
+	private IWalkingDistances walkingDistances;
 
 	private final IPartitionSettings settings;
 
+	private transient MaterialDistributionStatistics statistics = new MaterialDistributionStatistics();
+
 	/**
 	 * Creates a new {@link MaterialsManager} that uses the given {@link IJoblessSupplier} and {@link OffersList} for it's operations.
 	 *
@@ -52,12 +65,15 @@ public final class MaterialsManager implements Serializable {
 	 * 		{@link IJoblessSupplier} providing the jobless bearers.
 	 * @param offersList
 	 * 		{@link OffersList} providing the offered materials.
+	 * @param walkingDistances
+	 * 		{@link IWalkingDistances} providing the walking distances to the requests.
 	 * @param settings
 	 * 		{@link IPartitionSettings} providing the settings of the partition.
 	 */
-	public MaterialsManager(IJoblessSupplier joblessSupplier, OffersList offersList, PartitionManagerSettings settings) {
+	public MaterialsManager(IJoblessSupplier joblessSupplier, OffersList offersList, IWalkingDistances walkingDistances, PartitionManagerSettings settings) {
 		this.joblessSupplier = joblessSupplier;
 		this.offersList = offersList;
+		this.walkingDistances = walkingDistances;
 		this.settings = settings;
 
 		requestQueues = new AbstractMaterialRequestPriorityQueue[EMaterialType.NUMBER_OF_MATERIALS];
@@ -83,40 +99,194 @@ public final class MaterialsManager implements Serializable {
 		requestQueues[material.ordinal].insertRequest(requestObject);
 	}
 
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		statistics = new MaterialDistributionStatistics();
+	}
+
+	/**
+	 * Sets the {@link IWalkingDistances} of a manager loaded from a savegame of the legacy format, which didn't contain them.
+	 */
+	public void setWalkingDistances(IWalkingDistances walkingDistances) {
+		this.walkingDistances = walkingDistances;
+	}
+
+	/**
+	 * Assigns deliveries to the jobless bearers. If {@link MatchConstants#ENABLE_BATCH_MATERIAL_DISTRIBUTION} is set, up to
+	 * {@link Constants#MATERIAL_DISTRIBUTION_BUDGET} deliveries are matched with the bearers at once. Otherwise every material type gets at most one
+	 * delivery, which takes the jobless closest to its offer.
+	 */
 	public void distributeJobs() {
+		if (MatchConstants.ENABLE_BATCH_MATERIAL_DISTRIBUTION) {
+			distributeJobsInBatch(Constants.MATERIAL_DISTRIBUTION_BUDGET);
+		} else {
+			distributeJobsOneByOne();
+		}
+	}
+
+	/**
+	 * Gives the highest request of each material type, in the order of the material priorities, the offer closest to it and the jobless closest to
+	 * that offer.
+	 */
+	private void distributeJobsOneByOne() {
 		for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && !joblessSupplier.isEmpty(); i++) {
-			if (joblessSupplier.isEmpty()) // no jobless? just return
-				break;
+			Delivery delivery = reserveDeliveryForMaterial(settings.getMaterialTypeForPriority(i));
+			if (delivery != null) {
+				IManagerBearer jobless = joblessSupplier.getJoblessCloseTo(delivery.offer.getPosition());
+
+				assert jobless != null : "The jobless can't be null here!";
+
+				assignBearer(jobless, delivery);
+			}
+		}
+		statistics.distributionDone();
+	}
+
+	/**
+	 * Assigns up to the given number of deliveries to the jobless bearers.
+	 * <p>
+	 * First the deliveries are chosen in rounds. In every round, each material type gets the offer closest to its highest request, in the order of
+	 * the material priorities. Then the bearers are matched with all deliveries at once: The delivery whose offer has the closest jobless is
+	 * assigned first, until all deliveries have a bearer. This avoids that an early delivery takes the bearer a later one needed more.
+	 */
+	void distributeJobsInBatch(int budget) { // package private for tests
+		int maxDeliveries = Math.min(budget, joblessSupplier.getNumberOfJobless());
+		List<Delivery> deliveries = new ArrayList<>(maxDeliveries);
+
+		boolean[] noDelivery = new boolean[EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS];
+		boolean foundDelivery = true;
+		while (foundDelivery && deliveries.size() < maxDeliveries) {
+			foundDelivery = false;
+			for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && deliveries.size() < maxDeliveries; i++) {
+				if (noDelivery[i]) {
+					continue;
+				}
 
-			distributeJobForMaterial(settings.getMaterialTypeForPriority(i));
+				Delivery delivery = reserveDeliveryForMaterial(settings.getMaterialTypeForPriority(i));
+				if (delivery != null) {
+					deliveries.add(delivery);
+					foundDelivery = true;
+				} else {
+					noDelivery[i] = true;
+				}
+			}
 		}
+
+		assignBearers(deliveries);
+		statistics.distributionDone();
 	}
 
-	private void distributeJobForMaterial(EMaterialType materialType) {
+	/**
+	 * Reserves the offer closest to the highest request of the given material. If the walking distances to the request are known, the offer with
+	 * the shortest way is taken.
+	 *
+	 * @return the reserved delivery or null if there is no request or no offer for it.
+	 */
+	private Delivery reserveDeliveryForMaterial(EMaterialType materialType) {
 		if (offersList.isEmpty(materialType, EOfferPriority.LOWEST)) {
-			return;
+			return null;
 		}
 
 		AbstractMaterialRequestPriorityQueue requestQueue = requestQueues[materialType.ordinal];
 		MaterialRequestObject request = requestQueue.getHighestRequest();
 
 		if (request == null) // no request => return
-			return;
+			return null;
 
 		EOfferPriority minimumIncludedOfferPriority = request.getMinimumAcceptedOfferPriority();
 		if (offersList.isEmpty(materialType, minimumIncludedOfferPriority)) {
-			return; // no offers => return
+			return null; // no offers => return
+		}
+
+		ShortPoint2D target = request.getPosition();
+		DistanceField distances = walkingDistances.getDistancesTo(target);
+		MaterialOffer offer;
+		int distance;
+		if (distances != null) {
+			WalkingDistanceCost cost = new WalkingDistanceCost(distances);
+			offer = offersList.getOfferWithLowestCost(materialType, minimumIncludedOfferPriority, target, cost);
+			assert offer != null : "The offer can't be null here!";
+			distance = distances.getDistance(offer.getPosition().x, offer.getPosition().y);
+			if (distance == DistanceField.UNREACHABLE) {
+				distance = offer.getPosition().getOnGridDistTo(target);
+			}
+		} else {
+			offer = offersList.getOfferCloseTo(materialType, minimumIncludedOfferPriority, target);
+			assert offer != null : "The offer can't be null here!";
+			distance = offer.getPosition().getOnGridDistTo(target);
+		}
+
+		return new Delivery(materialType, offer, request, distance);
+	}
+
+	private void assignBearers(List<Delivery> deliveries) {
+		int numberOfDeliveries = deliveries.size();
+		IManagerBearer[] closestJobless = new IManagerBearer[numberOfDeliveries];
+		int[] distances = new int[numberOfDeliveries];
+		for (int i = 0; i < numberOfDeliveries; i++) {
+			findClosestJobless(deliveries.get(i), i, closestJobless, distances);
+		}
+
+		for (int assigned = 0; assigned < numberOfDeliveries; assigned++) {
+			int best = -1;
+			for (int i = 0; i < numberOfDeliveries; i++) {
+				if (closestJobless[i] != null && (best < 0 || distances[i] < distances[best])) {
+					best = i;
+				}
+			}
+			if (best < 0) {
+				break; // no jobless left
+			}
+
+			IManagerBearer jobless = closestJobless[best];
+			Delivery delivery = deliveries.get(best);
+			deliveries.set(best, null);
+			closestJobless[best] = null;
+
+			assignBearer(jobless, delivery);
+
+			for (int i = 0; i < numberOfDeliveries; i++) {
+				if (closestJobless[i] == jobless) {
+					findClosestJobless(deliveries.get(i), i, closestJobless, distances);
+				}
+			}
 		}
 
-		MaterialOffer offer = offersList.getOfferCloseTo(materialType, minimumIncludedOfferPriority, request.getPosition());
+		for (Delivery delivery : deliveries) {
+			if (delivery != null) {
+				delivery.cancelReservation();
+			}
+		}
+	}
 
-		assert offer != null : "The offer can't be null here!";
+	private void assignBearer(IManagerBearer jobless, Delivery delivery) {
+		joblessSupplier.removeJobless(jobless);
+		delivery.cancelReservation(); // the bearer accepts the offer and the request itself
+		jobless.deliver(delivery.materialType, delivery.offer, delivery.request);
+		statistics.deliveryAssigned(jobless.getPosition().getOnGridDistTo(delivery.offer.getPosition()) + delivery.distance);
+	}
 
-		IManagerBearer jobless = joblessSupplier.removeJoblessCloseTo(offer.getPosition());
+	private void findClosestJobless(Delivery delivery, int index, IManagerBearer[] closestJobless, int[] distances) {
+		ShortPoint2D offerPosition = delivery.offer.getPosition();
+		closestJobless[index] = joblessSupplier.getJoblessCloseTo(offerPosition);
+		if (closestJobless[index] != null) {
+			distances[index] = MathUtils.squareHypot(offerPosition, closestJobless[index].getPosition());
+		}
+	}
 
-		assert jobless != null : "The jobless can't be null here!";
+	/**
+	 * @return Returns the number of deliveries the requests of this manager could accept right now.
+	 */
+	public int getNumberOfOpenDeliveries() {
+		int openDeliveries = 0;
+		for (AbstractMaterialRequestPriorityQueue requestQueue : requestQueues) {
+			openDeliveries += requestQueue.getNumberOfOpenDeliveries();
+		}
+		return openDeliveries;
+	}
 
-		jobless.deliver(materialType, offer, request);
+	public MaterialDistributionStatistics getStatistics() {
+		return statistics;
 	}
 
 	public void movePositionTo(ShortPoint2D position, MaterialsManager newManager) {
@@ -130,4 +300,51 @@ public final class MaterialsManager implements Serializable {
 			requestQueues[i].mergeInto(newManager.requestQueues[i]);
 		}
 	}
+
+	/**
+	 * Ranks the offers by their walking distance. The offers the distance field doesn't know are ranked by a lower bound of it, see
+	 * {@link DistanceField#getMinimumDistance(int, int)}, so an offer is found even if the distances don't cover it.
+	 */
+	private static final class WalkingDistanceCost implements ICostFunction {
+		private final DistanceField distances;
+
+		WalkingDistanceCost(DistanceField distances) {
+			this.distances = distances;
+		}
+
+		@Override
+		public int getCost(ShortPoint2D position) {
+			return distances.getMinimumDistance(position.x, position.y);
+		}
+
+		@Override
+		public int getMinimumCost(int axisDistance) {
+			return axisDistance; // every step changes x and y by one at most
+		}
+	}
+
+	/**
+	 * A chosen delivery. The offer and the request count it as accepted until it's assigned to a bearer, so it isn't chosen twice.
+	 */
+	private static final class Delivery {
+		private final EMaterialType         materialType;
+		private final MaterialOffer         offer;
+		private final MaterialRequestObject request;
+		private final int                   distance;
+
+		Delivery(EMaterialType materialType, MaterialOffer offer, MaterialRequestObject request, int distance) {
+			this.materialType = materialType;
+			this.offer = offer;
+			this.request = request;
+			this.distance = distance;
+
+			offer.distributionAccepted();
+			request.deliveryAccepted();
+		}
+
+		void cancelReservation() {
+			offer.distributionAborted();
+			request.deliveryAborted();
+		}
+	}
 }
@@ -36,7 +36,12 @@ public interface IJoblessSupplier extends Serializable {
 	boolean isEmpty();
 
 	/**
-	 * This method returns the jobless closest to the given position.
+	 * @return Returns the number of jobless.
+	 */
+	int getNumberOfJobless();
+
+	/**
+	 * This method returns the jobless closest to the given position without removing it.
 	 * 
 	 * @param position
 	 *            The position is used as the center of the search for a jobless.
@@ -44,6 +49,14 @@ public interface IJoblessSupplier extends Serializable {
 	 * @return Returns the jobless closest to the given position<br>
 	 *         or null if none has been found.
 	 */
-	IManagerBearer removeJoblessCloseTo(ShortPoint2D position);
+	IManagerBearer getJoblessCloseTo(ShortPoint2D position);
+
+	/**
+	 * Removes the given jobless, because it got a job.
+	 * 
+	 * @param jobless
+	 *            A jobless of this {@link IJoblessSupplier}.
+	 */
+	void removeJobless(IManagerBearer jobless);
 
 }
@@ -18,6 +18,7 @@ import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.partition.data.MaterialCounts;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IOfferEmptiedListener;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.list.ICostFunction;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.PrioritizedPositionableList;
 
 import java.io.Serializable;
@@ -115,6 +116,21 @@ public final class OffersList implements Serializable {
 		return offerSlot.getObjectCloseTo(position, minimumIncludedPriority);
 	}
 
+	/**
+	 * @param materialType
+	 * 		{@link EMaterialType} of the offer.
+	 * @param center
+	 * 		The position to be used for the search.
+	 * @param cost
+	 * 		The cost of the offers.
+	 * @return Returns the offer of the given {@link EMaterialType} with the lowest cost or <br>
+	 * null if no offer for the given {@link EMaterialType} has a cost below {@link ICostFunction#NOT_REACHABLE}.
+	 */
+	public MaterialOffer getOfferWithLowestCost(EMaterialType materialType, EOfferPriority minimumIncludedPriority, ShortPoint2D center, ICostFunction cost) {
+		PrioritizedPositionableList<EOfferPriority, MaterialOffer> offerSlot = offersLists[materialType.ordinal];
+		return offerSlot.getObjectWithLowestCost(center, minimumIncludedPriority, cost);
+	}
+
 	/**
 	 * FOR TESTS ONLY!
 	 *
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The cost of taking an object at a position, used to find the cheapest object of a {@link ManagingPositionableList} around a center.
+ */
+public interface ICostFunction {
+	/**
+	 * The cost of positions that can't be used at all.
+	 */
+	int NOT_REACHABLE = Integer.MAX_VALUE;
+
+	/**
+	 * @return the cost of an object at the given position or {@link #NOT_REACHABLE}.
+	 */
+	int getCost(ShortPoint2D position);
+
+	/**
+	 * @return a lower bound of the costs of all positions that are at least the given distance away from the center on the x or the y axis.
+	 */
+	int getMinimumCost(int axisDistance);
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import java.io.ObjectStreamClass;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
+
+/**
+ * The serialized form of a {@link ManagingPositionableList} in savegames of the legacy format, when it extended {@link PositionableList} and stored
+ * its objects in the list of the super class. It's replaced by a {@link ManagingPositionableList} with the same objects while it is read.
+ *
+ * @param <T>
+ */
+public final class LegacyManagingPositionableList<T extends ILocatable & IListManageable> extends PositionableList<T> {
+	private static final long serialVersionUID = 5373491460834642792L; // the one of the legacy ManagingPositionableList
+
+	private LegacyManagingPositionableList() {
+	}
+
+	/**
+	 * @param descriptor
+	 *            A class descriptor read from a savegame.
+	 * @return The descriptor of this class if the given one describes a {@link ManagingPositionableList} of the legacy format, otherwise the given
+	 *         descriptor.
+	 */
+	public static ObjectStreamClass replaceLegacyDescriptor(ObjectStreamClass descriptor) {
+		if (descriptor.getName().equals(ManagingPositionableList.class.getName()) && descriptor.getFields().length == 0) {
+			return ObjectStreamClass.lookup(LegacyManagingPositionableList.class);
+		}
+		return descriptor;
+	}
+
+	private Object readResolve() {
+		ManagingPositionableList<T> list = new ManagingPositionableList<>();
+		for (T object : data) {
+			list.insert(object);
+		}
+		return list;
+	}
+}
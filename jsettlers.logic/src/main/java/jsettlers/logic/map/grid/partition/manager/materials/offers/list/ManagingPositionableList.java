@@ -14,56 +14,456 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import java8.util.function.Consumer;
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.MathUtils;
-import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * The objects are kept in buckets of {@link #BUCKET_SIZE} x {@link #BUCKET_SIZE} positions, so the nearest object is found by looking at the buckets
+ * around the position instead of all objects. The positions of the objects must not change while they are in the list. Every object gets a
+ * sequence number when it's added, ties are broken by it. So the results are the same as the ones of a list in the order of the insertions.
+ * <p>
+ * Objects that {@link IListManageable#canBeRemoved() can be removed} are dropped whenever their bucket is looked at.
+ * <p>
+ * Savegames of the legacy format contain this list in the form of a {@link LegacyManagingPositionableList}.
  *
  * @param <T>
  * @author Andreas Eberle
  */
-public class ManagingPositionableList<T extends ILocatable & IListManageable> extends PositionableList<T> {
+public class ManagingPositionableList<T extends ILocatable & IListManageable> implements Serializable {
+	private static final long serialVersionUID = 5373491460834642792L;
 
-	@Override
-	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
+	private static final int BUCKET_SHIFT = 4;
+	static final int         BUCKET_SIZE  = 1 << BUCKET_SHIFT;
 
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
-			T currEntry = iterator.next();
+	private transient Map<Integer, Bucket<T>> buckets = new HashMap<>();
+	private long nextSequence;
 
-			if (currEntry.canBeRemoved()) { // remove old entries no longer needed
-				iterator.remove();
+	private int minBucketX = Integer.MAX_VALUE;
+	private int maxBucketX = Integer.MIN_VALUE;
+	private int minBucketY = Integer.MAX_VALUE;
+	private int maxBucketY = Integer.MIN_VALUE;
+
+	public void insert(T object) {
+		ShortPoint2D position = object.getPosition();
+		int bucketX = position.x >> BUCKET_SHIFT;
+		int bucketY = position.y >> BUCKET_SHIFT;
+
+		Bucket<T> bucket = buckets.get(getKey(bucketX, bucketY));
+		if (bucket == null) {
+			bucket = new Bucket<>();
+			buckets.put(getKey(bucketX, bucketY), bucket);
+			minBucketX = Math.min(minBucketX, bucketX);
+			maxBucketX = Math.max(maxBucketX, bucketX);
+			minBucketY = Math.min(minBucketY, bucketY);
+			maxBucketY = Math.max(maxBucketY, bucketY);
+		} else if (bucket.indexOf(object) >= 0) {
+			return;
+		}
+		bucket.add(object, nextSequence++);
+	}
+
+	/**
+	 * Returns the first object at the given position or null.
+	 */
+	public T getObjectAt(ShortPoint2D position) {
+		Bucket<T> bucket = getBucket(position);
+		int index = bucket != null ? bucket.indexOfFirstAt(position) : -1;
+		return index >= 0 ? bucket.get(index) : null;
+	}
+
+	public T removeObjectAt(ShortPoint2D position) {
+		Bucket<T> bucket = getBucket(position);
+		int index = bucket != null ? bucket.indexOfFirstAt(position) : -1;
+		if (index < 0) {
+			return null;
+		}
+
+		T object = bucket.get(index);
+		bucket.remove(index);
+		removeIfEmpty(position, bucket);
+		return object;
+	}
+
+	public void remove(T object) {
+		Bucket<T> bucket = getBucket(object.getPosition());
+		int index = bucket != null ? bucket.indexOf(object) : -1;
+		if (index >= 0) {
+			bucket.remove(index);
+			removeIfEmpty(object.getPosition(), bucket);
+		}
+	}
+
+	/**
+	 * @return the active object closest to the given position or null if there is none. Of objects with the same distance, the first one inserted
+	 * is returned.
+	 */
+	public T getObjectCloseTo(ShortPoint2D position) {
+		return getObjectWithLowestCost(position, new SquaredDistanceCost(position));
+	}
 
-			} else if (currEntry.isActive()) { // only use the active ones
-				int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+	/**
+	 * @param center
+	 * 		The position the search starts at.
+	 * @param cost
+	 * 		The cost of the objects, it must not be lower than {@link ICostFunction#getMinimumCost(int)} of their distance to the center.
+	 * @return the active object with the lowest cost or null if there is none with a cost below {@link ICostFunction#NOT_REACHABLE}. Of objects
+	 * with the same cost, the first one inserted is returned.
+	 */
+	public T getObjectWithLowestCost(ShortPoint2D center, ICostFunction cost) {
+		if (buckets.isEmpty()) {
+			return null;
+		}
+
+		int centerX = center.x >> BUCKET_SHIFT;
+		int centerY = center.y >> BUCKET_SHIFT;
+		int maxRadius = Math.max(Math.max(centerX - minBucketX, maxBucketX - centerX), Math.max(centerY - minBucketY, maxBucketY - centerY));
 
-				if (bestDistance > currDist) {
-					bestDistance = currDist;
-					currBest = currEntry;
+		NearestSearch<T> search = new NearestSearch<>(cost);
+		for (int radius = 0; radius <= maxRadius; radius++) {
+			if (radius > 0) {
+				int minDistance = ((radius - 1) << BUCKET_SHIFT) + 1; // an object in this ring is at least this far away on one axis
+				if (cost.getMinimumCost(minDistance) > search.bestCost) {
+					break;
+				}
+			}
+
+			if (8 * radius >= buckets.size()) { // the ring has more buckets than the list, look at the remaining buckets directly
+				searchBucketsOutside(search, centerX, centerY, radius);
+				break;
+			}
+
+			if (radius == 0) {
+				searchBucket(search, centerX, centerY);
+			} else {
+				for (int dx = -radius; dx <= radius; dx++) {
+					searchBucket(search, centerX + dx, centerY - radius);
+					searchBucket(search, centerX + dx, centerY + radius);
+				}
+				for (int dy = -radius + 1; dy < radius; dy++) {
+					searchBucket(search, centerX - radius, centerY + dy);
+					searchBucket(search, centerX + radius, centerY + dy);
 				}
 			}
 		}
-		return currBest;
+		return search.best;
 	}
 
 	public boolean hasNoActive() {
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
-			T datum = iterator.next();
-
-			if (datum.canBeRemoved()) {
+		for (Iterator<Bucket<T>> iterator = buckets.values().iterator(); iterator.hasNext();) {
+			Bucket<T> bucket = iterator.next();
+			boolean active = bucket.removeRemovableAndCheckActive();
+			if (bucket.size == 0) {
 				iterator.remove();
-
-			} else if (datum.isActive()) {
+			}
+			if (active) {
 				return false;
 			}
 		}
 		return true;
 	}
+
+	public boolean isEmpty() {
+		return buckets.isEmpty();
+	}
+
+	public int size() {
+		int size = 0;
+		for (Bucket<T> bucket : buckets.values()) {
+			size += bucket.size;
+		}
+		return size;
+	}
+
+	/**
+	 * Moves all objects of the other list to the end of this list.
+	 */
+	public void moveAll(ManagingPositionableList<T> otherList, Consumer<T> movedVisitor) {
+		List<Entry<T>> othersEntries = new ArrayList<>();
+		for (Bucket<T> bucket : otherList.buckets.values()) {
+			bucket.addEntriesTo(othersEntries, null);
+		}
+		otherList.clear();
+
+		insertInOrder(othersEntries, movedVisitor);
+	}
+
+	/**
+	 * Moves the objects at the given position to the end of the other list.
+	 */
+	public void moveObjectsAtPositionTo(ShortPoint2D position, ManagingPositionableList<T> newList, Consumer<T> movedVisitor) {
+		Bucket<T> bucket = getBucket(position);
+		if (bucket == null) {
+			return;
+		}
+
+		List<Entry<T>> entries = new ArrayList<>();
+		bucket.addEntriesTo(entries, position);
+		for (Entry<T> entry : entries) {
+			bucket.remove(bucket.indexOf(entry.object));
+		}
+		removeIfEmpty(position, bucket);
+
+		newList.insertInOrder(entries, movedVisitor);
+	}
+
+	@Override
+	public String toString() {
+		List<Entry<T>> entries = new ArrayList<>();
+		for (Bucket<T> bucket : buckets.values()) {
+			bucket.addEntriesTo(entries, null);
+		}
+		Entry.sort(entries);
+		List<T> objects = new ArrayList<>(entries.size());
+		for (Entry<T> entry : entries) {
+			objects.add(entry.object);
+		}
+		return objects.toString();
+	}
+
+	/**
+	 * The buckets are written in the order of their keys, because the iteration order of the map depends on its history.
+	 */
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		List<Integer> keys = new ArrayList<>(buckets.keySet());
+		Collections.sort(keys);
+		oos.writeInt(keys.size());
+		for (int key : keys) {
+			oos.writeInt(key);
+			oos.writeObject(buckets.get(key));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		buckets = new HashMap<>();
+		int numberOfBuckets = ois.readInt();
+		for (int i = 0; i < numberOfBuckets; i++) {
+			int key = ois.readInt();
+			buckets.put(key, (Bucket<T>) ois.readObject());
+		}
+	}
+
+	private void insertInOrder(List<Entry<T>> entries, Consumer<T> movedVisitor) {
+		Entry.sort(entries);
+		for (Entry<T> entry : entries) {
+			movedVisitor.accept(entry.object);
+			insert(entry.object);
+		}
+	}
+
+	private void clear() {
+		buckets.clear();
+		minBucketX = Integer.MAX_VALUE;
+		maxBucketX = Integer.MIN_VALUE;
+		minBucketY = Integer.MAX_VALUE;
+		maxBucketY = Integer.MIN_VALUE;
+	}
+
+	private void searchBucket(NearestSearch<T> search, int bucketX, int bucketY) {
+		if (bucketX < 0 || bucketY < 0) {
+			return;
+		}
+
+		Bucket<T> bucket = buckets.get(getKey(bucketX, bucketY));
+		if (bucket != null) {
+			bucket.search(search);
+			if (bucket.size == 0) {
+				buckets.remove(getKey(bucketX, bucketY));
+			}
+		}
+	}
+
+	private void searchBucketsOutside(NearestSearch<T> search, int centerX, int centerY, int radius) {
+		for (Iterator<Map.Entry<Integer, Bucket<T>>> iterator = buckets.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<Integer, Bucket<T>> entry = iterator.next();
+			int key = entry.getKey();
+			int distance = Math.max(Math.abs((key >>> 16) - centerX), Math.abs((key & 0xFFFF) - centerY));
+			if (distance >= radius) {
+				Bucket<T> bucket = entry.getValue();
+				bucket.search(search);
+				if (bucket.size == 0) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private Bucket<T> getBucket(ShortPoint2D position) {
+		return buckets.get(getKey(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT));
+	}
+
+	private void removeIfEmpty(ShortPoint2D position, Bucket<T> bucket) {
+		if (bucket.size == 0) {
+			buckets.remove(getKey(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT));
+		}
+	}
+
+	private static int getKey(int bucketX, int bucketY) {
+		return bucketX << 16 | bucketY;
+	}
+
+	private static final class Bucket<T extends ILocatable & IListManageable> implements Serializable {
+		private static final long serialVersionUID = 5160926014374216935L;
+
+		private Object[] objects   = new Object[4];
+		private long[]   sequences = new long[4];
+		private int      size;
+
+		@SuppressWarnings("unchecked")
+		T get(int index) {
+			return (T) objects[index];
+		}
+
+		void add(T object, long sequence) {
+			if (size == objects.length) {
+				objects = Arrays.copyOf(objects, size * 2);
+				sequences = Arrays.copyOf(sequences, size * 2);
+			}
+			objects[size] = object;
+			sequences[size] = sequence;
+			size++;
+		}
+
+		void remove(int index) {
+			size--;
+			objects[index] = objects[size];
+			sequences[index] = sequences[size];
+			objects[size] = null;
+		}
+
+		int indexOf(T object) {
+			for (int i = 0; i < size; i++) {
+				if (objects[i] == object) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * @return the index of the first inserted object at the position that can't be removed or -1.
+		 */
+		int indexOfFirstAt(ShortPoint2D position) {
+			removeRemovable();
+
+			int first = -1;
+			for (int i = 0; i < size; i++) {
+				if (get(i).getPosition().equals(position) && (first < 0 || sequences[i] < sequences[first])) {
+					first = i;
+				}
+			}
+			return first;
+		}
+
+		void search(NearestSearch<T> search) {
+			removeRemovable();
+
+			for (int i = 0; i < size; i++) {
+				T object = get(i);
+				if (object.isActive()) {
+					search.offer(object, sequences[i]);
+				}
+			}
+		}
+
+		boolean removeRemovableAndCheckActive() {
+			removeRemovable();
+
+			for (int i = 0; i < size; i++) {
+				if (get(i).isActive()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void addEntriesTo(List<Entry<T>> entries, ShortPoint2D position) {
+			for (int i = 0; i < size; i++) {
+				T object = get(i);
+				if (position == null || object.getPosition().equals(position)) {
+					entries.add(new Entry<>(object, sequences[i]));
+				}
+			}
+		}
+
+		private void removeRemovable() {
+			for (int i = size - 1; i >= 0; i--) {
+				if (get(i).canBeRemoved()) {
+					remove(i);
+				}
+			}
+		}
+	}
+
+	private static final class NearestSearch<T> {
+		private final ICostFunction cost;
+
+		private T    best;
+		private int  bestCost = ICostFunction.NOT_REACHABLE;
+		private long bestSequence;
+
+		NearestSearch(ICostFunction cost) {
+			this.cost = cost;
+		}
+
+		void offer(T object, long sequence) {
+			int objectCost = cost.getCost(((ILocatable) object).getPosition());
+			if (objectCost < bestCost || (objectCost == bestCost && objectCost != ICostFunction.NOT_REACHABLE && sequence < bestSequence)) {
+				best = object;
+				bestCost = objectCost;
+				bestSequence = sequence;
+			}
+		}
+	}
+
+	private static final class SquaredDistanceCost implements ICostFunction {
+		private final ShortPoint2D center;
+
+		SquaredDistanceCost(ShortPoint2D center) {
+			this.center = center;
+		}
+
+		@Override
+		public int getCost(ShortPoint2D position) {
+			return MathUtils.squareHypot(center, position);
+		}
+
+		@Override
+		public int getMinimumCost(int axisDistance) {
+			return MathUtils.squareHypot(axisDistance, 0);
+		}
+	}
+
+	private static final class Entry<T> {
+		private final T    object;
+		private final long sequence;
+
+		Entry(T object, long sequence) {
+			this.object = object;
+			this.sequence = sequence;
+		}
+
+		static <T> void sort(List<Entry<T>> entries) {
+			Collections.sort(entries, (first, second) -> Long.compare(first.sequence, second.sequence));
+		}
+	}
 }
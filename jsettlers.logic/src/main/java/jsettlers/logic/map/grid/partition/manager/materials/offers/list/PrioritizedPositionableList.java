@@ -26,6 +26,8 @@ import java8.util.function.Consumer;
  * Created by Andreas Eberle on 23.08.2016.
  */
 public class PrioritizedPositionableList<P extends Enum, T extends ILocatable & IPrioritizable<P> & IListManageable> implements Serializable {
+	private static final long serialVersionUID = 394190964384458836L;
+
 	private final ManagingPositionableList<T>[] lists;
 
 	@SuppressWarnings("unchecked")
@@ -59,6 +61,26 @@ public class PrioritizedPositionableList<P extends Enum, T extends ILocatable &
 		return closestObject;
 	}
 
+	/**
+	 * @return the active object with the lowest cost of all included priorities or null. On equal costs, the higher priority wins.
+	 * @see ManagingPositionableList#getObjectWithLowestCost(ShortPoint2D, ICostFunction)
+	 */
+	public T getObjectWithLowestCost(ShortPoint2D center, P minimumIncludedPriority, ICostFunction cost) {
+		T cheapestObject = null;
+		int cheapestCost = ICostFunction.NOT_REACHABLE;
+		for (int i = lists.length - 1; i >= minimumIncludedPriority.ordinal(); i--) {
+			T object = lists[i].getObjectWithLowestCost(center, cost);
+			if (object != null) {
+				int objectCost = cost.getCost(object.getPosition());
+				if (cheapestObject == null || objectCost < cheapestCost) {
+					cheapestObject = object;
+					cheapestCost = objectCost;
+				}
+			}
+		}
+		return cheapestObject;
+	}
+
 	public void remove(T offer) {
 		lists[offer.getPriority().ordinal()].remove(offer);
 	}
@@ -103,6 +103,14 @@ public abstract class AbstractMaterialRequestPriorityQueue implements Serializab
 		return null;
 	}
 
+	protected static int countOpenDeliveries(DoubleLinkedList<MaterialRequestObject> queue) {
+		int openDeliveries = 0;
+		for (MaterialRequestObject request : queue) {
+			openDeliveries += request.getOpenDeliveries();
+		}
+		return openDeliveries;
+	}
+
 	/**
 	 * Gets the queue for the given priority and buildingType.
 	 * 
@@ -126,6 +134,11 @@ public abstract class AbstractMaterialRequestPriorityQueue implements Serializab
 	@Override
 	public abstract boolean equals(Object obj);
 
+	/**
+	 * @return Returns the number of deliveries the requests of this queue could accept right now. Stopped requests are not counted.
+	 */
+	public abstract int getNumberOfOpenDeliveries();
+
 	/**
 	 * Removes any requests that are at the given position from this queue and adds them to the given queue.
 	 * 
@@ -125,6 +125,13 @@ public abstract class MaterialRequestObject extends DoubleLinkedListItem<Materia
 		return getStillNeeded() > 0 && inDelivery < getInDeliveryable();
 	}
 
+	/**
+	 * @return Returns the number of deliveries this request could accept right now.
+	 */
+	final int getOpenDeliveries() {
+		return Math.max(0, Math.min(getStillNeeded(), getInDeliveryable() - inDelivery));
+	}
+
 	public EOfferPriority getMinimumAcceptedOfferPriority() {
 		return EOfferPriority.LOWEST;
 	}
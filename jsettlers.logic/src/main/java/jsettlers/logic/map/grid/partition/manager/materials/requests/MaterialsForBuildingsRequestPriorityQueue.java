@@ -117,6 +117,17 @@ public final class MaterialsForBuildingsRequestPriorityQueue extends AbstractMat
 		return null;
 	}
 
+	@Override
+	public int getNumberOfOpenDeliveries() {
+		int openDeliveries = 0;
+		for (int priority = EPriority.NUMBER_OF_PRIORITIES - 1; priority >= 1; priority--) { // skip the EPriority.STOPPED queues (index 0)
+			for (DoubleLinkedList<MaterialRequestObject> queue : queues[priority]) {
+				openDeliveries += countOpenDeliveries(queue);
+			}
+		}
+		return openDeliveries;
+	}
+
 	@Override
 	public void moveObjectsOfPositionTo(ShortPoint2D position, AbstractMaterialRequestPriorityQueue newAbstractQueue) {
 		assert newAbstractQueue instanceof MaterialsForBuildingsRequestPriorityQueue : "can't move positions between different types of queues.";
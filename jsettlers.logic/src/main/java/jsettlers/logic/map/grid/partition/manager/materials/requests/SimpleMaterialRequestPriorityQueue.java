@@ -43,6 +43,15 @@ public final class SimpleMaterialRequestPriorityQueue extends AbstractMaterialRe
 		return super.findRequestInQueue(queues[priority]);
 	}
 
+	@Override
+	public int getNumberOfOpenDeliveries() {
+		int openDeliveries = 0;
+		for (int priority = EPriority.NUMBER_OF_PRIORITIES - 1; priority >= 1; priority--) { // skip the EPriority.STOPPED queue (index 0)
+			openDeliveries += countOpenDeliveries(queues[priority]);
+		}
+		return openDeliveries;
+	}
+
 	@Override
 	public void moveObjectsOfPositionTo(ShortPoint2D position, AbstractMaterialRequestPriorityQueue newAbstractQueue) {
 		assert newAbstractQueue instanceof SimpleMaterialRequestPriorityQueue : "can't move positions between diffrent types of queues.";
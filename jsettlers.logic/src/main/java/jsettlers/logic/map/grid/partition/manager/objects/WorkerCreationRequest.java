@@ -22,6 +22,9 @@ import jsettlers.common.position.ILocatable;
 public abstract class WorkerCreationRequest implements ILocatable, Serializable {
 	private static final long serialVersionUID = 7966882666760169041L;
 
+	/**
+	 * Only set in savegames of the legacy format, the queue of the requests keeps it for every type now.
+	 */
 	private boolean toolProductionRequired;
 
 	public abstract boolean isRequestAlive();
@@ -31,8 +34,4 @@ public abstract class WorkerCreationRequest implements ILocatable, Serializable
 	public boolean isToolProductionRequired() {
 		return toolProductionRequired;
 	}
-
-	public void setToolProductionRequired(boolean toolProductionRequired) {
-		this.toolProductionRequired = toolProductionRequired;
-	}
 }
\ No newline at end of file
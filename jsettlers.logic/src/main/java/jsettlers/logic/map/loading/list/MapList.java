@@ -14,6 +14,7 @@
  *******************************************************************************/
 package jsettlers.logic.map.loading.list;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,6 +39,7 @@ import jsettlers.logic.map.loading.newmap.FreshMapSerializer;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
+import jsettlers.logic.map.loading.savegame.SavegameOutputStream;
 import jsettlers.logic.timer.RescheduleTimer;
 
 /**
@@ -51,6 +53,10 @@ import jsettlers.logic.timer.RescheduleTimer;
  * @author Andreas Eberle
  */
 public class MapList implements IMapListerCallable {
+	/**
+	 * The savegame is written in chunks of this size, so the compression isn't called for every small write of the serialization.
+	 */
+	private static final int SAVEGAME_CHUNK_SIZE = 64 * 1024;
 
 	/**
 	 * Gives the currently used map extension for saving a map.
@@ -222,7 +228,8 @@ public class MapList implements IMapListerCallable {
 
 		header.writeTo(outStream);
 
-		ObjectOutputStream oos = new ObjectOutputStream(outStream);
+		ObjectOutputStream oos = new SavegameOutputStream(new BufferedOutputStream(outStream, SAVEGAME_CHUNK_SIZE));
+		GameSerializer.writeFormatVersion(oos);
 		MatchConstants.serialize(oos);
 		oos.writeObject(playerStates);
 		GameSerializer gameSerializer = new GameSerializer();
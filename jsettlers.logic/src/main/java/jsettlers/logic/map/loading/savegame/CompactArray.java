@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import jsettlers.logic.SerializationUtils;
+
+/**
+ * A byte or short array written by a {@link SavegameOutputStream}. It is written with {@link SerializationUtils#writeBytes(ObjectOutputStream, byte[])}
+ * or {@link SerializationUtils#writeShorts(ObjectOutputStream, short[])} and replaces itself with the array while it is read.
+ */
+final class CompactArray implements Serializable {
+	private static final long serialVersionUID = -3262405869186328125L;
+
+	private transient Object array;
+
+	CompactArray(Object array) {
+		this.array = array;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+
+		boolean bytes = array instanceof byte[];
+		oos.writeBoolean(bytes);
+		if (bytes) {
+			SerializationUtils.writeBytes(oos, (byte[]) array);
+		} else {
+			SerializationUtils.writeShorts(oos, (short[]) array);
+		}
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+
+		array = ois.readBoolean() ? SerializationUtils.readBytes(ois) : SerializationUtils.readShorts(ois);
+	}
+
+	private Object readResolve() {
+		return array;
+	}
+}
@@ -20,7 +20,6 @@ import java.io.ObjectInputStream;
 import jsettlers.logic.map.loading.data.IMapData;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.input.PlayerState;
-import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.loading.EMapStartResources;
 import jsettlers.logic.map.grid.GameSerializer;
 import jsettlers.logic.map.grid.MainGrid;
@@ -43,11 +42,11 @@ public class SavegameLoader extends RemakeMapLoader {
 
 		@Override
 	public MainGridWithUiSettings loadMainGrid(PlayerSetting[] playerSettings, EMapStartResources startResources) throws MapLoadException {
-		try (ObjectInputStream ois = new ObjectInputStream(super.getMapDataStream())) {
-			MatchConstants.deserialize(ois);
+		try (ObjectInputStream ois = new SavegameInputStream(super.getMapDataStream())) {
+			short formatVersion = GameSerializer.readFormatAndMatchConstants(ois);
 			PlayerState[] playerStates = (PlayerState[]) ois.readObject();
 			GameSerializer gameSerializer = new GameSerializer();
-			MainGrid mainGrid = gameSerializer.load(ois);
+			MainGrid mainGrid = gameSerializer.load(ois, formatVersion);
 			mainGrid.initWithPlayerSettings(playerSettings);
 			RescheduleTimer.loadFrom(ois);
 
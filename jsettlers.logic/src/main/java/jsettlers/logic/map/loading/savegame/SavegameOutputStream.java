@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes the game state of a savegame. The large byte and short arrays of the grids are replaced by a {@link CompactArray}, which writes them run
+ * length encoded. So the grids keep their arrays in plain fields and are read the same way from savegames of the legacy format, which contain the
+ * arrays as they are.
+ */
+public class SavegameOutputStream extends ObjectOutputStream {
+	private static final int MIN_COMPACT_LENGTH = 256;
+
+	public SavegameOutputStream(OutputStream out) throws IOException {
+		super(out);
+		enableReplaceObject(true);
+	}
+
+	@Override
+	protected Object replaceObject(Object object) {
+		if (object instanceof byte[] && ((byte[]) object).length >= MIN_COMPACT_LENGTH
+				|| object instanceof short[] && ((short[]) object).length >= MIN_COMPACT_LENGTH) {
+			return new CompactArray(object); // further references to the array are written as references to the first replacement
+		}
+		return object;
+	}
+}
@@ -15,6 +15,7 @@
 package jsettlers.logic.movable;
 
 import jsettlers.algorithms.fogofwar.FoWTask;
+import jsettlers.algorithms.fogofwar.TeamVisibility;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper;
 import jsettlers.algorithms.simplebehaviortree.IBooleanConditionFunction;
@@ -64,6 +65,7 @@ import jsettlers.logic.movable.specialist.GeologistMovable;
 import jsettlers.logic.movable.specialist.PioneerMovable;
 import jsettlers.logic.movable.specialist.ThiefMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.IPreparableTimerable;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -79,7 +81,7 @@ import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
  *
  * @author Andreas Eberle
  */
-public abstract class Movable implements ILogicMovable, FoWTask {
+public abstract class Movable implements ILogicMovable, IPreparableTimerable, FoWTask {
 	private static final long serialVersionUID = -705947810059935866L;
 
 	private static final int SHIP_PUSH_DISTANCE = 10;
@@ -102,6 +104,11 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	private short animationDuration;
 
 	public transient ShortPoint2D oldFowPosition = null;
+	transient TeamVisibility.Source visionSource;
+	/**
+	 * The slot of this movable in the {@link MovableStore}. It is only valid while the movable is registered in the {@link MovableManager}.
+	 */
+	transient int storeSlot = -1;
 	protected ShortPoint2D position;
 
 	protected Path path;
@@ -446,6 +453,13 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		return delay;
 	}
 
+	/**
+	 * Movables that search targets in their behaviour can do the search here, see {@link IPreparableTimerable}.
+	 */
+	@Override
+	public void prepareTimerEvent() {
+	}
+
 	private void pushShips() {
 		if(!isShip()) return;
 
@@ -500,6 +514,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 				mov.grid.enterPosition(targetPosition, mov, false);
 				realMov.position = targetPosition;
 				realMov.isRightstep = !realMov.isRightstep;
+				MovableManager.fowChanged(realMov);
+				realMov.updateStore();
 
 			}),
 			playAction(EMovableAction.WALKING, mov -> mov.getMovableType().getStepDurationMs())
@@ -675,6 +691,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		}
 
 		this.position = position;
+		MovableManager.fowChanged(this);
+		updateStore();
 	}
 
 	public final void setVisible(boolean visible) {
@@ -820,6 +838,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	 */
 	protected void setState(EMovableState newState) {
 		this.state = newState;
+		MovableManager.fowChanged(this);
 	}
 
 	/**
@@ -863,6 +882,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		this.state = EMovableState.DEAD;
 		this.selected = false;
 		position = null;
+		MovableManager.fowChanged(this);
+		updateStore();
 	}
 
 	public boolean isOnFerry() {
@@ -993,6 +1014,13 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		this.direction = direction;
 	}
 
+	/**
+	 * Writes the position of this movable to the {@link MovableStore}. Needs to be called whenever the position changes.
+	 */
+	protected final void updateStore() {
+		MovableManager.movables.positionChanged(this);
+	}
+
 	public void addEffect(EEffectType effect) {
 		effectEnd.put(effect, effect.getTime()*1000 + MatchConstants.clock().getTime());
 	}
@@ -3,34 +3,36 @@ package jsettlers.logic.movable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
+import jsettlers.algorithms.fogofwar.TeamVisibility;
 import jsettlers.algorithms.simplebehaviortree.Root;
 import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameSerializer;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.timer.RescheduleTimer;
 
 public final class MovableManager {
 
-	static final HashMap<Integer, ILogicMovable> movablesByID = new HashMap<>();
-	static final ConcurrentLinkedQueue<ILogicMovable> allMovables  = new ConcurrentLinkedQueue<>();
-	static       int                                  nextID       = Integer.MIN_VALUE;
+	static final MovableRegistry movables = new MovableRegistry();
+	static       int             nextID   = Integer.MIN_VALUE;
 	static byte fowTeam = -1;
+	static TeamVisibility teamVisibility;
 
 	private static final Map<EMovableType, Root<Movable>> BEHAVIOUR_TREES = new EnumMap<>(EMovableType.class);
 
 	public static void initFow(byte fow) {
 		fowTeam = fow;
-		for(ILogicMovable lm : allMovables) {
+		for(ILogicMovable lm : movables.snapshot()) {
 			if(lm instanceof Movable) {
 				Movable mv = (Movable) lm;
 				if(MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR || lm.getPlayer().getTeamId() == fowTeam) {
@@ -40,19 +42,32 @@ public final class MovableManager {
 		}
 	}
 
+	public static void initTeamVisibility(TeamVisibility visibility) {
+		teamVisibility = visibility;
+		for(ILogicMovable lm : movables.snapshot()) {
+			if(lm instanceof Movable) {
+				updateVisibility((Movable) lm);
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
-	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+	public static void readStaticState(ObjectInputStream ois, short formatVersion) throws IOException, ClassNotFoundException {
 		nextID = ois.readInt();
-		allMovables.clear();
+		movables.clear();
 		fowTeam = -1;
-		allMovables.addAll((Collection<? extends ILogicMovable>) ois.readObject());
-		movablesByID.putAll(SerializationUtils.readHashMap(ois));
+		teamVisibility = null;
+		for (ILogicMovable movable : (Collection<? extends ILogicMovable>) ois.readObject()) {
+			movables.add(movable);
+		}
+		if (formatVersion == GameSerializer.LEGACY_FORMAT_VERSION) {
+			SerializationUtils.readHashMap(ois); // the id map of the legacy format, the ids are known by the movables
+		}
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
 		oos.writeInt(nextID);
-		oos.writeObject(allMovables);
-		SerializationUtils.writeHashMap(oos, movablesByID);
+		oos.writeObject(new ArrayList<>(movables.snapshot()));
 	}
 
 	/**
@@ -64,18 +79,36 @@ public final class MovableManager {
 	 * or null if the id can not be found
 	 */
 	public static ILogicMovable getMovableByID(int id) {
-		return movablesByID.get(id);
+		return movables.get(id);
+	}
+
+	/**
+	 * @return the position, the player and the type of all movables in primitive arrays. The slots of the store change when movables are removed,
+	 * so it may only be used by the game thread. Other threads use {@link #scanMovableStore(MovableStore.IMovableStoreScanner)}.
+	 */
+	public static MovableStore getMovableStore() {
+		return movables.getStore();
 	}
 
-	public static Queue<ILogicMovable> getAllMovables() {
-		return allMovables;
+	/**
+	 * Lets the scanner read the {@link MovableStore} while no movable is added or removed. The positions may still be changed by the game thread.
+	 */
+	public static void scanMovableStore(MovableStore.IMovableStoreScanner scanner) {
+		movables.scanStore(scanner);
+	}
+
+	/**
+	 * @return a snapshot of all movables, which can be iterated while the movables are changed by the game thread.
+	 */
+	public static List<ILogicMovable> getAllMovables() {
+		return movables.snapshot();
 	}
 
 	public static void resetState() {
-		allMovables.clear();
-		movablesByID.clear();
+		movables.clear();
 		nextID = Integer.MIN_VALUE;
 		fowTeam = -1;
+		teamVisibility = null;
 	}
 
 	static int requestId(Movable movable, Movable replace) {
@@ -91,20 +124,47 @@ public final class MovableManager {
 
 	static void add(Movable movable) {
 
-		movablesByID.put(movable.getID(), movable);
-		allMovables.offer(movable);
-
+		movables.add(movable);
 
-		if((fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || fowTeam == movable.player.getTeamId()) {
+		if(isInFowTeam(movable)) {
 			FogOfWar.instance.refThread.nextTasks.offer(movable);
 		}
+		updateVisibility(movable);
 
 		RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
 	}
 
+	/**
+	 * Called when the position or the state of a movable changed, so that the fog of war only needs to look at the changed movables.
+	 */
+	static void fowChanged(Movable movable) {
+		if(isInFowTeam(movable)) {
+			FogOfWar.queueMovableChange(movable);
+		}
+		updateVisibility(movable);
+	}
+
+	private static void updateVisibility(Movable movable) {
+		if(teamVisibility == null) return;
+
+		if(movable.visionSource == null) {
+			movable.visionSource = new TeamVisibility.Source();
+		}
+		ShortPoint2D position = movable.continueFoW() ? movable.getFoWPosition() : null;
+		teamVisibility.setSource(movable.visionSource, movable.player.getTeamId(), position, movable.getViewDistance());
+	}
+
+	private static boolean isInFowTeam(Movable movable) {
+		return (fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || fowTeam == movable.player.getTeamId();
+	}
+
 	static void remove(Movable movable) {
-		movablesByID.remove(movable.getID());
-		allMovables.remove(movable);
+		movables.remove(movable);
+		RescheduleTimer.cancel(movable);
+
+		if(teamVisibility != null && movable.visionSource != null) {
+			teamVisibility.removeSource(movable.visionSource);
+		}
 	}
 
 	public static <T extends Movable> void registerBehaviour(EMovableType type, Root<T> tree) {
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+
+/**
+ * Registry of all movables with constant time insertion and lookup by id and amortized constant time removal.
+ * <p>
+ * The movables are kept in an array in the order of their additions. Removing a movable leaves a free slot, which is skipped by the iteration. When
+ * half of the slots are free, the remaining movables are moved to the front, keeping their order. The index of every id is stored in an open
+ * addressing hash table with int keys, so no boxing is needed for lookups. A movable that lost its id to a newer movable with the same id is found
+ * by its identity in a separate map of replaced movables, which is usually empty. As the savegames and the AI use the iteration order, it is part of the game
+ * state and is the same as the order of the former queue of all movables.
+ * <p>
+ * Other threads iterate over an immutable snapshot, which is created lazily after the registry was changed.
+ * <p>
+ * The {@link MovableStore} holds the state of the movable at the same index.
+ */
+final class MovableRegistry {
+	private static final int   INITIAL_CAPACITY = 64;
+	private static final int   NO_INDEX         = -1;
+	private static final float MAX_LOAD_FACTOR  = 0.5f;
+
+	private ILogicMovable[] movables = new ILogicMovable[INITIAL_CAPACITY];
+	private int             end;
+	private int             size;
+
+	private final MovableStore store = new MovableStore(INITIAL_CAPACITY);
+
+	private int[] tableIds     = new int[2 * INITIAL_CAPACITY];
+	private int[] tableIndexes = createEmptyTable(2 * INITIAL_CAPACITY);
+	private int   tableSize;
+
+	private final Map<ILogicMovable, Integer> replacedIndexes = new IdentityHashMap<>();
+
+	private List<ILogicMovable> snapshot = Collections.emptyList();
+	private boolean             snapshotValid = true;
+
+	/**
+	 * Adds the movable at the end of the iteration order. An existing movable with the same id is no longer found by its id, but stays in the
+	 * iteration order until it is removed.
+	 */
+	synchronized void add(ILogicMovable movable) {
+		if (end == movables.length) {
+			if (size > end / 2) {
+				movables = Arrays.copyOf(movables, end * 2);
+			} else {
+				compact();
+			}
+		}
+
+		int index = end++;
+		movables[index] = movable;
+		attachToStore(movable, store.addSlot());
+		size++;
+
+		int id = movable.getID();
+		int slot = findSlot(id);
+		if (tableIndexes[slot] == NO_INDEX) {
+			tableIds[slot] = id;
+			tableIndexes[slot] = index;
+
+			if (++tableSize > tableIds.length * MAX_LOAD_FACTOR) {
+				resizeTable(tableIds.length * 2);
+			}
+		} else {
+			replacedIndexes.put(movables[tableIndexes[slot]], tableIndexes[slot]);
+			tableIndexes[slot] = index;
+		}
+		snapshotValid = false;
+	}
+
+	/**
+	 * Removes the movable, if it is registered. If the movable was replaced by another movable with the same id, the id stays assigned to the other
+	 * movable.
+	 */
+	synchronized void remove(ILogicMovable movable) {
+		int slot = findSlot(movable.getID());
+		int index = tableIndexes[slot];
+		if (index != NO_INDEX && movables[index] == movable) {
+			deleteSlot(slot);
+			tableSize--;
+		} else {
+			Integer replacedIndex = replacedIndexes.remove(movable);
+			if (replacedIndex == null) {
+				return;
+			}
+			index = replacedIndex;
+		}
+
+		movables[index] = null;
+		store.freeSlot(index);
+		size--;
+		if (size == 0) {
+			end = 0;
+			store.clear();
+		} else if (size < end / 2 && end > INITIAL_CAPACITY) {
+			compact();
+		}
+		snapshotValid = false;
+	}
+
+	synchronized ILogicMovable get(int id) {
+		int index = tableIndexes[findSlot(id)];
+		return index == NO_INDEX ? null : movables[index];
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+	synchronized void clear() {
+		Arrays.fill(movables, 0, end, null);
+		end = 0;
+		size = 0;
+		store.clear();
+		Arrays.fill(tableIndexes, NO_INDEX);
+		tableSize = 0;
+		replacedIndexes.clear();
+		snapshotValid = false;
+	}
+
+	/**
+	 * @return an immutable list of all movables in iteration order. The list isn't changed by later modifications of the registry.
+	 */
+	synchronized List<ILogicMovable> snapshot() {
+		if (!snapshotValid) {
+			ILogicMovable[] registered = new ILogicMovable[size];
+			for (int index = 0, count = 0; index < end; index++) {
+				if (movables[index] != null) {
+					registered[count++] = movables[index];
+				}
+			}
+			snapshot = Collections.unmodifiableList(Arrays.asList(registered));
+			snapshotValid = true;
+		}
+		return snapshot;
+	}
+
+	MovableStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Scans the {@link MovableStore} while no movable can be added or removed.
+	 */
+	synchronized void scanStore(MovableStore.IMovableStoreScanner scanner) {
+		scanner.scan(store);
+	}
+
+	/**
+	 * Writes the position of the movable to its slot of the {@link MovableStore}. Movables that are not registered are ignored. This is only called
+	 * by the game thread, which is the only one changing the registry, so no lock is needed.
+	 */
+	void positionChanged(Movable movable) {
+		int index = movable.storeSlot;
+		if (index >= 0 && index < end && movables[index] == movable) {
+			store.writePosition(index, movable.getPosition());
+		}
+	}
+
+	private void attachToStore(ILogicMovable movable, int index) {
+		if (movable instanceof Movable) {
+			Movable storedMovable = (Movable) movable;
+			storedMovable.storeSlot = index;
+			store.write(index, storedMovable.getPosition(), storedMovable.getPlayer().getPlayerId(), storedMovable.getMovableType());
+		}
+	}
+
+	/**
+	 * Moves the movables to the front, keeping their order, and updates their indexes.
+	 */
+	private void compact() {
+		int target = 0;
+		for (int index = 0; index < end; index++) {
+			ILogicMovable movable = movables[index];
+			if (movable == null) {
+				continue;
+			}
+
+			if (index != target) {
+				movables[target] = movable;
+				store.moveSlot(index, target);
+				if (movable instanceof Movable) {
+					((Movable) movable).storeSlot = target;
+				}
+				int slot = findSlot(movable.getID());
+				if (tableIndexes[slot] == index) {
+					tableIndexes[slot] = target;
+				} else {
+					replacedIndexes.put(movable, target);
+				}
+			}
+			target++;
+		}
+		Arrays.fill(movables, target, end, null);
+		store.truncate(target);
+		end = target;
+	}
+
+	private int findSlot(int id) {
+		int mask = tableIds.length - 1;
+		int slot = hash(id) & mask;
+		while (tableIndexes[slot] != NO_INDEX && tableIds[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Empties the slot and moves following entries of the probe sequence back, so no tombstones are needed.
+	 */
+	private void deleteSlot(int slot) {
+		int mask = tableIds.length - 1;
+		int free = slot;
+		int current = slot;
+
+		while (true) {
+			current = (current + 1) & mask;
+			if (tableIndexes[current] == NO_INDEX) {
+				break;
+			}
+
+			int home = hash(tableIds[current]) & mask;
+			if (((current - home) & mask) >= ((current - free) & mask)) {
+				tableIds[free] = tableIds[current];
+				tableIndexes[free] = tableIndexes[current];
+				free = current;
+			}
+		}
+		tableIndexes[free] = NO_INDEX;
+	}
+
+	private void resizeTable(int capacity) {
+		int[] oldIds = tableIds;
+		int[] oldIndexes = tableIndexes;
+		tableIds = new int[capacity];
+		tableIndexes = createEmptyTable(capacity);
+
+		for (int slot = 0; slot < oldIds.length; slot++) {
+			if (oldIndexes[slot] != NO_INDEX) {
+				int newSlot = findSlot(oldIds[slot]);
+				tableIds[newSlot] = oldIds[slot];
+				tableIndexes[newSlot] = oldIndexes[slot];
+			}
+		}
+	}
+
+	private static int[] createEmptyTable(int capacity) {
+		int[] table = new int[capacity];
+		Arrays.fill(table, NO_INDEX);
+		return table;
+	}
+
+	private static int hash(int id) {
+		int hash = id * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.util.Arrays;
+
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The position, the player and the type of all movables in primitive arrays. Slot i holds the state of the movable at index i of the
+ * {@link MovableRegistry}, so code that looks at all movables can scan the arrays linearly instead of following the pointers of every
+ * {@link Movable}. The slots of removed movables have no position and the player {@link #NO_PLAYER} until the registry moves the following slots
+ * to the front.
+ * <p>
+ * The player and the type of a movable never change, they are written when it's registered. The {@link Movable}s write their position through to
+ * the store whenever it changes. They stay the owners of the state, the store isn't saved.
+ * <p>
+ * Only the game thread changes the store. Other threads must scan it with {@link MovableManager#scanMovableStore(IMovableStoreScanner)}, which holds
+ * the lock of the registry, so no slot is moved while they read it.
+ */
+public final class MovableStore {
+	/**
+	 * The x coordinate of movables without a position.
+	 */
+	public static final short NO_POSITION = -1;
+	/**
+	 * The player id of free slots.
+	 */
+	public static final byte  NO_PLAYER   = -1;
+
+	/**
+	 * Reads the {@link MovableStore} while no movable is added or removed.
+	 */
+	public interface IMovableStoreScanner {
+		void scan(MovableStore store);
+	}
+
+	private short[] x;
+	private short[] y;
+	private byte[]  playerId;
+	private byte[]  movableType;
+	private int     size;
+
+	MovableStore(int capacity) {
+		x = new short[capacity];
+		y = new short[capacity];
+		playerId = new byte[capacity];
+		movableType = new byte[capacity];
+	}
+
+	/**
+	 * @return the number of slots. The slots 0 to size - 1 are used or free.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the x coordinate or {@link #NO_POSITION}.
+	 */
+	public short getX(int slot) {
+		return x[slot];
+	}
+
+	public short getY(int slot) {
+		return y[slot];
+	}
+
+	public byte getPlayerId(int slot) {
+		return playerId[slot];
+	}
+
+	public EMovableType getMovableType(int slot) {
+		return EMovableType.VALUES[movableType[slot]];
+	}
+
+	/**
+	 * Adds a slot at the end.
+	 *
+	 * @return the new slot.
+	 */
+	int addSlot() {
+		int slot = size;
+		if (slot == x.length) {
+			int capacity = Math.max(slot * 2, 16);
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			playerId = Arrays.copyOf(playerId, capacity);
+			movableType = Arrays.copyOf(movableType, capacity);
+		}
+		size = slot + 1;
+		return slot;
+	}
+
+	/**
+	 * Marks the slot as free. It's still counted by {@link #size()}.
+	 */
+	void freeSlot(int slot) {
+		x[slot] = NO_POSITION;
+		y[slot] = NO_POSITION;
+		playerId[slot] = NO_PLAYER;
+	}
+
+	/**
+	 * Copies the state of a slot to another slot.
+	 */
+	void moveSlot(int from, int to) {
+		x[to] = x[from];
+		y[to] = y[from];
+		playerId[to] = playerId[from];
+		movableType[to] = movableType[from];
+	}
+
+	/**
+	 * Removes all slots from the given one on.
+	 */
+	void truncate(int size) {
+		this.size = size;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	void write(int slot, ShortPoint2D position, byte playerId, EMovableType movableType) {
+		writePosition(slot, position);
+		this.playerId[slot] = playerId;
+		this.movableType[slot] = (byte) movableType.ordinal();
+	}
+
+	void writePosition(int slot, ShortPoint2D position) {
+		if (position != null) {
+			x[slot] = position.x;
+			y[slot] = position.y;
+		} else {
+			x[slot] = NO_POSITION;
+			y[slot] = NO_POSITION;
+		}
+	}
+}
@@ -225,6 +225,14 @@ public abstract class AbstractStrategyGrid implements Serializable {
 	public abstract IAttackable getEnemyInSearchArea(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
 													 boolean includeTowers);
 
+	/**
+	 * Counts the changes of the attackables that {@link #getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean)} looks at with the
+	 * same parameters. As long as the result of this method doesn't change, the search finds the same enemy.
+	 *
+	 * @return A number that changes whenever an attackable enters or leaves the area of the search.
+	 */
+	public abstract int getEnemySearchModifications(ShortPoint2D centerPos, IAttackable movable, short maxSearchRadius, boolean includeTowers);
+
 	/**
 	 * Adds an arrow object to the map flying from
 	 *
@@ -23,6 +23,7 @@ import jsettlers.logic.player.Player;
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
 
 public abstract class SoldierMovable extends AttackableHumanMovable implements ISoldierMovable {
+	private static final long serialVersionUID = 9202753967337633187L;
 
 	protected IAttackable enemy;
 
@@ -41,6 +42,13 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 	private IAttackable toCloseEnemy;
 	private ShortPoint2D startPoint;
 
+	private transient boolean      enemyPrepared;
+	private transient IAttackable  preparedEnemy;
+	private transient ShortPoint2D preparedAttackPosition;
+	private transient short        preparedMaxSearchDistance;
+	private transient boolean      preparedIncludeTowers;
+	private transient int          preparedModifications;
+
 
 	public SoldierMovable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable movable) {
 		super(grid, movableType, position, player, movable);
@@ -224,12 +232,50 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 
 	private static Node<SoldierMovable> findEnemy() {
 		return condition(mov -> {
-			mov.enemy = mov.grid.getEnemyInSearchArea(mov.getAttackPosition(), mov, mov.getMinSearchDistance(), mov.getMaxSearchDistance(), !mov.defending);
+			mov.enemy = mov.findEnemyInSearchArea();
 			if(mov.enemy instanceof IThiefMovable) ((IThiefMovable)mov.enemy).uncoveredBy(mov.player.getTeamId());
 			return mov.enemy != null;
 		});
 	}
 
+	private IAttackable findEnemyInSearchArea() {
+		ShortPoint2D attackPosition = getAttackPosition();
+		boolean includeTowers = !defending;
+
+		if (enemyPrepared) {
+			enemyPrepared = false;
+			// the prepared enemy is only the result of the search if the movables updated before this one changed nothing in the search area
+			if (attackPosition.equals(preparedAttackPosition) && getMaxSearchDistance() == preparedMaxSearchDistance && includeTowers == preparedIncludeTowers
+				&& grid.getEnemySearchModifications(attackPosition, this, preparedMaxSearchDistance, includeTowers) == preparedModifications) {
+				return preparedEnemy;
+			}
+		}
+
+		return grid.getEnemyInSearchArea(attackPosition, this, getMinSearchDistance(), getMaxSearchDistance(), includeTowers);
+	}
+
+	@Override
+	public void prepareTimerEvent() {
+		if (!isAlive() || !enemyNearby && !defending) {
+			return;
+		}
+
+		preparedAttackPosition = getAttackPosition();
+		preparedMaxSearchDistance = getMaxSearchDistance();
+		preparedIncludeTowers = !defending;
+		preparedModifications = grid.getEnemySearchModifications(preparedAttackPosition, this, preparedMaxSearchDistance, preparedIncludeTowers);
+		preparedEnemy = grid.getEnemyInSearchArea(preparedAttackPosition, this, getMinSearchDistance(), preparedMaxSearchDistance, preparedIncludeTowers);
+		enemyPrepared = true;
+	}
+
+	@Override
+	public int timerEvent() {
+		int delay = super.timerEvent();
+		enemyPrepared = false; // only the first search of this update may use the prepared enemy
+		preparedEnemy = null;
+		return delay;
+	}
+
 	private static Node<SoldierMovable> attackEnemy() {
 		return sequence(
 				condition(SoldierMovable::isEnemyAttackable),
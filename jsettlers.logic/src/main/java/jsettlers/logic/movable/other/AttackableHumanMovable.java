@@ -28,6 +28,7 @@ public class AttackableHumanMovable extends AttackableMovable implements IAttack
 	@Override
 	public void leaveFerryAt(ShortPoint2D position) {
 		this.position = position;
+		updateStore();
 		setState(Movable.EMovableState.ACTIVE);
 
 		grid.enterPosition(position, this, true);
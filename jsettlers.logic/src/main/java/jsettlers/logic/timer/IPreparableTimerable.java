@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+/**
+ * A {@link IScheduledTimerable} that can prepare its next {@link #timerEvent()}.
+ * <p>
+ * If {@link jsettlers.logic.constants.MatchConstants#ENABLE_PARALLEL_MOVABLE_UPDATE} is set, the {@link RescheduleTimer} calls
+ * {@link #prepareTimerEvent()} for all timerables of a time slot in parallel, before their {@link #timerEvent()}s are executed one after the other.
+ */
+public interface IPreparableTimerable extends IScheduledTimerable {
+
+	/**
+	 * Prepares the next call of {@link #timerEvent()}.
+	 * <p>
+	 * NOTE: This method is called concurrently for several timerables. It must only read the state of the game and may only write fields of this
+	 * timerable that are used by the following {@link #timerEvent()}. The result must not depend on the order of the preparations.
+	 */
+	void prepareTimerEvent();
+}
@@ -17,16 +17,32 @@ package jsettlers.logic.timer;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
+/**
+ * Hierarchical timing wheel executing the {@link IScheduledTimerable}s.
+ * <p>
+ * The first level has a slot for every {@link #TIME_SLICE} of the next {@link #FUTURE_TIME} milliseconds. Longer delays are kept in two coarser
+ * levels and an overflow bucket. Their entries are moved to the finer levels when the wheel reaches them.
+ * <p>
+ * The scheduled timerables are stored in a pool of nodes that are linked into the buckets by their indexes, so scheduling and rescheduling doesn't
+ * allocate objects. Additionally, the nodes of every timerable are linked in a hash table to support {@link #cancel(IScheduledTimerable)}.
+ * <p>
+ * The timerables of a slot are executed in the order they have been added. Timerables moved down from a coarser level are appended to the slot.
+ * <p>
+ * If {@link MatchConstants#ENABLE_PARALLEL_MOVABLE_UPDATE} is set, the {@link IPreparableTimerable}s of a slot are prepared in parallel before the
+ * slot is executed. As the preparations only read the game state, the result is the same for any number of threads.
+ */
 public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	private static final long serialVersionUID = -1962430988827211391L;
 
@@ -34,16 +50,78 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	private static final short TIME_SLICE = 25; // ms
 	private static final int TIME_SLOTS = FUTURE_TIME / TIME_SLICE;
 
+	private static final int  COARSE_SLOTS       = 64;
+	private static final long LEVEL1_SLOT_LENGTH = TIME_SLOTS; // in time slices
+	private static final long LEVEL2_SLOT_LENGTH = LEVEL1_SLOT_LENGTH * COARSE_SLOTS;
+
+	private static final int LEVEL1_BUCKETS    = TIME_SLOTS;
+	private static final int LEVEL2_BUCKETS    = LEVEL1_BUCKETS + COARSE_SLOTS;
+	private static final int OVERFLOW_BUCKET   = LEVEL2_BUCKETS + COARSE_SLOTS;
+	private static final int NUMBER_OF_BUCKETS = OVERFLOW_BUCKET + 1;
+
+	private static final int NONE             = -1;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static final int PREPARATION_CHUNK_SIZE = 32;
+
+	/**
+	 * The serialized form is compatible with the former version of this class, which only had the first level.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("timerables", ArrayList[].class),
+		new ObjectStreamField("currTimeSlot", int.class),
+		new ObjectStreamField("currentTime", long.class),
+		new ObjectStreamField("longDelayTimerables", ArrayList.class),
+		new ObjectStreamField("longDelayBuckets", int[].class),
+		new ObjectStreamField("longDelayExpirations", long[].class)
+	};
+
 	private static RescheduleTimer uniIns;
+	private static ForkJoinPool    preparationPool;
 
-	@SuppressWarnings("unchecked")
-	private final ArrayList<IScheduledTimerable> timerables[] = new ArrayList[TIME_SLOTS];
-	private int currTimeSlot = 0;
+	private long currentTime = 0; // in time slices
+
+	private int[] bucketHeads;
+	private int[] bucketTails;
+	private int[] bucketSizes;
+
+	private IScheduledTimerable[] nodeTimerables;
+	private long[]                nodeExpirations;
+	private int[]                 nodeBuckets;
+	private int[]                 nodePrevious;
+	private int[]                 nodeNext;
+	private int[]                 nodeHashNext;
+	private int                   freeNodes;
+	private int                   usedNodes;
+
+	private int[] hashHeads;
+
+	private int     executedNode   = NONE;
+	private boolean executedCancelled;
+
+	private IPreparableTimerable[] preparables;
 
 	protected RescheduleTimer() {
-		for (int i = 0; i < TIME_SLOTS; i++) {
-			timerables[i] = new ArrayList<>();
-		}
+		init(INITIAL_CAPACITY);
+	}
+
+	private void init(int capacity) {
+		bucketHeads = new int[NUMBER_OF_BUCKETS];
+		bucketTails = new int[NUMBER_OF_BUCKETS];
+		bucketSizes = new int[NUMBER_OF_BUCKETS];
+		Arrays.fill(bucketHeads, NONE);
+		Arrays.fill(bucketTails, NONE);
+
+		nodeTimerables = new IScheduledTimerable[0];
+		nodeExpirations = new long[0];
+		nodeBuckets = new int[0];
+		nodePrevious = new int[0];
+		nodeNext = new int[0];
+		freeNodes = NONE;
+		usedNodes = 0;
+		growNodes(capacity);
+
+		preparables = new IPreparableTimerable[0];
 	}
 
 	public static synchronized void stopAndClear() {
@@ -69,20 +147,98 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 		get().addTimerable(t, delay);
 	}
 
+	/**
+	 * Removes all schedulings of the given {@link IScheduledTimerable}. If it is executed at the moment, it won't be rescheduled.
+	 *
+	 * @param t
+	 */
+	public static void cancel(IScheduledTimerable t) {
+		get().cancelTimerable(t);
+	}
+
+	/**
+	 * @return the number of timerables in every slot of the first level, starting with the slot executed next.
+	 */
+	public static int[] getSlotLoads() {
+		return get().getLoadsOfSlots();
+	}
+
+	/**
+	 * @return the number of scheduled timerables including the ones with long delays.
+	 */
+	public static int getNumberOfScheduled() {
+		return get().usedNodes;
+	}
+
+	/**
+	 * Sets the number of threads used to prepare the {@link IPreparableTimerable}s if {@link MatchConstants#ENABLE_PARALLEL_MOVABLE_UPDATE} is set.
+	 *
+	 * @param threads
+	 *            The number of threads. The default is the number of available processors.
+	 */
+	public static synchronized void setPreparationThreads(int threads) {
+		if (preparationPool != null) {
+			preparationPool.shutdown();
+		}
+		preparationPool = new ForkJoinPool(threads);
+	}
+
+	private static synchronized ForkJoinPool getPreparationPool() {
+		if (preparationPool == null) {
+			preparationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return preparationPool;
+	}
+
 	private void addTimerable(IScheduledTimerable t, int delay) {
 		if (delay <= 0) {
 			return; // don't schedule if requested delay is negative or zero
 		}
 
+		int node = allocateNode(t);
+		link(node, currentTime + getDelaySlots(delay));
+	}
+
+	private static int getDelaySlots(int delay) {
 		int delaySlots = delay / TIME_SLICE;
-		delaySlots = delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
+		return delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
+	}
 
-		assert delaySlots < TIME_SLOTS : "SCHEDULED TO FAR IN THE FUTURE! " + delay + "ms";
+	private void cancelTimerable(IScheduledTimerable t) {
+		int hash = getHash(t);
+		int previous = NONE;
+		int node = hashHeads[hash];
+		while (node != NONE) {
+			int next = nodeHashNext[node];
+			if (nodeTimerables[node] == t) {
+				if (node == executedNode) {
+					executedCancelled = true;
+					previous = node;
+				} else {
+					if (previous == NONE) {
+						hashHeads[hash] = next;
+					} else {
+						nodeHashNext[previous] = next;
+					}
+					unlink(node);
+					releaseNode(node);
+				}
+			} else {
+				previous = node;
+			}
+			node = next;
+		}
+	}
 
-		timerables[(currTimeSlot + delaySlots) % TIME_SLOTS].add(t);
+	private int[] getLoadsOfSlots() {
+		int[] loads = new int[TIME_SLOTS];
+		for (int i = 0; i < TIME_SLOTS; i++) {
+			loads[i] = bucketSizes[(int) ((currentTime + i) % TIME_SLOTS)];
+		}
+		return loads;
 	}
 
-	private static synchronized RescheduleTimer get() {
+	static synchronized RescheduleTimer get() {
 		if (uniIns == null) {
 			uniIns = new RescheduleTimer();
 		}
@@ -91,16 +247,34 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 
 	@Override
 	public void timerEvent() {
-		ArrayList<IScheduledTimerable> queue = timerables[currTimeSlot];
+		if (currentTime % LEVEL1_SLOT_LENGTH == 0) {
+			if (currentTime % LEVEL2_SLOT_LENGTH == 0) {
+				relinkBucket(OVERFLOW_BUCKET);
+				relinkBucket(LEVEL2_BUCKETS + (int) (currentTime / LEVEL2_SLOT_LENGTH % COARSE_SLOTS));
+			}
+			relinkBucket(LEVEL1_BUCKETS + (int) (currentTime / LEVEL1_SLOT_LENGTH % COARSE_SLOTS));
+		}
 
-		for (IScheduledTimerable curr : queue) {
+		int bucket = (int) (currentTime % TIME_SLOTS);
+
+		if (MatchConstants.ENABLE_PARALLEL_MOVABLE_UPDATE) {
+			prepareBucket(bucket);
+		}
+
+		while (bucketHeads[bucket] != NONE) {
 			if (uniIns != this) { // fast stop when stopAndClear() is called.
 				return;
 			}
 
+			int node = bucketHeads[bucket];
+			unlink(node);
+			IScheduledTimerable curr = nodeTimerables[node];
+
+			executedNode = node;
+			executedCancelled = false;
+			int delay;
 			try {
-				int delay = curr.timerEvent();
-				addTimerable(curr, delay);
+				delay = curr.timerEvent();
 			} catch (Throwable t) {
 				System.err.println("RescheduleTimer catched: ");
 				t.printStackTrace();
@@ -110,11 +284,274 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 					System.err.println("RescheduleTimer had trouble killing bad timerable!");
 					t2.printStackTrace();
 				}
+				delay = 0;
+			}
+			executedNode = NONE;
+
+			if (delay > 0 && !executedCancelled) {
+				link(node, currentTime + getDelaySlots(delay));
+			} else {
+				removeFromHash(node);
+				releaseNode(node);
+			}
+		}
+
+		currentTime++;
+	}
+
+	private void prepareBucket(int bucket) {
+		if (preparables.length < bucketSizes[bucket]) {
+			preparables = new IPreparableTimerable[bucketSizes[bucket] * 2];
+		}
+
+		int numberOfPreparables = 0;
+		for (int node = bucketHeads[bucket]; node != NONE; node = nodeNext[node]) {
+			if (nodeTimerables[node] instanceof IPreparableTimerable) {
+				preparables[numberOfPreparables++] = (IPreparableTimerable) nodeTimerables[node];
+			}
+		}
+
+		if (numberOfPreparables <= PREPARATION_CHUNK_SIZE) {
+			prepare(preparables, 0, numberOfPreparables);
+		} else {
+			getPreparationPool().invoke(new PreparationTask(preparables, 0, numberOfPreparables));
+		}
+
+		Arrays.fill(preparables, 0, numberOfPreparables, null);
+	}
+
+	private static void prepare(IPreparableTimerable[] preparables, int from, int to) {
+		for (int i = from; i < to; i++) {
+			try {
+				preparables[i].prepareTimerEvent();
+			} catch (Throwable t) {
+				System.err.println("RescheduleTimer catched while preparing: ");
+				t.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Moves all nodes of the given bucket to the bucket matching their expiration. The order of the nodes is kept.
+	 */
+	private void relinkBucket(int bucket) {
+		int node = bucketHeads[bucket];
+		bucketHeads[bucket] = NONE;
+		bucketTails[bucket] = NONE;
+		bucketSizes[bucket] = 0;
+
+		while (node != NONE) {
+			int next = nodeNext[node];
+			link(node, nodeExpirations[node]);
+			node = next;
+		}
+	}
+
+	private int getBucket(long expiration) {
+		if (expiration - currentTime < TIME_SLOTS) {
+			return (int) (expiration % TIME_SLOTS);
+		} else if (expiration / LEVEL1_SLOT_LENGTH - currentTime / LEVEL1_SLOT_LENGTH < COARSE_SLOTS) {
+			return LEVEL1_BUCKETS + (int) (expiration / LEVEL1_SLOT_LENGTH % COARSE_SLOTS);
+		} else if (expiration / LEVEL2_SLOT_LENGTH - currentTime / LEVEL2_SLOT_LENGTH < COARSE_SLOTS) {
+			return LEVEL2_BUCKETS + (int) (expiration / LEVEL2_SLOT_LENGTH % COARSE_SLOTS);
+		} else {
+			return OVERFLOW_BUCKET;
+		}
+	}
+
+	private void link(int node, long expiration) {
+		nodeExpirations[node] = expiration;
+		appendToBucket(node, getBucket(expiration));
+	}
+
+	private void appendToBucket(int node, int bucket) {
+		int tail = bucketTails[bucket];
+		nodeBuckets[node] = bucket;
+		nodePrevious[node] = tail;
+		nodeNext[node] = NONE;
+		if (tail == NONE) {
+			bucketHeads[bucket] = node;
+		} else {
+			nodeNext[tail] = node;
+		}
+		bucketTails[bucket] = node;
+		bucketSizes[bucket]++;
+	}
+
+	private void unlink(int node) {
+		int bucket = nodeBuckets[node];
+		int previous = nodePrevious[node];
+		int next = nodeNext[node];
+
+		if (previous == NONE) {
+			bucketHeads[bucket] = next;
+		} else {
+			nodeNext[previous] = next;
+		}
+		if (next == NONE) {
+			bucketTails[bucket] = previous;
+		} else {
+			nodePrevious[next] = previous;
+		}
+		bucketSizes[bucket]--;
+		nodeBuckets[node] = NONE;
+	}
+
+	private int allocateNode(IScheduledTimerable t) {
+		if (freeNodes == NONE) {
+			growNodes(2 * nodeTimerables.length);
+		}
+
+		int node = freeNodes;
+		freeNodes = nodeNext[node];
+		usedNodes++;
+
+		nodeTimerables[node] = t;
+		int hash = getHash(t);
+		nodeHashNext[node] = hashHeads[hash];
+		hashHeads[hash] = node;
+		return node;
+	}
+
+	private void releaseNode(int node) {
+		nodeTimerables[node] = null;
+		nodeNext[node] = freeNodes;
+		freeNodes = node;
+		usedNodes--;
+	}
+
+	private void removeFromHash(int node) {
+		int hash = getHash(nodeTimerables[node]);
+		int current = hashHeads[hash];
+		if (current == node) {
+			hashHeads[hash] = nodeHashNext[node];
+			return;
+		}
+		while (nodeHashNext[current] != node) {
+			current = nodeHashNext[current];
+		}
+		nodeHashNext[current] = nodeHashNext[node];
+	}
+
+	private void growNodes(int capacity) {
+		int oldCapacity = nodeTimerables.length;
+
+		nodeTimerables = Arrays.copyOf(nodeTimerables, capacity);
+		nodeExpirations = Arrays.copyOf(nodeExpirations, capacity);
+		nodeBuckets = Arrays.copyOf(nodeBuckets, capacity);
+		nodePrevious = Arrays.copyOf(nodePrevious, capacity);
+		nodeNext = Arrays.copyOf(nodeNext, capacity);
+		nodeHashNext = new int[capacity];
+
+		for (int node = capacity - 1; node >= oldCapacity; node--) {
+			nodeNext[node] = freeNodes;
+			freeNodes = node;
+		}
+
+		hashHeads = new int[capacity]; // capacity is always a power of two
+		Arrays.fill(hashHeads, NONE);
+		for (int node = 0; node < oldCapacity; node++) {
+			if (nodeTimerables[node] != null) {
+				int hash = getHash(nodeTimerables[node]);
+				nodeHashNext[node] = hashHeads[hash];
+				hashHeads[hash] = node;
+			}
+		}
+	}
+
+	private int getHash(IScheduledTimerable t) {
+		int hash = System.identityHashCode(t);
+		return (hash ^ (hash >>> 16)) & (hashHeads.length - 1);
+	}
+
+	private static final class PreparationTask extends RecursiveAction {
+		private static final long serialVersionUID = 2207361462957738934L;
+
+		private final IPreparableTimerable[] preparables;
+		private final int                    from;
+		private final int                    to;
+
+		PreparationTask(IPreparableTimerable[] preparables, int from, int to) {
+			this.preparables = preparables;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PREPARATION_CHUNK_SIZE) {
+				prepare(preparables, from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new PreparationTask(preparables, from, middle), new PreparationTask(preparables, middle, to));
 			}
 		}
+	}
 
-		queue.clear();
-		currTimeSlot = (currTimeSlot + 1) % TIME_SLOTS;
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		@SuppressWarnings("unchecked")
+		ArrayList<IScheduledTimerable>[] timerables = new ArrayList[TIME_SLOTS];
+		for (int bucket = 0; bucket < TIME_SLOTS; bucket++) {
+			timerables[bucket] = new ArrayList<>(bucketSizes[bucket]);
+			for (int node = bucketHeads[bucket]; node != NONE; node = nodeNext[node]) {
+				timerables[bucket].add(nodeTimerables[node]);
+			}
+		}
+
+		int longDelays = 0;
+		for (int bucket = TIME_SLOTS; bucket < NUMBER_OF_BUCKETS; bucket++) {
+			longDelays += bucketSizes[bucket];
+		}
+		ArrayList<IScheduledTimerable> longDelayTimerables = new ArrayList<>(longDelays);
+		int[] longDelayBuckets = new int[longDelays];
+		long[] longDelayExpirations = new long[longDelays];
+		for (int bucket = TIME_SLOTS; bucket < NUMBER_OF_BUCKETS; bucket++) {
+			for (int node = bucketHeads[bucket]; node != NONE; node = nodeNext[node]) {
+				longDelayBuckets[longDelayTimerables.size()] = bucket;
+				longDelayExpirations[longDelayTimerables.size()] = nodeExpirations[node];
+				longDelayTimerables.add(nodeTimerables[node]);
+			}
+		}
+
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("timerables", timerables);
+		fields.put("currTimeSlot", (int) (currentTime % TIME_SLOTS));
+		fields.put("currentTime", currentTime);
+		fields.put("longDelayTimerables", longDelayTimerables);
+		fields.put("longDelayBuckets", longDelayBuckets);
+		fields.put("longDelayExpirations", longDelayExpirations);
+		oos.writeFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		ArrayList<IScheduledTimerable>[] timerables = (ArrayList<IScheduledTimerable>[]) fields.get("timerables", null);
+		int currTimeSlot = fields.get("currTimeSlot", 0);
+		currentTime = fields.defaulted("currentTime") ? currTimeSlot : fields.get("currentTime", 0L);
+		ArrayList<IScheduledTimerable> longDelayTimerables = (ArrayList<IScheduledTimerable>) fields.get("longDelayTimerables", null);
+		int[] longDelayBuckets = (int[]) fields.get("longDelayBuckets", null);
+		long[] longDelayExpirations = (long[]) fields.get("longDelayExpirations", null);
+
+		init(INITIAL_CAPACITY);
+		executedNode = NONE;
+
+		for (int bucket = 0; bucket < TIME_SLOTS; bucket++) {
+			long expiration = currentTime + (bucket - currTimeSlot + TIME_SLOTS) % TIME_SLOTS;
+			for (IScheduledTimerable timerable : timerables[bucket]) {
+				int node = allocateNode(timerable);
+				nodeExpirations[node] = expiration;
+				appendToBucket(node, bucket);
+			}
+		}
+
+		if (longDelayTimerables != null) {
+			for (int i = 0; i < longDelayTimerables.size(); i++) {
+				int node = allocateNode(longDelayTimerables.get(i));
+				nodeExpirations[node] = longDelayExpirations[i];
+				appendToBucket(node, longDelayBuckets[i]);
+			}
+		}
 	}
 
 	public static void loadFrom(ObjectInputStream ois) throws MapLoadException {
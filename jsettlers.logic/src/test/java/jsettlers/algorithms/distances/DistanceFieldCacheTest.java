@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.distances;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DistanceFieldCacheTest {
+	private static final short WIDTH  = 80;
+	private static final short HEIGHT = 60;
+	private static final int   RADIUS = 30;
+
+	private final BitSet            blocked          = new BitSet(WIDTH * HEIGHT);
+	private final IBlockingProvider blockingProvider = (x, y) -> blocked.get(x + y * WIDTH);
+	private final DistanceFieldCache cache           = new DistanceFieldCache(WIDTH, HEIGHT, blockingProvider, RADIUS, 2);
+
+	@Test
+	public void testDistancesOnFreeMap() {
+		ShortPoint2D root = new ShortPoint2D(40, 30);
+		DistanceField field = cache.get(root);
+
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				int distance = root.getOnGridDistTo(new ShortPoint2D(x, y));
+				assertEquals(distance <= RADIUS ? distance : DistanceField.UNREACHABLE, field.getDistance(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testBlockedPositionsAreReachedButNotPassed() {
+		for (int y = 0; y < HEIGHT; y++) {
+			setBlocked(20, y, true);
+		}
+		DistanceField field = cache.get(new ShortPoint2D(10, 30));
+
+		assertEquals(10, field.getDistance(20, 30));
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(21, 30));
+
+		setBlocked(20, 30, false);
+		assertEquals(11, field.getDistance(21, 30));
+		assertEquals(1, cache.getFullRefreshes());
+		assertEquals(1, cache.getIncrementalRefreshes());
+	}
+
+	@Test
+	public void testPositionsBeyondTheRadiusAreUnreachable() {
+		for (int x = 0; x < 50; x++) {
+			setBlocked(x, 30, true);
+		}
+		DistanceField field = cache.get(new ShortPoint2D(20, 20));
+
+		assertEquals(10, field.getDistance(20, 30));
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(20, 31)); // the way around the wall is longer than the radius
+
+		setBlocked(25, 30, false);
+		assertEquals(11, field.getDistance(25, 31));
+		assertEquals(DistanceField.UNREACHABLE, field.getDistance(20, 55));
+	}
+
+	@Test
+	public void testMinimumDistanceOfUnknownPositions() {
+		for (int x = 0; x < 50; x++) {
+			setBlocked(x, 30, true);
+		}
+		ShortPoint2D root = new ShortPoint2D(20, 20);
+		DistanceField field = cache.get(root);
+
+		assertEquals(10, field.getMinimumDistance(20, 30));
+		assertEquals(RADIUS + 1, field.getMinimumDistance(20, 31)); // the way around the wall is longer than the radius
+		assertEquals(root.getOnGridDistTo(new ShortPoint2D(70, 20)), field.getMinimumDistance(70, 20)); // outside of the field
+	}
+
+	@Test
+	public void testChangesGiveSameDistancesAsRecalculation() {
+		Random random = new Random(3);
+		ShortPoint2D[] roots = { new ShortPoint2D(10, 10), new ShortPoint2D(60, 45) };
+		for (ShortPoint2D root : roots) {
+			cache.get(root);
+		}
+
+		for (int i = 0; i < 3000; i++) {
+			setBlocked(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(3) != 0);
+
+			if (i % 50 == 0) {
+				for (ShortPoint2D root : roots) {
+					assertSameDistances(root, cache.get(root));
+				}
+			}
+		}
+
+		assertTrue(cache.getIncrementalRefreshes() > 0);
+		assertTrue(cache.getFullRefreshes() < 3000 / 50 * roots.length);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedFieldIsDropped() {
+		DistanceField first = cache.get(new ShortPoint2D(1, 1));
+		cache.get(new ShortPoint2D(2, 2));
+		cache.get(new ShortPoint2D(1, 1));
+		cache.get(new ShortPoint2D(3, 3));
+
+		assertEquals(2, cache.size());
+		assertTrue(first == cache.get(new ShortPoint2D(1, 1)));
+		assertEquals(3, cache.getMisses());
+		assertTrue(cache.getMemoryBytes() >= 2 * (2 * RADIUS + 1) * (2 * RADIUS + 1) * 2L);
+	}
+
+	@Test
+	public void testArraysOfDroppedFieldAreReused() {
+		for (int y = 10; y < HEIGHT; y++) {
+			setBlocked(40, y, true);
+		}
+		cache.get(new ShortPoint2D(1, 1));
+		cache.get(new ShortPoint2D(70, 50));
+		long memory = cache.getMemoryBytes();
+
+		ShortPoint2D root = new ShortPoint2D(30, 40);
+		assertSameDistances(root, cache.get(root));
+		assertEquals(memory, cache.getMemoryBytes());
+	}
+
+	private void setBlocked(int x, int y, boolean newBlocked) {
+		if (blocked.get(x + y * WIDTH) != newBlocked) {
+			blocked.set(x + y * WIDTH, newBlocked);
+			cache.blockedChanged(x, y, newBlocked);
+		}
+	}
+
+	private void assertSameDistances(ShortPoint2D root, DistanceField field) {
+		DistanceField expected = new DistanceField(WIDTH, HEIGHT, blockingProvider, RADIUS, root);
+		expected.recalculate();
+
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				assertEquals("(" + x + "|" + y + ")", expected.getDistance(x, y), field.getDistance(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares redrawing the complete view circles of moving soldiers with updating only the positions changed by a step.
+ */
+public class FogOfWarSpeedTest {
+	private static final int NUMBER_OF_SOLDIERS = 5000;
+	private static final int ROUNDS             = 20;
+
+	@After
+	public void clearState() {
+		FogOfWar.instance = null;
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testMovingSoldiers() throws Exception {
+		TestUtils.setupTempResourceManager();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MapLoader map = MapUtils.getMountainlake();
+		MainGrid grid = map.loadMainGrid(PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers())).getMainGrid();
+
+		FogOfWar fogOfWar = new FogOfWar(grid, (byte) 0);
+		FogOfWar.instance = fogOfWar;
+		FogOfWar.CircleDrawer circleDrawer = fogOfWar.circleDrawer;
+		int viewDistance = EMovableType.SWORDSMAN_L1.getViewDistance();
+
+		Random random = new Random(1);
+		ShortPoint2D[] positions = new ShortPoint2D[NUMBER_OF_SOLDIERS];
+		for (int i = 0; i < NUMBER_OF_SOLDIERS; i++) {
+			positions[i] = new ShortPoint2D(random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height));
+			circleDrawer.drawCircleToBuffer(positions[i], viewDistance, FogOfWar.CIRCLE_ADD, positions);
+		}
+
+		EDirection[] directions = new EDirection[ROUNDS * NUMBER_OF_SOLDIERS];
+		for (int i = 0; i < directions.length; i++) {
+			directions[i] = EDirection.VALUES[random.nextInt(EDirection.NUMBER_OF_DIRECTIONS)];
+		}
+
+		CachedViewCircle circle = circleDrawer.getCachedCircle(viewDistance);
+		long deltaUpdates = 0;
+		for (EDirection direction : EDirection.VALUES) {
+			deltaUpdates += circle.getStepDelta(direction).size;
+		}
+		System.out.println("tile updates per step: full redraw " + 2 * (circle.size - 1) + ", delta " + deltaUpdates / EDirection.NUMBER_OF_DIRECTIONS);
+
+		for (int i = 0; i < 2; i++) {
+			runSteps("full redraw", fogOfWar, positions, directions, viewDistance, false);
+			runSteps("delta", fogOfWar, positions, directions, viewDistance, true);
+		}
+	}
+
+	private static void runSteps(String name, FogOfWar fogOfWar, ShortPoint2D[] positions, EDirection[] directions, int viewDistance, boolean delta) {
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < positions.length; i++) {
+				ShortPoint2D oldPosition = positions[i];
+				ShortPoint2D newPosition = directions[round * positions.length + i].getNextHexPoint(oldPosition);
+
+				if (delta) {
+					fogOfWar.circleDrawer.drawStepToBuffer(newPosition, directions[round * positions.length + i], viewDistance);
+				} else {
+					fogOfWar.circleDrawer.drawCircleToBuffer(newPosition, viewDistance, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, positions);
+					fogOfWar.circleDrawer.drawCircleToBuffer(oldPosition, viewDistance, FogOfWar.CIRCLE_REMOVE | FogOfWar.CIRCLE_DIM, positions);
+				}
+				positions[i] = newPosition;
+			}
+		}
+		long time = Math.max(1, watch.getDiff());
+		watch.stop(name + " of " + ROUNDS * positions.length + " steps");
+		System.out.println(name + ": " + ROUNDS * positions.length * 1000L / time + " steps per second");
+	}
+}
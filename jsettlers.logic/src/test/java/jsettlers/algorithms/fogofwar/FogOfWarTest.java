@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.map.IGraphicsBackgroundListener;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+import static org.junit.Assert.assertEquals;
+
+public class FogOfWarTest {
+
+	@After
+	public void clearState() {
+		FogOfWar.instance = null;
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testRefSightOfOverlappingCircles() throws Exception {
+		FogOfWar fogOfWar = createFogOfWar();
+
+		Random random = new Random(1);
+		List<int[]> circles = new ArrayList<>();
+
+		for (int step = 0; step < 300; step++) {
+			if (circles.isEmpty() || random.nextInt(3) != 0) {
+				int[] circle = { random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height), 1 + random.nextInt(FogOfWar.MAX_VIEW_DISTANCE - 1) };
+				draw(fogOfWar, circle, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM);
+				circles.add(circle);
+			} else {
+				draw(fogOfWar, circles.remove(random.nextInt(circles.size())), FogOfWar.CIRCLE_REMOVE | FogOfWar.CIRCLE_DIM);
+			}
+
+			if (step % 50 == 0) {
+				assertRefSight(fogOfWar, circles);
+			}
+		}
+
+		for (int[] circle : circles) {
+			draw(fogOfWar, circle, FogOfWar.CIRCLE_REMOVE);
+		}
+		circles.clear();
+		assertRefSight(fogOfWar, circles);
+	}
+
+	@Test
+	public void testRefSightOfMovingUnits() throws Exception {
+		FogOfWar fogOfWar = createFogOfWar();
+		Random random = new Random(2);
+
+		List<TestUnit> units = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			TestUnit unit = new TestUnit(random.nextInt(FogOfWar.MAX_VIEW_DISTANCE));
+			unit.position = new ShortPoint2D(random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height));
+			fogOfWar.refThread.runTask(unit);
+			units.add(unit);
+		}
+
+		for (int step = 0; step < 400; step++) {
+			TestUnit unit = units.get(random.nextInt(units.size()));
+			if (random.nextInt(10) == 0) { // long jump
+				unit.position = new ShortPoint2D(random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height));
+			} else {
+				unit.position = EDirection.VALUES[random.nextInt(EDirection.NUMBER_OF_DIRECTIONS)].getNextHexPoint(unit.position);
+			}
+			fogOfWar.refThread.runTask(unit);
+
+			if (step % 100 == 0) {
+				assertRefSight(fogOfWar, getCircles(units));
+			}
+		}
+		assertRefSight(fogOfWar, getCircles(units));
+
+		for (TestUnit unit : units) {
+			unit.alive = false;
+			fogOfWar.refThread.runTask(unit);
+		}
+		assertRefSight(fogOfWar, new ArrayList<>());
+	}
+
+	@Test
+	public void testQueuedMovableChanges() throws Exception {
+		FogOfWar fogOfWar = createFogOfWar();
+		fogOfWar.enabled = true;
+		Random random = new Random(3);
+
+		List<TestUnit> units = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) { // more units than fit into the ring buffer
+			TestUnit unit = new TestUnit(random.nextInt(FogOfWar.MAX_VIEW_DISTANCE));
+			unit.position = new ShortPoint2D(random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height));
+			FogOfWar.queueMovableChange(unit);
+			units.add(unit);
+		}
+		assertEquals(units.size() + 1, fogOfWar.refThread.getQueueDepth()); // the WaitFoWTask is always queued
+
+		fogOfWar.refThread.taskProcessor();
+		assertEquals(1, fogOfWar.refThread.getQueueDepth());
+		assertRefSight(fogOfWar, getCircles(units));
+
+		for (int step = 0; step < 3; step++) {
+			for (TestUnit unit : units) {
+				unit.position = EDirection.VALUES[random.nextInt(EDirection.NUMBER_OF_DIRECTIONS)].getNextHexPoint(unit.position);
+				FogOfWar.queueMovableChange(unit);
+			}
+			fogOfWar.refThread.taskProcessor();
+		}
+		assertRefSight(fogOfWar, getCircles(units));
+
+		for (TestUnit unit : units) {
+			unit.alive = false;
+			FogOfWar.queueMovableChange(unit);
+		}
+		fogOfWar.refThread.taskProcessor();
+		assertRefSight(fogOfWar, new ArrayList<>());
+	}
+
+	@Test
+	public void testDimmingToRefSight() throws Exception {
+		FogOfWar fogOfWar = createFogOfWar();
+		Random random = new Random(4);
+
+		for (int i = 0; i < 20; i++) {
+			int[] circle = { random.nextInt(fogOfWar.width), random.nextInt(fogOfWar.height), 1 + random.nextInt(FogOfWar.MAX_VIEW_DISTANCE - 1) };
+			draw(fogOfWar, circle, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM);
+		}
+
+		boolean[] changedPositions = new boolean[fogOfWar.width * fogOfWar.height];
+		fogOfWar.setBackgroundListener(new IGraphicsBackgroundListener() {
+			@Override
+			public void backgroundLineChangedAt(int x, int y, int length) {
+				for (int i = x; i < x + length; i++) {
+					changedPositions[y * fogOfWar.width + i] = true;
+				}
+			}
+
+			@Override
+			public void fogOfWarEnabledStatusChanged(boolean enabled) {
+			}
+		});
+
+		for (int frame = 0; frame < 100; frame++) {
+			fogOfWar.dimThread.taskProcessor();
+		}
+
+		for (int y = 0; y < fogOfWar.height; y++) {
+			for (int x = 0; x < fogOfWar.width; x++) {
+				byte refSight = fogOfWar.refSight(x, y);
+				assertEquals("(" + x + "|" + y + ")", refSight, fogOfWar.sight[x][y]);
+				assertEquals("(" + x + "|" + y + ")", refSight != 0, changedPositions[y * fogOfWar.width + x]);
+			}
+		}
+	}
+
+	private static List<int[]> getCircles(List<TestUnit> units) {
+		List<int[]> circles = new ArrayList<>();
+		for (TestUnit unit : units) {
+			circles.add(new int[] { unit.position.x, unit.position.y, unit.viewDistance });
+		}
+		return circles;
+	}
+
+	private static FogOfWar createFogOfWar() throws Exception {
+		TestUtils.setupTempResourceManager();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MapLoader map = MapUtils.getMountainlake();
+		MainGrid grid = map.loadMainGrid(PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers())).getMainGrid();
+
+		FogOfWar fogOfWar = new FogOfWar(grid, (byte) 0);
+		FogOfWar.instance = fogOfWar;
+		return fogOfWar;
+	}
+
+	private static void draw(FogOfWar fogOfWar, int[] circle, int state) {
+		fogOfWar.circleDrawer.drawCircleToBuffer(new ShortPoint2D(circle[0], circle[1]), circle[2], state, circle);
+	}
+
+	/**
+	 * The sight of a position is given by the lowest reference level of all circles covering it.
+	 */
+	private static void assertRefSight(FogOfWar fogOfWar, List<int[]> circles) {
+		int width = fogOfWar.width;
+		int height = fogOfWar.height;
+		byte[] lowestLevel = new byte[width * height];
+		Arrays.fill(lowestLevel, Byte.MAX_VALUE);
+
+		for (int[] circle : circles) {
+			FogOfWar.ViewAreaIterator iterator = fogOfWar.circleDrawer.getCachedCircle(circle[2]).iterator(circle[0], circle[1]);
+			while (iterator.hasNext()) {
+				int x = iterator.getCurrX();
+				int y = iterator.getCurrY();
+				if (x >= 0 && x < width && y > 0 && y < height) {
+					int index = y * width + x;
+					lowestLevel[index] = (byte) Math.min(lowestLevel[index], iterator.getRefIndex());
+				}
+			}
+		}
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				byte level = lowestLevel[y * width + x];
+				int expectedSight = level == Byte.MAX_VALUE ? 0 : Math.max(0, CommonConstants.FOG_OF_WAR_VISIBLE - 10 * level);
+				assertEquals("(" + x + "|" + y + ")", expectedSight, fogOfWar.refSight(x, y));
+			}
+		}
+	}
+
+	private static class TestUnit implements MovableFoWTask {
+		private final int          viewDistance;
+		private       ShortPoint2D position;
+		private       ShortPoint2D oldPosition;
+		private       boolean      alive = true;
+
+		TestUnit(int viewDistance) {
+			this.viewDistance = viewDistance;
+		}
+
+		@Override
+		public int getViewDistance() {
+			return viewDistance;
+		}
+
+		@Override
+		public ShortPoint2D getFoWPosition() {
+			return position;
+		}
+
+		@Override
+		public ShortPoint2D getOldFoWPosition() {
+			return oldPosition;
+		}
+
+		@Override
+		public void setOldFoWPosition(ShortPoint2D position) {
+			oldPosition = position;
+		}
+
+		@Override
+		public boolean continueFoW() {
+			return alive;
+		}
+	}
+}
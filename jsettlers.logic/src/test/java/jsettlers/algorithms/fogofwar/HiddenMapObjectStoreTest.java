@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.mapobject.IStackMapObject;
+import jsettlers.common.material.EMaterialType;
+import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
+import jsettlers.logic.objects.StandardMapObject;
+import jsettlers.logic.objects.stack.StackMapObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class HiddenMapObjectStoreTest {
+	private final HiddenMapObjectStore store = new HiddenMapObjectStore(1 << 10);
+
+	@Test
+	public void testEqualObjectsShareSnapshots() {
+		IMapObject first = HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 3), store);
+		IMapObject second = HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 3), store);
+		IMapObject otherStack = HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 4), store);
+
+		assertSame(first, second);
+		assertNotSame(first, otherStack);
+		assertSame(first.getNextObject(), otherStack.getNextObject()); // the tree
+
+		assertEquals(EMapObjectType.STACK_OBJECT, first.getObjectType());
+		assertEquals(3, ((IStackMapObject) first).getSize());
+		assertEquals(EMapObjectType.TREE_ADULT, first.getNextObject().getObjectType());
+		assertNull(first.getNextObject().getNextObject());
+	}
+
+	@Test
+	public void testSerializedSnapshotsAreShared() throws Exception {
+		IMapObject[] snapshots = {
+				HiddenMapObjectCreator.createAll(createObjects(EMaterialType.STONE, (byte) 1), store),
+				HiddenMapObjectCreator.createAll(createObjects(EMaterialType.STONE, (byte) 1), store)
+		};
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(snapshots);
+		}
+
+		store.clear();
+		IMapObject[] readSnapshots;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			readSnapshots = (IMapObject[]) in.readObject();
+		}
+		for (IMapObject snapshot : readSnapshots) {
+			store.addShared(snapshot);
+		}
+
+		assertSame(readSnapshots[0], readSnapshots[1]);
+		assertSame(readSnapshots[0], HiddenMapObjectCreator.createAll(createObjects(EMaterialType.STONE, (byte) 1), store));
+		assertEquals(2, store.size());
+	}
+
+	@Test
+	public void testStoresOfDifferentGamesAreSeparate() {
+		HiddenMapObjectStore otherStore = new HiddenMapObjectStore(1 << 10);
+
+		IMapObject snapshot = HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 3), store);
+		IMapObject otherSnapshot = HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 3), otherStore);
+
+		assertNotSame(snapshot, otherSnapshot);
+		assertSame(otherSnapshot, HiddenMapObjectCreator.createAll(createObjects(EMaterialType.PLANK, (byte) 3), otherStore));
+	}
+
+	@Test
+	public void testParallelThreadsShareSnapshots() throws Exception {
+		int numberOfThreads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Callable<IMapObject[]>> tasks = new ArrayList<>();
+			for (int thread = 0; thread < numberOfThreads; thread++) {
+				tasks.add(() -> {
+					IMapObject[] snapshots = new IMapObject[EMaterialType.NUMBER_OF_MATERIALS * 8];
+					for (int i = 0; i < snapshots.length; i++) {
+						EMaterialType material = EMaterialType.VALUES[i / 8];
+						snapshots[i] = HiddenMapObjectCreator.createAll(createObjects(material, (byte) (1 + i % 8)), store);
+					}
+					return snapshots;
+				});
+			}
+
+			List<Future<IMapObject[]>> results = executor.invokeAll(tasks);
+			IMapObject[] expected = results.get(0).get();
+			for (Future<IMapObject[]> result : results) {
+				IMapObject[] snapshots = result.get();
+				for (int i = 0; i < snapshots.length; i++) {
+					assertSame(expected[i], snapshots[i]);
+				}
+			}
+			assertEquals(expected.length + 1, store.size()); // all stacks and the tree
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testFullStoreForgetsSnapshots() {
+		HiddenMapObjectStore store = new HiddenMapObjectStore(4);
+		HiddenMapObject snapshot = new HiddenMapObject(new StandardMapObject(EMapObjectType.TREE_ADULT, true, null), null, true);
+
+		for (int i = 0; i < 4; i++) {
+			store.put(i, null, snapshot);
+		}
+		assertEquals(4, store.size());
+		assertSame(snapshot, store.get(3, null));
+
+		store.put(4, null, snapshot);
+		assertEquals(1, store.size());
+		assertNull(store.get(3, null));
+		assertSame(snapshot, store.get(4, null));
+	}
+
+	private static AbstractHexMapObject createObjects(EMaterialType material, byte stackSize) {
+		AbstractHexMapObject objects = new StackMapObject(material, stackSize);
+		objects.addMapObject(new StandardMapObject(EMapObjectType.TREE_ADULT, true, null));
+		objects.addMapObject(new StandardMapObject(EMapObjectType.SMOKE, false, null));
+		return objects;
+	}
+}
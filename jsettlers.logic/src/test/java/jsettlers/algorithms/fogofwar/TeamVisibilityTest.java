@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.map.shapes.MapCircle;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TeamVisibilityTest {
+	private static final short WIDTH           = 200;
+	private static final short HEIGHT          = 150;
+	private static final int   NUMBER_OF_TEAMS = 4;
+
+	@Test
+	public void testVisibilityOfMovingSources() {
+		TeamVisibility visibility = new TeamVisibility(WIDTH, HEIGHT, NUMBER_OF_TEAMS);
+		Random random = new Random(1);
+
+		int numberOfSources = 60;
+		TeamVisibility.Source[] sources = new TeamVisibility.Source[numberOfSources];
+		byte[] teams = new byte[numberOfSources];
+		ShortPoint2D[] positions = new ShortPoint2D[numberOfSources];
+		int[] viewDistances = new int[numberOfSources];
+
+		for (int i = 0; i < numberOfSources; i++) {
+			sources[i] = new TeamVisibility.Source();
+			teams[i] = (byte) random.nextInt(NUMBER_OF_TEAMS);
+			positions[i] = new ShortPoint2D(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+			viewDistances[i] = 1 + random.nextInt(20);
+			visibility.setSource(sources[i], teams[i], positions[i], viewDistances[i]);
+		}
+		visibility.update();
+		assertVisibility(visibility, teams, positions, viewDistances);
+
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < numberOfSources; i++) {
+				switch (random.nextInt(4)) {
+				case 0:
+					positions[i] = new ShortPoint2D(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+					break;
+				case 1:
+					teams[i] = (byte) random.nextInt(NUMBER_OF_TEAMS);
+					break;
+				case 2:
+					viewDistances[i] = 1 + random.nextInt(20);
+					break;
+				default:
+					positions[i] = null;
+					break;
+				}
+				visibility.setSource(sources[i], teams[i], positions[i], viewDistances[i]);
+			}
+			visibility.update();
+			assertVisibility(visibility, teams, positions, viewDistances);
+		}
+
+		for (TeamVisibility.Source source : sources) {
+			visibility.removeSource(source);
+		}
+		visibility.update();
+		assertVisibility(visibility, teams, new ShortPoint2D[numberOfSources], viewDistances);
+	}
+
+	@Test
+	public void testUnknownTeamsSeeNothing() {
+		TeamVisibility visibility = new TeamVisibility(WIDTH, HEIGHT, NUMBER_OF_TEAMS);
+		visibility.setSource(new TeamVisibility.Source(), (byte) NUMBER_OF_TEAMS, new ShortPoint2D(10, 10), 10);
+		visibility.update();
+
+		assertFalse(visibility.isVisible((byte) NUMBER_OF_TEAMS, 10, 10));
+		assertFalse(visibility.isVisible((byte) -1, 10, 10));
+	}
+
+	@Test
+	public void testBytesPerTeam() {
+		TeamVisibility visibility = new TeamVisibility(WIDTH, HEIGHT, NUMBER_OF_TEAMS);
+		assertEquals(WIDTH * HEIGHT * 2 + (WIDTH * HEIGHT + 63) / 64 * 8, visibility.getBytesPerTeam());
+	}
+
+	private static void assertVisibility(TeamVisibility visibility, byte[] teams, ShortPoint2D[] positions, int[] viewDistances) {
+		for (byte team = 0; team < NUMBER_OF_TEAMS; team++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					boolean expected = false;
+					for (int i = 0; i < teams.length && !expected; i++) {
+						expected = teams[i] == team && positions[i] != null && isInView(positions[i], viewDistances[i], x, y);
+					}
+					assertEquals("team " + team + " (" + x + "|" + y + ")", expected, visibility.isVisible(team, x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * The positions of the {@link CachedViewCircle} with a reference index of 0 reach one position beyond the radius.
+	 */
+	private static boolean isInView(ShortPoint2D center, int viewDistance, int x, int y) {
+		int radius = viewDistance + FogOfWar.PADDING / 2;
+		return (int) (Math.sqrt(MapCircle.getSquaredDistance(x - center.x, y - center.y)) - radius) <= 0;
+	}
+}
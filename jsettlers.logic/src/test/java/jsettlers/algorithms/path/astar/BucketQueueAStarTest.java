@@ -18,17 +18,19 @@ import org.junit.Test;
 
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.PathSearchStatistics;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class BucketQueueAStarTest {
 
 	private static final short WIDTH = 200;
 	private static final short HEIGHT = 200;
 
-	private final AbstractAStar aStar = new BucketQueueAStar(new DummyEmptyAStarMap(WIDTH, HEIGHT), WIDTH, HEIGHT);
+	private final BucketQueueAStar aStar = new BucketQueueAStar(new DummyEmptyAStarMap(WIDTH, HEIGHT), WIDTH, HEIGHT);
 
 	@Test
 	public void testPathLengthSingle() {
@@ -59,6 +61,21 @@ public class BucketQueueAStarTest {
 		}
 	}
 
+	@Test
+	public void testStatisticsSink() {
+		PathSearchStatistics statistics = new PathSearchStatistics();
+		aStar.setStatisticsSink(statistics);
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(20, findPath((short) 50, (short) 50, (short) 70, (short) 50).getLength());
+		}
+
+		assertEquals(10, statistics.getSearches());
+		assertEquals(0, statistics.getFailedSearches());
+		assertEquals(200, statistics.getPathLengths());
+		assertTrue(statistics.getExpandedNodes() >= 200);
+	}
+
 	private Path findPath(short sx, short sy, short tx, short ty) {
 		return aStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
 	}
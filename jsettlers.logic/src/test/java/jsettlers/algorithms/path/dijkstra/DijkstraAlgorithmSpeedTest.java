@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Compares the {@link DijkstraAlgorithm} with the former ring scan that ran an A* search for every fitting position.
+ */
+public class DijkstraAlgorithmSpeedTest {
+	private static final short WIDTH              = 512;
+	private static final short HEIGHT             = 512;
+	private static final int   NUMBER_OF_SEARCHES = 3000;
+	private static final short SEARCH_RADIUS      = 30;
+
+	@Test
+	public void testSpeed() {
+		DijkstraTestMap map = new DijkstraTestMap(WIDTH, HEIGHT, 1);
+		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(map, map, new BucketQueueAStar(map, WIDTH, HEIGHT), WIDTH, HEIGHT);
+		RingScanAStarSearch ringScan = new RingScanAStarSearch(map, new BucketQueueAStar(map, WIDTH, HEIGHT), WIDTH, HEIGHT);
+
+		Random random = new Random(1);
+		short[][] positions = new short[NUMBER_OF_SEARCHES][];
+		for (int i = 0; i < NUMBER_OF_SEARCHES; ) {
+			short x = (short) random.nextInt(WIDTH);
+			short y = (short) random.nextInt(HEIGHT);
+			if (!map.blocked[x][y]) {
+				positions[i++] = new short[] { x, y };
+			}
+		}
+
+		for (ESearchType searchType : DijkstraTestMap.getSearchTypes()) {
+			runSearches("warm up", searchType, positions, (requester, x, y) -> ringScan.find(requester, x, y, (short) 0, SEARCH_RADIUS, searchType));
+			runSearches("warm up", searchType, positions, (requester, x, y) -> dijkstra.find(requester, x, y, (short) 0, SEARCH_RADIUS, searchType));
+
+			runSearches("ring scan with A*", searchType, positions,
+				(requester, x, y) -> ringScan.find(requester, x, y, (short) 0, SEARCH_RADIUS, searchType));
+			runSearches("dijkstra", searchType, positions, (requester, x, y) -> dijkstra.find(requester, x, y, (short) 0, SEARCH_RADIUS, searchType));
+		}
+	}
+
+	private static void runSearches(String name, ESearchType searchType, short[][] positions, ISearch search) {
+		int foundPaths = 0;
+		MilliStopWatch watch = new MilliStopWatch();
+		for (short[] position : positions) {
+			Path path = search.find(getPathable(position[0], position[1]), position[0], position[1]);
+			if (path != null) {
+				foundPaths++;
+			}
+		}
+		watch.stop(name + " " + searchType + " (" + foundPaths + " found)");
+	}
+
+	private interface ISearch {
+		Path find(IPathCalculatable requester, short centerX, short centerY);
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DijkstraAlgorithmTest {
+	private static final short WIDTH  = 200;
+	private static final short HEIGHT = 200;
+
+	private final DijkstraTestMap     map       = new DijkstraTestMap(WIDTH, HEIGHT, 2);
+	private final DijkstraAlgorithm   dijkstra  = new DijkstraAlgorithm(map, map, new BucketQueueAStar(map, WIDTH, HEIGHT), WIDTH, HEIGHT);
+	private final RingScanAStarSearch reference = new RingScanAStarSearch(map, new BucketQueueAStar(map, WIDTH, HEIGHT), WIDTH, HEIGHT);
+
+	@Test
+	public void testSameTargetsAsRingScanWithAStar() {
+		assertSameTargetsAsRingScan();
+	}
+
+	@Test
+	public void testSameTargetsAsRingScanWithIndex() {
+		map.setIndexed(true);
+		assertSameTargetsAsRingScan();
+	}
+
+	private void assertSameTargetsAsRingScan() {
+		Random random = new Random(3);
+		int foundPaths = 0;
+
+		for (ESearchType searchType : DijkstraTestMap.getSearchTypes()) {
+			for (int i = 0; i < 300; i++) {
+				short x = (short) random.nextInt(WIDTH);
+				short y = (short) random.nextInt(HEIGHT);
+				if (map.blocked[x][y]) {
+					continue;
+				}
+				IPathCalculatable requester = getPathable(x, y);
+				short centerX = (short) Math.max(0, Math.min(WIDTH - 1, x + random.nextInt(7) - 3));
+				short centerY = (short) Math.max(0, Math.min(HEIGHT - 1, y + random.nextInt(7) - 3));
+				short minRadius = (short) random.nextInt(3);
+				short radius = (short) (5 + random.nextInt(25));
+
+				Path expected = reference.find(requester, centerX, centerY, minRadius, radius, searchType);
+				Path actual = dijkstra.find(requester, centerX, centerY, minRadius, radius, searchType);
+
+				if (expected == null) {
+					assertNull(actual);
+				} else {
+					foundPaths++;
+					assertNotNull(actual);
+					assertEquals(expected.getTargetX(), actual.getTargetX());
+					assertEquals(expected.getTargetY(), actual.getTargetY());
+					assertEquals(expected.getLength(), actual.getLength());
+					assertSamePath(expected, actual);
+				}
+			}
+		}
+
+		assertFalse(foundPaths == 0);
+	}
+
+	private void assertSamePath(Path expected, Path actual) {
+		while (expected.hasNextStep()) {
+			assertEquals(expected.nextX(), actual.nextX());
+			assertEquals(expected.nextY(), actual.nextY());
+			expected.goToNextStep();
+			actual.goToNextStep();
+		}
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.EnumMap;
+import java.util.Random;
+import java.util.Set;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.movable.EDirection;
+
+/**
+ * Random test map with lakes, enclosed areas and positions fitting the search types {@link ESearchType#CUTTABLE_TREE},
+ * {@link ESearchType#PLANTABLE_CORN} and {@link ESearchType#FISHABLE}.
+ * <p>
+ * The enclosed areas are surrounded by a closed wall, so the fitting positions inside of them can't be reached from the outside. If the map is
+ * indexed, it provides an {@link ISearchTypeIndex} for all search types.
+ */
+class DijkstraTestMap extends DummyEmptyAStarMap implements IDijkstraPathMap {
+	private static final ESearchType[] SEARCH_TYPES = { ESearchType.CUTTABLE_TREE, ESearchType.PLANTABLE_CORN, ESearchType.FISHABLE };
+
+	final short       width;
+	final short       height;
+	final boolean[][] blocked;
+
+	private final EnumMap<ESearchType, boolean[][]> fits = new EnumMap<>(ESearchType.class);
+
+	private boolean indexed = false;
+
+	DijkstraTestMap(short width, short height, long seed) {
+		super(width, height);
+		this.width = width;
+		this.height = height;
+		this.blocked = new boolean[width][height];
+
+		Random random = new Random(seed);
+		int area = width * height;
+
+		for (int i = 0; i < area / 600; i++) { // lakes
+			int centerX = random.nextInt(width);
+			int centerY = random.nextInt(height);
+			int radius = 1 + random.nextInt(5);
+			for (int x = Math.max(0, centerX - radius); x < Math.min(width, centerX + radius); x++) {
+				for (int y = Math.max(0, centerY - radius); y < Math.min(height, centerY + radius); y++) {
+					setBlocked(x, y, true);
+				}
+			}
+		}
+
+		for (int i = 0; i < area / 2000; i++) { // enclosed areas
+			int radius = 3 + random.nextInt(6);
+			int x = radius + random.nextInt(width - 2 * radius) - radius;
+			int y = radius + random.nextInt(height - 2 * radius);
+			for (EDirection direction : new EDirection[] { EDirection.SOUTH_EAST, EDirection.SOUTH_WEST, EDirection.WEST, EDirection.NORTH_WEST,
+				EDirection.NORTH_EAST, EDirection.EAST }) {
+				for (int step = 0; step < radius; step++) {
+					setBlocked(x, y, true);
+					x = direction.getNextTileX(x);
+					y = direction.getNextTileY(y);
+				}
+			}
+		}
+
+		for (ESearchType searchType : SEARCH_TYPES) {
+			fits.put(searchType, new boolean[width][height]);
+		}
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				if (blocked[x][y]) {
+					continue;
+				}
+				fits.get(ESearchType.CUTTABLE_TREE)[x][y] = random.nextInt(100) < 4;
+				fits.get(ESearchType.PLANTABLE_CORN)[x][y] = random.nextInt(100) < 1;
+				fits.get(ESearchType.FISHABLE)[x][y] = hasBlockedNeighbor(x, y) && random.nextInt(100) < 30;
+			}
+		}
+	}
+
+	private boolean hasBlockedNeighbor(int x, int y) {
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = direction.getNextTileX(x);
+			int neighborY = direction.getNextTileY(y);
+			if (0 <= neighborX && neighborX < width && 0 <= neighborY && neighborY < height && blocked[neighborX][neighborY]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void setBlocked(int x, int y, boolean b) {
+		if (0 <= x && x < width && 0 <= y && y < height) {
+			super.setBlocked(x, y, b);
+			blocked[x][y] = b;
+		}
+	}
+
+	@Override
+	public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
+		return fits.get(type)[x][y];
+	}
+
+	@Override
+	public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
+		for (ESearchType type : types) {
+			if (fitsSearchType(x, y, type, requester)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void setDijkstraSearched(int x, int y) {
+	}
+
+	@Override
+	public ISearchTypeIndex getSearchTypeIndex(ESearchType type) {
+		if (!indexed) {
+			return null;
+		}
+
+		boolean[][] fitting = fits.get(type);
+		return (minX, minY, maxX, maxY, consumer) -> {
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					if (fitting[x][y]) {
+						consumer.accept(x, y);
+					}
+				}
+			}
+		};
+	}
+
+	void setIndexed(boolean indexed) {
+		this.indexed = indexed;
+	}
+
+	static ESearchType[] getSearchTypes() {
+		return SEARCH_TYPES.clone();
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Reference implementation of the former {@link DijkstraAlgorithm}, that scans the rings around the center and runs an A* search for every fitting
+ * position until one can be reached.
+ */
+class RingScanAStarSearch {
+	private static final byte[] directionIncreaseX = { -1, 0, 1, 1, 0, -1 };
+	private static final byte[] directionIncreaseY = { 0, 1, 1, 0, -1, -1 };
+
+	private final IDijkstraPathMap map;
+	private final AbstractAStar    aStar;
+	private final short            width;
+	private final short            height;
+
+	RingScanAStarSearch(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
+		this.map = map;
+		this.aStar = aStar;
+		this.width = width;
+		this.height = height;
+	}
+
+	Path find(IPathCalculatable requester, short cX, short cY, short minRadius, short maxRadius, ESearchType type) {
+		if (minRadius <= 0 && map.fitsSearchType(cX, cY, type, requester)) {
+			Path path = findPathTo(requester, cX, cY);
+			if (path != null) {
+				return path;
+			}
+		}
+
+		for (short radius = minRadius; radius < maxRadius; radius++) {
+			short x = cX, y = (short) (cY - radius);
+			for (byte direction = 0; direction < 6; direction++) {
+				byte dx = directionIncreaseX[direction];
+				byte dy = directionIncreaseY[direction];
+				for (short length = 0; length < radius; length++) {
+					x += dx;
+					y += dy;
+					if (0 <= x && x < width && 0 <= y && y < height && map.fitsSearchType(x, y, type, requester)) {
+						Path path = findPathTo(requester, x, y);
+						if (path != null) {
+							return path;
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private Path findPathTo(IPathCalculatable requester, short tx, short ty) {
+		ShortPoint2D pos = requester.getPosition();
+		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
+	}
+}
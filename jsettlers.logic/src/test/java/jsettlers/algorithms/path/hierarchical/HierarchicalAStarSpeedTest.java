@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Compares the flat {@link BucketQueueAStar} with the {@link HierarchicalAStar} for long distance paths on a big map.
+ */
+public class HierarchicalAStarSpeedTest {
+	private static final short WIDTH             = 768;
+	private static final short HEIGHT            = 768;
+	private static final int   NUMBER_OF_PATHS   = 300;
+	private static final int   MIN_PATH_DISTANCE = 200;
+
+	@Test
+	public void testSpeed() {
+		DummyEmptyAStarMap map = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+		boolean[][] blocked = new boolean[WIDTH][HEIGHT];
+		Random random = new Random(1);
+		for (int i = 0; i < 2000; i++) { // place some lakes
+			int centerX = random.nextInt(WIDTH);
+			int centerY = random.nextInt(HEIGHT);
+			int radius = 2 + random.nextInt(8);
+			for (int x = Math.max(0, centerX - radius); x < Math.min(WIDTH, centerX + radius); x++) {
+				for (int y = Math.max(0, centerY - radius); y < Math.min(HEIGHT, centerY + radius); y++) {
+					blocked[x][y] = true;
+					map.setBlocked(x, y, true);
+				}
+			}
+		}
+
+		BucketQueueAStar aStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+		HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, (x, y) -> blocked[x][y], aStar, WIDTH, HEIGHT);
+
+		short[][] requests = new short[NUMBER_OF_PATHS][];
+		for (int i = 0; i < NUMBER_OF_PATHS; ) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			if (!blocked[sx][sy] && !blocked[tx][ty] && ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= MIN_PATH_DISTANCE) {
+				requests[i++] = new short[] { sx, sy, tx, ty };
+			}
+		}
+
+		runSearches("warm up", hierarchicalAStar, requests);
+		runSearches("warm up", aStar, requests);
+
+		runSearches("flat A*", aStar, requests);
+		runSearches("hierarchical A*", hierarchicalAStar, requests);
+		System.out.println("calculated sectors: " + hierarchicalAStar.getCalculatedSectors());
+	}
+
+	private static void runSearches(String name, AbstractAStar aStar, short[][] requests) {
+		long pathLengths = 0;
+		MilliStopWatch watch = new MilliStopWatch();
+		for (short[] request : requests) {
+			Path path = aStar.findPath(getPathable(request[0], request[1]), request[0], request[1], request[2], request[3]);
+			if (path != null) {
+				pathLengths += path.getLength();
+			}
+		}
+		watch.stop(name + " for " + requests.length + " paths (total length " + pathLengths + ")");
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
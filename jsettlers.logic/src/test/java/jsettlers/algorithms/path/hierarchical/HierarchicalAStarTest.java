@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HierarchicalAStarTest {
+
+	private static final short WIDTH  = 200;
+	private static final short HEIGHT = 200;
+
+	private final boolean[][]        blocked           = new boolean[WIDTH][HEIGHT];
+	private final DummyEmptyAStarMap map               = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar   aStar             = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final HierarchicalAStar  hierarchicalAStar = new HierarchicalAStar(map, (x, y) -> blocked[x][y], aStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testEmptyMapPathIsValidAndShort() {
+		short sx = 10;
+		short sy = 20;
+		short tx = 180;
+		short ty = 150;
+
+		Path path = hierarchicalAStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
+
+		assertValidPath(sx, sy, tx, ty, path);
+		int optimalLength = ShortPoint2D.getOnGridDist(tx - sx, ty - sy);
+		assertTrue(path.getLength() + " > " + optimalLength, path.getLength() <= optimalLength * 1.2f);
+	}
+
+	@Test
+	public void testPathThroughGapInWall() {
+		for (int y = 0; y < HEIGHT; y++) {
+			setBlocked(100, y, y != 170);
+		}
+
+		Path path = hierarchicalAStar.findPath(getPathable((short) 20, (short) 20), new ShortPoint2D(180, 20));
+
+		assertValidPath((short) 20, (short) 20, (short) 180, (short) 20, path);
+	}
+
+	@Test
+	public void testShortestPathLeadsAcrossSectorCorner() {
+		int corner = SectorGraph.SECTOR_SIZE;
+		for (int i = 0; i < corner; i++) { // the first sector can only be left to the south east across its corner or far in the north
+			setBlocked(corner - 1, i, i != 0 && i != corner - 1);
+			setBlocked(i, corner - 1, i != corner - 1);
+		}
+		setBlocked(corner, corner - 1, true);
+		setBlocked(corner - 1, corner, true);
+
+		short sx = 5;
+		short sy = 5;
+		short tx = 40;
+		short ty = 40;
+		Path flatPath = aStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
+		Path path = hierarchicalAStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
+
+		assertValidPath(sx, sy, tx, ty, path);
+		assertEquals(flatPath.getLength(), path.getLength());
+	}
+
+	@Test
+	public void testInvalidationAfterBlockingChanges() {
+		for (int y = 0; y < HEIGHT; y++) {
+			setBlocked(100, y, y != 30);
+		}
+		assertNotNull(hierarchicalAStar.findPath(getPathable((short) 20, (short) 20), new ShortPoint2D(180, 20)));
+
+		setBlocked(100, 30, true);
+		assertNull(hierarchicalAStar.findPath(getPathable((short) 20, (short) 20), new ShortPoint2D(180, 20)));
+
+		setBlocked(100, 120, false);
+		Path path = hierarchicalAStar.findPath(getPathable((short) 20, (short) 20), new ShortPoint2D(180, 20));
+		assertValidPath((short) 20, (short) 20, (short) 180, (short) 20, path);
+	}
+
+	@Test
+	public void testFindsPathsIfFlatSearchDoes() {
+		Random random = new Random(42);
+		for (int i = 0; i < WIDTH * HEIGHT / 4; i++) {
+			setBlocked(random.nextInt(WIDTH), random.nextInt(HEIGHT), true);
+		}
+
+		for (int i = 0; i < 200; i++) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			if (blocked[sx][sy]) {
+				continue;
+			}
+
+			Path flatPath = aStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
+			Path hierarchicalPath = hierarchicalAStar.findPath(getPathable(sx, sy), new ShortPoint2D(tx, ty));
+
+			assertEquals(flatPath == null, hierarchicalPath == null);
+			if (hierarchicalPath != null) {
+				assertValidPath(sx, sy, tx, ty, hierarchicalPath);
+			}
+		}
+	}
+
+	private void setBlocked(int x, int y, boolean newBlocked) {
+		blocked[x][y] = newBlocked;
+		map.setBlocked(x, y, newBlocked);
+		hierarchicalAStar.invalidate(x, y);
+	}
+
+	private void assertValidPath(short sx, short sy, short tx, short ty, Path path) {
+		assertNotNull(path);
+
+		int x = sx;
+		int y = sy;
+		while (path.hasNextStep()) {
+			EDirection direction = EDirection.getDirection((short) x, (short) y, path.nextX(), path.nextY());
+			assertNotNull("not a neighbor: (" + x + "|" + y + ") -> (" + path.nextX() + "|" + path.nextY() + ")", direction);
+			x = path.nextX();
+			y = path.nextY();
+			assertTrue(!blocked[x][y]);
+			path.goToNextStep();
+		}
+		assertEquals(tx, x);
+		assertEquals(ty, y);
+	}
+
+	private IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
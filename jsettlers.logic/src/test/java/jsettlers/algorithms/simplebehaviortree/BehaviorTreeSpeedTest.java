@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.simplebehaviortree;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Measures the time and the allocated memory of ticking the behaviour trees of the bearers of a map.
+ */
+public class BehaviorTreeSpeedTest {
+	private static final int ROUNDS = 2000;
+
+	@After
+	public void clearState() {
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testBearerTicks() throws Exception {
+		TestUtils.setupTempResourceManager();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MapLoader map = MapUtils.getMountainlake();
+		map.loadMainGrid(PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers()));
+
+		List<ILogicMovable> bearers = new ArrayList<>();
+		for (ILogicMovable movable : MovableManager.getAllMovables()) {
+			if (movable.getMovableType() == EMovableType.BEARER) {
+				bearers.add(movable);
+			}
+		}
+
+		runTicks("warm up", bearers);
+		runTicks("bearer ticks", bearers);
+	}
+
+	private static void runTicks(String name, List<ILogicMovable> bearers) {
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (ILogicMovable bearer : bearers) {
+				bearer.timerEvent();
+			}
+		}
+		watch.stop(name + " of " + bearers.size() + " bearers " + ROUNDS + " times");
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		System.out.println(name + " allocated " + allocated / ((long) ROUNDS * bearers.size()) + " bytes per tick");
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.replay;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.action.EMoveToType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.input.tasks.EGuiAction;
+import jsettlers.input.tasks.MoveToGuiTask;
+import jsettlers.input.tasks.SimpleGuiTask;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.DirectoryMapLister;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Checks that the parallel movable update creates the same game as the sequential update, regardless of the number of threads preparing the movables.
+ * <p>
+ * The behaviour of the bearers draws a random number when its class is initialized, which happens during the first game of a JVM. Therefore only the
+ * first replay of this test is compared with the reference of the {@link AutoReplayIT}, which was created in a new JVM, too. The replay with another
+ * number of threads is compared with a sequential replay, as both of them don't draw this number. The tests run in the order of their names to keep
+ * the replay the first game.
+ * <p>
+ * The soldiers of the replay never meet an enemy. Therefore the combat test sends the soldiers of one player into the soldiers of another player, so that
+ * the soldiers search their enemies with the search prepared in parallel.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ParallelMovableUpdateIT {
+	private static final int TARGET_TIME_MINUTES = 20;
+
+	private static final String       COMBAT_MAP          = "../maps/test/soldierfightingtestmap.rmap";
+	private static final ShortPoint2D COMBAT_TARGET       = new ShortPoint2D(100, 96);
+	private static final int          COMBAT_TIME_MINUTES = 5;
+
+	@BeforeClass
+	public static void setupConstants() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		CommonConstants.CONTROL_ALL = true;
+		CommonConstants.USE_SAVEGAME_COMPRESSION = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	@After
+	public void resetParallelUpdate() {
+		MatchConstants.ENABLE_PARALLEL_MOVABLE_UPDATE = false;
+		RescheduleTimer.setPreparationThreads(Runtime.getRuntime().availableProcessors());
+	}
+
+	@Test
+	public void testReplayIsSameAsSequentialReplay() throws IOException, MapLoadException, ClassNotFoundException {
+		AutoReplaySetting setting = AutoReplaySetting.getDefaultSettings().iterator().next();
+
+		MapLoader multiThreadedSavegame = replay(setting, true, 4);
+		setting.compareSaveGameAndDelete(TARGET_TIME_MINUTES, multiThreadedSavegame);
+
+		MapLoader singleThreadedSavegame = replay(setting, true, 1);
+		MapLoader sequentialSavegame = replay(setting, false, 1);
+		try {
+			MapUtils.compareMapFiles(sequentialSavegame, singleThreadedSavegame);
+		} finally {
+			singleThreadedSavegame.getListedMap().delete();
+			sequentialSavegame.getListedMap().delete();
+		}
+	}
+
+	@Test
+	public void testSoldiersFightAsInSequentialUpdate() throws IOException, MapLoadException, ClassNotFoundException {
+		MapLoader parallelSavegame = playCombat(true, 4);
+		MapLoader sequentialSavegame = playCombat(false, 1);
+		try {
+			MapUtils.compareMapFiles(sequentialSavegame, parallelSavegame);
+		} finally {
+			parallelSavegame.getListedMap().delete();
+			sequentialSavegame.getListedMap().delete();
+		}
+	}
+
+	private static MapLoader replay(AutoReplaySetting setting, boolean parallelUpdate, int threads) throws MapLoadException {
+		MatchConstants.ENABLE_PARALLEL_MOVABLE_UPDATE = parallelUpdate;
+		RescheduleTimer.setPreparationThreads(threads);
+		return ReplayUtils.replayAndCreateSavegames(setting.getReplayFile(), new int[] { TARGET_TIME_MINUTES })[0];
+	}
+
+	private static MapLoader playCombat(boolean parallelUpdate, int threads) throws MapLoadException {
+		MatchConstants.ENABLE_PARALLEL_MOVABLE_UPDATE = parallelUpdate;
+		RescheduleTimer.setPreparationThreads(threads);
+
+		MapLoader map = MapLoader.getLoaderForListedMap(new DirectoryMapLister.ListedMapFile(new File(COMBAT_MAP)));
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		networkConnector.getGameClock().setPausing(true);
+		JSettlersGame game = new JSettlersGame(map, 0L, networkConnector, (byte) 0, PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers()));
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(game.start());
+
+		try {
+			List<Integer> attackers = getSoldierIds(0);
+			int defenders = getSoldierIds(1).size();
+
+			int combatTimeMs = COMBAT_TIME_MINUTES * 60 * 1000;
+			networkConnector.scheduleTaskAt(10, new MoveToGuiTask((byte) 0, COMBAT_TARGET, attackers, EMoveToType.DEFAULT));
+			networkConnector.scheduleTaskAt(combatTimeMs / NetworkConstants.Client.LOCKSTEP_PERIOD, new SimpleGuiTask(EGuiAction.QUICK_SAVE, (byte) 0));
+			MatchConstants.clock().fastForwardTo(combatTimeMs + 1000);
+
+			assertTrue("the soldiers didn't fight", getSoldierIds(1).size() < defenders);
+			return ReplayUtils.getNewestSavegame();
+		} finally {
+			ReplayUtils.awaitShutdown(startedGame);
+		}
+	}
+
+	private static List<Integer> getSoldierIds(int playerId) {
+		List<Integer> soldierIds = new ArrayList<>();
+		for (ILogicMovable movable : MovableManager.getAllMovables()) {
+			if (movable.getPlayer().getPlayerId() == playerId && movable.getMovableType().isSoldier()) {
+				soldierIds.add(movable.getID());
+			}
+		}
+		return soldierIds;
+	}
+}
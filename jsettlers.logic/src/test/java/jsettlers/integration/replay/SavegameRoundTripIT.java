@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.replay;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.input.PlayerState;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.IGameCreator.MainGridWithUiSettings;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.MapList;
+import jsettlers.logic.movable.civilian.BearerMovable;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Loads every reference savegame of the {@link AutoReplayIT} and saves it again. The new savegame has to be equal to the reference. So the
+ * references can be read by the current format and the format doesn't depend on state that isn't saved.
+ * <p>
+ * Additionally, a savegame of the legacy format written at the time of the first reference is loaded. Saved again, it has to be equal to that
+ * reference.
+ */
+@RunWith(Parameterized.class)
+public class SavegameRoundTripIT {
+	private static final byte   PLAYER_ID       = 0;
+	private static final String LEGACY_SAVEGAME = "/jsettlers/integration/replay/fullproduction/legacy-savegame-0m.zmap";
+
+	@BeforeClass
+	public static void setupConstants() throws ClassNotFoundException {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		CommonConstants.CONTROL_ALL = true;
+		CommonConstants.USE_SAVEGAME_COMPRESSION = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+
+		// The behaviour of the bearers draws a random number when its class is initialized. Initialize it here, so it isn't drawn while the first
+		// savegame is loaded.
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		Class.forName(BearerMovable.class.getName());
+		MatchConstants.clearState();
+	}
+
+	@Parameters(name = "{index}: {0}")
+	public static Collection<Object[]> savegames() {
+		Collection<Object[]> savegames = new ArrayList<>();
+		for (AutoReplaySetting setting : AutoReplaySetting.getDefaultSettings()) {
+			for (int i = 0; i < setting.getTimeMinutes().length; i++) {
+				savegames.add(new Object[] { setting.getReplayPath(i), setting, i });
+			}
+		}
+		savegames.add(new Object[] { LEGACY_SAVEGAME, AutoReplaySetting.getDefaultSettings().iterator().next(), 0 });
+		return savegames;
+	}
+
+	private final String            savegamePath;
+	private final AutoReplaySetting setting;
+	private final int               index;
+
+	public SavegameRoundTripIT(String savegamePath, AutoReplaySetting setting, int index) {
+		this.savegamePath = savegamePath;
+		this.setting = setting;
+		this.index = index;
+	}
+
+	@Test
+	public void testSavegameEqualsReference() throws IOException, MapLoadException, ClassNotFoundException, InterruptedException {
+		MapLoader loadedSavegame = MapLoader.getLoaderForListedMap(new MapList.ListedResourceMap(savegamePath));
+		MapLoader reference = setting.getReferenceSavegame(index);
+
+		Thread.sleep(1000L); // savegames are named by the second they are written in => make sure every savegame gets a new name
+
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MainGridWithUiSettings loadedMap = loadedSavegame.loadMainGrid(PlayerSetting.createDefaultSettings(PLAYER_ID, (byte) loadedSavegame.getMaxPlayers()));
+		MainGrid mainGrid = loadedMap.getMainGrid();
+		PlayerState playerState = loadedMap.getPlayerState(PLAYER_ID);
+
+		mainGrid.initForPlayer(PLAYER_ID, playerState.getFogOfWar());
+
+		MapLoader savegame;
+		try {
+			savegame = MapUtils.saveMainGrid(mainGrid, PLAYER_ID, playerState.getUiState());
+			assertNotNull(savegame);
+		} finally {
+			mainGrid.stopThreads();
+			JSettlersGame.clearState();
+		}
+
+		MapUtils.compareMapFiles(reference, savegame);
+		savegame.getListedMap().delete();
+	}
+}
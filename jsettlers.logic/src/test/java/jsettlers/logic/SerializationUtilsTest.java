@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SerializationUtilsTest {
+	private static final int LENGTH = 200 * 200;
+
+	@Test
+	public void testBytesRoundTrip() throws IOException {
+		Random random = new Random(1);
+
+		byte[] noise = new byte[LENGTH];
+		random.nextBytes(noise);
+		assertArrayEquals(noise, roundTrip(noise));
+
+		byte[] areas = new byte[LENGTH];
+		for (int start = 0; start < LENGTH; start += 1 + random.nextInt(500)) {
+			Arrays.fill(areas, start, LENGTH, (byte) random.nextInt());
+		}
+		assertArrayEquals(areas, roundTrip(areas));
+
+		byte[] longRun = new byte[3 * 0x10000 + 17];
+		Arrays.fill(longRun, (byte) -3);
+		assertArrayEquals(longRun, roundTrip(longRun));
+
+		assertArrayEquals(new byte[0], roundTrip(new byte[0]));
+	}
+
+	@Test
+	public void testShortsRoundTrip() throws IOException {
+		Random random = new Random(2);
+
+		short[] noise = new short[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			noise[i] = (short) random.nextInt();
+		}
+		assertArrayEquals(noise, roundTrip(noise));
+
+		short[] areas = new short[LENGTH];
+		for (int start = 0; start < LENGTH; start += 1 + random.nextInt(500)) {
+			Arrays.fill(areas, start, LENGTH, (short) random.nextInt());
+		}
+		assertArrayEquals(areas, roundTrip(areas));
+
+		short[] longRun = new short[3 * 0x10000 + 17];
+		Arrays.fill(longRun, Short.MIN_VALUE);
+		assertArrayEquals(longRun, roundTrip(longRun));
+
+		assertArrayEquals(new short[0], roundTrip(new short[0]));
+	}
+
+	@Test
+	public void testUniformGridsAreSmall() throws IOException {
+		assertTrue(serialize(oos -> SerializationUtils.writeBytes(oos, new byte[LENGTH])).length < 100);
+		assertTrue(serialize(oos -> SerializationUtils.writeShorts(oos, new short[LENGTH])).length < 100);
+	}
+
+	@Test
+	public void testNoiseIsNotEncoded() throws IOException {
+		byte[] noise = new byte[LENGTH];
+		new Random(3).nextBytes(noise);
+		assertTrue(serialize(oos -> SerializationUtils.writeBytes(oos, noise)).length < LENGTH * 1.01); // the block headers of the stream add a few bytes
+	}
+
+	private static byte[] roundTrip(byte[] data) throws IOException {
+		byte[] serialized = serialize(oos -> SerializationUtils.writeBytes(oos, data));
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+			return SerializationUtils.readBytes(ois);
+		}
+	}
+
+	private static short[] roundTrip(short[] data) throws IOException {
+		byte[] serialized = serialize(oos -> SerializationUtils.writeShorts(oos, data));
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+			return SerializationUtils.readShorts(ois);
+		}
+	}
+
+	private static byte[] serialize(IWriter writer) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			writer.write(oos);
+		}
+		return out.toByteArray();
+	}
+
+	private interface IWriter {
+		void write(ObjectOutputStream oos) throws IOException;
+	}
+}
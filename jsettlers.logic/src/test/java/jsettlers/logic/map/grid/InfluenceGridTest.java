@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import org.junit.Test;
+
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.player.Player;
+import jsettlers.logic.player.Team;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InfluenceGridTest {
+	private final Team   team0   = new Team((byte) 0);
+	private final Team   team1   = new Team((byte) 1);
+	private final Player player0 = new Player((byte) 0, team0, (byte) 3, EPlayerType.HUMAN, ECivilisation.ROMAN);
+	private final Player player1 = new Player((byte) 1, team0, (byte) 3, EPlayerType.HUMAN, ECivilisation.ROMAN);
+	private final Player player2 = new Player((byte) 2, team1, (byte) 3, EPlayerType.HUMAN, ECivilisation.ROMAN);
+
+	@Test
+	public void testEnemiesOfTeams() {
+		InfluenceGrid grid = new InfluenceGrid((short) 100, (short) 100);
+		grid.addSoldier(50, 50, player0);
+		grid.addSoldier(52, 51, player1);
+		grid.addSoldier(80, 80, player2);
+
+		assertFalse(grid.hasEnemies((byte) 0, 50, 50, 5));
+		assertTrue(grid.hasEnemies((byte) 1, 50, 50, 5));
+		assertFalse(grid.hasEnemies((byte) 1, 10, 10, 5));
+		assertTrue(grid.hasEnemies((byte) 0, 70, 70, 10));
+		assertFalse(grid.hasEnemies((byte) 1, 70, 70, 5));
+	}
+
+	@Test
+	public void testEnemiesInTheSameCellAsOwnSoldiers() {
+		InfluenceGrid grid = new InfluenceGrid((short) 100, (short) 100);
+		grid.addSoldier(50, 50, player0);
+		grid.addSoldier(50, 50, player0);
+		grid.addSoldier(51, 51, player2);
+
+		assertTrue(grid.hasEnemies((byte) 0, 50, 50, 1));
+
+		grid.removeSoldier(51, 51, player2);
+		assertFalse(grid.hasEnemies((byte) 0, 50, 50, 1));
+	}
+
+	@Test
+	public void testRemovedSoldiersCancelOut() {
+		InfluenceGrid grid = new InfluenceGrid((short) 100, (short) 100);
+		for (int i = 0; i < 1000; i++) {
+			grid.addSoldier(i % 100, i / 10, player2);
+		}
+		for (int i = 0; i < 1000; i++) {
+			grid.removeSoldier(i % 100, i / 10, player2);
+		}
+
+		assertFalse(grid.hasEnemies((byte) 0, 50, 50, 100));
+	}
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceIndexTest {
+	private static final short WIDTH  = 100;
+	private static final short HEIGHT = 70;
+
+	private final ResourceIndex index = new ResourceIndex(WIDTH, HEIGHT, ESearchType.CUTTABLE_TREE, ESearchType.FISHABLE);
+
+	@Test
+	public void testCandidatesInArea() {
+		boolean[][] candidates = new boolean[WIDTH][HEIGHT];
+		Random random = new Random(1);
+		for (int i = 0; i < 3000; i++) {
+			int x = random.nextInt(WIDTH);
+			int y = random.nextInt(HEIGHT);
+			boolean candidate = random.nextBoolean();
+			candidates[x][y] = candidate;
+			index.setCandidate(ESearchType.CUTTABLE_TREE, x, y, candidate);
+		}
+
+		for (int i = 0; i < 100; i++) {
+			int minX = random.nextInt(WIDTH);
+			int minY = random.nextInt(HEIGHT);
+			int maxX = minX + random.nextInt(WIDTH - minX);
+			int maxY = minY + random.nextInt(HEIGHT - minY);
+
+			List<ShortPoint2D> expected = new ArrayList<>();
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					if (candidates[x][y]) {
+						expected.add(new ShortPoint2D(x, y));
+					}
+				}
+			}
+
+			List<ShortPoint2D> actual = new ArrayList<>();
+			index.getIndex(ESearchType.CUTTABLE_TREE).forEachCandidate(minX, minY, maxX, maxY, (x, y) -> actual.add(new ShortPoint2D(x, y)));
+
+			assertEquals(expected.size(), actual.size());
+			assertTrue(actual.containsAll(expected));
+		}
+	}
+
+	@Test
+	public void testCounting() {
+		index.setCandidate(ESearchType.FISHABLE, 3, 4, true);
+		index.setCandidate(ESearchType.FISHABLE, 3, 4, true);
+		index.setCandidate(ESearchType.FISHABLE, 50, 60, true);
+		index.setCandidate(ESearchType.FISHABLE, WIDTH, 4, true); // out of bounds
+		assertEquals(2, index.getNumberOfCandidates(ESearchType.FISHABLE));
+		assertEquals(0, index.getNumberOfCandidates(ESearchType.CUTTABLE_TREE));
+
+		index.setCandidate(ESearchType.FISHABLE, 3, 4, false);
+		assertFalse(index.isCandidate(ESearchType.FISHABLE, 3, 4));
+		assertEquals(1, index.getNumberOfCandidates(ESearchType.FISHABLE));
+		assertNull(index.getIndex(ESearchType.CUTTABLE_CORN));
+	}
+}
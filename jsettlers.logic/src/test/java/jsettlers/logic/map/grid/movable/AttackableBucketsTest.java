@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.movable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AttackableBucketsTest {
+
+	@Test
+	public void testEnemiesOfOtherTeams() {
+		AttackableBuckets buckets = new AttackableBuckets((short) 100, (short) 50);
+		buckets.add(17, 9, (byte) 1);
+
+		assertTrue(buckets.hasAttackables(2, 1));
+		assertTrue(buckets.hasEnemies(2, 1, (byte) 0));
+		assertTrue(buckets.hasEnemies(2, 1, (byte) 5));
+		assertFalse(buckets.hasEnemies(2, 1, (byte) 1));
+		assertFalse(buckets.hasAttackables(1, 1));
+
+		buckets.add(16, 8, (byte) 0);
+		assertTrue(buckets.hasEnemies(2, 1, (byte) 1));
+
+		buckets.remove(17, 9, (byte) 1);
+		assertFalse(buckets.hasEnemies(2, 1, (byte) 0));
+		assertTrue(buckets.hasAttackables(2, 1));
+	}
+
+	@Test
+	public void testModificationsOfArea() {
+		AttackableBuckets buckets = new AttackableBuckets((short) 100, (short) 50);
+		int modifications = buckets.getModifications(10, 10, 30, 20);
+
+		buckets.add(40, 10, (byte) 0);
+		assertEquals(modifications, buckets.getModifications(10, 10, 30, 20));
+
+		buckets.add(30, 20, (byte) 0);
+		assertNotEquals(modifications, buckets.getModifications(10, 10, 30, 20));
+
+		modifications = buckets.getModifications(10, 10, 30, 20);
+		buckets.remove(30, 20, (byte) 0);
+		buckets.add(31, 20, (byte) 0); // a move inside the same bucket
+		assertNotEquals(modifications, buckets.getModifications(10, 10, 30, 20));
+	}
+
+	@Test
+	public void testBucketsAtTheBorder() {
+		AttackableBuckets buckets = new AttackableBuckets((short) 17, (short) 9);
+		buckets.add(16, 8, (byte) 0);
+
+		assertTrue(buckets.hasEnemies(buckets.getBucketsPerRow() - 1, buckets.getBucketsPerColumn() - 1, (byte) 1));
+	}
+}
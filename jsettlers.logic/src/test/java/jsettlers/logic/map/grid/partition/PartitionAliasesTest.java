@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PartitionAliasesTest {
+
+	@Test
+	public void testJoinedListsContainAllIds() {
+		PartitionAliases aliases = new PartitionAliases(10);
+
+		aliases.join((short) 1, (short) 2);
+		aliases.join((short) 3, (short) 4);
+		aliases.join((short) 3, (short) 5);
+		aliases.join((short) 1, (short) 3);
+
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), getIds(aliases, 1));
+		assertEquals(Arrays.asList(3, 4, 5), getIds(aliases, 3));
+		assertEquals(Arrays.asList(6), getIds(aliases, 6));
+	}
+
+	@Test
+	public void testResetAndGrow() {
+		PartitionAliases aliases = new PartitionAliases(4);
+		aliases.join((short) 1, (short) 2);
+		aliases.reset(1);
+		aliases.reset(2);
+
+		aliases.ensureCapacity(8);
+		aliases.join((short) 7, (short) 1);
+
+		assertEquals(Arrays.asList(7, 1), getIds(aliases, 7));
+		assertEquals(Arrays.asList(2), getIds(aliases, 2));
+	}
+
+	private static List<Integer> getIds(PartitionAliases aliases, int representative) {
+		List<Integer> ids = new ArrayList<>();
+		for (short id = (short) representative; id != PartitionAliases.NONE; id = aliases.getNext(id)) {
+			ids.add((int) id);
+		}
+		return ids;
+	}
+}
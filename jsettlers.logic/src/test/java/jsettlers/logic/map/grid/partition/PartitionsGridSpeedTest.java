@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.map.shapes.FreeMapArea;
+import jsettlers.common.map.shapes.MapCircle;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Measures the merges and divides of the partitions when towers of several players are built, captured and removed on the landscape of the
+ * mountainlake map.
+ */
+public class PartitionsGridSpeedTest {
+	private static final byte NUMBER_OF_PLAYERS = 4;
+	private static final int  TOWER_DISTANCE    = 30;
+	private static final int  TOWER_RADIUS      = 40;
+	private static final int  BORDER_MARGIN     = 2 * TOWER_RADIUS; // the divide check of the partitions does not test the bounds of the map
+
+	@Test
+	public void testTowerCaptures() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		MainGrid mainGrid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+		MainGridDataAccessor gridAccessor = new MainGridDataAccessor(mainGrid);
+
+		short width = gridAccessor.getWidth();
+		short height = gridAccessor.getHeight();
+		LandscapeGrid blockingProvider = gridAccessor.getLandscapeGrid();
+
+		PartitionsGrid grid = new PartitionsGrid(width, height, PlayerSetting.createDefaultSettings((byte) 0, NUMBER_OF_PLAYERS), blockingProvider);
+
+		List<ShortPoint2D> towers = new ArrayList<>();
+		for (int y = BORDER_MARGIN; y < height - BORDER_MARGIN; y += TOWER_DISTANCE) {
+			for (int x = BORDER_MARGIN; x < width - BORDER_MARGIN; x += TOWER_DISTANCE) {
+				if (!blockingProvider.isBlocked(x, y)) {
+					towers.add(new ShortPoint2D(x, y));
+				}
+			}
+		}
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (ShortPoint2D tower : towers) {
+			grid.addTowerAndOccupyArea(getPlayer(tower, 0), new MapCircle(tower, TOWER_RADIUS), getGroundArea(tower));
+		}
+		watch.stop("building " + towers.size() + " towers needed:");
+
+		watch.restart();
+		for (int i = 0; i < towers.size(); i += 2) {
+			grid.changePlayerOfTower(towers.get(i), getPlayer(towers.get(i), 1));
+		}
+		watch.stop("capturing " + (towers.size() + 1) / 2 + " towers needed:");
+
+		watch.restart();
+		for (ShortPoint2D tower : towers) {
+			grid.removeTowerAndFreeOccupiedArea(tower);
+		}
+		watch.stop("removing " + towers.size() + " towers needed:");
+	}
+
+	/**
+	 * The players own diagonal stripes of towers, so the areas of the towers of one player merge and the captures divide them.
+	 */
+	private static byte getPlayer(ShortPoint2D tower, int round) {
+		return (byte) ((tower.x / TOWER_DISTANCE + tower.y / TOWER_DISTANCE + round) % NUMBER_OF_PLAYERS);
+	}
+
+	private static FreeMapArea getGroundArea(ShortPoint2D position) {
+		return new FreeMapArea(position, EBuildingType.TOWER.getVariant(ECivilisation.ROMAN).getProtectedTiles());
+	}
+}
@@ -75,6 +75,29 @@ public class PartitionsGridTest {
 		}
 	}
 
+	@Test
+	public void testMergeTreeOfPartitionsAndRepresentatives() {
+		short partitions[] = new short[64];
+		for (int i = 0; i < partitions.length; i++) {
+			partitions[i] = grid.createNewPartition((byte) 1);
+		}
+
+		for (int step = 1; step < partitions.length; step *= 2) { // merge groups of already merged partitions
+			for (int i = 0; i + step < partitions.length; i += 2 * step) {
+				grid.mergePartitions(partitions[i + step], partitions[i]);
+			}
+		}
+
+		Partition representative = grid.partitionObjects[partitions[0]];
+		assertEquals(representative, grid.partitionObjects[representative.partitionId]);
+		for (short partition : partitions) {
+			assertEquals(representative, grid.partitionObjects[partition]);
+		}
+
+		short newPartition = grid.createNewPartition((byte) 1);
+		assertEquals(newPartition, grid.partitionObjects[newPartition].partitionId);
+	}
+
 	@Test
 	public void testMergeWithAreaAndGoods() {
 		short partition1 = grid.createNewPartition((byte) 1);
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.testutils.TestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PositionIndexedQueueTest {
+	private final PositionIndexedQueue<TestObject> queue = new PositionIndexedQueue<>();
+
+	@Test
+	public void testFirstInFirstOut() {
+		TestObject first = new TestObject(1, 1);
+		TestObject second = new TestObject(2, 2);
+		queue.offer(first);
+		queue.offer(second);
+		queue.offer(first);
+
+		assertEquals(3, queue.size());
+		assertEquals(first, queue.peek());
+		assertEquals(first, queue.poll());
+		assertEquals(second, queue.poll());
+		assertEquals(first, queue.poll());
+		assertNull(queue.poll());
+		assertNull(queue.peek());
+	}
+
+	@Test
+	public void testMoveObjectsAtPosition() {
+		TestObject a = new TestObject(1, 1);
+		TestObject b = new TestObject(2, 2);
+		TestObject c = new TestObject(1, 1);
+		PositionIndexedQueue<TestObject> newQueue = new PositionIndexedQueue<>();
+		newQueue.offer(b);
+		queue.offer(a);
+		queue.offer(b);
+		queue.offer(c);
+
+		queue.moveObjectsAtPositionTo(new ShortPoint2D(1, 1), newQueue);
+		assertQueue(queue, b);
+		assertQueue(newQueue, b, a, c);
+
+		queue.moveObjectsAtPositionTo(new ShortPoint2D(2, 2), null);
+		assertQueue(queue);
+	}
+
+	@Test
+	public void testSameResultsAsLinkedList() throws IOException, ClassNotFoundException {
+		Random random = new Random(2);
+		LinkedList<TestObject> expected = new LinkedList<>();
+
+		for (int i = 0; i < 5000; i++) {
+			switch (random.nextInt(5)) {
+			case 0:
+			case 1:
+				TestObject object = new TestObject(random.nextInt(10), random.nextInt(10));
+				expected.offer(object);
+				queue.offer(object);
+				break;
+			case 2:
+				assertEquals(expected.poll(), queue.poll());
+				break;
+			case 3:
+				ShortPoint2D position = new ShortPoint2D(random.nextInt(10), random.nextInt(10));
+				expected.removeIf(current -> current.getPosition().equals(position));
+				queue.moveObjectsAtPositionTo(position, null);
+				break;
+			default:
+				Iterator<TestObject> iterator = queue.iterator();
+				int index = random.nextInt(queue.size() + 1);
+				for (int j = 0; j < index; j++) {
+					iterator.next();
+				}
+				if (index > 0) {
+					iterator.remove();
+					expected.remove(index - 1);
+				}
+				break;
+			}
+			assertEquals(expected.size(), queue.size());
+		}
+
+		assertQueue(TestUtils.serializeAndDeserialize(queue), expected.toArray(new TestObject[0]));
+	}
+
+	private static void assertQueue(PositionIndexedQueue<TestObject> queue, TestObject... expected) {
+		List<TestObject> objects = new ArrayList<>();
+		for (TestObject object : queue) {
+			objects.add(object);
+		}
+		assertEquals(expected.length, queue.size());
+		assertEquals(expected.length, objects.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].toString(), objects.get(i).toString());
+		}
+	}
+
+	private static class TestObject implements ILocatable, Serializable {
+		private static final long serialVersionUID = 4913350375214431870L;
+		private static int nextId;
+
+		private final ShortPoint2D position;
+		private final int          id = nextId++;
+
+		TestObject(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public String toString() {
+			return id + "@" + position;
+		}
+	}
+}
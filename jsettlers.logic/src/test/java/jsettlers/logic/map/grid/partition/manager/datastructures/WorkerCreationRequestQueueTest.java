@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.partition.manager.objects.WorkerCreationRequest;
+import jsettlers.testutils.TestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WorkerCreationRequestQueueTest {
+	private final WorkerCreationRequestQueue queue = new WorkerCreationRequestQueue();
+
+	private final TestRequest digger1     = new TestRequest(EMovableType.DIGGER, 1, 1);
+	private final TestRequest bricklayer1 = new TestRequest(EMovableType.BRICKLAYER, 2, 2);
+	private final TestRequest digger2     = new TestRequest(EMovableType.DIGGER, 2, 2);
+	private final TestRequest smith       = new TestRequest(EMovableType.SMITH, 1, 1);
+	private final TestRequest bricklayer2 = new TestRequest(EMovableType.BRICKLAYER, 3, 3);
+
+	@Test
+	public void testIterationInOrderOfInsertion() throws IOException, ClassNotFoundException {
+		offerAll();
+
+		assertRequests(queue, digger1, bricklayer1, digger2, smith, bricklayer2);
+		assertRequests(TestUtils.serializeAndDeserialize(queue), digger1, bricklayer1, digger2, smith, bricklayer2);
+	}
+
+	@Test
+	public void testRemoveAndSkip() {
+		offerAll();
+
+		List<WorkerCreationRequest> visited = new ArrayList<>();
+		WorkerCreationRequestQueue.RequestIterator iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			WorkerCreationRequest request = iterator.next();
+			visited.add(request);
+			if (request == digger1) {
+				iterator.skipRemainingOfSameType();
+			} else if (request == bricklayer1) {
+				iterator.remove();
+			}
+		}
+
+		assertEquals(Arrays.asList(digger1, bricklayer1, smith, bricklayer2), visited);
+		assertRequests(queue, digger1, digger2, smith, bricklayer2);
+		assertEquals(2, queue.size(EMovableType.DIGGER));
+	}
+
+	@Test
+	public void testMoveObjectsAtPosition() {
+		offerAll();
+		WorkerCreationRequestQueue newQueue = new WorkerCreationRequestQueue();
+		newQueue.offer(bricklayer2);
+
+		queue.moveObjectsAtPositionTo(new ShortPoint2D(2, 2), newQueue);
+		queue.moveObjectsAtPositionTo(new ShortPoint2D(1, 1), null);
+
+		assertRequests(queue, bricklayer2);
+		assertRequests(newQueue, bricklayer2, bricklayer1, digger2);
+
+		newQueue.moveAll(queue);
+		assertTrue(queue.isEmpty());
+		assertRequests(newQueue, bricklayer2, bricklayer1, digger2, bricklayer2);
+	}
+
+	@Test
+	public void testTypesRequiringToolProduction() {
+		offerAll();
+		queue.setToolProductionRequired(EMovableType.SMITH);
+		queue.setToolProductionRequired(EMovableType.MILLER);
+
+		assertEquals(Arrays.asList(EMovableType.SMITH), queue.popTypesRequiringToolProduction());
+		assertTrue(queue.popTypesRequiringToolProduction().isEmpty());
+	}
+
+	private void offerAll() {
+		queue.offer(digger1);
+		queue.offer(bricklayer1);
+		queue.offer(digger2);
+		queue.offer(smith);
+		queue.offer(bricklayer2);
+	}
+
+	private static void assertRequests(WorkerCreationRequestQueue queue, WorkerCreationRequest... expected) {
+		List<String> requests = new ArrayList<>();
+		WorkerCreationRequestQueue.RequestIterator iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			requests.add(iterator.next().toString());
+		}
+
+		List<String> expectedRequests = new ArrayList<>();
+		for (WorkerCreationRequest request : expected) {
+			expectedRequests.add(request.toString());
+		}
+		assertEquals(expectedRequests, requests);
+		assertEquals(expected.length, queue.size());
+	}
+
+	private static class TestRequest extends WorkerCreationRequest {
+		private static final long serialVersionUID = -6290463962498616245L;
+
+		private final EMovableType movableType;
+		private final ShortPoint2D position;
+
+		TestRequest(EMovableType movableType, int x, int y) {
+			this.movableType = movableType;
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public boolean isRequestAlive() {
+			return true;
+		}
+
+		@Override
+		public EMovableType requestedMovableType() {
+			return movableType;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public String toString() {
+			return movableType + "@" + position;
+		}
+	}
+}
@@ -14,7 +14,9 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials;
 
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ShortPoint2D;
@@ -28,6 +30,11 @@ public class JoblessSupplierMock implements IJoblessSupplier {
 
 	private LinkedList<IManagerBearer> jobless = new LinkedList<>();
 
+	/**
+	 * The position of the delivered offer by the position of the jobless that delivered it.
+	 */
+	final Map<ShortPoint2D, ShortPoint2D> deliveredOffers = new HashMap<>();
+
 	public void addJoblessAt(final ShortPoint2D position) {
 		jobless.add(new IManagerBearer() {
 			private static final long serialVersionUID = 3833820381369081344L;
@@ -39,6 +46,7 @@ public class JoblessSupplierMock implements IJoblessSupplier {
 
 			@Override
 			public void deliver(EMaterialType materialType, IMaterialOffer offer, IMaterialRequest request) {
+				deliveredOffers.put(position, offer.getPosition());
 				offer.distributionAccepted();
 				offer.offerTaken();
 				request.deliveryAccepted();
@@ -53,7 +61,12 @@ public class JoblessSupplierMock implements IJoblessSupplier {
 	}
 
 	@Override
-	public IManagerBearer removeJoblessCloseTo(ShortPoint2D position) {
+	public int getNumberOfJobless() {
+		return jobless.size();
+	}
+
+	@Override
+	public IManagerBearer getJoblessCloseTo(ShortPoint2D position) {
 		int closestDist = Integer.MAX_VALUE;
 		IManagerBearer closest = null;
 
@@ -68,4 +81,8 @@ public class JoblessSupplierMock implements IJoblessSupplier {
 		return closest;
 	}
 
+	@Override
+	public void removeJobless(IManagerBearer bearer) {
+		jobless.remove(bearer);
+	}
 }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.material.EMaterialType;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IWalkingDistances;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.OffersList;
+import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialRequestObject;
+import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Delivers materials to many buildings on a map with walls and reports what the walking distance fields cost.
+ */
+public class MaterialDistributionSpeedTest {
+	private static final int             BUILDINGS = 64;
+	private static final EMaterialType[] MATERIALS = { EMaterialType.PLANK, EMaterialType.STONE };
+
+	@Test
+	public void testManyConstructionSites() {
+		distribute("construction sites, straight distance", 6, false, false);
+		distribute("construction sites, walking distance", 6, false, true);
+	}
+
+	@Test
+	public void testManyRoundRobinRequests() {
+		distribute("round robin requests, straight distance", 24, true, false);
+		distribute("round robin requests, walking distance", 24, true, true);
+	}
+
+	/**
+	 * @param materialsPerBuilding
+	 *            The number of materials every building needs of each material type.
+	 * @param roundRobin
+	 *            If true, the requests take turns, like the ones of the workplaces. Otherwise a request gets all its materials first, like the ones of
+	 *            the construction sites.
+	 * @param useWalkingDistances
+	 *            If true, the offers are ranked by the walking distance. Otherwise by the straight distance.
+	 */
+	private void distribute(String name, int materialsPerBuilding, boolean roundRobin, boolean useWalkingDistances) {
+		Random random = new Random(1);
+		WalkingDistancesMock walkingDistances = new WalkingDistancesMock(Constants.DISTANCE_FIELD_CACHE_SIZE);
+		for (int y = 20; y < 200; y += 40) { // walls with a gap at the right side
+			for (int x = 0; x < 190; x++) {
+				walkingDistances.setBlocked(x, y, true);
+			}
+		}
+
+		OffersList offersList = new OffersList(null);
+		JoblessSupplierMock joblessSupplier = new JoblessSupplierMock();
+		IWalkingDistances distances = useWalkingDistances ? walkingDistances : target -> null;
+		MaterialsManager manager = new MaterialsManager(joblessSupplier, offersList, distances, new PartitionManagerSettings(ECivilisation.ROMAN));
+
+		for (int i = 0; i < BUILDINGS; i++) {
+			ShortPoint2D position = randomFreePosition(random);
+			for (EMaterialType material : MATERIALS) {
+				manager.addRequestObject(material, new BuildingRequest(position, materialsPerBuilding, roundRobin));
+			}
+		}
+		for (int i = 0; i < BUILDINGS * materialsPerBuilding; i++) {
+			for (EMaterialType material : MATERIALS) {
+				offersList.addOffer(randomFreePosition(random), material, EOfferPriority.OFFER_TO_ALL);
+			}
+		}
+
+		MilliStopWatch watch = new MilliStopWatch();
+		int distributions = 0;
+		while (manager.getNumberOfOpenDeliveries() > 0) {
+			for (int i = 0; i < MATERIALS.length; i++) {
+				joblessSupplier.addJoblessAt(randomFreePosition(random));
+			}
+			manager.distributeJobs();
+			distributions++;
+		}
+		watch.stop(name + ": " + distributions + " distributions, average walk distance " + manager.getStatistics().getAverageWalkDistance());
+		if (useWalkingDistances) {
+			System.out.println(name + ": " + walkingDistances.getDistanceFields());
+		}
+
+		assertEquals(BUILDINGS * materialsPerBuilding * MATERIALS.length, manager.getStatistics().getAssignments());
+	}
+
+	private static ShortPoint2D randomFreePosition(Random random) {
+		int y = random.nextInt(200);
+		if (y % 40 == 20) {
+			y++;
+		}
+		return new ShortPoint2D(random.nextInt(200), y);
+	}
+
+	private static class BuildingRequest extends MaterialRequestObject {
+		private static final long serialVersionUID = -6504187418153307935L;
+
+		private final ShortPoint2D position;
+		private final boolean      roundRobin;
+		private short              stillRequired;
+
+		BuildingRequest(ShortPoint2D position, int stillRequired, boolean roundRobin) {
+			this.position = position;
+			this.stillRequired = (short) stillRequired;
+			this.roundRobin = roundRobin;
+		}
+
+		@Override
+		protected short getStillNeeded() {
+			return (short) (stillRequired - getInDelivery());
+		}
+
+		@Override
+		protected int getInDeliveryable() {
+			return Constants.STACK_SIZE;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		protected void materialDelivered() {
+			stillRequired--;
+		}
+
+		@Override
+		protected boolean isRoundRobinRequest() {
+			return roundRobin;
+		}
+
+		@Override
+		protected EBuildingType getBuildingType() {
+			return null;
+		}
+	}
+}
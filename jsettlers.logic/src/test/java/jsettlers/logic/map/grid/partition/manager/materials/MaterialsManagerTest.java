@@ -14,18 +14,23 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials;
 
+import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.player.ECivilisation;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.OffersList;
+import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialRequestObject;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
 import jsettlers.testutils.TestUtils;
 import org.junit.Test;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * This is a test for the {@link MaterialsManager} class.
  * 
@@ -35,7 +40,8 @@ import java.io.IOException;
 public class MaterialsManagerTest {
 	private final OffersList offersList = new OffersList(null);
 	private final JoblessSupplierMock joblessSupplier = new JoblessSupplierMock();
-	private final MaterialsManager manager = new MaterialsManager(joblessSupplier, offersList, new PartitionManagerSettings(ECivilisation.ASIAN));
+	private final WalkingDistancesMock walkingDistances = new WalkingDistancesMock();
+	private final MaterialsManager manager = new MaterialsManager(joblessSupplier, offersList, walkingDistances, new PartitionManagerSettings(ECivilisation.ASIAN));
 
 	@Test
 	public void testSerialization() throws IOException, ClassNotFoundException {
@@ -50,8 +56,176 @@ public class MaterialsManagerTest {
 		TestUtils.serializeAndDeserialize(manager);
 	}
 
+	@Test
+	public void testOneDeliveryPerMaterialAndDistribution() {
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(75, 10), 2));
+		offersList.addOffer(pos(60, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(100, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(90, 10));
+		joblessSupplier.addJoblessAt(pos(0, 10));
+
+		manager.distributeJobs();
+		assertEquals(1, joblessSupplier.deliveredOffers.size());
+		assertEquals(pos(60, 10), joblessSupplier.deliveredOffers.get(pos(90, 10)));
+
+		manager.distributeJobs();
+		assertEquals(pos(100, 10), joblessSupplier.deliveredOffers.get(pos(0, 10)));
+		assertEquals(0, manager.getNumberOfOpenDeliveries());
+	}
+
+	@Test
+	public void testBearersAreMatchedWithAllDeliveries() {
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(75, 10), 2));
+		offersList.addOffer(pos(50, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(100, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(90, 10));
+		joblessSupplier.addJoblessAt(pos(0, 10));
+
+		manager.distributeJobsInBatch(Constants.MATERIAL_DISTRIBUTION_BUDGET);
+
+		// the first delivery would take the jobless at (90|10), if the deliveries were assigned one after another
+		assertEquals(pos(100, 10), joblessSupplier.deliveredOffers.get(pos(90, 10)));
+		assertEquals(pos(50, 10), joblessSupplier.deliveredOffers.get(pos(0, 10)));
+		assertEquals(2, manager.getStatistics().getAssignments());
+		assertEquals((10 + 25 + 50 + 25) / 2f, manager.getStatistics().getAverageWalkDistance(), 0.001f);
+	}
+
+	@Test
+	public void testOffersAreRankedByWalkingDistance() {
+		addOffersBehindWall(manager, new TestMaterialRequest(pos(50, 50), 1));
+
+		manager.distributeJobs();
+
+		assertEquals(pos(80, 50), joblessSupplier.deliveredOffers.get(pos(60, 50)));
+		assertEquals(20 + 30, manager.getStatistics().getAverageWalkDistance(), 0.001f);
+	}
+
+	@Test
+	public void testOffersOutsideOfTheDistanceFieldUseStraightDistance() {
+		int radius = Constants.DISTANCE_FIELD_RADIUS;
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(50, 50), 1));
+		offersList.addOffer(pos(50 + radius + 20, 50), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(50, 50 + radius + 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(50, 50));
+
+		manager.distributeJobs();
+
+		assertEquals(pos(50, 50 + radius + 10), joblessSupplier.deliveredOffers.get(pos(50, 50)));
+	}
+
+	@Test
+	public void testOffersOutsideOfTheDistanceFieldAreComparedWithUnreachedOffers() {
+		int radius = Constants.DISTANCE_FIELD_RADIUS;
+		for (int x = 0; x < 180; x++) { // the way around the wall is longer than the radius
+			walkingDistances.setBlocked(x, 40, true);
+		}
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(50, 50), 1));
+		offersList.addOffer(pos(50 + radius + 1, 50), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(50, 30), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(50, 50));
+
+		manager.distributeJobs();
+
+		// both offers are more than the radius away, so the first one is taken
+		assertEquals(pos(50 + radius + 1, 50), joblessSupplier.deliveredOffers.get(pos(50, 50)));
+	}
+
+	@Test
+	public void testStraightDistanceWithoutWalkingDistances() {
+		MaterialsManager straightManager = new MaterialsManager(joblessSupplier, offersList, target -> null,
+				new PartitionManagerSettings(ECivilisation.ASIAN));
+		addOffersBehindWall(straightManager, new TestMaterialRequest(pos(50, 50), 1));
+
+		straightManager.distributeJobs();
+
+		assertEquals(pos(50, 30), joblessSupplier.deliveredOffers.get(pos(60, 50)));
+	}
+
+	private void addOffersBehindWall(MaterialsManager manager, TestMaterialRequest request) {
+		for (int x = 0; x < 180; x++) { // a wall between the request and the offer that is closer on the map
+			walkingDistances.setBlocked(x, 40, true);
+		}
+		manager.addRequestObject(EMaterialType.STONE, request);
+		offersList.addOffer(pos(50, 30), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(80, 50), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(60, 50));
+	}
+
+	@Test
+	public void testBudget() {
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(75, 10), 2));
+		offersList.addOffer(pos(50, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(100, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(90, 10));
+		joblessSupplier.addJoblessAt(pos(0, 10));
+
+		manager.distributeJobsInBatch(1);
+		assertEquals(1, joblessSupplier.deliveredOffers.size());
+		assertEquals(1, manager.getNumberOfOpenDeliveries());
+
+		manager.distributeJobsInBatch(1);
+		assertEquals(2, joblessSupplier.deliveredOffers.size());
+		assertEquals(0, manager.getNumberOfOpenDeliveries());
+		assertEquals(1f, manager.getStatistics().getAssignmentsPerDistribution(), 0.001f);
+	}
+
+	@Test
+	public void testDeliveriesWithoutJoblessAreReleased() {
+		manager.addRequestObject(EMaterialType.STONE, new TestMaterialRequest(pos(75, 10), 3));
+		offersList.addOffer(pos(50, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		offersList.addOffer(pos(50, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL);
+		joblessSupplier.addJoblessAt(pos(10, 10));
+
+		manager.distributeJobsInBatch(Constants.MATERIAL_DISTRIBUTION_BUDGET);
+
+		assertEquals(1, joblessSupplier.deliveredOffers.size());
+		assertEquals(1, offersList.getOfferObjectAt(pos(50, 10), EMaterialType.STONE, EOfferPriority.OFFER_TO_ALL).getAvailable());
+		assertEquals(2, manager.getNumberOfOpenDeliveries());
+	}
+
 	private ShortPoint2D pos(int x, int y) {
 		return new ShortPoint2D(x, y);
 	}
 
+	private static class TestMaterialRequest extends MaterialRequestObject {
+		private static final long serialVersionUID = -3287006452563004916L;
+
+		private final ShortPoint2D position;
+		private short              stillRequired;
+
+		TestMaterialRequest(ShortPoint2D position, int stillRequired) {
+			this.position = position;
+			this.stillRequired = (short) stillRequired;
+		}
+
+		@Override
+		protected short getStillNeeded() {
+			return (short) (stillRequired - getInDelivery());
+		}
+
+		@Override
+		protected int getInDeliveryable() {
+			return Constants.STACK_SIZE;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		protected void materialDelivered() {
+			stillRequired--;
+		}
+
+		@Override
+		protected boolean isRoundRobinRequest() {
+			return false;
+		}
+
+		@Override
+		protected EBuildingType getBuildingType() {
+			return null;
+		}
+	}
 }
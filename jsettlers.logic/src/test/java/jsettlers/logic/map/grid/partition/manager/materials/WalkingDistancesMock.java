@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials;
+
+import java.util.BitSet;
+
+import jsettlers.algorithms.distances.DistanceField;
+import jsettlers.algorithms.distances.DistanceFieldCache;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IWalkingDistances;
+
+public class WalkingDistancesMock implements IWalkingDistances {
+	private static final long serialVersionUID = 2311432958612387043L;
+
+	private static final short WIDTH  = 200;
+	private static final short HEIGHT = 200;
+
+	private final BitSet blocked = new BitSet(WIDTH * HEIGHT);
+
+	private transient DistanceFieldCache distanceFields;
+
+	public WalkingDistancesMock() {
+		this(4);
+	}
+
+	public WalkingDistancesMock(int cacheSize) {
+		distanceFields = new DistanceFieldCache(WIDTH, HEIGHT, (x, y) -> blocked.get(x + y * WIDTH), Constants.DISTANCE_FIELD_RADIUS,
+				cacheSize);
+	}
+
+	public void setBlocked(int x, int y, boolean newBlocked) {
+		blocked.set(x + y * WIDTH, newBlocked);
+		distanceFields.blockedChanged(x, y, newBlocked);
+	}
+
+	public DistanceFieldCache getDistanceFields() {
+		return distanceFields;
+	}
+
+	@Override
+	public DistanceField getDistancesTo(ShortPoint2D target) {
+		return distanceFields != null ? distanceFields.get(target) : null;
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+
+/**
+ * The linear list the {@link ManagingPositionableList} is checked and measured against. It searches all objects in the order of their insertion.
+ */
+class LinearPositionableList<T extends ILocatable & IListManageable> {
+	final LinkedList<T> data = new LinkedList<>();
+
+	void insert(T object) {
+		if (!data.contains(object)) {
+			data.add(object);
+		}
+	}
+
+	T getObjectCloseTo(ShortPoint2D position) {
+		int bestDistance = Integer.MAX_VALUE;
+		T currBest = null;
+
+		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
+			T currEntry = iterator.next();
+
+			if (currEntry.canBeRemoved()) {
+				iterator.remove();
+
+			} else if (currEntry.isActive()) {
+				int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+
+				if (bestDistance > currDist) {
+					bestDistance = currDist;
+					currBest = currEntry;
+				}
+			}
+		}
+		return currBest;
+	}
+
+	T getObjectAt(ShortPoint2D position) {
+		for (T curr : data) {
+			if (!curr.canBeRemoved() && curr.getPosition().equals(position)) {
+				return curr;
+			}
+		}
+		return null;
+	}
+
+	void remove(T object) {
+		data.remove(object);
+	}
+
+	static final class TestObject implements ILocatable, IListManageable, Serializable {
+		private static final long serialVersionUID = 7019563389011285417L;
+
+		private final ShortPoint2D position;
+		boolean active    = true;
+		boolean removable = false;
+
+		TestObject(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public boolean isActive() {
+			return active;
+		}
+
+		@Override
+		public boolean canBeRemoved() {
+			return removable;
+		}
+
+		@Override
+		public String toString() {
+			return "TestObject" + position;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.list.LinearPositionableList.TestObject;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compares the nearest object search of the {@link ManagingPositionableList} with the one of a linear list.
+ */
+public class ManagingPositionableListSpeedTest {
+	private static final int WIDTH    = 1000;
+	private static final int HEIGHT   = 1000;
+	private static final int OBJECTS  = 5000;
+	private static final int SEARCHES = 20000;
+
+	@Test
+	public void testGetObjectCloseTo() {
+		Random random = new Random(1);
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		LinearPositionableList<TestObject> linearList = new LinearPositionableList<>();
+
+		for (int i = 0; i < OBJECTS; i++) {
+			TestObject object = new TestObject(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+			object.active = random.nextInt(4) != 0;
+			list.insert(object);
+			linearList.insert(object);
+		}
+
+		ShortPoint2D[] positions = new ShortPoint2D[SEARCHES];
+		for (int i = 0; i < SEARCHES; i++) {
+			positions[i] = new ShortPoint2D(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+			assertSame(linearList.getObjectCloseTo(positions[i]), list.getObjectCloseTo(positions[i]));
+		}
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (ShortPoint2D position : positions) {
+			linearList.getObjectCloseTo(position);
+		}
+		watch.stop("linear list: " + SEARCHES + " searches in " + OBJECTS + " objects");
+
+		watch.restart();
+		for (ShortPoint2D position : positions) {
+			list.getObjectCloseTo(position);
+		}
+		watch.stop("bucketed list: " + SEARCHES + " searches in " + OBJECTS + " objects");
+	}
+}
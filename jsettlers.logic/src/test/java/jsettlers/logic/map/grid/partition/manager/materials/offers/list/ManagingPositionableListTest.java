@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.list.LinearPositionableList.TestObject;
+import jsettlers.testutils.TestUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ManagingPositionableListTest {
+	private static final int WIDTH  = 300;
+	private static final int HEIGHT = 200;
+
+	private final Random random = new Random(1);
+
+	@Test
+	public void testEqualDistancesReturnFirstInserted() {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		TestObject right = new TestObject(60, 50);
+		TestObject left = new TestObject(40, 50);
+		TestObject top = new TestObject(50, 40);
+		list.insert(right);
+		list.insert(left);
+		list.insert(top);
+
+		assertSame(right, list.getObjectCloseTo(new ShortPoint2D(50, 50)));
+		list.remove(right);
+		assertSame(left, list.getObjectCloseTo(new ShortPoint2D(50, 50)));
+		list.insert(right);
+		assertSame(left, list.getObjectCloseTo(new ShortPoint2D(50, 50)));
+	}
+
+	@Test
+	public void testSerializedFormDoesNotDependOnHistory() throws IOException, ClassNotFoundException {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		List<TestObject> objects = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			TestObject object = new TestObject(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+			list.insert(object);
+			objects.add(object);
+		}
+		for (TestObject object : objects.subList(0, 490)) {
+			list.remove(object);
+		}
+
+		ManagingPositionableList<TestObject> loadedList = TestUtils.serializeAndDeserialize(list);
+
+		assertArrayEquals(serialize(list), serialize(loadedList));
+		assertEquals(list.toString(), loadedList.toString());
+	}
+
+	@Test
+	public void testDoubleInsert() {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		TestObject object = new TestObject(5, 5);
+		list.insert(object);
+		list.insert(object);
+		assertEquals(1, list.size());
+
+		list.remove(object);
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void testRemovableAndInactiveObjects() {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		TestObject near = new TestObject(10, 10);
+		TestObject far = new TestObject(250, 150);
+		list.insert(near);
+		list.insert(far);
+
+		near.active = false;
+		assertSame(far, list.getObjectCloseTo(new ShortPoint2D(11, 11)));
+		assertSame(near, list.getObjectAt(near.getPosition()));
+
+		near.removable = true;
+		far.active = false;
+		assertTrue(list.hasNoActive());
+		assertEquals(null, list.getObjectAt(near.getPosition()));
+		assertEquals(1, list.size());
+	}
+
+	@Test
+	public void testRandomOperationsMatchLinearList() {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		LinearPositionableList<TestObject> expected = new LinearPositionableList<>();
+		List<TestObject> objects = new ArrayList<>();
+
+		for (int step = 0; step < 20000; step++) {
+			int operation = random.nextInt(10);
+			if (operation < 4 || objects.isEmpty()) {
+				TestObject object = createObject();
+				objects.add(object);
+				list.insert(object);
+				expected.insert(object);
+
+			} else if (operation < 5) {
+				TestObject object = objects.remove(random.nextInt(objects.size()));
+				list.remove(object);
+				expected.remove(object);
+
+			} else if (operation < 6) {
+				TestObject object = objects.get(random.nextInt(objects.size()));
+				if (random.nextInt(4) == 0) {
+					object.removable = true;
+				} else {
+					object.active = !object.active;
+				}
+
+			} else if (operation < 7) {
+				TestObject object = objects.get(random.nextInt(objects.size()));
+				assertSame(expected.getObjectAt(object.getPosition()), list.getObjectAt(object.getPosition()));
+
+			} else {
+				ShortPoint2D position = createPosition();
+				assertSame("step " + step, expected.getObjectCloseTo(position), list.getObjectCloseTo(position));
+			}
+		}
+	}
+
+	@Test
+	public void testMoveKeepsTheOrder() {
+		ManagingPositionableList<TestObject> list = new ManagingPositionableList<>();
+		ManagingPositionableList<TestObject> otherList = new ManagingPositionableList<>();
+		LinearPositionableList<TestObject> expected = new LinearPositionableList<>();
+		LinearPositionableList<TestObject> otherExpected = new LinearPositionableList<>();
+
+		for (int i = 0; i < 500; i++) {
+			TestObject object = createObject();
+			if (random.nextBoolean()) {
+				list.insert(object);
+				expected.insert(object);
+			} else {
+				otherList.insert(object);
+				otherExpected.insert(object);
+			}
+		}
+
+		ShortPoint2D position = expected.data.getFirst().getPosition();
+		List<TestObject> moved = new ArrayList<>();
+		list.moveObjectsAtPositionTo(position, otherList, moved::add);
+		for (Iterator<TestObject> iterator = expected.data.iterator(); iterator.hasNext(); ) {
+			TestObject object = iterator.next();
+			if (object.getPosition().equals(position)) {
+				iterator.remove();
+				otherExpected.data.add(object);
+				assertSame(object, moved.remove(0));
+			}
+		}
+		assertTrue(moved.isEmpty());
+
+		list.moveAll(otherList, moved::add);
+		assertEquals(otherExpected.data, moved);
+		expected.data.addAll(otherExpected.data);
+		assertTrue(otherList.isEmpty());
+		assertEquals(expected.data.size(), list.size());
+
+		for (int i = 0; i < 2000; i++) {
+			ShortPoint2D searchPosition = createPosition();
+			assertSame(expected.getObjectCloseTo(searchPosition), list.getObjectCloseTo(searchPosition));
+		}
+	}
+
+	private TestObject createObject() {
+		// few different positions to get many objects at the same position and with the same distance
+		return new TestObject(random.nextInt(WIDTH / 3) * 3, random.nextInt(HEIGHT / 3) * 3);
+	}
+
+	private ShortPoint2D createPosition() {
+		return new ShortPoint2D(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+}
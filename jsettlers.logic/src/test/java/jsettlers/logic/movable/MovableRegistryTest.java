@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MovableRegistryTest {
+
+	@Test
+	public void testAddGetRemove() {
+		MovableRegistry registry = new MovableRegistry();
+		ILogicMovable a = createMovable(Integer.MIN_VALUE);
+		ILogicMovable b = createMovable(Integer.MIN_VALUE + 1);
+		ILogicMovable c = createMovable(Integer.MIN_VALUE + 2);
+
+		registry.add(a);
+		registry.add(b);
+		registry.add(c);
+		assertSame(b, registry.get(b.getID()));
+
+		registry.remove(a);
+		assertNull(registry.get(a.getID()));
+		assertEquals(2, registry.size());
+		assertEquals(3, registry.getStore().size()); // the free slot is kept until the movables are moved to the front
+		assertSame(b, registry.snapshot().get(0)); // the order of the additions is kept
+		assertSame(c, registry.snapshot().get(1));
+	}
+
+	@Test
+	public void testReplacedMovableStaysInOrderUntilRemoved() {
+		MovableRegistry registry = new MovableRegistry();
+		ILogicMovable old = createMovable(42);
+		ILogicMovable other = createMovable(43);
+		ILogicMovable replacement = createMovable(42);
+
+		registry.add(old);
+		registry.add(other);
+		registry.add(replacement);
+		assertEquals(Arrays.asList(old, other, replacement), registry.snapshot());
+
+		registry.remove(old);
+		assertEquals(Arrays.asList(other, replacement), registry.snapshot());
+		assertSame(replacement, registry.get(42));
+	}
+
+	@Test
+	public void testReplacedMovableIsNotRemoved() {
+		MovableRegistry registry = new MovableRegistry();
+		ILogicMovable old = createMovable(42);
+		ILogicMovable replacement = createMovable(42);
+
+		registry.add(old);
+		registry.add(replacement);
+		assertEquals(2, registry.size());
+		registry.remove(old);
+
+		assertSame(replacement, registry.get(42));
+		assertEquals(1, registry.size());
+	}
+
+	@Test
+	public void testReplacedMovableIsRemovedAfterCompaction() {
+		MovableRegistry registry = new MovableRegistry();
+		ILogicMovable old = createMovable(42);
+		ILogicMovable replacement = createMovable(42);
+		List<ILogicMovable> others = new ArrayList<>();
+
+		registry.add(old);
+		for (int id = 100; id < 300; id++) {
+			ILogicMovable other = createMovable(id);
+			others.add(other);
+			registry.add(other);
+		}
+		registry.add(replacement);
+		for (ILogicMovable other : others.subList(0, 150)) {
+			registry.remove(other); // moves the remaining movables to the front
+		}
+
+		registry.remove(old);
+		assertEquals(51, registry.size());
+		assertSame(others.get(150), registry.snapshot().get(0));
+		assertSame(replacement, registry.snapshot().get(50));
+		assertSame(replacement, registry.get(42));
+	}
+
+	@Test
+	public void testSnapshotIsNotChangedByModifications() {
+		MovableRegistry registry = new MovableRegistry();
+		ILogicMovable a = createMovable(1);
+		registry.add(a);
+
+		List<ILogicMovable> snapshot = registry.snapshot();
+		assertSame(snapshot, registry.snapshot());
+
+		registry.add(createMovable(2));
+		registry.remove(a);
+
+		assertEquals(1, snapshot.size());
+		assertSame(a, snapshot.get(0));
+		assertEquals(1, registry.snapshot().size());
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(1);
+		MovableRegistry registry = new MovableRegistry();
+		MovableRegistry secondRegistry = new MovableRegistry();
+		Map<Integer, ILogicMovable> expected = new HashMap<>();
+		List<ILogicMovable> registered = new ArrayList<>();
+		List<ILogicMovable> order = new LinkedList<>();
+
+		for (int i = 0; i < 100000; i++) {
+			if (registered.isEmpty() || random.nextInt(5) < 3) {
+				ILogicMovable movable = createMovable(random.nextInt(20000) - 10000);
+				if (expected.containsKey(movable.getID())) {
+					continue;
+				}
+				registry.add(movable);
+				secondRegistry.add(movable);
+				expected.put(movable.getID(), movable);
+				registered.add(movable);
+				order.add(movable);
+			} else {
+				ILogicMovable movable = registered.remove(random.nextInt(registered.size()));
+				registry.remove(movable);
+				secondRegistry.remove(movable);
+				expected.remove(movable.getID());
+				order.remove(movable);
+			}
+
+			if (i % 1000 == 0) {
+				assertEquals(expected.size(), registry.size());
+				assertEquals(order, registry.snapshot());
+				assertEquals(registry.snapshot(), secondRegistry.snapshot());
+				for (int id = -10000; id < 10000; id += 7) {
+					assertSame(expected.get(id), registry.get(id));
+				}
+			}
+		}
+	}
+
+	private static ILogicMovable createMovable(int id) {
+		return (ILogicMovable) Proxy.newProxyInstance(MovableRegistryTest.class.getClassLoader(), new Class<?>[] { ILogicMovable.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getID":
+						return id;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					case "toString":
+						return "movable " + id;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares scanning all movables through their objects with scanning the arrays of the {@link MovableStore}.
+ */
+public class MovableStoreSpeedTest {
+	private static final int ROUNDS = 20000;
+
+	@After
+	public void clearState() {
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testScanAllMovables() throws Exception {
+		TestUtils.setupTempResourceManager();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MapLoader map = MapUtils.getMountainlake();
+		map.loadMainGrid(PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers()));
+
+		assertEquals(scanObjects(), scanStore());
+
+		scanObjects();
+		scanStore();
+
+		MilliStopWatch watch = new MilliStopWatch();
+		long result = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			result += scanObjects();
+		}
+		watch.stop("scanning " + MovableManager.getAllMovables().size() + " movable objects " + ROUNDS + " times (" + result + ")");
+
+		watch.restart();
+		result = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			result += scanStore();
+		}
+		watch.stop("scanning the movable store " + ROUNDS + " times (" + result + ")");
+	}
+
+	private static long scanObjects() {
+		long sum = 0;
+		for (ILogicMovable movable : MovableManager.getAllMovables()) {
+			ShortPoint2D position = movable.getPosition();
+			if (movable.getMovableType() != EMovableType.BEARER && position != null) {
+				sum += position.x + position.y + movable.getPlayer().getPlayerId();
+			}
+		}
+		return sum;
+	}
+
+	private static long scanStore() {
+		MovableStore store = MovableManager.getMovableStore();
+		long sum = 0;
+		for (int slot = 0, size = store.size(); slot < size; slot++) {
+			if (store.getMovableType(slot) != EMovableType.BEARER && store.getX(slot) != MovableStore.NO_POSITION) {
+				sum += store.getX(slot) + store.getY(slot) + store.getPlayerId(slot);
+			}
+		}
+		return sum;
+	}
+}
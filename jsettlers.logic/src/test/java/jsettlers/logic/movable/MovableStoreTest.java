@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import org.junit.Test;
+
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+
+public class MovableStoreTest {
+
+	@Test
+	public void testMovableWithoutPosition() {
+		MovableStore store = new MovableStore(1);
+		int slot = store.addSlot();
+		store.write(slot, null, (byte) 2, EMovableType.BEARER);
+
+		assertEquals(MovableStore.NO_POSITION, store.getX(slot));
+		assertEquals(MovableStore.NO_POSITION, store.getY(slot));
+		assertEquals(2, store.getPlayerId(slot));
+
+		store.writePosition(slot, new ShortPoint2D(3, 4));
+		assertEquals(3, store.getX(slot));
+		assertEquals(EMovableType.BEARER, store.getMovableType(slot));
+	}
+
+	@Test
+	public void testGrowFreeAndMove() {
+		MovableStore store = new MovableStore(1);
+		for (int i = 0; i < 100; i++) {
+			int slot = store.addSlot();
+			store.write(slot, new ShortPoint2D(i, i + 1), (byte) (i % 4), EMovableType.SWORDSMAN_L1);
+		}
+
+		store.freeSlot(10);
+		assertEquals(100, store.size());
+		assertEquals(MovableStore.NO_POSITION, store.getX(10));
+		assertEquals(MovableStore.NO_PLAYER, store.getPlayerId(10));
+
+		store.moveSlot(11, 10);
+		store.truncate(11);
+
+		assertEquals(11, store.size());
+		assertEquals(11, store.getX(10));
+		assertEquals(12, store.getY(10));
+		assertEquals(11 % 4, store.getPlayerId(10));
+		assertEquals(EMovableType.SWORDSMAN_L1, store.getMovableType(10));
+	}
+}
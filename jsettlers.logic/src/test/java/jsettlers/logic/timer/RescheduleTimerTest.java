@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.logic.map.loading.MapLoadException;
+
+import static org.junit.Assert.assertEquals;
+
+public class RescheduleTimerTest {
+	private static final int TIME_SLICE = 25;
+
+	private static final List<String> executions = new ArrayList<>();
+	private static int currentSlice;
+
+	@Before
+	@After
+	public void clearTimer() {
+		RescheduleTimer.stopAndClear();
+		executions.clear();
+		currentSlice = 0;
+	}
+
+	@Test
+	public void testExecutionOrderAndRescheduling() {
+		RescheduleTimer.add(new TestTimerable("a", 50, 2), 50);
+		RescheduleTimer.add(new TestTimerable("b", 25, 3), 50);
+		RescheduleTimer.add(new TestTimerable("c", -1, 1), 10);
+
+		runSlices(8);
+
+		assertEquals("[1:c, 2:a, 2:b, 3:b, 4:a, 4:b]", executions.toString());
+	}
+
+	@Test
+	public void testLongDelays() {
+		int[] delays = { 31999, 32000, 100000, 2 * 3600 * 1000 };
+		for (int delay : delays) {
+			RescheduleTimer.add(new TestTimerable("t" + delay, -1, 1), delay);
+		}
+		assertEquals(delays.length, RescheduleTimer.getNumberOfScheduled());
+
+		runSlices(2 * 3600 * 1000 / TIME_SLICE + 1);
+
+		assertEquals("[1279:t31999, 1280:t32000, 4000:t100000, 288000:t7200000]", executions.toString());
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testCancel() {
+		TestTimerable cancelled = new TestTimerable("x", 25, 10);
+		RescheduleTimer.add(cancelled, 25);
+		RescheduleTimer.add(new TestTimerable("y", -1, 1), 25);
+		RescheduleTimer.add(cancelled, 100000);
+
+		runSlices(3);
+		RescheduleTimer.cancel(cancelled);
+		runSlices(5000);
+
+		assertEquals("[1:x, 1:y, 2:x]", executions.toString());
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testCancelWhileExecuted() {
+		RescheduleTimer.add(new TestTimerable("s", 25, 10) {
+			@Override
+			public int timerEvent() {
+				RescheduleTimer.cancel(this);
+				return super.timerEvent();
+			}
+		}, 25);
+
+		runSlices(5);
+
+		assertEquals("[1:s]", executions.toString());
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testSlotLoads() {
+		RescheduleTimer.add(new TestTimerable("a", -1, 1), 25);
+		RescheduleTimer.add(new TestTimerable("b", -1, 1), 25);
+		RescheduleTimer.add(new TestTimerable("c", -1, 1), 75);
+		RescheduleTimer.add(new TestTimerable("d", -1, 1), 100000);
+
+		int[] loads = RescheduleTimer.getSlotLoads();
+		assertEquals(0, loads[0]);
+		assertEquals(2, loads[1]);
+		assertEquals(1, loads[3]);
+		assertEquals(4, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testSerializationKeepsExecutionOrder() throws IOException, MapLoadException {
+		for (int i = 0; i < 30; i++) {
+			int delay = TIME_SLICE * (1 + i % 5) + 33000 * (i % 7 / 5);
+			int rescheduleDelay = TIME_SLICE * (1 + i % 3) + 40000 * (i % 4 / 3);
+			RescheduleTimer.add(new TestTimerable("t" + i, rescheduleDelay, 4), delay);
+		}
+		runSlices(3);
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(buffer);
+		RescheduleTimer.saveTo(oos);
+		oos.close();
+
+		executions.clear();
+		runSlices(10000);
+		List<String> expected = new ArrayList<>(executions);
+
+		RescheduleTimer.loadFrom(new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+		executions.clear();
+		currentSlice = 3;
+		runSlices(10000);
+
+		assertEquals(expected, executions);
+	}
+
+	private static void runSlices(int slices) {
+		RescheduleTimer timer = RescheduleTimer.get();
+		for (int i = 0; i < slices; i++) {
+			timer.timerEvent();
+			currentSlice++;
+		}
+	}
+
+	private static class TestTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+		private final int    delay;
+		private int          remainingExecutions;
+
+		TestTimerable(String name, int delay, int executions) {
+			this.name = name;
+			this.delay = delay;
+			this.remainingExecutions = executions;
+		}
+
+		@Override
+		public int timerEvent() {
+			executions.add(currentSlice + ":" + name);
+			remainingExecutions--;
+			return remainingExecutions > 0 ? delay : -1;
+		}
+
+		@Override
+		public void kill() {
+		}
+	}
+}
@@ -45,6 +45,12 @@ public interface IGameClock extends IPausingSupplier {
 
 	void setPausing(boolean b);
 
+	/**
+	 * Waits until the time slice currently executed is finished. After pausing the clock, no further time slice is executed when this method
+	 * returns. If it is called while the calling thread executes a time slice, it returns at once.
+	 */
+	void awaitPause();
+
 	void fastForward();
 
 	void remove(INetworkTimerable timerable);
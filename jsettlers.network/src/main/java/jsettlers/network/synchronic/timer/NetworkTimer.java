@@ -56,7 +56,7 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	private int time = 0;
 	private int maxAllowedLockstep = -1;
 
-	private boolean isPausing;
+	private volatile boolean isPausing;
 	private int pauseTime;
 	private float speedFactor = 1.0f;
 	private float progress = 0.0f;
@@ -100,8 +100,7 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 			if (pauseTime <= 0) { // this is used for synchronizing the network clients
 				progress += speedFactor;
 
-				while (progress >= 1) {
-					executeRun();
+				while (progress >= 1 && executeRunIfNotPausing()) {
 					progress--;
 				}
 			} else {
@@ -110,6 +109,18 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		}
 	}
 
+	/**
+	 * The clock may have been paused since {@link #run()} checked it, so this is checked again while holding the lock waited for by
+	 * {@link #awaitPause()}.
+	 */
+	private synchronized boolean executeRunIfNotPausing() {
+		if (isPausing) {
+			return false;
+		}
+		executeRun();
+		return true;
+	}
+
 	private synchronized void executeRun() {
 		try {
 			time += TIME_SLICE;
@@ -251,6 +262,11 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		this.isPausing = pausing;
 	}
 
+	@Override
+	public synchronized void awaitPause() {
+		// every time slice is executed while holding the lock of this timer
+	}
+
 	@Override
 	public void invertPausing() {
 		this.isPausing = !this.isPausing;
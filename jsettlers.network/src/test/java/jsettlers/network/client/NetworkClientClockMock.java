@@ -67,6 +67,11 @@ public class NetworkClientClockMock implements INetworkClientClock {
 		return temp;
 	}
 
+	@Override
+	public void awaitPause() {
+		throw new UnsupportedOperationException("not mocked");
+	}
+
 	@Override
 	public void setTaskExecutor(ITaskExecutor taskExecutor) {
 		throw new UnsupportedOperationException("not mocked");
@@ -84,6 +84,23 @@ public class AutoReplaySetting {
 			'}';
 	}
 
+	/**
+	 * Compares a savegame created at one of the {@link #getTimeMinutes()} with its reference and deletes it.
+	 */
+	void compareSaveGameAndDelete(int timeMinutes, MapLoader actualSaveGame) throws MapLoadException, IOException, ClassNotFoundException {
+		for (int i = 0; i < this.timeMinutes.length; i++) {
+			if (this.timeMinutes[i] == timeMinutes) {
+				try {
+					MapUtils.compareMapFiles(getReferenceSavegame(i), actualSaveGame);
+				} finally {
+					actualSaveGame.getListedMap().delete();
+				}
+				return;
+			}
+		}
+		throw new IllegalArgumentException("No reference savegame for " + timeMinutes + " minutes.");
+	}
+
 	void compareSaveGamesAndDelete(MapLoader[] actualSaveGames) throws MapLoadException, IOException, ClassNotFoundException {
 		for (int i = 0; i < actualSaveGames.length; i++) {
 			MapLoader actualSaveGame = actualSaveGames[i];
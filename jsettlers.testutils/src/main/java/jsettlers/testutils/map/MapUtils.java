@@ -24,6 +24,7 @@ import java.io.ObjectInputStream;
 import jsettlers.common.menu.UIState;
 import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameSerializer;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
@@ -44,6 +45,9 @@ public final class MapUtils {
 	private MapUtils() {
 	}
 
+	/**
+	 * Compares the game state of two savegames byte by byte. Both savegames need to have the current format.
+	 */
 	public static void compareMapFiles(MapLoader expectedSavegame, MapLoader actualSavegame)
 			throws IOException, MapLoadException, ClassNotFoundException {
 		System.out.println("Comparing expected '" + expectedSavegame + "' with actual '" + actualSavegame + "' (uncompressed!)");
@@ -52,18 +56,21 @@ public final class MapUtils {
 				CountingInputStream actualStream = new CountingInputStream(RemakeMapLoader.getMapInputStream(actualSavegame.getListedMap()))) {
 			MapFileHeader expectedHeader = MapFileHeader.readFromStream(expectedStream);
 			MatchConstants.init(new NetworkTimer(true), 0L);
-			MatchConstants.deserialize(new ObjectInputStream(expectedStream));
+			ObjectInputStream expectedObjectStream = new ObjectInputStream(expectedStream);
+			short expectedFormat = GameSerializer.readFormatAndMatchConstants(expectedObjectStream);
 			int expectedTime = MatchConstants.clock().getTime();
 			ExtendedRandom expectedRandom = MatchConstants.random();
 			MatchConstants.clearState();
 
 			MapFileHeader actualHeader = MapFileHeader.readFromStream(actualStream);
 			MatchConstants.init(new NetworkTimer(true), 1L);
-			MatchConstants.deserialize(new ObjectInputStream(actualStream));
+			ObjectInputStream actualObjectStream = new ObjectInputStream(actualStream);
+			short actualFormat = GameSerializer.readFormatAndMatchConstants(actualObjectStream);
 			int actualTime = MatchConstants.clock().getTime();
 			ExtendedRandom actualRandom = MatchConstants.random();
 			MatchConstants.clearState();
 
+			assertEquals("Savegame format", expectedFormat, actualFormat);
 			assertEquals("Map ID", expectedHeader.getBaseMapId(), actualHeader.getBaseMapId());
 			assertEquals("Map time", expectedTime, actualTime);
 			// Test the random behavior a bit to have a high probability of equality. An equals method does not exist for Random.
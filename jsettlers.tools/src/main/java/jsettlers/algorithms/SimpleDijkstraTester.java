@@ -20,6 +20,7 @@ import jsettlers.algorithms.path.astar.BucketQueueAStar;
 import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
+import jsettlers.algorithms.path.dijkstra.ISearchTypeIndex;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
@@ -50,11 +51,16 @@ public class SimpleDijkstraTester {
 			@Override
 			public void setDijkstraSearched(int x, int y) {
 			}
+
+			@Override
+			public ISearchTypeIndex getSearchTypeIndex(ESearchType type) {
+				return null;
+			}
 		};
 		DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT);
 		aStarMap.setBlocked(120, 100, true);
 
-		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(map, new BucketQueueAStar(aStarMap, WIDTH, HEIGHT), WIDTH, HEIGHT);
+		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(map, aStarMap, new BucketQueueAStar(aStarMap, WIDTH, HEIGHT), WIDTH, HEIGHT);
 
 		IPathCalculatable requester = new IPathCalculatable() {
 			@Override